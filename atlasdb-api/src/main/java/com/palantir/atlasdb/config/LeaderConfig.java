@@ -77,6 +77,17 @@ public abstract class LeaderConfig {
         return 5000L;
     }
 
+    /**
+     * If positive, the leader holds a lease of this length during which it serves requests without checking with a
+     * quorum that it is still the leader. A lease is only held while every node has promised not to propose itself
+     * as leader for its duration; nodes also wait this long after starting up before proposing.
+     * Zero disables leases.
+     */
+    @Value.Default
+    public long leaderLeaseDurationMs() {
+        return 0L;
+    }
+
     @Value.Check
     protected final void check() {
         Preconditions.checkState(quorumSize() > leaders().size() / 2,
@@ -85,6 +96,8 @@ public abstract class LeaderConfig {
                 "The quorumSize '%s' must be less than or equal to the amount of leader entries %s.",
                 quorumSize(), leaders());
 
+        Preconditions.checkState(leaderLeaseDurationMs() >= 0,
+                "The leaderLeaseDurationMs '%s' must not be negative.", leaderLeaseDurationMs());
         Preconditions.checkArgument(leaders().contains(localServer()),
                 "The localServer '%s' must included in the leader entries %s.", localServer(), leaders());
         Preconditions.checkArgument(learnerLogDir().exists() || learnerLogDir().mkdirs(),
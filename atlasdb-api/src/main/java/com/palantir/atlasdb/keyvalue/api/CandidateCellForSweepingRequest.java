@@ -25,6 +25,13 @@ public interface CandidateCellForSweepingRequest {
 
     OptionalInt batchSizeHint();
 
+    /**
+     * The number of cells whose latest values should be loaded at once when
+     * {@link #shouldCheckIfLatestValueIsEmpty()} is set. If absent, the implementation picks a size based on
+     * {@link #batchSizeHint()}.
+     */
+    OptionalInt valuesBatchSizeHint();
+
     /**
      *  The maximum timestamp to be returned in the resulting {@link CandidateCellForSweeping} objects.
      */
@@ -39,6 +39,22 @@ public abstract class SweepResults {
      */
     public abstract long getCellTsPairsExamined();
 
+    /**
+     * The approximate number of distinct cells examined.
+     */
+    @Value.Default
+    public long getCellsExamined() {
+        return 0L;
+    }
+
+    /**
+     * The total size in bytes of the row and column names of the cells examined.
+     */
+    @Value.Default
+    public long getCellNameBytesExamined() {
+        return 0L;
+    }
+
     /**
      * The number of (cell, timestamp) pairs deleted.
      */
@@ -72,6 +88,8 @@ public abstract class SweepResults {
         return SweepResults.builder()
                 .nextStartRow(maxRowOptional(getNextStartRow(), other.getNextStartRow()))
                 .cellTsPairsExamined(getCellTsPairsExamined() + other.getCellTsPairsExamined())
+                .cellsExamined(getCellsExamined() + other.getCellsExamined())
+                .cellNameBytesExamined(getCellNameBytesExamined() + other.getCellNameBytesExamined())
                 .staleValuesDeleted(getStaleValuesDeleted() + other.getStaleValuesDeleted())
                 .minSweptTimestamp(Math.min(getMinSweptTimestamp(), other.getMinSweptTimestamp()))
                 .timeInMillis(getTimeInMillis() + other.getTimeInMillis())
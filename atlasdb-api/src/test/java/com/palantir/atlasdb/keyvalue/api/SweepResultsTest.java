@@ -113,6 +113,22 @@ public class SweepResultsTest {
                         .build()));
     }
 
+    @Test
+    public void accumulateCellsAndCellNameBytesExamined() {
+        SweepResults results = SweepResults.builder().from(RESULTS)
+                .cellsExamined(10L)
+                .cellNameBytesExamined(100L)
+                .build();
+        SweepResults otherResults = SweepResults.builder().from(OTHER_RESULTS)
+                .cellsExamined(20L)
+                .cellNameBytesExamined(200L)
+                .build();
+
+        SweepResults combinedResults = results.accumulateWith(otherResults);
+        Assert.assertThat(combinedResults.getCellsExamined(), Matchers.equalTo(10L + 20L));
+        Assert.assertThat(combinedResults.getCellNameBytesExamined(), Matchers.equalTo(100L + 200L));
+    }
+
     @Test
     public void equalsIgnoresTimeSweepStarted() {
         SweepResults emptySweepResult = SweepResults.createEmptySweepResult(Optional.empty());
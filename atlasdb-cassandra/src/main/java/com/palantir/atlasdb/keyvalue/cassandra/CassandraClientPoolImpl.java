@@ -113,6 +113,7 @@ public class CassandraClientPoolImpl implements CassandraClientPool {
     private final StartupChecks startupChecks;
     private final ScheduledExecutorService refreshDaemon;
     private final CassandraClientPoolMetrics metrics = new CassandraClientPoolMetrics();
+    private final ThriftPreparedStatementCache preparedStatements = new ThriftPreparedStatementCache();
     private final InitializingWrapper wrapper = new InitializingWrapper();
 
     private ScheduledFuture<?> refreshPoolFuture;
@@ -242,6 +243,11 @@ public class CassandraClientPoolImpl implements CassandraClientPool {
         return cassandra.getPools();
     }
 
+    @Override
+    public ThriftPreparedStatementCache getPreparedStatementCache() {
+        return preparedStatements;
+    }
+
     @Override
     public <V> void markWritesForTable(Map<Cell, V> entries, TableReference tableRef) {
         cassandra.markWritesForTable(entries, tableRef);
@@ -257,7 +263,8 @@ public class CassandraClientPoolImpl implements CassandraClientPool {
         return cassandra.getTokenMap();
     }
 
-    private synchronized void refreshPool() {
+    @VisibleForTesting
+    synchronized void refreshPool() {
         blacklist.checkAndUpdate(cassandra.getPools());
 
         Set<InetSocketAddress> serversToAdd = Sets.newHashSet(config.servers());
@@ -275,6 +282,7 @@ public class CassandraClientPoolImpl implements CassandraClientPool {
 
         serversToAdd.forEach(cassandra::addPool);
         serversToRemove.forEach(cassandra::removePool);
+        preparedStatements.retainHosts(cassandra.getPools().keySet());
 
         if (!(serversToAdd.isEmpty() && serversToRemove.isEmpty())) { // if we made any changes
             sanityCheckRingConsistency();
@@ -19,9 +19,6 @@ import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -57,7 +54,6 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
-import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
@@ -104,7 +100,6 @@ import com.palantir.atlasdb.keyvalue.impl.AbstractKeyValueService;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
 import com.palantir.atlasdb.keyvalue.impl.IterablePartitioner;
 import com.palantir.atlasdb.keyvalue.impl.KeyValueServices;
-import com.palantir.atlasdb.keyvalue.impl.LocalRowColumnRangeIterator;
 import com.palantir.atlasdb.logging.LoggingArgs;
 import com.palantir.atlasdb.qos.FakeQosClient;
 import com.palantir.atlasdb.qos.QosClient;
@@ -122,8 +117,6 @@ import com.palantir.common.exception.PalantirRuntimeException;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.UnsafeArg;
 import com.palantir.processors.AutoDelegate;
-import com.palantir.util.paging.AbstractPagingIterable;
-import com.palantir.util.paging.SimpleTokenBackedResultsPage;
 import com.palantir.util.paging.TokenBackedBasicResultsPage;
 
 /**
@@ -201,6 +194,7 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
     private final TaskRunner taskRunner;
     private final CellValuePutter cellValuePutter;
     private final CassandraTableDropper cassandraTableDropper;
+    private final CqlExecutor cqlExecutor;
 
     private final CassandraTables cassandraTables;
 
@@ -324,6 +318,7 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
                 writeConsistency);
         this.cassandraTableDropper = new CassandraTableDropper(config, clientPool, cellLoader, cellValuePutter,
                 wrappingQueryRunner, deleteConsistency);
+        this.cqlExecutor = newInstrumentedCqlExecutor();
     }
 
     @Override
@@ -662,56 +657,13 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
             BatchColumnRangeSelection batchColumnRangeSelection,
             long startTs) {
         try {
-            RowColumnRangeExtractor.RowColumnRangeResult firstPage =
-                    getRowsColumnRangeForSingleHost(host, tableRef, rows, batchColumnRangeSelection, startTs);
-
-            Map<byte[], LinkedHashMap<Cell, Value>> results = firstPage.getResults();
-            Map<byte[], Column> rowsToLastCompositeColumns = firstPage.getRowsToLastCompositeColumns();
-            Map<byte[], byte[]> incompleteRowsToNextColumns = Maps.newHashMap();
-            for (Entry<byte[], Column> e : rowsToLastCompositeColumns.entrySet()) {
-                byte[] row = e.getKey();
-                byte[] col = CassandraKeyValueServices.decomposeName(e.getValue()).getLhSide();
-                // If we read a version of the cell before our start timestamp, it will be the most recent version
-                // readable to us and we can continue to the next column. Otherwise we have to continue reading
-                // this column.
-                Map<Cell, Value> rowResult = results.get(row);
-                boolean completedCell = (rowResult != null) && rowResult.containsKey(Cell.create(row, col));
-                boolean endOfRange = isEndOfColumnRange(
-                        completedCell,
-                        col,
-                        firstPage.getRowsToRawColumnCount().get(row),
-                        batchColumnRangeSelection);
-                if (!endOfRange) {
-                    byte[] nextCol = getNextColumnRangeColumn(completedCell, col);
-                    incompleteRowsToNextColumns.put(row, nextCol);
-                }
-            }
-
-            Map<byte[], RowColumnRangeIterator> ret = Maps.newHashMapWithExpectedSize(rows.size());
-            for (byte[] row : rowsToLastCompositeColumns.keySet()) {
-                Iterator<Entry<Cell, Value>> resultIterator;
-                Map<Cell, Value> result = results.get(row);
-                if (result != null) {
-                    resultIterator = result.entrySet().iterator();
-                } else {
-                    resultIterator = Collections.emptyIterator();
-                }
-                byte[] nextCol = incompleteRowsToNextColumns.get(row);
-                if (nextCol == null) {
-                    ret.put(row, new LocalRowColumnRangeIterator(resultIterator));
-                } else {
-                    BatchColumnRangeSelection newColumnRange = BatchColumnRangeSelection.create(nextCol,
-                            batchColumnRangeSelection.getEndCol(), batchColumnRangeSelection.getBatchHint());
-                    ret.put(row, new LocalRowColumnRangeIterator(Iterators.concat(
-                            resultIterator,
-                            getRowColumnRange(host, tableRef, row, newColumnRange, startTs))));
-                }
-            }
-            // We saw no Cassandra results at all for these rows, so the entire column range is empty for these rows.
-            for (byte[] row : firstPage.getEmptyRows()) {
-                ret.put(row, new LocalRowColumnRangeIterator(Collections.emptyIterator()));
-            }
-            return ret;
+            RowColumnRangePager pager = new RowColumnRangePager(
+                    (pageRows, pageColumnRange) -> getRowsColumnRangeForSingleHost(
+                            host, tableRef, pageRows, pageColumnRange, startTs),
+                    taskRunner,
+                    batchColumnRangeSelection,
+                    config.fetchBatchCount());
+            return pager.getRowsColumnRange(rows);
         } catch (Exception e) {
             throw QosAwareThrowables.unwrapAndThrowRateLimitExceededOrAtlasDbDependencyException(e);
         }
@@ -756,94 +708,6 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
         }
     }
 
-    private Iterator<Entry<Cell, Value>> getRowColumnRange(
-            InetSocketAddress host,
-            TableReference tableRef,
-            byte[] row,
-            BatchColumnRangeSelection batchColumnRangeSelection,
-            long startTs) {
-        return ClosableIterators.wrap(new AbstractPagingIterable<
-                Entry<Cell, Value>,
-                TokenBackedBasicResultsPage<Entry<Cell, Value>, byte[]>>() {
-            @Override
-            protected TokenBackedBasicResultsPage<Entry<Cell, Value>, byte[]> getFirstPage() throws Exception {
-                return page(batchColumnRangeSelection.getStartCol());
-            }
-
-            @Override
-            protected TokenBackedBasicResultsPage<Entry<Cell, Value>, byte[]> getNextPage(
-                    TokenBackedBasicResultsPage<Entry<Cell, Value>,
-                            byte[]> previous) throws Exception {
-                return page(previous.getTokenForNextPage());
-            }
-
-            TokenBackedBasicResultsPage<Entry<Cell, Value>, byte[]> page(final byte[] startCol) throws Exception {
-                return clientPool.runWithRetryOnHost(host, new FunctionCheckedException<
-                        CassandraClient,
-                        TokenBackedBasicResultsPage<Entry<Cell, Value>, byte[]>,
-                        Exception>() {
-                    @Override
-                    public TokenBackedBasicResultsPage<Entry<Cell, Value>, byte[]> apply(CassandraClient client)
-                            throws Exception {
-                        Range range = createColumnRange(startCol, batchColumnRangeSelection.getEndCol(), startTs);
-                        Limit limit = Limit.of(batchColumnRangeSelection.getBatchHint());
-                        SlicePredicate pred = SlicePredicates.create(range, limit);
-
-                        ByteBuffer rowByteBuffer = ByteBuffer.wrap(row);
-
-                        Map<ByteBuffer, List<ColumnOrSuperColumn>> results = wrappingQueryRunner.multiget(
-                                "getRowsColumnRange", client, tableRef, ImmutableList.of(rowByteBuffer), pred,
-                                readConsistency);
-
-                        if (results.isEmpty()) {
-                            return SimpleTokenBackedResultsPage.create(startCol, ImmutableList.of(), false);
-                        }
-                        Map<Cell, Value> ret = Maps.newHashMap();
-                        new ValueExtractor(ret).extractResults(results, startTs, ColumnSelection.all());
-                        List<ColumnOrSuperColumn> values = Iterables.getOnlyElement(results.values());
-                        if (values.isEmpty()) {
-                            return SimpleTokenBackedResultsPage.create(startCol, ImmutableList.of(), false);
-                        }
-                        ColumnOrSuperColumn lastColumn = values.get(values.size() - 1);
-                        byte[] lastCol = CassandraKeyValueServices.decomposeName(lastColumn.getColumn()).getLhSide();
-                        // Same idea as the getRows case to handle seeing only newer entries of a column
-                        boolean completedCell = ret.get(Cell.create(row, lastCol)) != null;
-                        if (isEndOfColumnRange(completedCell, lastCol, values.size(), batchColumnRangeSelection)) {
-                            return SimpleTokenBackedResultsPage.create(lastCol, ret.entrySet(), false);
-                        }
-                        byte[] nextCol = getNextColumnRangeColumn(completedCell, lastCol);
-                        return SimpleTokenBackedResultsPage.create(nextCol, ret.entrySet(), true);
-                    }
-
-                    @Override
-                    public String toString() {
-                        return "multiget_slice(" + tableRef.getQualifiedName()
-                                + ", single row, " + batchColumnRangeSelection.getBatchHint() + " batch hint)";
-                    }
-                });
-            }
-
-        }.iterator());
-    }
-
-    private boolean isEndOfColumnRange(boolean completedCell, byte[] lastCol, int numRawResults,
-                                       BatchColumnRangeSelection columnRangeSelection) {
-        return (numRawResults < columnRangeSelection.getBatchHint())
-                || (completedCell
-                    && (RangeRequests.isLastRowName(lastCol)
-                        || Arrays.equals(
-                            RangeRequests.nextLexicographicName(lastCol),
-                            columnRangeSelection.getEndCol())));
-    }
-
-    private byte[] getNextColumnRangeColumn(boolean completedCell, byte[] lastCol) {
-        if (!completedCell) {
-            return lastCol;
-        } else {
-            return RangeRequests.nextLexicographicName(lastCol);
-        }
-    }
-
     private Range createColumnRange(byte[] startColOrEmpty, byte[] endColExlusiveOrEmpty, long startTs) {
         ByteBuffer start = startColOrEmpty.length == 0
                 ? Range.UNBOUND_START
@@ -1215,7 +1079,7 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
         return new CandidateRowsForSweepingIterator(
                 (iteratorTableRef, cells, maxTimestampExclusive) ->
                         get(kvsMethodName, iteratorTableRef, cells, maxTimestampExclusive),
-                newInstrumentedCqlExecutor(),
+                cqlExecutor,
                 rowGetter,
                 tableRef,
                 request,
@@ -22,7 +22,6 @@ import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -38,6 +37,7 @@ import org.apache.cassandra.thrift.ConsistencyLevel;
 import org.apache.cassandra.thrift.CqlPreparedResult;
 import org.apache.cassandra.thrift.CqlResult;
 import org.apache.cassandra.thrift.CqlRow;
+import org.apache.cassandra.thrift.InvalidRequestException;
 import org.apache.cassandra.thrift.UnavailableException;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
@@ -46,7 +46,6 @@ import org.slf4j.LoggerFactory;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.InsufficientConsistencyException;
@@ -57,17 +56,17 @@ import com.palantir.common.annotation.Output;
 import com.palantir.common.base.FunctionCheckedException;
 import com.palantir.common.base.Throwables;
 import com.palantir.logsafe.Arg;
-import com.palantir.logsafe.SafeArg;
-import com.palantir.logsafe.UnsafeArg;
 
 public class CqlExecutorImpl implements CqlExecutor {
     private final QueryExecutor queryExecutor;
     private Logger log = LoggerFactory.getLogger(CqlExecutor.class);
 
     public interface QueryExecutor {
-        CqlResult execute(CqlQuery cqlQuery, byte[] rowHintForHostSelection);
-        CqlPreparedResult prepare(ByteBuffer query, byte[] rowHintForHostSelection, Compression compression);
-        CqlResult executePrepared(int queryId, List<ByteBuffer> values);
+        /**
+         * Executes the given query with the given bind values, preparing it first if it has not yet been prepared on
+         * the host chosen for the row hint.
+         */
+        CqlResult executePrepared(String query, byte[] rowHintForHostSelection, List<ByteBuffer> values);
     }
 
     CqlExecutorImpl(CassandraClientPool clientPool,
@@ -87,13 +86,9 @@ public class CqlExecutorImpl implements CqlExecutor {
             int limit,
             ExecutorService executor,
             Integer executorThreads) {
-        String preparedSelQuery = String.format("SELECT key, column1, column2 FROM %s WHERE key = ? LIMIT %d;",
+        String query = String.format("SELECT key, column1, column2 FROM %s WHERE key = ? LIMIT %d;",
                 quotedTableName(tableRef).getValue(),
                 limit);
-        ByteBuffer queryBytes = ByteBuffer.wrap(preparedSelQuery.getBytes(StandardCharsets.UTF_8));
-
-        CqlPreparedResult preparedResult = queryExecutor.prepare(queryBytes, rowsAscending.get(0), Compression.NONE);
-        int queryId = preparedResult.getItemId();
 
         List<CellWithTimestamp> result = Lists.newArrayList();
 
@@ -103,7 +98,7 @@ public class CqlExecutorImpl implements CqlExecutor {
         }
         AtomicInteger nextRowToQuery = new AtomicInteger(0);
         for (int i = 0; i < executorThreads; i++) {
-            scheduleSweepRowTask(futures, queryId, nextRowToQuery.getAndIncrement(), nextRowToQuery, rowsAscending,
+            scheduleSweepRowTask(futures, query, nextRowToQuery.getAndIncrement(), nextRowToQuery, rowsAscending,
                     executor);
         }
 
@@ -128,7 +123,7 @@ public class CqlExecutorImpl implements CqlExecutor {
     }
 
     private void scheduleSweepRowTask(@Output List<Future<CqlResult>> futures,
-            int queryId,
+            String query,
             int rowIndex,
             AtomicInteger nextRowToQuery,
             List<byte[]> rows,
@@ -140,9 +135,9 @@ public class CqlExecutorImpl implements CqlExecutor {
         byte[] row = rows.get(rowIndex);
 
         Callable<CqlResult> task = () -> {
-            CqlResult cqlResult = queryExecutor.executePrepared(queryId, ImmutableList.of(ByteBuffer.wrap(row)));
+            CqlResult cqlResult = queryExecutor.executePrepared(query, row, ImmutableList.of(ByteBuffer.wrap(row)));
             if (!Thread.interrupted()) {
-                scheduleSweepRowTask(futures, queryId, nextRowToQuery.getAndIncrement(), nextRowToQuery, rows,
+                scheduleSweepRowTask(futures, query, nextRowToQuery.getAndIncrement(), nextRowToQuery, rows,
                         executor);
             }
             return cqlResult;
@@ -175,25 +170,16 @@ public class CqlExecutorImpl implements CqlExecutor {
             long startTimestampExclusive,
             int limit) {
         long invertedTimestamp = ~startTimestampExclusive;
-        String selQuery = "SELECT column1, column2 FROM %s WHERE key = %s AND (column1, column2) > (%s, %s) LIMIT %s;";
-        CqlQuery query = new CqlQuery(
-                selQuery,
-                quotedTableName(tableRef),
-                key(row),
-                column1(startColumnInclusive),
-                column2(invertedTimestamp),
-                limit(limit));
-
-        return executeAndGetCells(query, row,
-                result -> CqlExecutorImpl.getCellFromKeylessRow(result, row));
-    }
+        String query = String.format(
+                "SELECT column1, column2 FROM %s WHERE key = ? AND (column1, column2) > (?, ?) LIMIT %d;",
+                quotedTableName(tableRef).getValue(),
+                limit);
+        CqlResult cqlResult = queryExecutor.executePrepared(query, row, ImmutableList.of(
+                ByteBuffer.wrap(row),
+                ByteBuffer.wrap(startColumnInclusive),
+                ByteBuffer.wrap(PtBytes.toBytes(invertedTimestamp))));
 
-    private List<CellWithTimestamp> executeAndGetCells(
-            CqlQuery query,
-            byte[] rowHintForHostSelection,
-            Function<CqlRow, CellWithTimestamp> cellTsExtractor) {
-        CqlResult cqlResult = queryExecutor.execute(query, rowHintForHostSelection);
-        return CqlExecutorImpl.getCells(cellTsExtractor, cqlResult);
+        return CqlExecutorImpl.getCells(result -> CqlExecutorImpl.getCellFromKeylessRow(result, row), cqlResult);
     }
 
     private static CellWithTimestamp getCellFromKeylessRow(CqlRow row, byte[] key) {
@@ -217,26 +203,6 @@ public class CqlExecutorImpl implements CqlExecutor {
         return ~PtBytes.toLong(flippedTimestampAsBytes);
     }
 
-    private static Arg<String> key(byte[] row) {
-        return UnsafeArg.of("key", getKey(row));
-    }
-
-    private static String getKey(byte[] row) {
-        return CassandraKeyValueServices.encodeAsHex(row);
-    }
-
-    private static Arg<String> column1(byte[] column) {
-        return UnsafeArg.of("column1", CassandraKeyValueServices.encodeAsHex(column));
-    }
-
-    private static Arg<Long> column2(long invertedTimestamp) {
-        return SafeArg.of("column2", invertedTimestamp);
-    }
-
-    private static Arg<Long> limit(long limit) {
-        return SafeArg.of("limit", limit);
-    }
-
     private static Arg<String> quotedTableName(TableReference tableRef) {
         String tableNameWithQuotes = "\"" + CassandraKeyValueServiceImpl.internalTableName(tableRef) + "\"";
         return LoggingArgs.customTableName(tableRef, tableNameWithQuotes);
@@ -251,57 +217,81 @@ public class CqlExecutorImpl implements CqlExecutor {
                 .collect(Collectors.toList());
     }
 
-    private static class QueryExecutorImpl implements QueryExecutor {
+    @VisibleForTesting
+    static class QueryExecutorImpl implements QueryExecutor {
+        private static final String UNKNOWN_PREPARED_STATEMENT_MESSAGE = "Prepared query with ID";
+
         private final CassandraClientPool clientPool;
         private final ConsistencyLevel consistency;
 
-        private Map<Integer, InetSocketAddress> hostsPerPreparedQuery;
-
         QueryExecutorImpl(CassandraClientPool clientPool, ConsistencyLevel consistency) {
             this.clientPool = clientPool;
             this.consistency = consistency;
-            this.hostsPerPreparedQuery = Maps.newHashMap();
         }
 
         @Override
-        public CqlResult execute(CqlQuery cqlQuery, byte[] rowHintForHostSelection) {
-            return executeQueryOnHost(cqlQuery, getHostForRow(rowHintForHostSelection));
+        public CqlResult executePrepared(String query, byte[] rowHintForHostSelection, List<ByteBuffer> values) {
+            InetSocketAddress host = getHostForRow(rowHintForHostSelection);
+            ThriftPreparedStatementCache preparedStatements = clientPool.getPreparedStatementCache();
+            Integer cachedQueryId = preparedStatements.get(host, query);
+            int queryId = cachedQueryId != null ? cachedQueryId : prepare(host, query);
+
+            FunctionCheckedException<CassandraClient, CqlResult, TException> cqlFunction =
+                    new FunctionCheckedException<CassandraClient, CqlResult, TException>() {
+                        @Override
+                        public CqlResult apply(CassandraClient client) throws TException {
+                            try {
+                                return client.execute_prepared_cql3_query(queryId, values, consistency);
+                            } catch (InvalidRequestException e) {
+                                if (!isUnknownPreparedStatement(e)) {
+                                    throw e;
+                                }
+                                // The host may have restarted or evicted the statement, or the pool may have failed
+                                // over to a host that has not seen it. Prepare it on this client's host and try once
+                                // more. Thrift statement ids are derived from the query, so the id is cached for the
+                                // chosen host even if this client is connected to another one.
+                                int preparedQueryId = client.prepare_cql3_query(toByteBuffer(query), Compression.NONE)
+                                        .getItemId();
+                                preparedStatements.put(host, query, preparedQueryId);
+                                return client.execute_prepared_cql3_query(preparedQueryId, values, consistency);
+                            }
+                        }
+
+                        @Override
+                        public String toString() {
+                            return query;
+                        }
+                    };
+            return executeFunctionOnHost(cqlFunction, host);
         }
 
-        @Override
-        public CqlPreparedResult prepare(ByteBuffer query, byte[] rowHintForHostSelection, Compression compression) {
+        private int prepare(InetSocketAddress host, String query) {
             FunctionCheckedException<CassandraClient, CqlPreparedResult, TException> prepareFunction = client ->
-                    client.prepare_cql3_query(query, compression);
+                    client.prepare_cql3_query(toByteBuffer(query), Compression.NONE);
 
             try {
-                InetSocketAddress hostForRow = getHostForRow(rowHintForHostSelection);
-                CqlPreparedResult preparedResult = clientPool.runWithRetryOnHost(hostForRow,
-                        prepareFunction);
-                hostsPerPreparedQuery.put(preparedResult.getItemId(), hostForRow);
-                return preparedResult;
+                int queryId = clientPool.runWithRetryOnHost(host, prepareFunction).getItemId();
+                ThriftPreparedStatementCache preparedStatements = clientPool.getPreparedStatementCache();
+                preparedStatements.retainHosts(clientPool.getCurrentPools().keySet());
+                preparedStatements.put(host, query, queryId);
+                return queryId;
             } catch (TException e) {
                 throw Throwables.throwUncheckedException(e);
             }
         }
 
-        @Override
-        public CqlResult executePrepared(int queryId, List<ByteBuffer> values) {
-            FunctionCheckedException<CassandraClient, CqlResult, TException> cqlFunction = client ->
-                    client.execute_prepared_cql3_query(queryId, values, consistency);
-
-            InetSocketAddress host = hostsPerPreparedQuery.getOrDefault(queryId, getHostForRow(values.get(0).array()));
+        private static boolean isUnknownPreparedStatement(InvalidRequestException ex) {
+            return ex.getWhy() != null && ex.getWhy().startsWith(UNKNOWN_PREPARED_STATEMENT_MESSAGE);
+        }
 
-            return executeFunctionOnHost(cqlFunction, host);
+        private static ByteBuffer toByteBuffer(String query) {
+            return ByteBuffer.wrap(query.getBytes(StandardCharsets.UTF_8));
         }
 
         private InetSocketAddress getHostForRow(byte[] row) {
             return clientPool.getRandomHostForKey(row);
         }
 
-        private CqlResult executeQueryOnHost(CqlQuery cqlQuery, InetSocketAddress host) {
-            return executeFunctionOnHost(createCqlFunction(cqlQuery), host);
-        }
-
         private CqlResult executeFunctionOnHost(
                 FunctionCheckedException<CassandraClient, CqlResult, TException> cqlFunction, InetSocketAddress host) {
             try {
@@ -321,20 +311,6 @@ public class CqlExecutorImpl implements CqlExecutor {
                 throw Throwables.throwUncheckedException(ex);
             }
         }
-
-        private FunctionCheckedException<CassandraClient, CqlResult, TException> createCqlFunction(CqlQuery cqlQuery) {
-            return new FunctionCheckedException<CassandraClient, CqlResult, TException>() {
-                @Override
-                public CqlResult apply(CassandraClient client) throws TException {
-                    return client.execute_cql3_query(cqlQuery, Compression.NONE, consistency);
-                }
-
-                @Override
-                public String toString() {
-                    return cqlQuery.toString();
-                }
-            };
-        }
     }
 
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.cassandra;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+
+import javax.annotation.concurrent.GuardedBy;
+
+import org.apache.cassandra.thrift.Column;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.RangeRequests;
+import com.palantir.atlasdb.keyvalue.api.RowColumnRangeIterator;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.impl.LocalRowColumnRangeIterator;
+
+/**
+ * Pages through a column range of many rows that live on the same host.
+ *
+ * The first page of every row is read with one multiget. After that, whenever a row runs out of columns, the next
+ * page is read not just for that row but for every row of the range that has no page waiting to be consumed. Rows
+ * that continue from the same column share a multiget, and multigets continuing from different columns are issued
+ * concurrently, so callers that interleave their rows pay one round of requests per page rather than one request
+ * per row and page. At most one page per row is read ahead of the caller.
+ */
+final class RowColumnRangePager {
+    interface PageLoader {
+        RowColumnRangeExtractor.RowColumnRangeResult loadPage(
+                List<byte[]> rows,
+                BatchColumnRangeSelection columnRangeSelection);
+    }
+
+    private final PageLoader pageLoader;
+    private final TaskRunner taskRunner;
+    private final BatchColumnRangeSelection columnRangeSelection;
+    private final int fetchBatchCount;
+
+    // Rows are keyed by the arrays the extractor hands back, which are always the ones we asked for.
+    @GuardedBy("this")
+    private final Map<byte[], byte[]> incompleteRowsToNextColumns = Maps.newHashMap();
+    @GuardedBy("this")
+    private final Map<byte[], Iterator<Entry<Cell, Value>>> prefetchedPages = Maps.newHashMap();
+
+    RowColumnRangePager(PageLoader pageLoader,
+            TaskRunner taskRunner,
+            BatchColumnRangeSelection columnRangeSelection,
+            int fetchBatchCount) {
+        this.pageLoader = pageLoader;
+        this.taskRunner = taskRunner;
+        this.columnRangeSelection = columnRangeSelection;
+        this.fetchBatchCount = fetchBatchCount;
+    }
+
+    synchronized Map<byte[], RowColumnRangeIterator> getRowsColumnRange(List<byte[]> rows) {
+        Map<byte[], Iterator<Entry<Cell, Value>>> firstPages =
+                processPage(pageLoader.loadPage(rows, columnRangeSelection));
+        Map<byte[], RowColumnRangeIterator> ret = Maps.newHashMapWithExpectedSize(firstPages.size());
+        for (Entry<byte[], Iterator<Entry<Cell, Value>>> e : firstPages.entrySet()) {
+            byte[] row = e.getKey();
+            if (incompleteRowsToNextColumns.containsKey(row)) {
+                ret.put(row, new LocalRowColumnRangeIterator(
+                        Iterators.concat(e.getValue(), new RemainingPagesIterator(row))));
+            } else {
+                ret.put(row, new LocalRowColumnRangeIterator(e.getValue()));
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the next page of the given row, reading it (and those of other rows) if it has not been read yet,
+     * or null if the row has no more pages.
+     */
+    private synchronized Iterator<Entry<Cell, Value>> takeNextPage(byte[] row) {
+        if (!prefetchedPages.containsKey(row)) {
+            if (!incompleteRowsToNextColumns.containsKey(row)) {
+                return null;
+            }
+            readNextPages();
+        }
+        return prefetchedPages.remove(row);
+    }
+
+    @GuardedBy("this")
+    private void readNextPages() {
+        Map<ByteBuffer, List<byte[]>> rowsByNextColumn = Maps.newHashMap();
+        for (Entry<byte[], byte[]> e : incompleteRowsToNextColumns.entrySet()) {
+            if (!prefetchedPages.containsKey(e.getKey())) {
+                rowsByNextColumn.computeIfAbsent(ByteBuffer.wrap(e.getValue()), col -> Lists.newArrayList())
+                        .add(e.getKey());
+            }
+        }
+
+        List<Callable<RowColumnRangeExtractor.RowColumnRangeResult>> tasks = Lists.newArrayList();
+        for (Entry<ByteBuffer, List<byte[]>> e : rowsByNextColumn.entrySet()) {
+            BatchColumnRangeSelection nextColumnRange = BatchColumnRangeSelection.create(
+                    e.getKey().array(),
+                    columnRangeSelection.getEndCol(),
+                    columnRangeSelection.getBatchHint());
+            for (List<byte[]> batch : Lists.partition(e.getValue(), fetchBatchCount)) {
+                tasks.add(() -> pageLoader.loadPage(batch, nextColumnRange));
+            }
+        }
+        List<RowColumnRangeExtractor.RowColumnRangeResult> pages = taskRunner.runAllTasksCancelOnFailure(tasks);
+
+        // Only forget where the rows continue once we know the reads succeeded; processPage re-adds those that
+        // still have columns left.
+        for (List<byte[]> rows : rowsByNextColumn.values()) {
+            rows.forEach(incompleteRowsToNextColumns::remove);
+        }
+        for (RowColumnRangeExtractor.RowColumnRangeResult page : pages) {
+            prefetchedPages.putAll(processPage(page));
+        }
+    }
+
+    @GuardedBy("this")
+    private Map<byte[], Iterator<Entry<Cell, Value>>> processPage(RowColumnRangeExtractor.RowColumnRangeResult page) {
+        Map<byte[], LinkedHashMap<Cell, Value>> results = page.getResults();
+        Map<byte[], Iterator<Entry<Cell, Value>>> ret = Maps.newHashMap();
+        for (Entry<byte[], Column> e : page.getRowsToLastCompositeColumns().entrySet()) {
+            byte[] row = e.getKey();
+            byte[] col = CassandraKeyValueServices.decomposeName(e.getValue()).getLhSide();
+            // If we read a version of the cell before our start timestamp, it will be the most recent version
+            // readable to us and we can continue to the next column. Otherwise we have to continue reading
+            // this column.
+            Map<Cell, Value> rowResult = results.get(row);
+            boolean completedCell = (rowResult != null) && rowResult.containsKey(Cell.create(row, col));
+            if (!isEndOfColumnRange(completedCell, col, page.getRowsToRawColumnCount().get(row))) {
+                incompleteRowsToNextColumns.put(row, getNextColumnRangeColumn(completedCell, col));
+            }
+            ret.put(row, rowResult == null
+                    ? Collections.emptyIterator()
+                    : rowResult.entrySet().iterator());
+        }
+        // We saw no Cassandra results at all for these rows, so the rest of their column range is empty.
+        for (byte[] row : page.getEmptyRows()) {
+            ret.put(row, Collections.emptyIterator());
+        }
+        return ret;
+    }
+
+    private boolean isEndOfColumnRange(boolean completedCell, byte[] lastCol, int numRawResults) {
+        return (numRawResults < columnRangeSelection.getBatchHint())
+                || (completedCell
+                    && (RangeRequests.isLastRowName(lastCol)
+                        || Arrays.equals(
+                            RangeRequests.nextLexicographicName(lastCol),
+                            columnRangeSelection.getEndCol())));
+    }
+
+    private static byte[] getNextColumnRangeColumn(boolean completedCell, byte[] lastCol) {
+        if (!completedCell) {
+            return lastCol;
+        } else {
+            return RangeRequests.nextLexicographicName(lastCol);
+        }
+    }
+
+    private final class RemainingPagesIterator extends AbstractIterator<Entry<Cell, Value>> {
+        private final byte[] row;
+        private Iterator<Entry<Cell, Value>> page = Collections.emptyIterator();
+
+        RemainingPagesIterator(byte[] row) {
+            this.row = row;
+        }
+
+        @Override
+        protected Entry<Cell, Value> computeNext() {
+            while (!page.hasNext()) {
+                Iterator<Entry<Cell, Value>> nextPage = takeNextPage(row);
+                if (nextPage == null) {
+                    return endOfData();
+                }
+                page = nextPage;
+            }
+            return page.next();
+        }
+    }
+}
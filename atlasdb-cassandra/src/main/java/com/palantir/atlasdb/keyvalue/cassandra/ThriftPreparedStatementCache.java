@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.cassandra;
+
+import java.net.InetSocketAddress;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * The ids of CQL statements that have been prepared over thrift, by host and query.
+ * <p>
+ * Cassandra keeps prepared statements per node, so a statement prepared on one host cannot be relied on elsewhere.
+ * The cache is owned by the {@link CassandraClientPool}, which forgets hosts that have left the pool whenever it is
+ * refreshed, so that their statements are prepared again if they come back.
+ */
+public final class ThriftPreparedStatementCache {
+    private final ConcurrentMap<InetSocketAddress, ConcurrentMap<String, Integer>> idsByHost =
+            new ConcurrentHashMap<>();
+
+    @Nullable
+    Integer get(InetSocketAddress host, String query) {
+        ConcurrentMap<String, Integer> idsByQuery = idsByHost.get(host);
+        return idsByQuery == null ? null : idsByQuery.get(query);
+    }
+
+    void put(InetSocketAddress host, String query, int id) {
+        idsByHost.computeIfAbsent(host, unused -> new ConcurrentHashMap<>()).put(query, id);
+    }
+
+    void retainHosts(Set<InetSocketAddress> hosts) {
+        idsByHost.keySet().retainAll(hosts);
+    }
+}
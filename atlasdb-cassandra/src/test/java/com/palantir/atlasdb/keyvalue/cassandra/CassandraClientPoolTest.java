@@ -99,6 +99,19 @@ public class CassandraClientPoolTest {
         assertThatMetricsArePresent(ImmutableSet.of("pool1", "pool2", "pool3"));
     }
 
+    @Test
+    public void refreshingThePoolForgetsPreparedStatementsOfHostsNotInThePool() {
+        CassandraClientPoolImpl cassandraClientPool = clientPoolWithServers(ImmutableSet.of(HOST_1, HOST_2));
+        ThriftPreparedStatementCache preparedStatements = cassandraClientPool.getPreparedStatementCache();
+        preparedStatements.put(HOST_1, "query", 1);
+        preparedStatements.put(HOST_3, "query", 3);
+
+        cassandraClientPool.refreshPool();
+
+        assertEquals(Integer.valueOf(1), preparedStatements.get(HOST_1, "query"));
+        assertEquals(null, preparedStatements.get(HOST_3, "query"));
+    }
+
     private void assertThatMetricsArePresent(ImmutableSet<String> poolNames) {
         poolNames.forEach(poolName ->
                 assertThat(metricRegistry.getGauges().containsKey(getPoolMetricName(poolName)), is(true)));
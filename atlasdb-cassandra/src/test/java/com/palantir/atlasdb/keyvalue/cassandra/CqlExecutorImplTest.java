@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.cassandra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.apache.cassandra.thrift.Compression;
+import org.apache.cassandra.thrift.ConsistencyLevel;
+import org.apache.cassandra.thrift.CqlPreparedResult;
+import org.apache.cassandra.thrift.CqlResult;
+import org.apache.cassandra.thrift.InvalidRequestException;
+import org.apache.thrift.TException;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.common.base.FunctionCheckedException;
+
+public class CqlExecutorImplTest {
+    private static final InetSocketAddress HOST = InetSocketAddress.createUnresolved("host", 9160);
+    private static final String QUERY = "SELECT key FROM \"foo__bar\" WHERE key = ?;";
+    private static final byte[] ROW = PtBytes.toBytes("row");
+    private static final List<ByteBuffer> VALUES = ImmutableList.of(ByteBuffer.wrap(ROW));
+    private static final int QUERY_ID = 1;
+    private static final int REPREPARED_QUERY_ID = 2;
+
+    private final CassandraClientPool clientPool = mock(CassandraClientPool.class);
+    private final CassandraClient client = mock(CassandraClient.class);
+    private final CqlResult result = new CqlResult();
+    private final ThriftPreparedStatementCache preparedStatements = new ThriftPreparedStatementCache();
+    private final CqlExecutorImpl.QueryExecutorImpl queryExecutor =
+            new CqlExecutorImpl.QueryExecutorImpl(clientPool, ConsistencyLevel.QUORUM);
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(clientPool.getRandomHostForKey(ROW)).thenReturn(HOST);
+        when(clientPool.getPreparedStatementCache()).thenReturn(preparedStatements);
+        when(clientPool.getCurrentPools()).thenReturn(
+                ImmutableMap.of(HOST, mock(CassandraClientPoolingContainer.class)));
+        when(clientPool.runWithRetryOnHost(eq(HOST), any())).thenAnswer(invocation ->
+                ((FunctionCheckedException<CassandraClient, ?, TException>) invocation.getArguments()[1])
+                        .apply(client));
+        when(client.prepare_cql3_query(any(), eq(Compression.NONE))).thenReturn(
+                new CqlPreparedResult().setItemId(QUERY_ID),
+                new CqlPreparedResult().setItemId(REPREPARED_QUERY_ID));
+    }
+
+    @Test
+    public void preparesEachQueryOncePerHost() throws TException {
+        when(client.execute_prepared_cql3_query(QUERY_ID, VALUES, ConsistencyLevel.QUORUM)).thenReturn(result);
+
+        assertThat(queryExecutor.executePrepared(QUERY, ROW, VALUES)).isSameAs(result);
+        assertThat(queryExecutor.executePrepared(QUERY, ROW, VALUES)).isSameAs(result);
+
+        verify(client, times(1)).prepare_cql3_query(any(), any());
+    }
+
+    @Test
+    public void cachesTheIdOfStatementsPreparedAgain() throws TException {
+        when(client.execute_prepared_cql3_query(QUERY_ID, VALUES, ConsistencyLevel.QUORUM)).thenThrow(
+                new InvalidRequestException("Prepared query with ID 1 not found (either the query was not prepared "
+                        + "on this host (maybe the host has been restarted?) or you have prepared too many queries "
+                        + "and it has been evicted from the internal cache)"));
+        when(client.execute_prepared_cql3_query(REPREPARED_QUERY_ID, VALUES, ConsistencyLevel.QUORUM))
+                .thenReturn(result);
+
+        assertThat(queryExecutor.executePrepared(QUERY, ROW, VALUES)).isSameAs(result);
+        assertThat(queryExecutor.executePrepared(QUERY, ROW, VALUES)).isSameAs(result);
+
+        verify(client, times(2)).prepare_cql3_query(any(), any());
+        verify(client, times(1)).execute_prepared_cql3_query(QUERY_ID, VALUES, ConsistencyLevel.QUORUM);
+        verify(client, times(2)).execute_prepared_cql3_query(REPREPARED_QUERY_ID, VALUES, ConsistencyLevel.QUORUM);
+    }
+
+    @Test
+    public void doesNotPrepareAgainOnOtherInvalidRequests() throws TException {
+        when(client.execute_prepared_cql3_query(anyInt(), any(), any())).thenThrow(
+                new InvalidRequestException("unconfigured columnfamily foo__bar"));
+
+        assertThatThrownBy(() -> queryExecutor.executePrepared(QUERY, ROW, VALUES))
+                .hasCauseInstanceOf(InvalidRequestException.class);
+
+        verify(client, times(1)).prepare_cql3_query(any(), any());
+    }
+}
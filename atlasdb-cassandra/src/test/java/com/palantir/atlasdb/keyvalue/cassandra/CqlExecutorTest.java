@@ -17,7 +17,6 @@
 package com.palantir.atlasdb.keyvalue.cassandra;
 
 import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -26,11 +25,9 @@ import static org.mockito.Mockito.when;
 import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 
-import org.apache.cassandra.thrift.CqlPreparedResult;
 import org.apache.cassandra.thrift.CqlResult;
 import org.junit.Before;
 import org.junit.Test;
-import org.mockito.ArgumentMatcher;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.Uninterruptibles;
@@ -58,16 +55,10 @@ public class CqlExecutorTest {
     public void before() {
         CqlResult result = new CqlResult();
         result.setRows(ImmutableList.of());
-        when(queryExecutor.execute(any(), any())).thenAnswer(invocation -> {
+        when(queryExecutor.executePrepared(any(), any(), any())).thenAnswer(invocation -> {
             Uninterruptibles.sleepUninterruptibly(queryDelayMillis, TimeUnit.MILLISECONDS);
             return result;
         });
-
-        CqlPreparedResult preparedResult = new CqlPreparedResult();
-        preparedResult.setItemId(1);
-        when(queryExecutor.prepare(any(), any(), any())).thenReturn(preparedResult);
-
-        when(queryExecutor.executePrepared(eq(1), any())).thenReturn(result);
     }
 
     @Test
@@ -79,47 +70,21 @@ public class CqlExecutorTest {
         executor.getTimestamps(TABLE_REF, ImmutableList.of(ROW, END_ROW), LIMIT,
                 PTExecutors.newFixedThreadPool(executorThreads), executorThreads);
 
-        verify(queryExecutor).prepare(argThat(byteBufferMatcher(expected)), eq(ROW), any());
-        verify(queryExecutor).executePrepared(eq(1), eq(ImmutableList.of(ByteBuffer.wrap(ROW))));
-        verify(queryExecutor).executePrepared(eq(1), eq(ImmutableList.of(ByteBuffer.wrap(END_ROW))));
+        verify(queryExecutor).executePrepared(eq(expected), eq(ROW), eq(ImmutableList.of(ByteBuffer.wrap(ROW))));
+        verify(queryExecutor).executePrepared(
+                eq(expected), eq(END_ROW), eq(ImmutableList.of(ByteBuffer.wrap(END_ROW))));
     }
 
     @Test
     public void getTimestampsWithinRow() {
-        String expected = "SELECT column1, column2 FROM \"foo__bar\" WHERE key = 0x0102"
-                + " AND (column1, column2) > (0x0304, -124) LIMIT 100;";
+        String expected = "SELECT column1, column2 FROM \"foo__bar\" WHERE key = ?"
+                + " AND (column1, column2) > (?, ?) LIMIT 100;";
 
         executor.getTimestampsWithinRow(TABLE_REF, ROW, COLUMN, TIMESTAMP, LIMIT);
 
-        verify(queryExecutor).execute(argThat(cqlQueryMatcher(expected)), eq(ROW));
-    }
-
-    private ArgumentMatcher<ByteBuffer> byteBufferMatcher(String expected) {
-        return new ArgumentMatcher<ByteBuffer>() {
-            @Override
-            public boolean matches(Object argument) {
-                if (!(argument instanceof ByteBuffer)) {
-                    return false;
-                }
-
-                String actualQuery = PtBytes.toString(((ByteBuffer) argument).array());
-                return expected.equals(actualQuery);
-            }
-        };
+        verify(queryExecutor).executePrepared(eq(expected), eq(ROW), eq(ImmutableList.of(
+                ByteBuffer.wrap(ROW),
+                ByteBuffer.wrap(COLUMN),
+                ByteBuffer.wrap(PtBytes.toBytes(-124L)))));
     }
-
-    private ArgumentMatcher<CqlQuery> cqlQueryMatcher(String expected) {
-        return new ArgumentMatcher<CqlQuery>() {
-            @Override
-            public boolean matches(Object argument) {
-                if (!(argument instanceof CqlQuery)) {
-                    return false;
-                }
-
-                String actualQuery = argument.toString();
-                return expected.equals(actualQuery);
-            }
-        };
-    }
-
 }
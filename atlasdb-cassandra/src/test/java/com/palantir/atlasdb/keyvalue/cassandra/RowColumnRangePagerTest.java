@@ -0,0 +1,154 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.cassandra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+
+import org.apache.cassandra.thrift.ColumnOrSuperColumn;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.RowColumnRangeIterator;
+import com.palantir.atlasdb.keyvalue.api.Value;
+
+public class RowColumnRangePagerTest {
+    private static final byte[] ROW_1 = PtBytes.toBytes("row1");
+    private static final byte[] ROW_2 = PtBytes.toBytes("row2");
+    private static final byte[] ROW_3 = PtBytes.toBytes("row3");
+    private static final byte[] EMPTY_ROW = PtBytes.toBytes("empty");
+    private static final long TIMESTAMP = 10L;
+    private static final BatchColumnRangeSelection ALL_COLUMNS_IN_PAGES_OF_TWO =
+            BatchColumnRangeSelection.create(PtBytes.EMPTY_BYTE_ARRAY, PtBytes.EMPTY_BYTE_ARRAY, 2);
+
+    private final Map<ByteBuffer, NavigableSet<byte[]>> columnsByRow = Maps.newHashMap();
+    private final List<Integer> rowsPerLoad = Lists.newArrayList();
+
+    @Test
+    public void returnsAllColumnsOfEveryRow() {
+        putColumns(ROW_1, "a", "b", "c", "d", "e");
+        putColumns(ROW_2, "a", "b");
+
+        Map<byte[], RowColumnRangeIterator> iterators = getRowsColumnRange(100, ROW_1, ROW_2, EMPTY_ROW);
+
+        assertThat(columnsOf(iterators.get(ROW_1))).containsExactly("a", "b", "c", "d", "e");
+        assertThat(columnsOf(iterators.get(ROW_2))).containsExactly("a", "b");
+        assertThat(iterators.get(EMPTY_ROW).hasNext()).isFalse();
+    }
+
+    @Test
+    public void readsNextPagesOfInterleavedRowsTogether() {
+        for (byte[] row : ImmutableList.of(ROW_1, ROW_2, ROW_3)) {
+            putColumns(row, "a", "b", "c", "d", "e");
+        }
+
+        Map<byte[], RowColumnRangeIterator> iterators = getRowsColumnRange(100, ROW_1, ROW_2, ROW_3);
+        List<Cell> cells = Lists.newArrayList();
+        while (iterators.get(ROW_3).hasNext()) {
+            for (byte[] row : ImmutableList.of(ROW_1, ROW_2, ROW_3)) {
+                cells.add(iterators.get(row).next().getKey());
+            }
+        }
+
+        assertThat(cells).hasSize(15);
+        // one read for the first page of all rows, and one per further page of all rows
+        assertThat(rowsPerLoad).containsExactly(3, 3, 3);
+    }
+
+    @Test
+    public void readsRowsContinuingFromDifferentColumnsSeparately() {
+        putColumns(ROW_1, "a", "b", "c");
+        putColumns(ROW_2, "x", "y", "z");
+
+        Map<byte[], RowColumnRangeIterator> iterators = getRowsColumnRange(100, ROW_1, ROW_2);
+
+        assertThat(columnsOf(iterators.get(ROW_1))).containsExactly("a", "b", "c");
+        assertThat(rowsPerLoad).containsExactly(2, 1, 1);
+        assertThat(columnsOf(iterators.get(ROW_2))).containsExactly("x", "y", "z");
+        assertThat(rowsPerLoad).containsExactly(2, 1, 1);
+    }
+
+    @Test
+    public void splitsNextPagesIntoFetchBatches() {
+        for (byte[] row : ImmutableList.of(ROW_1, ROW_2, ROW_3)) {
+            putColumns(row, "a", "b", "c");
+        }
+
+        Map<byte[], RowColumnRangeIterator> iterators = getRowsColumnRange(2, ROW_1, ROW_2, ROW_3);
+
+        assertThat(columnsOf(iterators.get(ROW_1))).containsExactly("a", "b", "c");
+        assertThat(rowsPerLoad).hasSize(3).contains(2, 1);
+    }
+
+    private void putColumns(byte[] row, String... columns) {
+        NavigableSet<byte[]> columnSet = Sets.newTreeSet(UnsignedBytes.lexicographicalComparator());
+        for (String column : columns) {
+            columnSet.add(PtBytes.toBytes(column));
+        }
+        columnsByRow.put(ByteBuffer.wrap(row), columnSet);
+    }
+
+    private Map<byte[], RowColumnRangeIterator> getRowsColumnRange(int fetchBatchCount, byte[]... rows) {
+        RowColumnRangePager pager = new RowColumnRangePager(
+                this::loadPage,
+                new TaskRunner(MoreExecutors.newDirectExecutorService()),
+                ALL_COLUMNS_IN_PAGES_OF_TWO,
+                fetchBatchCount);
+        return pager.getRowsColumnRange(ImmutableList.copyOf(rows));
+    }
+
+    private RowColumnRangeExtractor.RowColumnRangeResult loadPage(
+            List<byte[]> rows,
+            BatchColumnRangeSelection columnRangeSelection) {
+        rowsPerLoad.add(rows.size());
+        Map<ByteBuffer, List<ColumnOrSuperColumn>> results = Maps.newHashMap();
+        for (byte[] row : rows) {
+            NavigableSet<byte[]> columns = columnsByRow.getOrDefault(
+                    ByteBuffer.wrap(row), Sets.newTreeSet(UnsignedBytes.lexicographicalComparator()));
+            List<ColumnOrSuperColumn> page = Lists.newArrayList();
+            for (byte[] column : columns.tailSet(columnRangeSelection.getStartCol(), true)) {
+                if (page.size() == columnRangeSelection.getBatchHint()) {
+                    break;
+                }
+                Value value = Value.create(column, TIMESTAMP - 1);
+                page.add(new ColumnOrSuperColumn().setColumn(
+                        CassandraKeyValueServices.createColumn(Cell.create(row, column), value)));
+            }
+            results.put(ByteBuffer.wrap(row), page);
+        }
+        RowColumnRangeExtractor extractor = new RowColumnRangeExtractor();
+        extractor.extractResults(rows, results, TIMESTAMP);
+        return extractor.getRowColumnRangeResult();
+    }
+
+    private static List<String> columnsOf(RowColumnRangeIterator iterator) {
+        List<String> columns = Lists.newArrayList();
+        iterator.forEachRemaining(entry -> columns.add(PtBytes.toString(entry.getKey().getColumnName())));
+        return columns;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.cassandra;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetSocketAddress;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+public class ThriftPreparedStatementCacheTest {
+    private static final InetSocketAddress HOST_1 = InetSocketAddress.createUnresolved("host1", 9160);
+    private static final InetSocketAddress HOST_2 = InetSocketAddress.createUnresolved("host2", 9160);
+    private static final String QUERY = "SELECT key FROM \"foo__bar\" WHERE key = ?;";
+
+    private final ThriftPreparedStatementCache cache = new ThriftPreparedStatementCache();
+
+    @Test
+    public void statementsArePreparedPerHost() {
+        cache.put(HOST_1, QUERY, 1);
+
+        assertThat(cache.get(HOST_1, QUERY)).isEqualTo(1);
+        assertThat(cache.get(HOST_2, QUERY)).isNull();
+    }
+
+    @Test
+    public void hostsThatLeftThePoolAreForgotten() {
+        cache.put(HOST_1, QUERY, 1);
+        cache.put(HOST_2, QUERY, 2);
+        cache.retainHosts(ImmutableSet.of(HOST_2));
+
+        assertThat(cache.get(HOST_1, QUERY)).isNull();
+        assertThat(cache.get(HOST_2, QUERY)).isEqualTo(2);
+    }
+}
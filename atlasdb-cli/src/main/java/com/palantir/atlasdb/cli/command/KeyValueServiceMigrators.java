@@ -80,7 +80,9 @@ public final class KeyValueServiceMigrators {
                         //
                     }
                 },
-                ImmutableSet.of());
+                ImmutableSet.of(),
+                migratorSpec.bulk(),
+                migratorSpec.maxBytesPerSecond());
     }
 
     @VisibleForTesting
@@ -111,10 +113,22 @@ public final class KeyValueServiceMigrators {
             return 100;
         }
 
+        @Value.Default
+        public boolean bulk() {
+            return false;
+        }
+
+        @Value.Default
+        public long maxBytesPerSecond() {
+            return 0;
+        }
+
         @Value.Check
         void check() {
             Preconditions.checkArgument(threads() > 0, "Threads used for migration should be positive.");
             Preconditions.checkArgument(batchSize() > 0, "Batch size used for migration should be positive.");
+            Preconditions.checkArgument(maxBytesPerSecond() >= 0,
+                    "Maximum bytes per second used for migration should not be negative.");
         }
     }
 }
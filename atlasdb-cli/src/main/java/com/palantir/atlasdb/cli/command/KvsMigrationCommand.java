@@ -74,6 +74,18 @@ public class KvsMigrationCommand implements Callable<Integer> {
             arity = 1)
     private int batchSize = 100;
 
+    @Option(name = {"--bulk"},
+            description = "Migrate the ranges of all tables from one queue, copying committed cells directly "
+                    + "between the key value services instead of reading every row in a transaction.")
+    private boolean bulk = false;
+
+    @Option(name = {"--maxBytesPerSecond"},
+            title = "MAX BYTES PER SECOND",
+            description = "maximum number of bytes to copy per second in bulk mode (0 for no limit)",
+            required = false,
+            arity = 1)
+    private long maxBytesPerSecond = 0;
+
     @Option(name = {"-s", "--setup"},
             description = "Setup migration by dropping and creating tables.")
     private boolean setup = false;
@@ -86,6 +98,11 @@ public class KvsMigrationCommand implements Callable<Integer> {
             description = "Validate migration.")
     private boolean validate = false;
 
+    @Option(name = {"--compareDigests"},
+            description = "Validate by comparing digests of ranges of rows, and only compare the cells of ranges "
+                    + "that differ.")
+    private boolean compareDigests = false;
+
     @Option(name = {"--offline"},
             title = "OFFLINE",
             type = OptionType.GLOBAL,
@@ -139,7 +156,8 @@ public class KvsMigrationCommand implements Callable<Integer> {
                     ImmutableMap.of(),
                     (String message, KeyValueServiceMigrator.KvsMigrationMessageLevel level) ->
                             printer.info(level.toString() + ": " + message),
-                    ImmutableSet.of());
+                    ImmutableSet.of(),
+                    compareDigests);
             validator.validate(true);
         }
         return 0;
@@ -176,6 +194,8 @@ public class KvsMigrationCommand implements Callable<Integer> {
                 .toServices(toServices)
                 .threads(threads)
                 .batchSize(batchSize)
+                .bulk(bulk)
+                .maxBytesPerSecond(maxBytesPerSecond)
                 .build());
     }
 }
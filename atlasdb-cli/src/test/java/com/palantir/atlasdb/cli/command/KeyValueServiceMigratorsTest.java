@@ -76,6 +76,13 @@ public class KeyValueServiceMigratorsTest {
                 .build()).isInstanceOf(IllegalArgumentException.class);
     }
 
+    @Test
+    public void throwsIfSpecifyingNegativeMaxBytesPerSecond() throws Exception {
+        assertThatThrownBy(() -> migratorSpecBuilder
+                .maxBytesPerSecond(-1)
+                .build()).isInstanceOf(IllegalArgumentException.class);
+    }
+
     private static AtlasDbServices createMockAtlasDbServices() {
         TimestampService timestampService = new InMemoryTimestampService();
 
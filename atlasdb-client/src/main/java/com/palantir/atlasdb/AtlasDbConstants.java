@@ -79,6 +79,7 @@ public final class AtlasDbConstants {
     public static final long MAX_TS = Long.MAX_VALUE;
 
     public static final long DEFAULT_TRANSACTION_LOCK_ACQUIRE_TIMEOUT_MS = 60_000;
+    public static final long DEFAULT_RANGE_SCAN_PREFETCH_BYTES = 0L;
 
     public static final Set<TableReference> hiddenTables = ImmutableSet.of(
             TransactionConstants.TRANSACTION_TABLE,
@@ -106,6 +107,7 @@ public final class AtlasDbConstants {
 
     public static final long DEFAULT_TRANSACTION_READ_TIMEOUT = 60 * 60 * 1000; // one hour
     public static final long DEFAULT_PUNCH_INTERVAL_MILLIS = 60 * 1000; // one minute
+    public static final long DEFAULT_PUNCH_TABLE_RECONCILE_INTERVAL_MILLIS = 60 * 60 * 1000; // one hour
 
     public static final boolean DEFAULT_BACKGROUND_SCRUB_AGGRESSIVELY = true;
     public static final int DEFAULT_BACKGROUND_SCRUB_THREADS = 8;
@@ -0,0 +1,614 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.commons.lang3.ArrayUtils;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.PeekingIterator;
+import com.google.common.collect.Sets;
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import com.google.common.primitives.UnsignedBytes;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
+import com.palantir.atlasdb.keyvalue.api.CandidateCellForSweeping;
+import com.palantir.atlasdb.keyvalue.api.CandidateCellForSweepingRequest;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.CheckAndSetException;
+import com.palantir.atlasdb.keyvalue.api.CheckAndSetRequest;
+import com.palantir.atlasdb.keyvalue.api.ClusterAvailabilityStatus;
+import com.palantir.atlasdb.keyvalue.api.ColumnRangeSelection;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowColumnRangeIterator;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.impl.OffHeapTable.Key;
+import com.palantir.common.annotation.Output;
+import com.palantir.common.base.ClosableIterator;
+import com.palantir.common.base.ClosableIterators;
+import com.palantir.common.base.Throwables;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.util.paging.TokenBackedBasicResultsPage;
+
+/**
+ * Key-value store that keeps its data outside the Java heap, for single-node deployments and tests too large for
+ * {@link InMemoryKeyValueService}.
+ * <p>
+ * Each table is a log-structured store: recent writes are held in a small sorted map on the heap and are
+ * periodically flushed to sorted, immutable segments held in direct buffers, which are merged together from time to
+ * time. Flushes and merges run on a background compactor thread, so writers never wait for them. If a data
+ * directory is given, segments are memory-mapped files in that directory instead, and the store can be reopened from
+ * it; writes since the last flush are only persisted when the store is closed, so this is not a durable store.
+ */
+@ThreadSafe
+public class OffHeapKeyValueService extends AbstractKeyValueService {
+    private static final long DEFAULT_FLUSH_THRESHOLD_BYTES = 64 * 1024 * 1024;
+    private static final int DEFAULT_MAX_FLUSHED_SEGMENTS = 8;
+    private static final String METADATA_FILE = "metadata";
+
+    private final ConcurrentMap<TableReference, OffHeapTable> tables = Maps.newConcurrentMap();
+    private final ConcurrentMap<TableReference, byte[]> tableMetadata = Maps.newConcurrentMap();
+    @Nullable
+    private final File dataDirectory;
+    private final long flushThresholdBytes;
+    private final int maxFlushedSegments;
+    private final ExecutorService compactor =
+            PTExecutors.newSingleThreadExecutor(PTExecutors.newNamedThreadFactory(true));
+
+    /**
+     * Creates a store whose data is lost when it is closed.
+     */
+    public static OffHeapKeyValueService create() {
+        return new OffHeapKeyValueService(null, DEFAULT_FLUSH_THRESHOLD_BYTES, DEFAULT_MAX_FLUSHED_SEGMENTS);
+    }
+
+    /**
+     * Creates a store that keeps its data in the given directory, loading any tables already stored there.
+     */
+    public static OffHeapKeyValueService create(File dataDirectory) {
+        return new OffHeapKeyValueService(dataDirectory, DEFAULT_FLUSH_THRESHOLD_BYTES, DEFAULT_MAX_FLUSHED_SEGMENTS);
+    }
+
+    OffHeapKeyValueService(@Nullable File dataDirectory, long flushThresholdBytes, int maxFlushedSegments) {
+        super(PTExecutors.newFixedThreadPool(16, PTExecutors.newNamedThreadFactory(true)));
+        this.dataDirectory = dataDirectory;
+        this.flushThresholdBytes = flushThresholdBytes;
+        this.maxFlushedSegments = maxFlushedSegments;
+        if (dataDirectory != null) {
+            loadTables(dataDirectory);
+        }
+    }
+
+    @Override
+    @SuppressWarnings({"CheckReturnValue"}) // Consume all remaining values of iterator.
+    public Map<Cell, Value> getRows(TableReference tableRef, Iterable<byte[]> rows,
+                                    ColumnSelection columnSelection, long timestamp) {
+        Map<Cell, Value> result = Maps.newHashMap();
+        OffHeapTable table = getTable(tableRef);
+
+        for (byte[] row : rows) {
+            PeekingIterator<Entry<Key, byte[]>> entries = Iterators.peekingIterator(
+                    table.entries(Key.startOfRow(row), Key.startOfRowAfter(row), false));
+            while (entries.hasNext()) {
+                Key key = entries.peek().getKey();
+                Iterator<Entry<Key, byte[]>> cellIter = takeCell(entries, key);
+                if (columnSelection.contains(key.col)) {
+                    getLatestVersionOfCell(row, key, cellIter, timestamp, result);
+                }
+                Iterators.size(cellIter);
+            }
+        }
+
+        return result;
+    }
+
+    private void getLatestVersionOfCell(byte[] row, Key key, Iterator<Entry<Key, byte[]>> cellIter, long timestamp,
+                                        @Output Map<Cell, Value> result) {
+        Entry<Key, byte[]> lastEntry = null;
+        while (cellIter.hasNext()) {
+            Entry<Key, byte[]> curEntry = cellIter.next();
+            if (curEntry.getKey().ts >= timestamp) {
+                break;
+            }
+            lastEntry = curEntry;
+        }
+        if (lastEntry != null) {
+            long ts = lastEntry.getKey().ts;
+            result.put(Cell.create(row, key.col), Value.createWithCopyOfData(lastEntry.getValue(), ts));
+        }
+    }
+
+    @Override
+    public Map<Cell, Value> get(TableReference tableRef, Map<Cell, Long> timestampByCell) {
+        OffHeapTable table = getTable(tableRef);
+        Map<Cell, Value> result = Maps.newHashMap();
+        for (Map.Entry<Cell, Long> e : timestampByCell.entrySet()) {
+            Cell cell = e.getKey();
+            Iterator<Entry<Key, byte[]>> versions = table.entries(
+                    key(cell, Long.MIN_VALUE), key(cell, e.getValue()), true);
+            if (versions.hasNext()) {
+                Entry<Key, byte[]> lastEntry = versions.next();
+                result.put(cell, Value.createWithCopyOfData(lastEntry.getValue(), lastEntry.getKey().ts));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>> getFirstBatchForRanges(
+            TableReference tableRef,
+            Iterable<RangeRequest> rangeRequests,
+            long timestamp) {
+        return KeyValueServices.getFirstBatchForRangesUsingGetRange(this, tableRef, rangeRequests, timestamp);
+    }
+
+    @Override
+    public ClosableIterator<RowResult<Value>> getRange(
+            TableReference tableRef,
+            final RangeRequest range,
+            final long timestamp) {
+        boolean reversed = range.isReverse();
+        return getRangeInternal(tableRef, range, entries -> {
+            Entry<Key, byte[]> lastEntry = null;
+            while (entries.hasNext()) {
+                Entry<Key, byte[]> entry = entries.next();
+                if (reversed && entry.getKey().ts < timestamp) {
+                    lastEntry = entry;
+                    break;
+                } else if (!reversed && entry.getKey().ts >= timestamp) {
+                    break;
+                }
+                lastEntry = entry;
+            }
+            if (lastEntry != null) {
+                long ts = lastEntry.getKey().ts;
+                return Value.createWithCopyOfData(lastEntry.getValue(), ts);
+            } else {
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public ClosableIterator<RowResult<Set<Long>>> getRangeOfTimestamps(
+            TableReference tableRef,
+            final RangeRequest range,
+            final long timestamp) {
+        return getRangeInternal(tableRef, range, entries -> {
+            Set<Long> timestamps = Sets.newTreeSet();
+            while (entries.hasNext()) {
+                Entry<Key, byte[]> entry = entries.next();
+                Key key = entry.getKey();
+                if (key.ts >= timestamp) {
+                    break;
+                }
+                timestamps.add(key.ts);
+            }
+            if (!timestamps.isEmpty()) {
+                return timestamps;
+            } else {
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public ClosableIterator<List<CandidateCellForSweeping>> getCandidateCellsForSweeping(TableReference tableRef,
+            CandidateCellForSweepingRequest request) {
+        return new GetCandidateCellsForSweepingShim(this).getCandidateCellsForSweeping(tableRef, request);
+    }
+
+    private <T> ClosableIterator<RowResult<T>> getRangeInternal(TableReference tableRef,
+                                                                final RangeRequest range,
+                                                                final ResultProducer<T> resultProducer) {
+        byte[] startRow = range.getStartInclusive();
+        byte[] endRow = range.getEndExclusive();
+        Key low;
+        Key high;
+        if (range.isReverse()) {
+            // Reverse ranges cover the rows after the end row, up to and including the start row.
+            low = endRow.length == 0 ? null : Key.startOfRowAfter(endRow);
+            high = startRow.length == 0 ? null : Key.startOfRowAfter(startRow);
+        } else {
+            low = startRow.length == 0 ? null : Key.startOfRow(startRow);
+            high = endRow.length == 0 ? null : Key.startOfRow(endRow);
+        }
+        final PeekingIterator<Entry<Key, byte[]>> it = Iterators.peekingIterator(
+                getTable(tableRef).entries(low, high, range.isReverse()));
+        return ClosableIterators.wrap(new AbstractIterator<RowResult<T>>() {
+            @Override
+            protected RowResult<T> computeNext() {
+                while (true) {
+                    if (!it.hasNext()) {
+                        return endOfData();
+                    }
+                    ImmutableSortedMap.Builder<byte[], T> result = ImmutableSortedMap.orderedBy(
+                            UnsignedBytes.lexicographicalComparator());
+                    Key key = it.peek().getKey();
+                    byte[] row = key.row;
+                    Iterator<Entry<Key, byte[]>> cellIter = takeCell(it, key);
+                    collectValueForTimestamp(key.col, cellIter, result, range, resultProducer);
+
+                    while (it.hasNext()) {
+                        if (!it.peek().getKey().matchesRow(row)) {
+                            break;
+                        }
+                        key = it.peek().getKey();
+                        cellIter = takeCell(it, key);
+                        collectValueForTimestamp(key.col, cellIter, result, range, resultProducer);
+                    }
+                    SortedMap<byte[], T> columns = result.build();
+                    if (!columns.isEmpty()) {
+                        return RowResult.create(row, columns);
+                    }
+                }
+            }
+
+        });
+    }
+
+    private static Iterator<Entry<Key, byte[]>> takeCell(final PeekingIterator<Entry<Key, byte[]>> it, final Key key) {
+        return new AbstractIterator<Entry<Key, byte[]>>() {
+            @Override
+            protected Entry<Key, byte[]> computeNext() {
+                if (!it.hasNext()) {
+                    return endOfData();
+                }
+                Entry<Key, byte[]> next = it.peek();
+                Key nextKey = next.getKey();
+                if (nextKey.matchesCell(key)) {
+                    return it.next();
+                }
+                return endOfData();
+            }
+        };
+    }
+
+    @Override
+    public Map<byte[], RowColumnRangeIterator> getRowsColumnRange(TableReference tableRef,
+                                                                  Iterable<byte[]> rows,
+                                                                  BatchColumnRangeSelection batchColumnRangeSelection,
+                                                                  long timestamp) {
+        Map<byte[], RowColumnRangeIterator> result = Maps.newHashMap();
+        OffHeapTable table = getTable(tableRef);
+
+        ColumnRangeSelection columnRangeSelection = new ColumnRangeSelection(
+                batchColumnRangeSelection.getStartCol(),
+                batchColumnRangeSelection.getEndCol());
+        for (byte[] row : rows) {
+            result.put(row, getColumnRangeForSingleRow(table, row, columnRangeSelection, timestamp));
+        }
+
+        return result;
+    }
+
+    @Override
+    public RowColumnRangeIterator getRowsColumnRange(TableReference tableRef,
+                                                     Iterable<byte[]> rows,
+                                                     ColumnRangeSelection columnRangeSelection,
+                                                     int cellBatchHint,
+                                                     long timestamp) {
+        OffHeapTable table = getTable(tableRef);
+        Iterator<RowColumnRangeIterator> rowColumnRanges =
+                Iterators.transform(rows.iterator(),
+                        row -> getColumnRangeForSingleRow(table, row, columnRangeSelection, timestamp));
+        return new LocalRowColumnRangeIterator(Iterators.concat(rowColumnRanges));
+    }
+
+    @SuppressWarnings({"CheckReturnValue"}) // Consume all remaining values of iterator.
+    private RowColumnRangeIterator getColumnRangeForSingleRow(OffHeapTable table,
+                                                              byte[] row,
+                                                              ColumnRangeSelection columnRangeSelection,
+                                                              long timestamp) {
+        Key low = new Key(row, columnRangeSelection.getStartCol(), Long.MIN_VALUE);
+        Key high = columnRangeSelection.getEndCol().length > 0
+                ? new Key(row, columnRangeSelection.getEndCol(), Long.MIN_VALUE)
+                : Key.startOfRowAfter(row);
+        PeekingIterator<Entry<Key, byte[]>> entries = Iterators.peekingIterator(table.entries(low, high, false));
+        Map<Cell, Value> rowResults = new LinkedHashMap<>();
+        while (entries.hasNext()) {
+            Key key = entries.peek().getKey();
+            Iterator<Entry<Key, byte[]>> cellIter = takeCell(entries, key);
+            getLatestVersionOfCell(row, key, cellIter, timestamp, rowResults);
+            Iterators.size(cellIter);
+        }
+        return new LocalRowColumnRangeIterator(rowResults.entrySet().iterator());
+    }
+
+    private interface ResultProducer<T> {
+        @Nullable T apply(Iterator<Entry<Key, byte[]>> timestampValues);
+    }
+
+    @SuppressWarnings({"CheckReturnValue"}) // Consume all remaining values of iterator.
+    private static <T> void collectValueForTimestamp(byte[] col,
+                                                     Iterator<Entry<Key, byte[]>> timestampValues,
+                                                     @Output ImmutableSortedMap.Builder<byte[], T> results,
+                                                     RangeRequest range,
+                                                     ResultProducer<T> resultProducer) {
+        T result = null;
+        if (range.containsColumn(col)) {
+            result = resultProducer.apply(timestampValues);
+        }
+
+        // exhaust remaining entries
+        Iterators.size(timestampValues);
+        if (result != null) {
+            results.put(col, result);
+        }
+    }
+
+    @Override
+    public void put(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+        putInternal(tableRef, KeyValueServices.toConstantTimestampValues(values.entrySet(), timestamp), false);
+    }
+
+    @Override
+    public void putWithTimestamps(TableReference tableRef, Multimap<Cell, Value> values) {
+        putInternal(tableRef, values.entries(), false);
+    }
+
+    @Override
+    public void putUnlessExists(TableReference tableRef, Map<Cell, byte[]> values)
+            throws KeyAlreadyExistsException {
+        putInternal(tableRef,
+                KeyValueServices.toConstantTimestampValues(values.entrySet(), AtlasDbConstants.TRANSACTION_TS),
+                true);
+    }
+
+    private void putInternal(
+            TableReference tableRef,
+            Collection<Map.Entry<Cell, Value>> values,
+            boolean doNotOverwriteWithSameValue) {
+        OffHeapTable table = getTable(tableRef);
+        for (Map.Entry<Cell, Value> e : values) {
+            byte[] contents = e.getValue().getContents();
+            long timestamp = e.getValue().getTimestamp();
+
+            byte[] oldContents = table.putIfAbsent(key(e.getKey(), timestamp), contents);
+            if (oldContents != null && (doNotOverwriteWithSameValue || !Arrays.equals(oldContents, contents))) {
+                throw new KeyAlreadyExistsException("We already have a value for this timestamp");
+            }
+        }
+    }
+
+    @Override
+    public void checkAndSet(CheckAndSetRequest request) throws CheckAndSetException {
+        TableReference tableRef = request.table();
+        OffHeapTable table = getTable(tableRef);
+        Cell cell = request.cell();
+        Optional<byte[]> oldValue = request.oldValue();
+        byte[] contents = request.newValue();
+
+        Key key = key(cell, AtlasDbConstants.TRANSACTION_TS);
+        if (oldValue.isPresent()) {
+            if (!table.replace(key, oldValue.get(), contents)) {
+                throwCheckAndSetException(cell, tableRef, oldValue.get(), table.get(key));
+            }
+        } else {
+            byte[] oldContents = table.putIfAbsent(key, contents);
+            if (oldContents != null) {
+                throwCheckAndSetException(cell, tableRef, null, oldContents);
+            }
+        }
+    }
+
+    private void throwCheckAndSetException(Cell cell, TableReference tableRef, byte[] expected, byte[] actual) {
+        ImmutableList<byte[]> actuals = actual == null ? ImmutableList.of() : ImmutableList.of(actual);
+        throw new CheckAndSetException(cell, tableRef, expected, actuals);
+    }
+
+    @Override
+    public void delete(TableReference tableRef, Multimap<Cell, Long> keys) {
+        OffHeapTable table = getTable(tableRef);
+        for (Map.Entry<Cell, Long> e : keys.entries()) {
+            table.delete(key(e.getKey(), e.getValue()));
+        }
+    }
+
+    @Override
+    public Multimap<Cell, Long> getAllTimestamps(TableReference tableRef, Set<Cell> cells, long ts) {
+        Multimap<Cell, Long> multimap = HashMultimap.create();
+        OffHeapTable table = getTable(tableRef);
+        for (Cell cell : cells) {
+            Iterator<Entry<Key, byte[]>> versions = table.entries(key(cell, Long.MIN_VALUE), key(cell, ts), false);
+            while (versions.hasNext()) {
+                multimap.put(cell, versions.next().getKey().ts);
+            }
+        }
+        return multimap;
+    }
+
+    @Override
+    public void dropTable(TableReference tableRef) {
+        OffHeapTable table = tables.remove(tableRef);
+        tableMetadata.remove(tableRef);
+        if (table != null) {
+            table.drop();
+        }
+        if (dataDirectory != null) {
+            Path directory = tableDirectory(tableRef).toPath();
+            try {
+                if (Files.exists(directory)) {
+                    MoreFiles.deleteRecursively(directory, RecursiveDeleteOption.ALLOW_INSECURE);
+                }
+            } catch (IOException e) {
+                throw Throwables.rewrapAndThrowUncheckedException("Failed to delete files of " + tableRef, e);
+            }
+        }
+    }
+
+    @Override
+    public void truncateTable(TableReference tableRef) {
+        OffHeapTable table = tables.get(tableRef);
+        if (table != null) {
+            table.truncate();
+        } else {
+            throw new IllegalStateException(
+                    String.format("Truncate called on a table (%s) that did not exist", tableRef));
+        }
+    }
+
+    @Override
+    public void createTable(TableReference tableRef, byte[] metadata) {
+        tables.computeIfAbsent(tableRef, this::newTable);
+        putMetadataForTable(tableRef, metadata);
+    }
+
+    @Override
+    public void putMetadataForTable(TableReference tableRef, byte[] metadata) {
+        if (!tables.containsKey(tableRef)) {
+            throw new IllegalArgumentException("No such table " + tableRef);
+        }
+        tableMetadata.put(tableRef, metadata);
+        if (dataDirectory != null) {
+            writeMetadata(tableRef, metadata);
+        }
+    }
+
+    @Override
+    public byte[] getMetadataForTable(TableReference tableRef) {
+        if (!tables.containsKey(tableRef)) {
+            return AtlasDbConstants.EMPTY_TABLE_METADATA;
+        }
+        byte[] ret = tableMetadata.get(tableRef);
+        return ret == null ? ArrayUtils.EMPTY_BYTE_ARRAY : ret;
+    }
+
+    @Override
+    public Set<TableReference> getAllTableNames() {
+        return ImmutableSet.copyOf(tables.keySet());
+    }
+
+    @Override
+    public void addGarbageCollectionSentinelValues(TableReference tableRef, Iterable<Cell> cells) {
+        OffHeapTable table = getTable(tableRef);
+        for (Cell cell : cells) {
+            table.put(key(cell, Value.INVALID_VALUE_TIMESTAMP), ArrayUtils.EMPTY_BYTE_ARRAY);
+        }
+    }
+
+    /**
+     * Flushes the table's recent writes and merges all of its segments, dropping deleted data.
+     */
+    @Override
+    public void compactInternally(TableReference tableRef) {
+        getTable(tableRef).compact();
+    }
+
+    @Override
+    public ClusterAvailabilityStatus getClusterAvailabilityStatus() {
+        return ClusterAvailabilityStatus.ALL_AVAILABLE;
+    }
+
+    @Override
+    public void close() {
+        compactor.shutdown();
+        tables.values().forEach(OffHeapTable::close);
+        super.close();
+    }
+
+    private OffHeapTable getTable(TableReference tableRef) {
+        OffHeapTable table = tables.get(tableRef);
+        if (table == null) {
+            throw new IllegalArgumentException("table " + tableRef.getQualifiedName() + " does not exist");
+        }
+        return table;
+    }
+
+    private OffHeapTable newTable(TableReference tableRef) {
+        if (dataDirectory == null) {
+            return OffHeapTable.create(flushThresholdBytes, maxFlushedSegments, compactor);
+        }
+        return OffHeapTable.open(tableDirectory(tableRef), flushThresholdBytes, maxFlushedSegments, compactor);
+    }
+
+    private void loadTables(File directory) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalStateException("Could not create data directory " + directory);
+        }
+        for (File tableDirectory : directory.listFiles(File::isDirectory)) {
+            String qualifiedName = new String(
+                    BaseEncoding.base16().lowerCase().decode(tableDirectory.getName()), StandardCharsets.UTF_8);
+            TableReference tableRef = TableReference.createFromFullyQualifiedName(qualifiedName);
+            tables.put(tableRef,
+                    OffHeapTable.open(tableDirectory, flushThresholdBytes, maxFlushedSegments, compactor));
+            File metadataFile = new File(tableDirectory, METADATA_FILE);
+            if (metadataFile.exists()) {
+                try {
+                    tableMetadata.put(tableRef, Files.readAllBytes(metadataFile.toPath()));
+                } catch (IOException e) {
+                    throw Throwables.rewrapAndThrowUncheckedException("Failed to read metadata of " + tableRef, e);
+                }
+            }
+        }
+    }
+
+    private void writeMetadata(TableReference tableRef, byte[] metadata) {
+        File directory = tableDirectory(tableRef);
+        try {
+            File tempFile = File.createTempFile(METADATA_FILE, ".tmp", directory);
+            Files.write(tempFile.toPath(), metadata);
+            Files.move(tempFile.toPath(), new File(directory, METADATA_FILE).toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException("Failed to write metadata of " + tableRef, e);
+        }
+    }
+
+    private File tableDirectory(TableReference tableRef) {
+        // Table names may hold characters that file names cannot, so name directories after their hex encoding.
+        return new File(dataDirectory, BaseEncoding.base16().lowerCase().encode(
+                tableRef.getQualifiedName().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Key key(Cell cell, long timestamp) {
+        return new Key(cell.getRowName(), cell.getColumnName(), timestamp);
+    }
+}
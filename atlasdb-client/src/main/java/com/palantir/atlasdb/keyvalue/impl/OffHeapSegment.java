@@ -0,0 +1,250 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.UnsignedBytes;
+import com.palantir.atlasdb.keyvalue.impl.OffHeapTable.Key;
+import com.palantir.common.base.Throwables;
+
+/**
+ * An immutable, sorted run of the entries of a table, held outside the Java heap: either in a direct buffer or in a
+ * memory-mapped file.
+ * <p>
+ * Entries are laid out back to back in key order as
+ * {@code rowLength | row | columnLength | column | timestamp | valueLength | value}, where a value length of -1
+ * marks a deletion. They are followed by the offset of every entry and then the number of entries, so that an entry
+ * can be found by binary search without touching the rest of the segment.
+ */
+final class OffHeapSegment {
+    static final int MAX_SIZE_BYTES = 1 << 30;
+
+    private static final int TOMBSTONE_LENGTH = -1;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int offsetsStart;
+    @Nullable
+    private final File file;
+
+    private OffHeapSegment(ByteBuffer buffer, @Nullable File file) {
+        this.buffer = buffer;
+        this.count = buffer.getInt(buffer.capacity() - Integer.BYTES);
+        this.offsetsStart = buffer.capacity() - Integer.BYTES - count * Integer.BYTES;
+        this.file = file;
+    }
+
+    /**
+     * The number of bytes an entry takes up in a segment, including its offset.
+     */
+    static long sizeOf(Key key, byte[] value) {
+        int valueLength = value == OffHeapTable.TOMBSTONE ? 0 : value.length;
+        return 3 * Integer.BYTES + key.row.length + key.col.length + Long.BYTES + valueLength + Integer.BYTES;
+    }
+
+    /**
+     * Writes the given entries, which must be in key order, into a new segment. If a file is given, the segment is
+     * written to and mapped from that file; otherwise it lives in a direct buffer.
+     *
+     * @param count the number of entries
+     * @param entriesSizeBytes the sum of {@link #sizeOf} over the entries
+     */
+    static OffHeapSegment write(Iterator<Entry<Key, byte[]>> entries,
+            int count,
+            long entriesSizeBytes,
+            @Nullable File file) {
+        long sizeBytes = entriesSizeBytes + Integer.BYTES;
+        Preconditions.checkArgument(sizeBytes <= MAX_SIZE_BYTES, "Segment of %s bytes is too large", sizeBytes);
+        ByteBuffer buffer = file == null ? ByteBuffer.allocateDirect((int) sizeBytes) : map(file, sizeBytes);
+
+        int offsetsStart = (int) sizeBytes - Integer.BYTES - count * Integer.BYTES;
+        for (int i = 0; i < count; i++) {
+            Entry<Key, byte[]> entry = entries.next();
+            Key key = entry.getKey();
+            byte[] value = entry.getValue();
+            buffer.putInt(offsetsStart + i * Integer.BYTES, buffer.position());
+            buffer.putInt(key.row.length).put(key.row);
+            buffer.putInt(key.col.length).put(key.col);
+            buffer.putLong(key.ts);
+            if (value == OffHeapTable.TOMBSTONE) {
+                buffer.putInt(TOMBSTONE_LENGTH);
+            } else {
+                buffer.putInt(value.length).put(value);
+            }
+        }
+        Preconditions.checkState(buffer.position() == offsetsStart, "Segment size was miscalculated");
+        buffer.putInt((int) sizeBytes - Integer.BYTES, count);
+        if (buffer instanceof MappedByteBuffer) {
+            ((MappedByteBuffer) buffer).force();
+        }
+        return new OffHeapSegment(buffer.asReadOnlyBuffer(), file);
+    }
+
+    /**
+     * Maps a segment previously written to the given file.
+     */
+    static OffHeapSegment open(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return new OffHeapSegment(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file);
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException("Failed to open segment " + file, e);
+        }
+    }
+
+    private static MappedByteBuffer map(File file, long sizeBytes) {
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeBytes);
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException("Failed to create segment " + file, e);
+        }
+    }
+
+    int count() {
+        return count;
+    }
+
+    @Nullable
+    File file() {
+        return file;
+    }
+
+    /**
+     * Returns the index of the first entry whose key is not less than the given key, or {@link #count()} if there
+     * is none.
+     */
+    int ceilingIndex(Key key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(mid, key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the value stored for exactly the given key, {@link OffHeapTable#TOMBSTONE} if it was deleted in this
+     * segment, or null if the segment knows nothing of it.
+     */
+    @Nullable
+    byte[] get(Key key) {
+        int index = ceilingIndex(key);
+        if (index < count && compare(index, key) == 0) {
+            return value(index);
+        }
+        return null;
+    }
+
+    /**
+     * Iterates over the entries from index {@code fromIndex} (inclusive) to {@code toIndex} (exclusive), backwards
+     * if reverse is set. Deleted entries are returned with the value {@link OffHeapTable#TOMBSTONE}.
+     */
+    Iterator<Entry<Key, byte[]>> entries(int fromIndex, int toIndex, boolean reverse) {
+        return new AbstractIterator<Entry<Key, byte[]>>() {
+            private int next = reverse ? toIndex - 1 : fromIndex;
+
+            @Override
+            protected Entry<Key, byte[]> computeNext() {
+                if (next < fromIndex || next >= toIndex) {
+                    return endOfData();
+                }
+                int index = next;
+                next += reverse ? -1 : 1;
+                return Maps.immutableEntry(key(index), value(index));
+            }
+        };
+    }
+
+    private Key key(int index) {
+        int position = offset(index);
+        byte[] row = readBytes(position + Integer.BYTES, buffer.getInt(position));
+        position += Integer.BYTES + row.length;
+        byte[] col = readBytes(position + Integer.BYTES, buffer.getInt(position));
+        position += Integer.BYTES + col.length;
+        return new Key(row, col, buffer.getLong(position));
+    }
+
+    private byte[] value(int index) {
+        int position = offset(index);
+        position += Integer.BYTES + buffer.getInt(position);
+        position += Integer.BYTES + buffer.getInt(position);
+        position += Long.BYTES;
+        int length = buffer.getInt(position);
+        if (length == TOMBSTONE_LENGTH) {
+            return OffHeapTable.TOMBSTONE;
+        }
+        return readBytes(position + Integer.BYTES, length);
+    }
+
+    private int compare(int index, Key key) {
+        int position = offset(index);
+        int rowLength = buffer.getInt(position);
+        int comparison = compareBytes(position + Integer.BYTES, rowLength, key.row);
+        if (comparison != 0) {
+            return comparison;
+        }
+        position += Integer.BYTES + rowLength;
+        int colLength = buffer.getInt(position);
+        comparison = compareBytes(position + Integer.BYTES, colLength, key.col);
+        if (comparison != 0) {
+            return comparison;
+        }
+        position += Integer.BYTES + colLength;
+        return Long.compare(buffer.getLong(position), key.ts);
+    }
+
+    private int compareBytes(int position, int length, byte[] other) {
+        int commonLength = Math.min(length, other.length);
+        for (int i = 0; i < commonLength; i++) {
+            int comparison = UnsignedBytes.compare(buffer.get(position + i), other[i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(length, other.length);
+    }
+
+    private int offset(int index) {
+        return buffer.getInt(offsetsStart + index * Integer.BYTES);
+    }
+
+    private byte[] readBytes(int position, int length) {
+        // Absolute bulk reads only arrived in Java 13, so read through a duplicate to stay safe for other readers.
+        ByteBuffer view = buffer.duplicate();
+        view.position(position);
+        byte[] bytes = new byte[length];
+        view.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,581 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.impl;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.PeekingIterator;
+import com.google.common.io.BaseEncoding;
+import com.google.common.primitives.Bytes;
+import com.google.common.primitives.Longs;
+import com.google.common.primitives.UnsignedBytes;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * The storage of one table of an {@link OffHeapKeyValueService}.
+ * <p>
+ * Writes go to a small sorted memtable on the heap. Once the memtable holds more than the flush threshold, it is
+ * frozen and replaced by an empty one, and a background compactor writes it out to an immutable
+ * {@link OffHeapSegment}; once enough segments have been flushed, the compactor merges them all into new segments,
+ * dropping deleted and overwritten entries. Reads merge the memtable, the frozen memtables and the segments, letting
+ * newer ones win. Deletions are recorded as {@link #TOMBSTONE}s until the next merge, so that they hide entries of
+ * older layers.
+ * <p>
+ * Reads see the table as it was when the read started, so a flush or merge never disturbs a read in progress.
+ * Writes are serialized, but only hold the lock for as long as it takes to update or swap the memtable; flushes and
+ * merges are serialized separately.
+ */
+@ThreadSafe
+final class OffHeapTable {
+    private static final Logger log = LoggerFactory.getLogger(OffHeapTable.class);
+
+    /**
+     * The value of a deleted entry. Compared by identity.
+     */
+    static final byte[] TOMBSTONE = new byte[0];
+
+    private static final String SEGMENT_SUFFIX = ".segment";
+
+    @Nullable
+    private final File directory;
+    private final long flushThresholdBytes;
+    private final int maxFlushedSegments;
+    private final Executor compactor;
+
+    private final Object compactionLock = new Object();
+    private final AtomicBoolean isCompactionScheduled = new AtomicBoolean(false);
+
+    // Only replaced while holding the lock on this.
+    private volatile State state;
+
+    @GuardedBy("this")
+    private long memtableSizeBytes = 0;
+    @GuardedBy("compactionLock")
+    private int flushedSegments = 0;
+    @GuardedBy("compactionLock")
+    private long nextGeneration;
+    @GuardedBy("compactionLock")
+    private boolean isClosed = false;
+
+    private OffHeapTable(@Nullable File directory,
+            long flushThresholdBytes,
+            int maxFlushedSegments,
+            Executor compactor,
+            List<OffHeapSegment> segments,
+            long nextGeneration) {
+        this.directory = directory;
+        this.flushThresholdBytes = flushThresholdBytes;
+        this.maxFlushedSegments = maxFlushedSegments;
+        this.compactor = compactor;
+        this.state = new State(new ConcurrentSkipListMap<>(), ImmutableList.of(), segments);
+        this.nextGeneration = nextGeneration;
+    }
+
+    static OffHeapTable create(long flushThresholdBytes, int maxFlushedSegments, Executor compactor) {
+        return new OffHeapTable(null, flushThresholdBytes, maxFlushedSegments, compactor, ImmutableList.of(), 0);
+    }
+
+    /**
+     * Opens the table stored in the given directory, creating the directory if it does not exist yet.
+     */
+    static OffHeapTable open(File directory, long flushThresholdBytes, int maxFlushedSegments, Executor compactor) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalStateException("Could not create table directory " + directory);
+        }
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+        // Newest first; generations are zero-padded, so names sort like generations.
+        Arrays.sort(files, Comparator.comparing(File::getName).reversed());
+        List<OffHeapSegment> segments = Lists.newArrayListWithCapacity(files.length);
+        for (File file : files) {
+            segments.add(OffHeapSegment.open(file));
+        }
+        long nextGeneration = files.length == 0 ? 0 : generationOf(files[0]) + 1;
+        return new OffHeapTable(
+                directory, flushThresholdBytes, maxFlushedSegments, compactor, segments, nextGeneration);
+    }
+
+    /**
+     * Iterates over the live entries with keys from {@code lowInclusive} to {@code highExclusive}, in descending
+     * order if reverse is set. Null bounds are unbounded.
+     */
+    Iterator<Entry<Key, byte[]>> entries(@Nullable Key lowInclusive, @Nullable Key highExclusive, boolean reverse) {
+        State current = state;
+        List<PeekingIterator<Entry<Key, byte[]>>> layers = Lists.newArrayListWithCapacity(
+                current.frozenMemtables.size() + current.segments.size() + 1);
+        layers.add(memtableEntries(current.memtable, lowInclusive, highExclusive, reverse));
+        for (NavigableMap<Key, byte[]> frozenMemtable : current.frozenMemtables) {
+            layers.add(memtableEntries(frozenMemtable, lowInclusive, highExclusive, reverse));
+        }
+        for (OffHeapSegment segment : current.segments) {
+            int fromIndex = lowInclusive == null ? 0 : segment.ceilingIndex(lowInclusive);
+            int toIndex = highExclusive == null ? segment.count() : segment.ceilingIndex(highExclusive);
+            layers.add(Iterators.peekingIterator(segment.entries(fromIndex, toIndex, reverse)));
+        }
+        return new MergingIterator(layers, reverse);
+    }
+
+    /**
+     * Returns the value stored for exactly the given key, or null if there is none.
+     */
+    @Nullable
+    byte[] get(Key key) {
+        return liveValue(state, key);
+    }
+
+    /**
+     * Stores the given value unless the key already has one, returning the existing value if it does.
+     */
+    @Nullable
+    synchronized byte[] putIfAbsent(Key key, byte[] contents) {
+        byte[] existing = liveValue(state, key);
+        if (existing == null) {
+            putInMemtable(key, contents);
+        }
+        return existing;
+    }
+
+    /**
+     * Replaces the value of the given key if it currently is {@code expected}.
+     */
+    synchronized boolean replace(Key key, byte[] expected, byte[] contents) {
+        if (!Arrays.equals(liveValue(state, key), expected)) {
+            return false;
+        }
+        putInMemtable(key, contents);
+        return true;
+    }
+
+    synchronized void put(Key key, byte[] contents) {
+        putInMemtable(key, contents);
+    }
+
+    synchronized void delete(Key key) {
+        State current = state;
+        boolean inOlderLayers = current.frozenMemtables.stream().anyMatch(memtable -> memtable.containsKey(key))
+                || current.segments.stream().anyMatch(segment -> segment.get(key) != null);
+        if (inOlderLayers) {
+            putInMemtable(key, TOMBSTONE);
+        } else {
+            current.memtable.remove(key);
+        }
+    }
+
+    void truncate() {
+        synchronized (compactionLock) {
+            clear();
+        }
+    }
+
+    /**
+     * Removes all entries and their segment files, and stops any further compaction of the table.
+     */
+    void drop() {
+        synchronized (compactionLock) {
+            clear();
+            isClosed = true;
+        }
+    }
+
+    /**
+     * Flushes the table if it is backed by a directory, and stops any further compaction of the table.
+     */
+    void close() {
+        synchronized (compactionLock) {
+            if (directory != null) {
+                flush();
+            }
+            isClosed = true;
+        }
+    }
+
+    /**
+     * Writes the memtable out to segments, and merges all segments into as few as possible.
+     */
+    void compact() {
+        synchronized (compactionLock) {
+            flush();
+            if (state.segments.size() > 1) {
+                merge();
+            }
+        }
+    }
+
+    /**
+     * Writes the memtable out to segments, so that it is persisted if the table is backed by a directory.
+     */
+    void flush() {
+        synchronized (compactionLock) {
+            synchronized (this) {
+                freezeMemtable();
+            }
+            flushFrozenMemtables();
+        }
+    }
+
+    @GuardedBy("this")
+    private void putInMemtable(Key key, byte[] contents) {
+        byte[] value = contents == TOMBSTONE ? TOMBSTONE : Arrays.copyOf(contents, contents.length);
+        state.memtable.put(key, value);
+        memtableSizeBytes += OffHeapSegment.sizeOf(key, value);
+        if (memtableSizeBytes >= flushThresholdBytes) {
+            freezeMemtable();
+            scheduleCompaction();
+        }
+    }
+
+    @GuardedBy("this")
+    private void freezeMemtable() {
+        State current = state;
+        if (current.memtable.isEmpty()) {
+            return;
+        }
+        state = new State(new ConcurrentSkipListMap<>(),
+                ImmutableList.<ConcurrentSkipListMap<Key, byte[]>>builder()
+                        .add(current.memtable)
+                        .addAll(current.frozenMemtables)
+                        .build(),
+                current.segments);
+        memtableSizeBytes = 0;
+    }
+
+    private void scheduleCompaction() {
+        if (!isCompactionScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            compactor.execute(this::compactInBackground);
+        } catch (RejectedExecutionException e) {
+            // The store is closing; frozen memtables stay readable, and close flushes them.
+            isCompactionScheduled.set(false);
+        }
+    }
+
+    private void compactInBackground() {
+        isCompactionScheduled.set(false);
+        try {
+            synchronized (compactionLock) {
+                if (isClosed) {
+                    return;
+                }
+                flushFrozenMemtables();
+                if (flushedSegments > maxFlushedSegments) {
+                    merge();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to compact table directory {}; will try again after the next flush.",
+                    SafeArg.of("directory", directory), e);
+        }
+    }
+
+    @GuardedBy("compactionLock")
+    private void clear() {
+        State old;
+        synchronized (this) {
+            old = state;
+            state = new State(new ConcurrentSkipListMap<>(), ImmutableList.of(), ImmutableList.of());
+            memtableSizeBytes = 0;
+        }
+        flushedSegments = 0;
+        deleteFiles(old.segments);
+    }
+
+    /**
+     * Writes out the frozen memtables, oldest first. Only the compactor removes frozen memtables and changes
+     * segments, so the oldest frozen memtable is still the last one when its segments are swapped in.
+     */
+    @GuardedBy("compactionLock")
+    private void flushFrozenMemtables() {
+        List<ConcurrentSkipListMap<Key, byte[]>> frozenMemtables = state.frozenMemtables;
+        while (!frozenMemtables.isEmpty()) {
+            NavigableMap<Key, byte[]> oldest = frozenMemtables.get(frozenMemtables.size() - 1);
+            List<OffHeapSegment> flushed = writeSegments(() -> oldest.entrySet().iterator());
+            synchronized (this) {
+                State current = state;
+                state = new State(current.memtable,
+                        ImmutableList.copyOf(
+                                current.frozenMemtables.subList(0, current.frozenMemtables.size() - 1)),
+                        ImmutableList.<OffHeapSegment>builder().addAll(flushed).addAll(current.segments).build());
+                frozenMemtables = state.frozenMemtables;
+            }
+            flushedSegments++;
+        }
+    }
+
+    @GuardedBy("compactionLock")
+    private void merge() {
+        List<OffHeapSegment> segments = state.segments;
+        // Merging every segment, so nothing older can be hiding behind a tombstone; the merge drops them.
+        List<OffHeapSegment> merged = writeSegments(() -> new MergingIterator(
+                segments.stream()
+                        .map(segment -> Iterators.peekingIterator(segment.entries(0, segment.count(), false)))
+                        .collect(Collectors.toList()),
+                false));
+        synchronized (this) {
+            State current = state;
+            state = new State(current.memtable, current.frozenMemtables, merged);
+        }
+        flushedSegments = 0;
+        log.debug("Merged {} segments of table directory {} into {}.",
+                SafeArg.of("numSegments", segments.size()),
+                SafeArg.of("directory", directory),
+                SafeArg.of("numMergedSegments", merged.size()));
+        deleteFiles(segments);
+    }
+
+    /**
+     * Writes the given entries to as many segments as it takes to keep each under the maximum segment size.
+     * The entries are read twice: once to size the segments, and once to fill them.
+     */
+    @GuardedBy("compactionLock")
+    private List<OffHeapSegment> writeSegments(Supplier<Iterator<Entry<Key, byte[]>>> entries) {
+        List<Integer> counts = Lists.newArrayList();
+        List<Long> sizes = Lists.newArrayList();
+        int count = 0;
+        long size = 0;
+        Iterator<Entry<Key, byte[]>> sizing = entries.get();
+        while (sizing.hasNext()) {
+            Entry<Key, byte[]> entry = sizing.next();
+            long entrySize = OffHeapSegment.sizeOf(entry.getKey(), entry.getValue());
+            if (count > 0 && size + entrySize + Integer.BYTES > OffHeapSegment.MAX_SIZE_BYTES) {
+                counts.add(count);
+                sizes.add(size);
+                count = 0;
+                size = 0;
+            }
+            count++;
+            size += entrySize;
+        }
+        if (count > 0) {
+            counts.add(count);
+            sizes.add(size);
+        }
+
+        ImmutableList.Builder<OffHeapSegment> segments = ImmutableList.builder();
+        Iterator<Entry<Key, byte[]>> writing = entries.get();
+        for (int i = 0; i < counts.size(); i++) {
+            segments.add(OffHeapSegment.write(writing, counts.get(i), sizes.get(i), nextSegmentFile()));
+        }
+        return segments.build();
+    }
+
+    @GuardedBy("compactionLock")
+    @Nullable
+    private File nextSegmentFile() {
+        long generation = nextGeneration++;
+        if (directory == null) {
+            return null;
+        }
+        return new File(directory, String.format("%019d%s", generation, SEGMENT_SUFFIX));
+    }
+
+    private static void deleteFiles(List<OffHeapSegment> segments) {
+        // Oldest first: should we stop halfway, every entry still deleted by a surviving tombstone stays deleted.
+        for (OffHeapSegment segment : Lists.reverse(segments)) {
+            File file = segment.file();
+            if (file != null && !file.delete()) {
+                log.warn("Failed to delete segment file {}; it will be read again when the table is reopened.",
+                        SafeArg.of("file", file));
+            }
+        }
+    }
+
+    private static long generationOf(File segmentFile) {
+        String name = segmentFile.getName();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static PeekingIterator<Entry<Key, byte[]>> memtableEntries(NavigableMap<Key, byte[]> memtable,
+            @Nullable Key lowInclusive, @Nullable Key highExclusive, boolean reverse) {
+        NavigableMap<Key, byte[]> slice = memtable;
+        if (lowInclusive != null) {
+            slice = slice.tailMap(lowInclusive, true);
+        }
+        if (highExclusive != null) {
+            slice = slice.headMap(highExclusive, false);
+        }
+        if (reverse) {
+            slice = slice.descendingMap();
+        }
+        return Iterators.peekingIterator(slice.entrySet().iterator());
+    }
+
+    @Nullable
+    private static byte[] liveValue(State current, Key key) {
+        byte[] value = current.memtable.get(key);
+        for (int i = 0; value == null && i < current.frozenMemtables.size(); i++) {
+            value = current.frozenMemtables.get(i).get(key);
+        }
+        for (int i = 0; value == null && i < current.segments.size(); i++) {
+            value = current.segments.get(i).get(key);
+        }
+        return value == TOMBSTONE ? null : value;
+    }
+
+    private static final class State {
+        private final ConcurrentSkipListMap<Key, byte[]> memtable;
+        // Newest first; no longer written to, and waiting to be flushed.
+        private final List<ConcurrentSkipListMap<Key, byte[]>> frozenMemtables;
+        // Newest first
+        private final List<OffHeapSegment> segments;
+
+        State(ConcurrentSkipListMap<Key, byte[]> memtable,
+                List<ConcurrentSkipListMap<Key, byte[]>> frozenMemtables,
+                List<OffHeapSegment> segments) {
+            this.memtable = memtable;
+            this.frozenMemtables = frozenMemtables;
+            this.segments = segments;
+        }
+    }
+
+    /**
+     * Merges iterators over the layers of a table, newest layer first, into one iterator over the live entries.
+     * Where several layers hold the same key, the newest one wins.
+     */
+    private static final class MergingIterator extends AbstractIterator<Entry<Key, byte[]>> {
+        private final List<PeekingIterator<Entry<Key, byte[]>>> layers;
+        private final boolean reverse;
+
+        MergingIterator(List<PeekingIterator<Entry<Key, byte[]>>> layers, boolean reverse) {
+            this.layers = layers;
+            this.reverse = reverse;
+        }
+
+        @Override
+        protected Entry<Key, byte[]> computeNext() {
+            while (true) {
+                PeekingIterator<Entry<Key, byte[]>> first = null;
+                for (PeekingIterator<Entry<Key, byte[]>> layer : layers) {
+                    if (layer.hasNext() && (first == null || isBefore(layer.peek().getKey(), first.peek().getKey()))) {
+                        first = layer;
+                    }
+                }
+                if (first == null) {
+                    return endOfData();
+                }
+                Entry<Key, byte[]> entry = first.next();
+                for (PeekingIterator<Entry<Key, byte[]>> layer : layers) {
+                    if (layer.hasNext() && layer.peek().getKey().equals(entry.getKey())) {
+                        layer.next();
+                    }
+                }
+                if (entry.getValue() != TOMBSTONE) {
+                    return entry;
+                }
+            }
+        }
+
+        private boolean isBefore(Key key, Key other) {
+            int comparison = key.compareTo(other);
+            return reverse ? comparison > 0 : comparison < 0;
+        }
+    }
+
+    static final class Key implements Comparable<Key> {
+        final byte[] row;
+        final byte[] col;
+        final long ts;
+
+        Key(byte[] row, byte[] col, long ts) {
+            this.row = row;
+            this.col = col;
+            this.ts = ts;
+        }
+
+        /**
+         * The smallest key of the given row.
+         */
+        static Key startOfRow(byte[] row) {
+            return new Key(row, ArrayUtils.EMPTY_BYTE_ARRAY, Long.MIN_VALUE);
+        }
+
+        /**
+         * The smallest key of any row after the given one.
+         */
+        static Key startOfRowAfter(byte[] row) {
+            return startOfRow(Bytes.concat(row, new byte[] {0}));
+        }
+
+        boolean matchesRow(byte[] otherRow) {
+            return Arrays.equals(row, otherRow);
+        }
+
+        boolean matchesCell(Key key) {
+            return Arrays.equals(row, key.row) && Arrays.equals(col, key.col);
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int comparison = UnsignedBytes.lexicographicalComparator().compare(row, other.row);
+            if (comparison != 0) {
+                return comparison;
+            }
+            comparison = UnsignedBytes.lexicographicalComparator().compare(col, other.col);
+            if (comparison != 0) {
+                return comparison;
+            }
+            return Longs.compare(ts, other.ts);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return ts == other.ts && Arrays.equals(row, other.row) && Arrays.equals(col, other.col);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Arrays.hashCode(row) + Arrays.hashCode(col)) + Long.hashCode(ts);
+        }
+
+        @Override
+        public String toString() {
+            return "Key [row=" + BaseEncoding.base16().lowerCase().encode(row)
+                    + ", col=" + BaseEncoding.base16().lowerCase().encode(col)
+                    + ", ts=" + ts + "]";
+        }
+    }
+}
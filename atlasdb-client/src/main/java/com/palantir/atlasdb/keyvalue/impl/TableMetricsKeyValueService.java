@@ -0,0 +1,262 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.impl;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.codahale.metrics.Histogram;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.CheckAndSetException;
+import com.palantir.atlasdb.keyvalue.api.CheckAndSetRequest;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.util.MetricsManager;
+import com.palantir.atlasdb.util.StripedHdrReservoir;
+import com.palantir.util.paging.TokenBackedBasicResultsPage;
+
+/**
+ * Records the latency and payload size of a sample of {@link KeyValueService} calls in per-table, per-method
+ * histograms, so that their distributions can be monitored continuously rather than only when calls are slow.
+ * <p>
+ * One in every {@code sampleRate} calls is recorded; the others go straight to the delegate. Latencies are recorded
+ * in microseconds and sizes in bytes, in {@link StripedHdrReservoir}s. To bound the number of metrics, only the
+ * first {@code maxTables} tables (approximately, under concurrent first use) get their own histograms; calls on any
+ * other table are recorded under {@link #OTHER_TABLES}. Calls that return lazy iterators, such as
+ * {@code getRange} and {@code getRowsColumnRange}, are not recorded, since their cost is paid as the caller iterates.
+ */
+public final class TableMetricsKeyValueService extends ForwardingKeyValueService {
+    @VisibleForTesting
+    static final String OTHER_TABLES = "otherTables";
+
+    private final KeyValueService delegate;
+    private final MetricsManager metricsManager;
+    private final int sampleRate;
+    private final int maxTables;
+
+    private final ConcurrentMap<TableReference, ConcurrentMap<String, Histogram>> histogramsByTable =
+            Maps.newConcurrentMap();
+    private final ConcurrentMap<String, Histogram> otherTablesHistograms = Maps.newConcurrentMap();
+
+    @VisibleForTesting
+    TableMetricsKeyValueService(KeyValueService delegate, MetricsManager metricsManager, int sampleRate,
+            int maxTables) {
+        Preconditions.checkArgument(sampleRate > 0, "Sample rate must be positive, but was %s", sampleRate);
+        Preconditions.checkArgument(maxTables >= 0, "Max tables must not be negative, but was %s", maxTables);
+        this.delegate = delegate;
+        this.metricsManager = metricsManager;
+        this.sampleRate = sampleRate;
+        this.maxTables = maxTables;
+    }
+
+    public static KeyValueService create(KeyValueService delegate, int sampleRate, int maxTables) {
+        return new TableMetricsKeyValueService(delegate, new MetricsManager(), sampleRate, maxTables);
+    }
+
+    @Override
+    protected KeyValueService delegate() {
+        return delegate;
+    }
+
+    @Override
+    public Map<Cell, Value> get(TableReference tableRef, Map<Cell, Long> timestampByCell) {
+        if (!shouldSample()) {
+            return delegate.get(tableRef, timestampByCell);
+        }
+        Map<Cell, Value> result = time(tableRef, "get", () -> delegate.get(tableRef, timestampByCell));
+        recordSize(tableRef, "get", valuesByteSize(result));
+        return result;
+    }
+
+    @Override
+    public Map<Cell, Value> getRows(TableReference tableRef, Iterable<byte[]> rows, ColumnSelection columnSelection,
+            long timestamp) {
+        if (!shouldSample()) {
+            return delegate.getRows(tableRef, rows, columnSelection, timestamp);
+        }
+        Map<Cell, Value> result = time(tableRef, "getRows",
+                () -> delegate.getRows(tableRef, rows, columnSelection, timestamp));
+        recordSize(tableRef, "getRows", valuesByteSize(result));
+        return result;
+    }
+
+    @Override
+    public Map<Cell, Long> getLatestTimestamps(TableReference tableRef, Map<Cell, Long> timestampByCell) {
+        if (!shouldSample()) {
+            return delegate.getLatestTimestamps(tableRef, timestampByCell);
+        }
+        return time(tableRef, "getLatestTimestamps", () -> delegate.getLatestTimestamps(tableRef, timestampByCell));
+    }
+
+    @Override
+    public Map<RangeRequest, TokenBackedBasicResultsPage<RowResult<Value>, byte[]>> getFirstBatchForRanges(
+            TableReference tableRef, Iterable<RangeRequest> rangeRequests, long timestamp) {
+        if (!shouldSample()) {
+            return delegate.getFirstBatchForRanges(tableRef, rangeRequests, timestamp);
+        }
+        return time(tableRef, "getFirstBatchForRanges",
+                () -> delegate.getFirstBatchForRanges(tableRef, rangeRequests, timestamp));
+    }
+
+    @Override
+    public void put(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
+        if (!shouldSample()) {
+            delegate.put(tableRef, values, timestamp);
+            return;
+        }
+        timeVoid(tableRef, "put", () -> delegate.put(tableRef, values, timestamp));
+        recordSize(tableRef, "put", bytesByteSize(values));
+    }
+
+    @Override
+    public void multiPut(Map<TableReference, ? extends Map<Cell, byte[]>> valuesByTable, long timestamp) {
+        if (!shouldSample()) {
+            delegate.multiPut(valuesByTable, timestamp);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            delegate.multiPut(valuesByTable, timestamp);
+        } finally {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            valuesByTable.keySet().forEach(tableRef -> recordLatency(tableRef, "multiPut", micros));
+        }
+        valuesByTable.forEach((tableRef, values) -> recordSize(tableRef, "multiPut", bytesByteSize(values)));
+    }
+
+    @Override
+    public void putWithTimestamps(TableReference tableRef, Multimap<Cell, Value> values) {
+        if (!shouldSample()) {
+            delegate.putWithTimestamps(tableRef, values);
+            return;
+        }
+        timeVoid(tableRef, "putWithTimestamps", () -> delegate.putWithTimestamps(tableRef, values));
+        long size = 0;
+        for (Entry<Cell, Value> entry : values.entries()) {
+            size += Cells.getApproxSizeOfCell(entry.getKey()) + entry.getValue().getContents().length;
+        }
+        recordSize(tableRef, "putWithTimestamps", size);
+    }
+
+    @Override
+    public void putUnlessExists(TableReference tableRef, Map<Cell, byte[]> values) throws KeyAlreadyExistsException {
+        if (!shouldSample()) {
+            delegate.putUnlessExists(tableRef, values);
+            return;
+        }
+        timeVoid(tableRef, "putUnlessExists", () -> delegate.putUnlessExists(tableRef, values));
+        recordSize(tableRef, "putUnlessExists", bytesByteSize(values));
+    }
+
+    @Override
+    public void checkAndSet(CheckAndSetRequest checkAndSetRequest) throws CheckAndSetException {
+        if (!shouldSample()) {
+            delegate.checkAndSet(checkAndSetRequest);
+            return;
+        }
+        timeVoid(checkAndSetRequest.table(), "checkAndSet", () -> delegate.checkAndSet(checkAndSetRequest));
+    }
+
+    @Override
+    public void delete(TableReference tableRef, Multimap<Cell, Long> keys) {
+        if (!shouldSample()) {
+            delegate.delete(tableRef, keys);
+            return;
+        }
+        timeVoid(tableRef, "delete", () -> delegate.delete(tableRef, keys));
+    }
+
+    @Override
+    public void deleteRange(TableReference tableRef, RangeRequest range) {
+        if (!shouldSample()) {
+            delegate.deleteRange(tableRef, range);
+            return;
+        }
+        timeVoid(tableRef, "deleteRange", () -> delegate.deleteRange(tableRef, range));
+    }
+
+    private boolean shouldSample() {
+        return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    private void timeVoid(TableReference tableRef, String method, Runnable call) {
+        time(tableRef, method, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private <T> T time(TableReference tableRef, String method, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            recordLatency(tableRef, method, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        }
+    }
+
+    private void recordLatency(TableReference tableRef, String method, long micros) {
+        getHistogram(tableRef, method + ".latencyMicros").update(micros);
+    }
+
+    private void recordSize(TableReference tableRef, String method, long bytes) {
+        getHistogram(tableRef, method + ".bytes").update(bytes);
+    }
+
+    private Histogram getHistogram(TableReference tableRef, String metricName) {
+        ConcurrentMap<String, Histogram> histograms = histogramsByTable.get(tableRef);
+        if (histograms == null) {
+            if (histogramsByTable.size() >= maxTables) {
+                return otherTablesHistograms.computeIfAbsent(metricName,
+                        name -> metricsManager.registerOrGetHistogram(
+                                TableMetricsKeyValueService.class, OTHER_TABLES, name, StripedHdrReservoir::new));
+            }
+            histograms = histogramsByTable.computeIfAbsent(tableRef, unused -> Maps.newConcurrentMap());
+        }
+        return histograms.computeIfAbsent(metricName,
+                name -> metricsManager.registerOrGetHistogramForTable(
+                        TableMetricsKeyValueService.class, name, tableRef, StripedHdrReservoir::new));
+    }
+
+    private static long valuesByteSize(Map<Cell, Value> values) {
+        long size = 0;
+        for (Entry<Cell, Value> entry : values.entrySet()) {
+            size += Cells.getApproxSizeOfCell(entry.getKey()) + entry.getValue().getContents().length;
+        }
+        return size;
+    }
+
+    private static long bytesByteSize(Map<Cell, byte[]> values) {
+        long size = 0;
+        for (Entry<Cell, byte[]> entry : values.entrySet()) {
+            size += Cells.getApproxSizeOfCell(entry.getKey()) + entry.getValue().length;
+        }
+        return size;
+    }
+}
@@ -251,6 +251,19 @@ public class EncodingUtils {
         return bytes.length + sizeOfVarLong(bytes.length);
     }
 
+    /**
+     * Returns the number of bytes taken by the sized bytes (or var string) encoded at offset, without copying them.
+     */
+    public static int sizeOfEncodedSizedBytes(byte[] bytes, int offset) {
+        int len = (int) decodeVarLong(bytes, offset);
+        return sizeOfVarLong(len) + len;
+    }
+
+    public static int sizeOfFlippedEncodedSizedBytes(byte[] bytes, int offset) {
+        int len = (int) decodeFlippedVarLong(bytes, offset);
+        return sizeOfVarLong(len) + len;
+    }
+
     public static byte[] encodeVarString(String strValue) {
         return encodeSizedBytes(PtBytes.toBytes(strValue));
     }
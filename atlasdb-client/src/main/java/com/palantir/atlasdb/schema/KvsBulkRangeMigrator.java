@@ -0,0 +1,263 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.schema;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.RateLimiter;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RangeRequests;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.transaction.api.Transaction;
+import com.palantir.atlasdb.transaction.api.TransactionManager;
+import com.palantir.atlasdb.transaction.impl.TransactionConstants;
+import com.palantir.atlasdb.transaction.service.TransactionService;
+import com.palantir.common.base.ClosableIterator;
+import com.palantir.common.collect.Maps2;
+
+/**
+ * Copies a range by reading the raw cells of the source key value service at the migration timestamp, rather than
+ * reading every row through a transaction as {@link KvsRangeMigrator} does.
+ * <p>
+ * Commit timestamps for a whole chunk are looked up at once, and values whose writers committed before the
+ * migration timestamp are copied as they are. For cells whose latest version is aborted or committed after the
+ * migration timestamp, the next older version is read from the source, until a version that was committed before
+ * the migration timestamp is found, so that every cell is copied as of the migration timestamp. As in a transaction,
+ * writers that have not committed are rolled back. Deleted values are not copied, and neither are cells whose only
+ * version is a sweep sentinel, as all of their versions were deleted and swept. Each chunk reads at most the given
+ * number of rows. Transactions on the destination are only used for checkpointing.
+ */
+public class KvsBulkRangeMigrator implements RangeMigrator {
+    private static final Logger log = LoggerFactory.getLogger(KvsBulkRangeMigrator.class);
+
+    private final TableReference srcTable;
+    private final TableReference destTable;
+    private final TransactionManager txManager;
+    private final KeyValueService readKvs;
+    private final KeyValueService writeKvs;
+    private final TransactionService readTransactionService;
+    private final long migrationTimestamp;
+    private final int readBatchSize;
+    private final AbstractTaskCheckpointer checkpointer;
+    @Nullable
+    private final RateLimiter bytesRateLimiter;
+    private final LongConsumer bytesCopiedListener;
+
+    KvsBulkRangeMigrator(TableReference srcTable,
+                         TableReference destTable,
+                         TransactionManager txManager,
+                         KeyValueService readKvs,
+                         KeyValueService writeKvs,
+                         TransactionService readTransactionService,
+                         long migrationTimestamp,
+                         int readBatchSize,
+                         AbstractTaskCheckpointer checkpointer,
+                         @Nullable RateLimiter bytesRateLimiter,
+                         LongConsumer bytesCopiedListener) {
+        this.srcTable = srcTable;
+        this.destTable = destTable;
+        this.txManager = txManager;
+        this.readKvs = readKvs;
+        this.writeKvs = writeKvs;
+        this.readTransactionService = readTransactionService;
+        this.migrationTimestamp = migrationTimestamp;
+        this.readBatchSize = readBatchSize;
+        this.checkpointer = checkpointer;
+        this.bytesRateLimiter = bytesRateLimiter;
+        this.bytesCopiedListener = bytesCopiedListener;
+    }
+
+    @Override
+    public void logStatus(int numRangeBoundaries) {
+        txManager.runTaskWithRetry(transaction -> {
+            for (int rangeId = 0; rangeId < numRangeBoundaries; rangeId++) {
+                byte[] checkpoint = getCheckpoint(rangeId, transaction);
+                if (checkpoint != null) {
+                    log.info("({}/{}) Bulk migration from table {} to table {} will start/resume at {}",
+                            rangeId,
+                            numRangeBoundaries,
+                            srcTable,
+                            destTable,
+                            PtBytes.encodeHexString(checkpoint));
+                    return null;
+                }
+            }
+            log.info("Bulk migration from table {} to {} has already been completed", srcTable, destTable);
+            return null;
+        });
+    }
+
+    @Override
+    public void migrateRange(RangeRequest range, long rangeId) {
+        byte[] lastRow;
+        do {
+            lastRow = txManager.runTaskWithRetry(writeT -> copyOneChunk(range, rangeId, writeT));
+        } while (!isRangeDone(lastRow));
+    }
+
+    private boolean isRangeDone(byte[] row) {
+        return row == null || RangeRequests.isLastRowName(row);
+    }
+
+    private byte[] copyOneChunk(RangeRequest range, long rangeId, Transaction writeT) {
+        byte[] start = getCheckpoint(rangeId, writeT);
+        if (start == null) {
+            return null;
+        }
+        RangeRequest.Builder builder = range.getBuilder().startRowInclusive(start).batchHint(readBatchSize);
+        if (builder.isInvalidRange()) {
+            return null;
+        }
+
+        Map<Cell, Value> rawValues = Maps.newHashMap();
+        byte[] lastRow = readRawValues(builder.build(), rawValues);
+        Map<Cell, byte[]> writeMap = resolveCommittedValues(rawValues);
+
+        long bytes = 0;
+        for (Map.Entry<Cell, byte[]> e : writeMap.entrySet()) {
+            bytes += e.getValue().length + Cells.getApproxSizeOfCell(e.getKey());
+        }
+        if (bytesRateLimiter != null && bytes > 0) {
+            bytesRateLimiter.acquire((int) Math.min(bytes, Integer.MAX_VALUE));
+        }
+        if (!writeMap.isEmpty()) {
+            writeToKvs(writeMap);
+        }
+        bytesCopiedListener.accept(bytes);
+        if (log.isTraceEnabled()) {
+            log.trace("Copied {} bytes for range {} on table {}", bytes, rangeId, srcTable);
+        }
+
+        byte[] nextRow = isRangeDone(lastRow) ? new byte[0] : RangeRequests.nextLexicographicName(lastRow);
+        checkpointer.checkpoint(srcTable.getQualifiedName(), rangeId, nextRow, writeT);
+        return lastRow;
+    }
+
+    /**
+     * Reads raw values until the batch size in rows or about half of the transaction size limit has been read,
+     * returning the last row read, or null if the range was exhausted.
+     */
+    private byte[] readRawValues(RangeRequest range, Map<Cell, Value> rawValues) {
+        long maxBytes = TransactionConstants.WARN_LEVEL_FOR_QUEUED_BYTES / 2;
+        long bytesRead = 0;
+        int rowsRead = 0;
+        try (ClosableIterator<RowResult<Value>> rows = readKvs.getRange(srcTable, range, migrationTimestamp)) {
+            while (rows.hasNext()) {
+                RowResult<Value> row = rows.next();
+                for (Map.Entry<Cell, Value> e : row.getCells()) {
+                    rawValues.put(e.getKey(), e.getValue());
+                    bytesRead += e.getValue().getContents().length + Cells.getApproxSizeOfCell(e.getKey());
+                }
+                rowsRead++;
+                if (rowsRead >= readBatchSize || bytesRead >= maxBytes) {
+                    return row.getRowName();
+                }
+            }
+        }
+        return null;
+    }
+
+    private Map<Cell, byte[]> resolveCommittedValues(Map<Cell, Value> rawValues) {
+        Map<Cell, byte[]> committedValues = Maps.newHashMapWithExpectedSize(rawValues.size());
+        Map<Cell, Value> unresolvedValues = rawValues;
+        while (!unresolvedValues.isEmpty()) {
+            Map<Long, Long> commitTimestamps = getCommitTimestamps(unresolvedValues.values());
+            Map<Cell, Long> olderVersionsToRead = Maps.newHashMap();
+            for (Map.Entry<Cell, Value> e : unresolvedValues.entrySet()) {
+                Value value = e.getValue();
+                if (value.getTimestamp() == Value.INVALID_VALUE_TIMESTAMP) {
+                    continue;
+                }
+                Long commitTimestamp = commitTimestamps.get(value.getTimestamp());
+                if (commitTimestamp == null
+                        || commitTimestamp == TransactionConstants.FAILED_COMMIT_TS
+                        || commitTimestamp >= migrationTimestamp) {
+                    olderVersionsToRead.put(e.getKey(), value.getTimestamp());
+                } else if (value.getContents().length != 0) {
+                    committedValues.put(e.getKey(), value.getContents());
+                }
+            }
+            unresolvedValues = olderVersionsToRead.isEmpty()
+                    ? ImmutableMap.of()
+                    : readKvs.get(srcTable, olderVersionsToRead);
+        }
+        return committedValues;
+    }
+
+    private Map<Long, Long> getCommitTimestamps(Collection<Value> values) {
+        Set<Long> startTimestamps = Sets.newHashSet();
+        for (Value value : values) {
+            if (value.getTimestamp() != Value.INVALID_VALUE_TIMESTAMP) {
+                startTimestamps.add(value.getTimestamp());
+            }
+        }
+        if (startTimestamps.isEmpty()) {
+            return ImmutableMap.of();
+        }
+        Map<Long, Long> commitTimestamps = Maps.newHashMap(readTransactionService.get(startTimestamps));
+        for (Long startTimestamp : startTimestamps) {
+            if (!commitTimestamps.containsKey(startTimestamp)) {
+                commitTimestamps.put(startTimestamp, rollBackUncommitted(startTimestamp));
+            }
+        }
+        return commitTimestamps;
+    }
+
+    private Long rollBackUncommitted(long startTimestamp) {
+        try {
+            readTransactionService.putUnlessExists(startTimestamp, TransactionConstants.FAILED_COMMIT_TS);
+            return TransactionConstants.FAILED_COMMIT_TS;
+        } catch (KeyAlreadyExistsException e) {
+            return readTransactionService.get(startTimestamp);
+        }
+    }
+
+    private byte[] getCheckpoint(long rangeId, Transaction writeT) {
+        return checkpointer.getCheckpoint(srcTable.getQualifiedName(), rangeId, writeT);
+    }
+
+    private void writeToKvs(Map<Cell, byte[]> writeMap) {
+        try {
+            writeKvs.put(destTable, writeMap, migrationTimestamp);
+        } catch (KeyAlreadyExistsException e) {
+            Multimap<Cell, Long> keys = Multimaps.forMap(Maps2.createConstantValueMap(
+                    writeMap.keySet(),
+                    migrationTimestamp));
+            writeKvs.delete(destTable, keys);
+            writeKvs.put(destTable, writeMap, migrationTimestamp);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.schema;
+
+import java.util.function.LongConsumer;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.RateLimiter;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.transaction.api.TransactionManager;
+import com.palantir.atlasdb.transaction.service.TransactionService;
+
+/**
+ * Builder for a {@link KvsBulkRangeMigrator}.
+ *
+ * Required arguments are srcTable, readTxManager, txManager, readKvs, writeKvs, readTransactionService,
+ * migrationTimestamp, and checkpointer.
+ *
+ * If destTable is not given, it defaults to the srcTable. If bytesRateLimiter is not given, copying is not
+ * rate limited. The optional bytesCopiedListener is told how many bytes each chunk copied.
+ */
+public class KvsBulkRangeMigratorBuilder {
+    private TableReference srcTable;
+    private TableReference destTable;
+    private TransactionManager txManager;
+    private KeyValueService readKvs;
+    private KeyValueService writeKvs;
+    private TransactionService readTransactionService;
+    private long migrationTimestamp;
+    private int readBatchSize;
+    private AbstractTaskCheckpointer checkpointer;
+    private RateLimiter bytesRateLimiter;
+    private LongConsumer bytesCopiedListener;
+
+    public KvsBulkRangeMigratorBuilder() {
+        srcTable = null;
+        destTable = null;
+        txManager = null;
+        readKvs = null;
+        writeKvs = null;
+        readTransactionService = null;
+        migrationTimestamp = -1;
+        readBatchSize = 1000;
+        checkpointer = null;
+        bytesRateLimiter = null;
+        bytesCopiedListener = bytes -> { };
+    }
+
+    public KvsBulkRangeMigratorBuilder srcTable(TableReference table) {
+        Preconditions.checkNotNull(table);
+        this.srcTable = table;
+        return this;
+    }
+
+    public KvsBulkRangeMigratorBuilder destTable(TableReference table) {
+        Preconditions.checkNotNull(table);
+        this.destTable = table;
+        return this;
+    }
+
+    public KvsBulkRangeMigratorBuilder txManager(TransactionManager txMgr) {
+        Preconditions.checkNotNull(txMgr);
+        this.txManager = txMgr;
+        return this;
+    }
+
+    public KvsBulkRangeMigratorBuilder readKvs(KeyValueService kvs) {
+        Preconditions.checkNotNull(kvs);
+        this.readKvs = kvs;
+        return this;
+    }
+
+    public KvsBulkRangeMigratorBuilder writeKvs(KeyValueService kvs) {
+        Preconditions.checkNotNull(kvs);
+        this.writeKvs = kvs;
+        return this;
+    }
+
+    public KvsBulkRangeMigratorBuilder readTransactionService(TransactionService service) {
+        Preconditions.checkNotNull(service);
+        this.readTransactionService = service;
+        return this;
+    }
+
+    public KvsBulkRangeMigratorBuilder migrationTimestamp(long ts) {
+        Preconditions.checkArgument(ts > 0);
+        this.migrationTimestamp = ts;
+        return this;
+    }
+
+    public KvsBulkRangeMigratorBuilder readBatchSize(int batchSize) {
+        Preconditions.checkArgument(batchSize > 0);
+        this.readBatchSize = batchSize;
+        return this;
+    }
+
+    public KvsBulkRangeMigratorBuilder checkpointer(AbstractTaskCheckpointer cp) {
+        Preconditions.checkNotNull(cp);
+        this.checkpointer = cp;
+        return this;
+    }
+
+    public KvsBulkRangeMigratorBuilder bytesRateLimiter(RateLimiter limiter) {
+        Preconditions.checkNotNull(limiter);
+        this.bytesRateLimiter = limiter;
+        return this;
+    }
+
+    public KvsBulkRangeMigratorBuilder bytesCopiedListener(LongConsumer listener) {
+        Preconditions.checkNotNull(listener);
+        this.bytesCopiedListener = listener;
+        return this;
+    }
+
+    public KvsBulkRangeMigrator build() {
+        if (destTable == null) {
+            destTable = srcTable;
+        }
+
+        Preconditions.checkNotNull(srcTable);
+        Preconditions.checkNotNull(txManager);
+        Preconditions.checkNotNull(readKvs);
+        Preconditions.checkNotNull(writeKvs);
+        Preconditions.checkNotNull(readTransactionService);
+        Preconditions.checkNotNull(checkpointer);
+        Preconditions.checkArgument(migrationTimestamp > 0, "migrationTimestamp must be given");
+
+        return new KvsBulkRangeMigrator(
+                srcTable,
+                destTable,
+                txManager,
+                readKvs,
+                writeKvs,
+                readTransactionService,
+                migrationTimestamp,
+                readBatchSize,
+                checkpointer,
+                bytesRateLimiter,
+                bytesCopiedListener);
+    }
+}
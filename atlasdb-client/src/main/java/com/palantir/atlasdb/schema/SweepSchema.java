@@ -62,6 +62,11 @@ public enum SweepSchema implements AtlasSchema {
                 // The number of cells in the table when this table
                 // was last swept.
                 column("cells_examined", "e", ValueType.VAR_LONG);
+                // The batch sizes that the background sweeper has
+                // learned work well for this table.
+                column("candidate_batch_size", "cb", ValueType.VAR_LONG);
+                column("values_batch_size", "vb", ValueType.VAR_LONG);
+                column("delete_batch_size", "db", ValueType.VAR_LONG);
             conflictHandler(ConflictHandler.IGNORE_ALL);
         }});
 
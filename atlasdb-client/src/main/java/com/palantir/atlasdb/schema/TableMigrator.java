@@ -85,6 +85,17 @@ public class TableMigrator {
     }
 
     public void migrate() {
+        waitForFutures(submitRangeMigrations());
+
+        progress.taskComplete();
+    }
+
+    /**
+     * Creates the checkpoints for this table and submits the migration of each of its ranges to the executor,
+     * without waiting for them. The caller is responsible for waiting for the returned futures and then calling
+     * {@link TaskProgress#taskComplete} on the progress given to this migrator.
+     */
+    public List<Future<Void>> submitRangeMigrations() {
         List<byte[]> rangeBoundaries = getRangeBoundaries();
 
         int totalTasks = rangeBoundaries.size() - 1;
@@ -117,10 +128,7 @@ public class TableMigrator {
             Future<Void> future = executor.submit(wrappedTask);
             futures.add(future);
         }
-
-        waitForFutures(futures);
-
-        progress.taskComplete();
+        return futures;
     }
 
     private void waitForFutures(List<Future<Void>> futures) {
@@ -227,6 +227,66 @@ public final class SweepPriorityTable implements
 
     public interface SweepPriorityNamedColumnValue<T> extends NamedColumnValue<T> { /* */ }
 
+    /**
+     * <pre>
+     * Column value description {
+     *   type: Long;
+     * }
+     * </pre>
+     */
+    public static final class CandidateBatchSize implements SweepPriorityNamedColumnValue<Long> {
+        private final Long value;
+
+        public static CandidateBatchSize of(Long value) {
+            return new CandidateBatchSize(value);
+        }
+
+        private CandidateBatchSize(Long value) {
+            this.value = value;
+        }
+
+        @Override
+        public String getColumnName() {
+            return "candidate_batch_size";
+        }
+
+        @Override
+        public String getShortColumnName() {
+            return "cb";
+        }
+
+        @Override
+        public Long getValue() {
+            return value;
+        }
+
+        @Override
+        public byte[] persistValue() {
+            byte[] bytes = EncodingUtils.encodeUnsignedVarLong(value);
+            return CompressionUtils.compress(bytes, Compression.NONE);
+        }
+
+        @Override
+        public byte[] persistColumnName() {
+            return PtBytes.toCachedBytes("cb");
+        }
+
+        public static final Hydrator<CandidateBatchSize> BYTES_HYDRATOR = new Hydrator<CandidateBatchSize>() {
+            @Override
+            public CandidateBatchSize hydrateFromBytes(byte[] bytes) {
+                bytes = CompressionUtils.decompress(bytes, Compression.NONE);
+                return of(EncodingUtils.decodeUnsignedVarLong(bytes, 0));
+            }
+        };
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(getClass().getSimpleName())
+                .add("Value", this.value)
+                .toString();
+        }
+    }
+
     /**
      * <pre>
      * Column value description {
@@ -347,6 +407,66 @@ public final class SweepPriorityTable implements
         }
     }
 
+    /**
+     * <pre>
+     * Column value description {
+     *   type: Long;
+     * }
+     * </pre>
+     */
+    public static final class DeleteBatchSize implements SweepPriorityNamedColumnValue<Long> {
+        private final Long value;
+
+        public static DeleteBatchSize of(Long value) {
+            return new DeleteBatchSize(value);
+        }
+
+        private DeleteBatchSize(Long value) {
+            this.value = value;
+        }
+
+        @Override
+        public String getColumnName() {
+            return "delete_batch_size";
+        }
+
+        @Override
+        public String getShortColumnName() {
+            return "db";
+        }
+
+        @Override
+        public Long getValue() {
+            return value;
+        }
+
+        @Override
+        public byte[] persistValue() {
+            byte[] bytes = EncodingUtils.encodeUnsignedVarLong(value);
+            return CompressionUtils.compress(bytes, Compression.NONE);
+        }
+
+        @Override
+        public byte[] persistColumnName() {
+            return PtBytes.toCachedBytes("db");
+        }
+
+        public static final Hydrator<DeleteBatchSize> BYTES_HYDRATOR = new Hydrator<DeleteBatchSize>() {
+            @Override
+            public DeleteBatchSize hydrateFromBytes(byte[] bytes) {
+                bytes = CompressionUtils.decompress(bytes, Compression.NONE);
+                return of(EncodingUtils.decodeUnsignedVarLong(bytes, 0));
+            }
+        };
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(getClass().getSimpleName())
+                .add("Value", this.value)
+                .toString();
+        }
+    }
+
     /**
      * <pre>
      * Column value description {
@@ -467,6 +587,66 @@ public final class SweepPriorityTable implements
         }
     }
 
+    /**
+     * <pre>
+     * Column value description {
+     *   type: Long;
+     * }
+     * </pre>
+     */
+    public static final class ValuesBatchSize implements SweepPriorityNamedColumnValue<Long> {
+        private final Long value;
+
+        public static ValuesBatchSize of(Long value) {
+            return new ValuesBatchSize(value);
+        }
+
+        private ValuesBatchSize(Long value) {
+            this.value = value;
+        }
+
+        @Override
+        public String getColumnName() {
+            return "values_batch_size";
+        }
+
+        @Override
+        public String getShortColumnName() {
+            return "vb";
+        }
+
+        @Override
+        public Long getValue() {
+            return value;
+        }
+
+        @Override
+        public byte[] persistValue() {
+            byte[] bytes = EncodingUtils.encodeUnsignedVarLong(value);
+            return CompressionUtils.compress(bytes, Compression.NONE);
+        }
+
+        @Override
+        public byte[] persistColumnName() {
+            return PtBytes.toCachedBytes("vb");
+        }
+
+        public static final Hydrator<ValuesBatchSize> BYTES_HYDRATOR = new Hydrator<ValuesBatchSize>() {
+            @Override
+            public ValuesBatchSize hydrateFromBytes(byte[] bytes) {
+                bytes = CompressionUtils.decompress(bytes, Compression.NONE);
+                return of(EncodingUtils.decodeUnsignedVarLong(bytes, 0));
+            }
+        };
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(getClass().getSimpleName())
+                .add("Value", this.value)
+                .toString();
+        }
+    }
+
     /**
      * <pre>
      * Column value description {
@@ -565,6 +745,10 @@ public final class SweepPriorityTable implements
             };
         }
 
+        public boolean hasCandidateBatchSize() {
+            return row.getColumns().containsKey(PtBytes.toCachedBytes("cb"));
+        }
+
         public boolean hasCellsDeleted() {
             return row.getColumns().containsKey(PtBytes.toCachedBytes("d"));
         }
@@ -573,6 +757,10 @@ public final class SweepPriorityTable implements
             return row.getColumns().containsKey(PtBytes.toCachedBytes("e"));
         }
 
+        public boolean hasDeleteBatchSize() {
+            return row.getColumns().containsKey(PtBytes.toCachedBytes("db"));
+        }
+
         public boolean hasLastSweepTime() {
             return row.getColumns().containsKey(PtBytes.toCachedBytes("t"));
         }
@@ -581,10 +769,23 @@ public final class SweepPriorityTable implements
             return row.getColumns().containsKey(PtBytes.toCachedBytes("m"));
         }
 
+        public boolean hasValuesBatchSize() {
+            return row.getColumns().containsKey(PtBytes.toCachedBytes("vb"));
+        }
+
         public boolean hasWriteCount() {
             return row.getColumns().containsKey(PtBytes.toCachedBytes("w"));
         }
 
+        public Long getCandidateBatchSize() {
+            byte[] bytes = row.getColumns().get(PtBytes.toCachedBytes("cb"));
+            if (bytes == null) {
+                return null;
+            }
+            CandidateBatchSize value = CandidateBatchSize.BYTES_HYDRATOR.hydrateFromBytes(bytes);
+            return value.getValue();
+        }
+
         public Long getCellsDeleted() {
             byte[] bytes = row.getColumns().get(PtBytes.toCachedBytes("d"));
             if (bytes == null) {
@@ -603,6 +804,15 @@ public final class SweepPriorityTable implements
             return value.getValue();
         }
 
+        public Long getDeleteBatchSize() {
+            byte[] bytes = row.getColumns().get(PtBytes.toCachedBytes("db"));
+            if (bytes == null) {
+                return null;
+            }
+            DeleteBatchSize value = DeleteBatchSize.BYTES_HYDRATOR.hydrateFromBytes(bytes);
+            return value.getValue();
+        }
+
         public Long getLastSweepTime() {
             byte[] bytes = row.getColumns().get(PtBytes.toCachedBytes("t"));
             if (bytes == null) {
@@ -621,6 +831,15 @@ public final class SweepPriorityTable implements
             return value.getValue();
         }
 
+        public Long getValuesBatchSize() {
+            byte[] bytes = row.getColumns().get(PtBytes.toCachedBytes("vb"));
+            if (bytes == null) {
+                return null;
+            }
+            ValuesBatchSize value = ValuesBatchSize.BYTES_HYDRATOR.hydrateFromBytes(bytes);
+            return value.getValue();
+        }
+
         public Long getWriteCount() {
             byte[] bytes = row.getColumns().get(PtBytes.toCachedBytes("w"));
             if (bytes == null) {
@@ -630,6 +849,15 @@ public final class SweepPriorityTable implements
             return value.getValue();
         }
 
+        public static Function<SweepPriorityRowResult, Long> getCandidateBatchSizeFun() {
+            return new Function<SweepPriorityRowResult, Long>() {
+                @Override
+                public Long apply(SweepPriorityRowResult rowResult) {
+                    return rowResult.getCandidateBatchSize();
+                }
+            };
+        }
+
         public static Function<SweepPriorityRowResult, Long> getCellsDeletedFun() {
             return new Function<SweepPriorityRowResult, Long>() {
                 @Override
@@ -648,6 +876,15 @@ public final class SweepPriorityTable implements
             };
         }
 
+        public static Function<SweepPriorityRowResult, Long> getDeleteBatchSizeFun() {
+            return new Function<SweepPriorityRowResult, Long>() {
+                @Override
+                public Long apply(SweepPriorityRowResult rowResult) {
+                    return rowResult.getDeleteBatchSize();
+                }
+            };
+        }
+
         public static Function<SweepPriorityRowResult, Long> getLastSweepTimeFun() {
             return new Function<SweepPriorityRowResult, Long>() {
                 @Override
@@ -666,6 +903,15 @@ public final class SweepPriorityTable implements
             };
         }
 
+        public static Function<SweepPriorityRowResult, Long> getValuesBatchSizeFun() {
+            return new Function<SweepPriorityRowResult, Long>() {
+                @Override
+                public Long apply(SweepPriorityRowResult rowResult) {
+                    return rowResult.getValuesBatchSize();
+                }
+            };
+        }
+
         public static Function<SweepPriorityRowResult, Long> getWriteCountFun() {
             return new Function<SweepPriorityRowResult, Long>() {
                 @Override
@@ -679,16 +925,25 @@ public final class SweepPriorityTable implements
         public String toString() {
             return MoreObjects.toStringHelper(getClass().getSimpleName())
                 .add("RowName", getRowName())
+                .add("CandidateBatchSize", getCandidateBatchSize())
                 .add("CellsDeleted", getCellsDeleted())
                 .add("CellsExamined", getCellsExamined())
+                .add("DeleteBatchSize", getDeleteBatchSize())
                 .add("LastSweepTime", getLastSweepTime())
                 .add("MinimumSweptTimestamp", getMinimumSweptTimestamp())
+                .add("ValuesBatchSize", getValuesBatchSize())
                 .add("WriteCount", getWriteCount())
                 .toString();
         }
     }
 
     public enum SweepPriorityNamedColumn {
+        CANDIDATE_BATCH_SIZE {
+            @Override
+            public byte[] getShortName() {
+                return PtBytes.toCachedBytes("cb");
+            }
+        },
         CELLS_DELETED {
             @Override
             public byte[] getShortName() {
@@ -701,6 +956,12 @@ public final class SweepPriorityTable implements
                 return PtBytes.toCachedBytes("e");
             }
         },
+        DELETE_BATCH_SIZE {
+            @Override
+            public byte[] getShortName() {
+                return PtBytes.toCachedBytes("db");
+            }
+        },
         LAST_SWEEP_TIME {
             @Override
             public byte[] getShortName() {
@@ -713,6 +974,12 @@ public final class SweepPriorityTable implements
                 return PtBytes.toCachedBytes("m");
             }
         },
+        VALUES_BATCH_SIZE {
+            @Override
+            public byte[] getShortName() {
+                return PtBytes.toCachedBytes("vb");
+            }
+        },
         WRITE_COUNT {
             @Override
             public byte[] getShortName() {
@@ -747,6 +1014,9 @@ public final class SweepPriorityTable implements
                 .put("m", MinimumSweptTimestamp.BYTES_HYDRATOR)
                 .put("d", CellsDeleted.BYTES_HYDRATOR)
                 .put("e", CellsExamined.BYTES_HYDRATOR)
+                .put("cb", CandidateBatchSize.BYTES_HYDRATOR)
+                .put("vb", ValuesBatchSize.BYTES_HYDRATOR)
+                .put("db", DeleteBatchSize.BYTES_HYDRATOR)
                 .build();
 
     public Map<SweepPriorityRow, Long> getWriteCounts(Collection<SweepPriorityRow> rows) {
@@ -819,6 +1089,48 @@ public final class SweepPriorityTable implements
         return ret;
     }
 
+    public Map<SweepPriorityRow, Long> getCandidateBatchSizes(Collection<SweepPriorityRow> rows) {
+        Map<Cell, SweepPriorityRow> cells = Maps.newHashMapWithExpectedSize(rows.size());
+        for (SweepPriorityRow row : rows) {
+            cells.put(Cell.create(row.persistToBytes(), PtBytes.toCachedBytes("cb")), row);
+        }
+        Map<Cell, byte[]> results = t.get(tableRef, cells.keySet());
+        Map<SweepPriorityRow, Long> ret = Maps.newHashMapWithExpectedSize(results.size());
+        for (Entry<Cell, byte[]> e : results.entrySet()) {
+            Long val = CandidateBatchSize.BYTES_HYDRATOR.hydrateFromBytes(e.getValue()).getValue();
+            ret.put(cells.get(e.getKey()), val);
+        }
+        return ret;
+    }
+
+    public Map<SweepPriorityRow, Long> getValuesBatchSizes(Collection<SweepPriorityRow> rows) {
+        Map<Cell, SweepPriorityRow> cells = Maps.newHashMapWithExpectedSize(rows.size());
+        for (SweepPriorityRow row : rows) {
+            cells.put(Cell.create(row.persistToBytes(), PtBytes.toCachedBytes("vb")), row);
+        }
+        Map<Cell, byte[]> results = t.get(tableRef, cells.keySet());
+        Map<SweepPriorityRow, Long> ret = Maps.newHashMapWithExpectedSize(results.size());
+        for (Entry<Cell, byte[]> e : results.entrySet()) {
+            Long val = ValuesBatchSize.BYTES_HYDRATOR.hydrateFromBytes(e.getValue()).getValue();
+            ret.put(cells.get(e.getKey()), val);
+        }
+        return ret;
+    }
+
+    public Map<SweepPriorityRow, Long> getDeleteBatchSizes(Collection<SweepPriorityRow> rows) {
+        Map<Cell, SweepPriorityRow> cells = Maps.newHashMapWithExpectedSize(rows.size());
+        for (SweepPriorityRow row : rows) {
+            cells.put(Cell.create(row.persistToBytes(), PtBytes.toCachedBytes("db")), row);
+        }
+        Map<Cell, byte[]> results = t.get(tableRef, cells.keySet());
+        Map<SweepPriorityRow, Long> ret = Maps.newHashMapWithExpectedSize(results.size());
+        for (Entry<Cell, byte[]> e : results.entrySet()) {
+            Long val = DeleteBatchSize.BYTES_HYDRATOR.hydrateFromBytes(e.getValue()).getValue();
+            ret.put(cells.get(e.getKey()), val);
+        }
+        return ret;
+    }
+
     public void putWriteCount(SweepPriorityRow row, Long value) {
         put(ImmutableMultimap.of(row, WriteCount.of(value)));
     }
@@ -939,6 +1251,78 @@ public final class SweepPriorityTable implements
         putUnlessExists(Multimaps.forMap(toPut));
     }
 
+    public void putCandidateBatchSize(SweepPriorityRow row, Long value) {
+        put(ImmutableMultimap.of(row, CandidateBatchSize.of(value)));
+    }
+
+    public void putCandidateBatchSize(Map<SweepPriorityRow, Long> map) {
+        Map<SweepPriorityRow, SweepPriorityNamedColumnValue<?>> toPut = Maps.newHashMapWithExpectedSize(map.size());
+        for (Entry<SweepPriorityRow, Long> e : map.entrySet()) {
+            toPut.put(e.getKey(), CandidateBatchSize.of(e.getValue()));
+        }
+        put(Multimaps.forMap(toPut));
+    }
+
+    public void putCandidateBatchSizeUnlessExists(SweepPriorityRow row, Long value) {
+        putUnlessExists(ImmutableMultimap.of(row, CandidateBatchSize.of(value)));
+    }
+
+    public void putCandidateBatchSizeUnlessExists(Map<SweepPriorityRow, Long> map) {
+        Map<SweepPriorityRow, SweepPriorityNamedColumnValue<?>> toPut = Maps.newHashMapWithExpectedSize(map.size());
+        for (Entry<SweepPriorityRow, Long> e : map.entrySet()) {
+            toPut.put(e.getKey(), CandidateBatchSize.of(e.getValue()));
+        }
+        putUnlessExists(Multimaps.forMap(toPut));
+    }
+
+    public void putValuesBatchSize(SweepPriorityRow row, Long value) {
+        put(ImmutableMultimap.of(row, ValuesBatchSize.of(value)));
+    }
+
+    public void putValuesBatchSize(Map<SweepPriorityRow, Long> map) {
+        Map<SweepPriorityRow, SweepPriorityNamedColumnValue<?>> toPut = Maps.newHashMapWithExpectedSize(map.size());
+        for (Entry<SweepPriorityRow, Long> e : map.entrySet()) {
+            toPut.put(e.getKey(), ValuesBatchSize.of(e.getValue()));
+        }
+        put(Multimaps.forMap(toPut));
+    }
+
+    public void putValuesBatchSizeUnlessExists(SweepPriorityRow row, Long value) {
+        putUnlessExists(ImmutableMultimap.of(row, ValuesBatchSize.of(value)));
+    }
+
+    public void putValuesBatchSizeUnlessExists(Map<SweepPriorityRow, Long> map) {
+        Map<SweepPriorityRow, SweepPriorityNamedColumnValue<?>> toPut = Maps.newHashMapWithExpectedSize(map.size());
+        for (Entry<SweepPriorityRow, Long> e : map.entrySet()) {
+            toPut.put(e.getKey(), ValuesBatchSize.of(e.getValue()));
+        }
+        putUnlessExists(Multimaps.forMap(toPut));
+    }
+
+    public void putDeleteBatchSize(SweepPriorityRow row, Long value) {
+        put(ImmutableMultimap.of(row, DeleteBatchSize.of(value)));
+    }
+
+    public void putDeleteBatchSize(Map<SweepPriorityRow, Long> map) {
+        Map<SweepPriorityRow, SweepPriorityNamedColumnValue<?>> toPut = Maps.newHashMapWithExpectedSize(map.size());
+        for (Entry<SweepPriorityRow, Long> e : map.entrySet()) {
+            toPut.put(e.getKey(), DeleteBatchSize.of(e.getValue()));
+        }
+        put(Multimaps.forMap(toPut));
+    }
+
+    public void putDeleteBatchSizeUnlessExists(SweepPriorityRow row, Long value) {
+        putUnlessExists(ImmutableMultimap.of(row, DeleteBatchSize.of(value)));
+    }
+
+    public void putDeleteBatchSizeUnlessExists(Map<SweepPriorityRow, Long> map) {
+        Map<SweepPriorityRow, SweepPriorityNamedColumnValue<?>> toPut = Maps.newHashMapWithExpectedSize(map.size());
+        for (Entry<SweepPriorityRow, Long> e : map.entrySet()) {
+            toPut.put(e.getKey(), DeleteBatchSize.of(e.getValue()));
+        }
+        putUnlessExists(Multimaps.forMap(toPut));
+    }
+
     @Override
     public void put(Multimap<SweepPriorityRow, ? extends SweepPriorityNamedColumnValue<?>> rows) {
         t.useTable(tableRef, this);
@@ -1012,6 +1396,36 @@ public final class SweepPriorityTable implements
         t.delete(tableRef, cells);
     }
 
+    public void deleteCandidateBatchSize(SweepPriorityRow row) {
+        deleteCandidateBatchSize(ImmutableSet.of(row));
+    }
+
+    public void deleteCandidateBatchSize(Iterable<SweepPriorityRow> rows) {
+        byte[] col = PtBytes.toCachedBytes("cb");
+        Set<Cell> cells = Cells.cellsWithConstantColumn(Persistables.persistAll(rows), col);
+        t.delete(tableRef, cells);
+    }
+
+    public void deleteValuesBatchSize(SweepPriorityRow row) {
+        deleteValuesBatchSize(ImmutableSet.of(row));
+    }
+
+    public void deleteValuesBatchSize(Iterable<SweepPriorityRow> rows) {
+        byte[] col = PtBytes.toCachedBytes("vb");
+        Set<Cell> cells = Cells.cellsWithConstantColumn(Persistables.persistAll(rows), col);
+        t.delete(tableRef, cells);
+    }
+
+    public void deleteDeleteBatchSize(SweepPriorityRow row) {
+        deleteDeleteBatchSize(ImmutableSet.of(row));
+    }
+
+    public void deleteDeleteBatchSize(Iterable<SweepPriorityRow> rows) {
+        byte[] col = PtBytes.toCachedBytes("db");
+        Set<Cell> cells = Cells.cellsWithConstantColumn(Persistables.persistAll(rows), col);
+        t.delete(tableRef, cells);
+    }
+
     @Override
     public void delete(SweepPriorityRow row) {
         delete(ImmutableSet.of(row));
@@ -1020,11 +1434,14 @@ public final class SweepPriorityTable implements
     @Override
     public void delete(Iterable<SweepPriorityRow> rows) {
         List<byte[]> rowBytes = Persistables.persistAll(rows);
-        Set<Cell> cells = Sets.newHashSetWithExpectedSize(rowBytes.size() * 5);
+        Set<Cell> cells = Sets.newHashSetWithExpectedSize(rowBytes.size() * 8);
+        cells.addAll(Cells.cellsWithConstantColumn(rowBytes, PtBytes.toCachedBytes("cb")));
         cells.addAll(Cells.cellsWithConstantColumn(rowBytes, PtBytes.toCachedBytes("d")));
         cells.addAll(Cells.cellsWithConstantColumn(rowBytes, PtBytes.toCachedBytes("e")));
+        cells.addAll(Cells.cellsWithConstantColumn(rowBytes, PtBytes.toCachedBytes("db")));
         cells.addAll(Cells.cellsWithConstantColumn(rowBytes, PtBytes.toCachedBytes("t")));
         cells.addAll(Cells.cellsWithConstantColumn(rowBytes, PtBytes.toCachedBytes("m")));
+        cells.addAll(Cells.cellsWithConstantColumn(rowBytes, PtBytes.toCachedBytes("vb")));
         cells.addAll(Cells.cellsWithConstantColumn(rowBytes, PtBytes.toCachedBytes("w")));
         t.delete(tableRef, cells);
     }
@@ -1239,5 +1656,5 @@ public final class SweepPriorityTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "Fy5OQz2p3OpBl5iG2MX60w==";
+    static String __CLASS_HASH = "+7ER1HcSB0Bc+aq1IPDvFw==";
 }
@@ -22,6 +22,7 @@ import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import com.palantir.atlasdb.cleaner.api.OnCleanupTask;
 import com.palantir.atlasdb.keyvalue.api.Namespace;
+import com.palantir.atlasdb.stream.StreamBlockCodec;
 import com.palantir.atlasdb.table.description.TableDefinition;
 import com.palantir.atlasdb.table.description.ValueType;
 import com.palantir.atlasdb.table.description.render.Renderers;
@@ -37,6 +38,7 @@ public class StreamStoreDefinition {
     private final String longName;
     private final ValueType idType;
     private final boolean compressStream;
+    private final StreamBlockCodec blockCodec;
     private final int numberOfRowComponentsHashed;
 
     private int inMemoryThreshold;
@@ -48,6 +50,7 @@ public class StreamStoreDefinition {
             ValueType idType,
             int inMemoryThreshold,
             boolean compressStream,
+            StreamBlockCodec blockCodec,
             int numberOfRowComponentsHashed) {
         this.streamStoreTables = streamStoreTables;
         this.shortName = shortName;
@@ -55,6 +58,7 @@ public class StreamStoreDefinition {
         this.idType = idType;
         this.inMemoryThreshold = inMemoryThreshold;
         this.compressStream = compressStream;
+        this.blockCodec = blockCodec;
         this.numberOfRowComponentsHashed = numberOfRowComponentsHashed;
     }
 
@@ -72,7 +76,8 @@ public class StreamStoreDefinition {
 
     public StreamStoreRenderer getRenderer(String packageName, String name) {
         String renderedLongName = Renderers.CamelCase(longName);
-        return new StreamStoreRenderer(renderedLongName, idType, packageName, name, inMemoryThreshold, compressStream);
+        return new StreamStoreRenderer(
+                renderedLongName, idType, packageName, name, inMemoryThreshold, compressStream, blockCodec);
     }
 
     public Multimap<String, Supplier<OnCleanupTask>> getCleanupTasks(
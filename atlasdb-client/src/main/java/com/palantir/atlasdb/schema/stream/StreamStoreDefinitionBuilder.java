@@ -22,6 +22,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Maps;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence;
+import com.palantir.atlasdb.stream.StreamBlockCodec;
 import com.palantir.atlasdb.table.description.TableDefinition;
 import com.palantir.atlasdb.table.description.ValueType;
 
@@ -33,6 +34,7 @@ public class StreamStoreDefinitionBuilder {
             Maps.newHashMapWithExpectedSize(StreamTableType.values().length);
     private int inMemoryThreshold = AtlasDbConstants.DEFAULT_STREAM_IN_MEMORY_THRESHOLD;
     private boolean compressStream;
+    private StreamBlockCodec blockCodec = StreamBlockCodec.NONE;
     private int numberOfRowComponentsHashed = 0;
 
     /**
@@ -106,6 +108,16 @@ public class StreamStoreDefinitionBuilder {
         return this;
     }
 
+    /**
+     * Compresses each block of newly stored streams independently, in parallel with writing blocks to the database.
+     * Unlike {@link #compressStreamInClient()}, the codec is recorded in the metadata of each stream, so the codec
+     * of an existing stream store may be changed without a migration.
+     */
+    public StreamStoreDefinitionBuilder blockCodec(StreamBlockCodec codec) {
+        this.blockCodec = Preconditions.checkNotNull(codec, "codec");
+        return this;
+    }
+
     public StreamStoreDefinitionBuilder inMemoryThreshold(int inMemoryThreshold) {
         this.inMemoryThreshold = inMemoryThreshold;
         return this;
@@ -118,6 +130,8 @@ public class StreamStoreDefinitionBuilder {
         Preconditions.checkArgument(valueType.getJavaClassName().equals("long"), "Stream ids must be a long");
         Preconditions.checkArgument(inMemoryThreshold <= StreamStoreDefinition.MAX_IN_MEMORY_THRESHOLD,
                 "inMemoryThreshold cannot be greater than %s", StreamStoreDefinition.MAX_IN_MEMORY_THRESHOLD);
+        Preconditions.checkArgument(!compressStream || blockCodec == StreamBlockCodec.NONE,
+                "Cannot use a block codec for a stream store that compresses streams in the client");
 
         return new StreamStoreDefinition(
                 tablesToCreate,
@@ -126,6 +140,7 @@ public class StreamStoreDefinitionBuilder {
                 valueType,
                 inMemoryThreshold,
                 compressStream,
+                blockCodec,
                 numberOfRowComponentsHashed);
     }
 
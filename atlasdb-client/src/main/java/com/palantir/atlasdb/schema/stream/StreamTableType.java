@@ -45,6 +45,19 @@ public enum StreamTableType { // WARNING: do not change these without an upgrade
         return tableReference.getQualifiedName().endsWith(StreamTableType.VALUE.tableSuffix);
     }
 
+    public static boolean isStreamStoreMetadataTable(TableReference tableReference) {
+        return tableReference.getQualifiedName().endsWith(StreamTableType.METADATA.tableSuffix);
+    }
+
+    public static TableReference getValueTableFromMetadataTable(TableReference tableReference) {
+        Preconditions.checkArgument(isStreamStoreMetadataTable(tableReference),
+                "tableReference should be a StreamStore metadata table");
+
+        int tableNameLastIndex = tableReference.getQualifiedName().lastIndexOf(StreamTableType.METADATA.tableSuffix);
+        String valueTableName = tableReference.getQualifiedName().substring(0, tableNameLastIndex) + VALUE.tableSuffix;
+        return TableReference.createUnsafe(valueTableName);
+    }
+
     public static TableReference getIndexTableFromValueTable(TableReference tableReference) {
         Preconditions.checkArgument(isStreamStoreValueTable(tableReference),
                 "tableReference should be a StreamStore value table");
@@ -16,15 +16,25 @@
 package com.palantir.atlasdb.stream;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 import javax.annotation.CheckForNull;
@@ -32,20 +42,36 @@ import javax.annotation.CheckForNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
+import com.google.common.io.ByteStreams;
 import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.Futures;
 import com.palantir.atlasdb.protos.generated.StreamPersistence.Status;
 import com.palantir.atlasdb.protos.generated.StreamPersistence.StreamMetadata;
 import com.palantir.atlasdb.transaction.api.Transaction;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
 import com.palantir.common.base.Throwables;
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.util.ByteArrayIOStream;
 
 public abstract class AbstractGenericStreamStore<T> implements GenericStreamStore<T> {
     protected static final Logger log = LoggerFactory.getLogger(AbstractGenericStreamStore.class);
 
+    // Blocks are encoded and decoded on a pool shared by all stream stores, while the calling thread does the KVS I/O.
+    static final ExecutorService BLOCK_CODEC_EXECUTOR = PTExecutors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), new NamedThreadFactory("stream-block-codec", true));
+    static final int MAX_BLOCKS_IN_CODEC = 4;
+    // Each read-ahead holds up to the in-memory threshold of a stream, so bound how many run at once; channels read
+    // on their own thread when the pool is full.
+    private static final int MAX_READ_AHEADS = Runtime.getRuntime().availableProcessors();
+    private static final ExecutorService READ_AHEAD_EXECUTOR = PTExecutors.newThreadPoolExecutor(
+            0, MAX_READ_AHEADS, 1, TimeUnit.MINUTES, new SynchronousQueue<>(),
+            new NamedThreadFactory("stream-read-ahead", true));
+
     @CheckForNull protected final TransactionManager txnMgr;
 
     protected AbstractGenericStreamStore(TransactionManager txManager) {
@@ -56,6 +82,14 @@ public abstract class AbstractGenericStreamStore<T> implements GenericStreamStor
         return (metadata.getLength() + BLOCK_SIZE_IN_BYTES - 1) / BLOCK_SIZE_IN_BYTES;
     }
 
+    private static StreamBlockCodec getBlockCodecFromMetadata(StreamMetadata metadata) {
+        return StreamBlockCodec.fromPersistedCodec(metadata.getBlockCodec());
+    }
+
+    private static int getBlockLengthFromMetadata(StreamMetadata metadata, long blockId) {
+        return Ints.checkedCast(Math.min(BLOCK_SIZE_IN_BYTES, metadata.getLength() - blockId * BLOCK_SIZE_IN_BYTES));
+    }
+
     protected final StreamMetadata getEmptyMetadata() {
         return StreamMetadata.newBuilder()
             .setStatus(Status.STORING)
@@ -108,7 +142,7 @@ public abstract class AbstractGenericStreamStore<T> implements GenericStreamStor
             return new ByteArrayInputStream(new byte[0]);
         } else if (metadata.getLength() <= Math.min(getInMemoryThreshold(), BLOCK_SIZE_IN_BYTES)) {
             ByteArrayIOStream ios = new ByteArrayIOStream(Ints.saturatedCast(metadata.getLength()));
-            loadSingleBlockToOutputStream(transaction, id, 0, ios);
+            loadBlocksToOutputStream(transaction, id, metadata, 0, 1, ios);
             return ios.getInputStream();
         } else {
             return makeStream(transaction, id, metadata);
@@ -118,15 +152,24 @@ public abstract class AbstractGenericStreamStore<T> implements GenericStreamStor
     private InputStream makeStream(Transaction parent, T id, StreamMetadata metadata) {
         long totalBlocks = getNumberOfBlocksFromMetadata(metadata);
         int blocksInMemory = getNumberOfBlocksThatFitInMemory();
+        BlockGetter pageRefresher = makeBlockGetter(parent, id, metadata);
 
-        BlockGetter pageRefresher = new BlockGetter() {
+        try {
+            return BlockConsumingInputStream.create(pageRefresher, totalBlocks, blocksInMemory);
+        } catch (IOException e) {
+            throw Throwables.throwUncheckedException(e);
+        }
+    }
+
+    private BlockGetter makeBlockGetter(Transaction parent, T id, StreamMetadata metadata) {
+        return new BlockGetter() {
             @Override
             public void get(long firstBlock, long numBlocks, OutputStream destination) {
                 if (parent.isUncommitted()) {
-                    loadNBlocksToOutputStream(parent, id, firstBlock, numBlocks, destination);
+                    loadBlocksToOutputStream(parent, id, metadata, firstBlock, numBlocks, destination);
                 } else {
                     txnMgr.runTaskReadOnly(txn -> {
-                        loadNBlocksToOutputStream(txn, id, firstBlock, numBlocks, destination);
+                        loadBlocksToOutputStream(txn, id, metadata, firstBlock, numBlocks, destination);
                         return null;
                     });
                 }
@@ -137,12 +180,33 @@ public abstract class AbstractGenericStreamStore<T> implements GenericStreamStor
                 return BLOCK_SIZE_IN_BYTES;
             }
         };
+    }
 
+    @Override
+    public InputStream loadStreamRange(Transaction transaction, T id, long offset, long length) {
+        Preconditions.checkArgument(offset >= 0, "Offset must not be negative, but was %s", offset);
+        Preconditions.checkArgument(length >= 0, "Length must not be negative, but was %s", length);
+        SeekableByteChannel channel = loadStreamAsChannel(transaction, id);
         try {
-            return BlockConsumingInputStream.create(pageRefresher, totalBlocks, blocksInMemory);
+            channel.position(offset);
         } catch (IOException e) {
             throw Throwables.throwUncheckedException(e);
         }
+        return ByteStreams.limit(Channels.newInputStream(channel), length);
+    }
+
+    @Override
+    public SeekableByteChannel loadStreamAsChannel(Transaction transaction, T id) {
+        StreamMetadata metadata = getMetadata(transaction, id);
+        checkStreamStored(id, metadata);
+        // Blocks can only be loaded in the background in their own transactions, once the parent has committed.
+        BooleanSupplier canReadAhead = () -> txnMgr != null && !transaction.isUncommitted();
+        return BlockConsumingByteChannel.create(
+                makeBlockGetter(transaction, id, metadata),
+                metadata.getLength(),
+                getNumberOfBlocksThatFitInMemory(),
+                canReadAhead,
+                READ_AHEAD_EXECUTOR);
     }
 
     protected int getNumberOfBlocksThatFitInMemory() {
@@ -196,6 +260,46 @@ public abstract class AbstractGenericStreamStore<T> implements GenericStreamStor
         }
     }
 
+    /**
+     * Writes the given blocks of a stream to the OutputStream, decoding them if the stream was stored with a
+     * {@link StreamBlockCodec}. Blocks are decoded on a shared pool while the following blocks are being loaded.
+     */
+    protected final void loadBlocksToOutputStream(
+            Transaction tx,
+            T streamId,
+            StreamMetadata metadata,
+            long firstBlock,
+            long numBlocks,
+            OutputStream os) {
+        StreamBlockCodec codec = getBlockCodecFromMetadata(metadata);
+        if (codec == StreamBlockCodec.NONE) {
+            loadNBlocksToOutputStream(tx, streamId, firstBlock, numBlocks, os);
+            return;
+        }
+
+        Deque<Future<byte[]>> decodedBlocks = new ArrayDeque<>();
+        try {
+            for (long blockId = firstBlock; blockId < firstBlock + numBlocks; blockId++) {
+                ByteArrayOutputStream storedBlock = new ByteArrayOutputStream();
+                loadSingleBlockToOutputStream(tx, streamId, blockId, storedBlock);
+                int blockLength = getBlockLengthFromMetadata(metadata, blockId);
+                decodedBlocks.add(BLOCK_CODEC_EXECUTOR.submit(
+                        () -> codec.decode(storedBlock.toByteArray(), blockLength)));
+                if (decodedBlocks.size() >= MAX_BLOCKS_IN_CODEC) {
+                    os.write(Futures.getUnchecked(decodedBlocks.remove()));
+                }
+            }
+            while (!decodedBlocks.isEmpty()) {
+                os.write(Futures.getUnchecked(decodedBlocks.remove()));
+            }
+        } catch (IOException e) {
+            log.error("Error writing blocks to output stream when getting stream id {}", streamId, e);
+            throw Throwables.rewrapAndThrowUncheckedException("Error writing blocks when loading stream.", e);
+        } finally {
+            decodedBlocks.forEach(block -> block.cancel(true));
+        }
+    }
+
     private void loadNBlocksToOutputStream(
             Transaction tx,
             T streamId,
@@ -211,9 +315,7 @@ public abstract class AbstractGenericStreamStore<T> implements GenericStreamStor
     protected void tryWriteStreamToFile(Transaction transaction, T id, StreamMetadata metadata, FileOutputStream fos)
             throws IOException {
         long numBlocks = getNumberOfBlocksFromMetadata(metadata);
-        for (long i = 0; i < numBlocks; i++) {
-            loadSingleBlockToOutputStream(transaction, id, i, fos);
-        }
+        loadBlocksToOutputStream(transaction, id, metadata, 0, numBlocks, fos);
         fos.close();
     }
 
@@ -19,7 +19,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
@@ -32,6 +35,7 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.io.ByteStreams;
 import com.google.common.io.CountingInputStream;
+import com.google.common.util.concurrent.Futures;
 import com.google.protobuf.ByteString;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.protos.generated.StreamPersistence.Status;
@@ -155,13 +159,28 @@ public abstract class AbstractPersistentStreamStore extends AbstractGenericStrea
         }
     }
 
+    /**
+     * The codec used to encode each block of newly stored streams. Streams are always decoded with the codec recorded
+     * in their metadata, so this may be changed for an existing stream store.
+     */
+    protected StreamBlockCodec getBlockCodec() {
+        return StreamBlockCodec.NONE;
+    }
+
     protected final StreamMetadata storeBlocksAndGetHashlessMetadata(@Nullable Transaction tx, long id,
             InputStream stream) {
         CountingInputStream countingStream = new CountingInputStream(stream);
+        StreamBlockCodec codec = getBlockCodec();
 
         // Try to store the bytes in the stream and get length
+        long storedLength;
         try {
-            storeBlocksFromStream(tx, id, countingStream);
+            if (codec == StreamBlockCodec.NONE) {
+                storeBlocksFromStream(tx, id, countingStream);
+                storedLength = countingStream.getCount();
+            } else {
+                storedLength = storeEncodedBlocksFromStream(tx, id, countingStream, codec);
+            }
         } catch (IOException e) {
             long length = countingStream.getCount();
             StreamMetadata metadata = StreamMetadata.newBuilder()
@@ -175,11 +194,14 @@ public abstract class AbstractPersistentStreamStore extends AbstractGenericStrea
         }
 
         long length = countingStream.getCount();
-        return StreamMetadata.newBuilder()
+        StreamMetadata.Builder metadata = StreamMetadata.newBuilder()
                 .setStatus(Status.STORED)
                 .setLength(length)
-                .setHash(com.google.protobuf.ByteString.EMPTY)
-                .build();
+                .setHash(com.google.protobuf.ByteString.EMPTY);
+        if (codec != StreamBlockCodec.NONE) {
+            metadata.setBlockCodec(codec.getPersistedCodec()).setStoredLength(storedLength);
+        }
+        return metadata.build();
     }
 
     private void storeBlocksFromStream(@Nullable Transaction tx, long id, InputStream stream) throws IOException {
@@ -207,6 +229,43 @@ public abstract class AbstractPersistentStreamStore extends AbstractGenericStrea
         }
     }
 
+    /**
+     * Like {@link #storeBlocksFromStream}, but encodes each block on a shared pool while this thread reads the
+     * stream and stores the blocks that have already been encoded. Returns the total length of the stored blocks.
+     */
+    private long storeEncodedBlocksFromStream(@Nullable Transaction tx, long id, InputStream stream,
+            StreamBlockCodec codec) throws IOException {
+        Deque<Future<byte[]>> encodedBlocks = new ArrayDeque<>();
+        long blockNumber = 0;
+        long storedLength = 0;
+
+        try {
+            while (true) {
+                byte[] bytesToStore = new byte[BLOCK_SIZE_IN_BYTES];
+                int length = ByteStreams.read(stream, bytesToStore, 0, BLOCK_SIZE_IN_BYTES);
+                if (length > 0) {
+                    byte[] block = length < BLOCK_SIZE_IN_BYTES ? PtBytes.head(bytesToStore, length) : bytesToStore;
+                    encodedBlocks.add(BLOCK_CODEC_EXECUTOR.submit(() -> codec.encode(block)));
+                }
+                boolean isLastBlock = length < BLOCK_SIZE_IN_BYTES;
+                while (!encodedBlocks.isEmpty() && (isLastBlock || encodedBlocks.size() >= MAX_BLOCKS_IN_CODEC)) {
+                    byte[] encodedBlock = Futures.getUnchecked(encodedBlocks.remove());
+                    storeBlockWithNonNullTransaction(tx, id, blockNumber, encodedBlock);
+                    storedLength += encodedBlock.length;
+                    blockNumber++;
+                    if (!streamOperationIsTransactional(tx)) {
+                        backoffStrategy.accept(blockNumber);
+                    }
+                }
+                if (isLastBlock) {
+                    return storedLength;
+                }
+            }
+        } finally {
+            encodedBlocks.forEach(block -> block.cancel(true));
+        }
+    }
+
     private boolean streamOperationIsTransactional(@Nullable Transaction tx) {
         // TODO (jkong): I'm using tx == null as a proxy for whether the entire operation should be done
         // transactionally or not (null implies nontransactional).
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.Futures;
+
+/**
+ * A read-only {@link SeekableByteChannel} over a stream of fixed-size blocks, which only loads the blocks that are
+ * read. Blocks are loaded {@code blocksInMemory} at a time; when allowed to, the next blocks are loaded in the
+ * background while the current ones are being read.
+ */
+public final class BlockConsumingByteChannel implements SeekableByteChannel {
+    private final BlockGetter blockGetter;
+    private final int blockLength;
+    private final long size;
+    private final long numBlocks;
+    private final int blocksInMemory;
+    private final BooleanSupplier canReadAhead;
+    private final ExecutorService readAheadExecutor;
+
+    private long position;
+    private boolean open;
+
+    private long bufferFirstBlock;
+    private byte[] buffer;
+
+    @Nullable
+    private Future<byte[]> readAhead;
+    private long readAheadFirstBlock;
+
+    /**
+     * @param blockGetter loads the blocks of the stream.
+     * @param size the length of the stream in bytes.
+     * @param blocksInMemory the number of blocks to load at a time.
+     * @param canReadAhead whether blocks may currently be loaded by readAheadExecutor, rather than the reading thread.
+     * @param readAheadExecutor the executor to load the next blocks on.
+     */
+    public static BlockConsumingByteChannel create(
+            BlockGetter blockGetter,
+            long size,
+            int blocksInMemory,
+            BooleanSupplier canReadAhead,
+            ExecutorService readAheadExecutor) {
+        BlockConsumingInputStream.ensureExpectedArraySizeDoesNotOverflow(blockGetter, blocksInMemory);
+        return new BlockConsumingByteChannel(blockGetter, size, blocksInMemory, canReadAhead, readAheadExecutor);
+    }
+
+    private BlockConsumingByteChannel(
+            BlockGetter blockGetter,
+            long size,
+            int blocksInMemory,
+            BooleanSupplier canReadAhead,
+            ExecutorService readAheadExecutor) {
+        this.blockGetter = blockGetter;
+        this.blockLength = blockGetter.expectedBlockLength();
+        this.size = size;
+        this.numBlocks = (size + blockLength - 1) / blockLength;
+        this.blocksInMemory = blocksInMemory;
+        this.canReadAhead = canReadAhead;
+        this.readAheadExecutor = readAheadExecutor;
+        this.position = 0L;
+        this.open = true;
+        this.bufferFirstBlock = 0L;
+        this.buffer = new byte[0];
+    }
+
+    @Override
+    public synchronized int read(ByteBuffer dst) throws IOException {
+        ensureOpen();
+        if (position >= size) {
+            return -1;
+        }
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+
+        long block = position / blockLength;
+        if (!isInBuffer(block)) {
+            refillBuffer(block);
+        }
+        int positionInBuffer = Ints.checkedCast(position - bufferFirstBlock * blockLength);
+        int bytesToCopy = Math.min(buffer.length - positionInBuffer, dst.remaining());
+        dst.put(buffer, positionInBuffer, bytesToCopy);
+        position += bytesToCopy;
+        return bytesToCopy;
+    }
+
+    private boolean isInBuffer(long block) {
+        return block >= bufferFirstBlock && (block - bufferFirstBlock) * blockLength < buffer.length;
+    }
+
+    private void refillBuffer(long firstBlock) {
+        if (readAhead != null && readAheadFirstBlock == firstBlock) {
+            buffer = Futures.getUnchecked(readAhead);
+        } else {
+            cancelReadAhead();
+            buffer = loadBlocks(firstBlock, numBlocksToLoadFrom(firstBlock));
+        }
+        readAhead = null;
+        bufferFirstBlock = firstBlock;
+
+        long nextBlock = firstBlock + numBlocksToLoadFrom(firstBlock);
+        if (nextBlock < numBlocks && canReadAhead.getAsBoolean()) {
+            int numBlocksToReadAhead = numBlocksToLoadFrom(nextBlock);
+            try {
+                readAhead = readAheadExecutor.submit(() -> loadBlocks(nextBlock, numBlocksToReadAhead));
+                readAheadFirstBlock = nextBlock;
+            } catch (RejectedExecutionException e) {
+                // Every read-ahead thread is busy; the next blocks are loaded on this thread when they are reached.
+            }
+        }
+    }
+
+    private int numBlocksToLoadFrom(long firstBlock) {
+        // since blocksInMemory is an int, the min is guaranteed to fit in an int
+        return (int) Math.min(numBlocks - firstBlock, blocksInMemory);
+    }
+
+    private byte[] loadBlocks(long firstBlock, int numBlocksToLoad) {
+        int expectedLength = Ints.saturatedCast(Math.min(
+                (long) blockLength * numBlocksToLoad, size - firstBlock * blockLength));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(expectedLength);
+        blockGetter.get(firstBlock, numBlocksToLoad, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private void cancelReadAhead() {
+        if (readAhead != null) {
+            readAhead.cancel(true);
+            readAhead = null;
+        }
+    }
+
+    @Override
+    public synchronized long position() throws IOException {
+        ensureOpen();
+        return position;
+    }
+
+    @Override
+    public synchronized SeekableByteChannel position(long newPosition) throws IOException {
+        ensureOpen();
+        Preconditions.checkArgument(newPosition >= 0, "Position must not be negative, but was %s", newPosition);
+        position = newPosition;
+        return this;
+    }
+
+    @Override
+    public synchronized long size() throws IOException {
+        ensureOpen();
+        return size;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long newSize) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public synchronized void close() {
+        open = false;
+        cancelReadAhead();
+        buffer = new byte[0];
+    }
+
+    private void ensureOpen() throws ClosedChannelException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+    }
+}
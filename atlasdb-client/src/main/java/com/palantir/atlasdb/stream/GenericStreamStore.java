@@ -16,12 +16,17 @@
 package com.palantir.atlasdb.stream;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import com.google.common.base.Preconditions;
+import com.google.common.io.ByteStreams;
 import com.palantir.atlasdb.transaction.api.Transaction;
+import com.palantir.common.base.Throwables;
 import com.palantir.util.crypto.Sha256Hash;
 
 /**
@@ -59,4 +64,35 @@ public interface GenericStreamStore<ID> {
      * Loads the whole stream, and saves it to a local temporary file.
      */
     File loadStreamAsFile(Transaction tx, ID id);
+
+    /**
+     * Loads up to length bytes of the stream with ID id, starting at offset, throwing an exception if no stream
+     * exists. Only the blocks containing the range are read, so this does not read any of the stream before offset.
+     * The returned InputStream is shorter than length if the stream ends first.
+     * <p>
+     * The default implementation reads and discards the stream up to offset; implementations that can read blocks
+     * directly should override it.
+     */
+    default InputStream loadStreamRange(Transaction tx, ID id, long offset, long length) {
+        Preconditions.checkArgument(offset >= 0, "Offset must not be negative, but was %s", offset);
+        Preconditions.checkArgument(length >= 0, "Length must not be negative, but was %s", length);
+        InputStream stream = loadStream(tx, id);
+        try {
+            ByteStreams.exhaust(ByteStreams.limit(stream, offset));
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException("Error skipping to the start of the range.", e);
+        }
+        return ByteStreams.limit(stream, length);
+    }
+
+    /**
+     * Returns a read-only view of the stream with ID id, throwing an exception if no stream exists.
+     * Blocks of the stream are only loaded when a read reaches them, so the channel may be used to seek within
+     * large streams.
+     * <p>
+     * Not supported by default.
+     */
+    default SeekableByteChannel loadStreamAsChannel(Transaction tx, ID id) {
+        throw new UnsupportedOperationException("This stream store cannot read streams as a channel");
+    }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.google.common.base.Preconditions;
+import com.palantir.atlasdb.protos.generated.StreamPersistence.BlockCodec;
+
+import net.jpountz.lz4.LZ4Factory;
+
+/**
+ * Compresses each block of a stream independently, so that any block can be loaded and decoded on its own.
+ * <p>
+ * A block is only stored compressed if that makes it strictly smaller; otherwise it is stored as is. Since every
+ * block except the last is exactly {@link GenericStreamStore#BLOCK_SIZE_IN_BYTES} long, a stored block whose length
+ * equals the expected length of the block is never compressed, and no header is needed to tell the two apart.
+ */
+public enum StreamBlockCodec {
+    NONE(BlockCodec.NONE) {
+        @Override
+        byte[] compress(byte[] block) {
+            return block;
+        }
+
+        @Override
+        byte[] decompress(byte[] compressedBlock, int blockLength) {
+            throw new IllegalStateException("Blocks stored without a codec are never compressed");
+        }
+    },
+    LZ4(BlockCodec.LZ4) {
+        @Override
+        byte[] compress(byte[] block) {
+            return LZ4Factory.fastestInstance().fastCompressor().compress(block);
+        }
+
+        @Override
+        byte[] decompress(byte[] compressedBlock, int blockLength) {
+            return LZ4Factory.fastestInstance().fastDecompressor().decompress(compressedBlock, blockLength);
+        }
+    },
+    /**
+     * Trades throughput for a better compression ratio than {@link #LZ4}.
+     */
+    DEFLATE(BlockCodec.DEFLATE) {
+        @Override
+        byte[] compress(byte[] block) {
+            Deflater deflater = new Deflater();
+            try {
+                deflater.setInput(block);
+                deflater.finish();
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream(block.length);
+                byte[] buffer = new byte[BUFFER_SIZE];
+                // Give up as soon as the output is no smaller than the block, since we will store it as is anyway.
+                while (!deflater.finished() && compressed.size() < block.length) {
+                    compressed.write(buffer, 0, deflater.deflate(buffer));
+                }
+                return deflater.finished() ? compressed.toByteArray() : block;
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        byte[] decompress(byte[] compressedBlock, int blockLength) {
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressedBlock);
+                byte[] block = new byte[blockLength];
+                int length = 0;
+                while (length < blockLength && !inflater.finished()) {
+                    int inflated = inflater.inflate(block, length, blockLength - length);
+                    if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    length += inflated;
+                }
+                Preconditions.checkState(length == blockLength && inflater.finished(),
+                        "Decompressed block has the wrong length: expected %s", blockLength);
+                return block;
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("Could not decompress block", e);
+            } finally {
+                inflater.end();
+            }
+        }
+    };
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BlockCodec persistedCodec;
+
+    StreamBlockCodec(BlockCodec persistedCodec) {
+        this.persistedCodec = persistedCodec;
+    }
+
+    public BlockCodec getPersistedCodec() {
+        return persistedCodec;
+    }
+
+    public static StreamBlockCodec fromPersistedCodec(BlockCodec persistedCodec) {
+        return Arrays.stream(values())
+                .filter(codec -> codec.persistedCodec == persistedCodec)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown block codec " + persistedCodec));
+    }
+
+    /**
+     * Returns the bytes to store for the given block, which are the block itself if it does not compress.
+     */
+    public byte[] encode(byte[] block) {
+        byte[] compressed = compress(block);
+        return compressed.length < block.length ? compressed : block;
+    }
+
+    /**
+     * Returns the block that was encoded to the given stored bytes.
+     *
+     * @param storedBlock the bytes stored for the block.
+     * @param blockLength the length of the block before it was encoded.
+     */
+    public byte[] decode(byte[] storedBlock, int blockLength) {
+        if (storedBlock.length == blockLength) {
+            return storedBlock;
+        }
+        Preconditions.checkState(storedBlock.length < blockLength,
+                "Stored block of length %s is longer than the expected block length %s",
+                storedBlock.length, blockLength);
+        return decompress(storedBlock, blockLength);
+    }
+
+    abstract byte[] compress(byte[] block);
+
+    abstract byte[] decompress(byte[] compressedBlock, int blockLength);
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.table.api;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.transaction.api.Transaction;
+
+/**
+ * Collects row reads against any number of tables and issues them together when {@link #dispatch()} is called:
+ * one {@link Transaction#getRows} call per transaction, table and column selection, however many reads asked for
+ * rows of that table. Each read is answered by a future that completes when its batch comes back.
+ *
+ * Generated tables that enable batch loading expose future-returning variants of their getters that enqueue
+ * their reads here. Callbacks registered on those futures may enqueue further reads (for example, following an
+ * index to its main table); dispatch() keeps issuing batches until no reads are left, so each hop of such a chain
+ * costs one round trip per table rather than one per row.
+ *
+ * Nothing is read until dispatch() is called, so waiting on one of the futures before then never returns.
+ */
+@ThreadSafe
+public final class RowBatchLoader {
+    private final Executor executor;
+
+    @GuardedBy("this")
+    private Map<BatchKey, Batch> pendingBatches = Maps.newLinkedHashMap();
+
+    private RowBatchLoader(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a loader that issues the batches of a dispatch one after the other on the dispatching thread.
+     */
+    public static RowBatchLoader create() {
+        return new RowBatchLoader(MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Creates a loader that issues the batches of a dispatch concurrently on the given executor. Only use this with
+     * transactions that support concurrent reads. Batches that the executor rejects are issued on the dispatching
+     * thread.
+     */
+    public static RowBatchLoader create(Executor executor) {
+        return new RowBatchLoader(executor);
+    }
+
+    /**
+     * Enqueues a read of the given rows, to be issued on the next dispatch. The returned map is ordered like the
+     * one returned by {@link Transaction#getRows} and only holds rows that were asked for by this read.
+     */
+    public ListenableFuture<SortedMap<byte[], RowResult<byte[]>>> getRows(
+            Transaction transaction,
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            ColumnSelection columnSelection) {
+        Read read = new Read(rows);
+        BatchKey key = new BatchKey(transaction, tableRef, columnSelection);
+        synchronized (this) {
+            pendingBatches.computeIfAbsent(key, Batch::new).add(read);
+        }
+        return read.result;
+    }
+
+    /**
+     * Issues all enqueued reads, and any reads enqueued by callbacks of the futures they complete, returning once
+     * there are none left. Failed reads fail their futures rather than this call.
+     */
+    public void dispatch() {
+        List<Batch> batches = drainPendingBatches();
+        while (!batches.isEmpty()) {
+            List<ListenableFuture<Void>> completions = Lists.newArrayListWithCapacity(batches.size());
+            for (Batch batch : batches) {
+                SettableFuture<Void> completion = SettableFuture.create();
+                completions.add(completion);
+                Runnable task = () -> {
+                    try {
+                        batch.run();
+                    } finally {
+                        completion.set(null);
+                    }
+                };
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    task.run();
+                }
+            }
+            Futures.getUnchecked(Futures.allAsList(completions));
+            batches = drainPendingBatches();
+        }
+    }
+
+    private synchronized List<Batch> drainPendingBatches() {
+        List<Batch> batches = ImmutableList.copyOf(pendingBatches.values());
+        pendingBatches = Maps.newLinkedHashMap();
+        return batches;
+    }
+
+    private static final class BatchKey {
+        private final Transaction transaction;
+        private final TableReference tableRef;
+        private final ColumnSelection columnSelection;
+
+        BatchKey(Transaction transaction, TableReference tableRef, ColumnSelection columnSelection) {
+            this.transaction = transaction;
+            this.tableRef = tableRef;
+            this.columnSelection = columnSelection;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            BatchKey other = (BatchKey) obj;
+            // transactions are compared by identity; two reads only share a batch if they share a transaction
+            return transaction == other.transaction
+                    && tableRef.equals(other.tableRef)
+                    && columnSelection.equals(other.columnSelection);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(transaction), tableRef, columnSelection);
+        }
+    }
+
+    private static final class Batch {
+        private final BatchKey key;
+        private final Set<byte[]> rows = Sets.newTreeSet(UnsignedBytes.lexicographicalComparator());
+        private final List<Read> reads = Lists.newArrayList();
+
+        Batch(BatchKey key) {
+            this.key = key;
+        }
+
+        void add(Read read) {
+            rows.addAll(read.rows);
+            reads.add(read);
+        }
+
+        void run() {
+            SortedMap<byte[], RowResult<byte[]>> results;
+            try {
+                results = key.transaction.getRows(key.tableRef, rows, key.columnSelection);
+            } catch (Throwable t) {
+                reads.forEach(read -> read.result.setException(t));
+                return;
+            }
+            if (reads.size() == 1) {
+                reads.get(0).result.set(results);
+                return;
+            }
+            for (Read read : reads) {
+                ImmutableSortedMap.Builder<byte[], RowResult<byte[]>> readResults =
+                        ImmutableSortedMap.orderedBy(UnsignedBytes.lexicographicalComparator());
+                for (byte[] row : read.rows) {
+                    RowResult<byte[]> result = results.get(row);
+                    if (result != null) {
+                        readResults.put(row, result);
+                    }
+                }
+                read.result.set(readResults.build());
+            }
+        }
+    }
+
+    private static final class Read {
+        private final Set<byte[]> rows = Sets.newTreeSet(UnsignedBytes.lexicographicalComparator());
+        private final SettableFuture<SortedMap<byte[], RowResult<byte[]>>> result = SettableFuture.create();
+
+        Read(Iterable<byte[]> rows) {
+            Iterables.addAll(this.rows, rows);
+        }
+    }
+}
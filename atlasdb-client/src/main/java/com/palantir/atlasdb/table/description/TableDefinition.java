@@ -360,10 +360,46 @@ public class TableDefinition extends AbstractDefinition {
         this.v2TableEnabled = true;
     }
 
+    public boolean hasRowViewsEnabled() {
+        return this.rowViewsEnabled;
+    }
+
+    /**
+     * Generates, in addition to the usual row results, lightweight row views for this table together with
+     * getRowViews and (for tables allowing range scans) getRangeViews methods. A view decodes row components and
+     * column values lazily from the underlying bytes, so scans that only read a few fields of each row allocate
+     * much less than with the hydrated row results. Only supported for tables with named columns.
+     *
+     * This is a beta feature. API stability is not guaranteed, and the risk of defects is higher.
+     */
+    @Beta
+    public void enableRowViews() {
+        this.rowViewsEnabled = true;
+    }
+
+    public boolean hasBatchLoadingEnabled() {
+        return this.batchLoadingEnabled;
+    }
+
+    /**
+     * Generates, in addition to the usual blocking getters, getRowsAsync and getRowsMultimapAsync methods that
+     * enqueue their reads on a {@link com.palantir.atlasdb.table.api.RowBatchLoader}, so that reads of several
+     * tables can be issued together. Cell referencing indexes on this table also get getReferencedRows methods,
+     * which follow the index to this table with one read per table rather than one per index entry.
+     *
+     * This is a beta feature. API stability is not guaranteed, and the risk of defects is higher.
+     */
+    @Beta
+    public void enableBatchLoading() {
+        this.batchLoadingEnabled = true;
+    }
+
     public void validate() {
         toTableMetadata();
         getConstraintMetadata();
         Preconditions.checkState(!rowNameComponents.isEmpty(), "No row name components defined.");
+        Preconditions.checkState(!rowViewsEnabled || !fixedColumns.isEmpty(),
+                "Row views are only supported for tables with named columns.");
         validateFirstRowComp(rowNameComponents.get(0));
     }
 
@@ -395,6 +431,8 @@ public class TableDefinition extends AbstractDefinition {
     private LogSafety tableNameSafety = LogSafety.UNSAFE;
     private LogSafety defaultNamedComponentLogSafety = LogSafety.UNSAFE;
     private boolean v2TableEnabled = false;
+    private boolean rowViewsEnabled = false;
+    private boolean batchLoadingEnabled = false;
 
     public TableMetadata toTableMetadata() {
         Preconditions.checkState(!rowNameComponents.isEmpty(), "No row name components defined.");
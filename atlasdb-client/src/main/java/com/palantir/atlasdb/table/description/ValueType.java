@@ -494,6 +494,11 @@ public enum ValueType {
             return "EncodingUtils.sizeOfVarString(" + variableName + ")";
         }
 
+        @Override
+        public String getEncodedSizeCode(String inputName, String indexName, boolean flipped) {
+            return sizedBytesEncodedSizeCode(inputName, indexName, flipped);
+        }
+
         @Override
         public byte[] convertFromJava(Object value) {
             Preconditions.checkArgument(value instanceof String);
@@ -725,6 +730,11 @@ public enum ValueType {
             return "EncodingUtils.sizeOfSizedBytes(" + variableName + ")";
         }
 
+        @Override
+        public String getEncodedSizeCode(String inputName, String indexName, boolean flipped) {
+            return sizedBytesEncodedSizeCode(inputName, indexName, flipped);
+        }
+
     },
     NULLABLE_FIXED_LONG {
         @Override
@@ -908,6 +918,20 @@ public enum ValueType {
     public abstract String getFlippedHydrateCode(String inputName, String indexName);
     public abstract String getHydrateSizeCode(String variableName);
 
+    /**
+     * Returns code for the number of bytes taken by a value of this type encoded at the given index, which may be
+     * used to skip over the value. Unlike hydrating the value, this never allocates or modifies the input.
+     */
+    public String getEncodedSizeCode(String inputName, String indexName, boolean flipped) {
+        return getHydrateSizeCode(
+                flipped ? getFlippedHydrateCode(inputName, indexName) : getHydrateCode(inputName, indexName));
+    }
+
+    private static String sizedBytesEncodedSizeCode(String inputName, String indexName, boolean flipped) {
+        return (flipped ? "EncodingUtils.sizeOfFlippedEncodedSizedBytes(" : "EncodingUtils.sizeOfEncodedSizedBytes(")
+                + inputName + ", " + indexName + ")";
+    }
+
 
     public int getMaxValueSize() {
         return Integer.MAX_VALUE;
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.table.description.render;
+
+import static com.palantir.atlasdb.table.description.render.ColumnRenderers.TypeName;
+import static com.palantir.atlasdb.table.description.render.ColumnRenderers.VarName;
+import static com.palantir.atlasdb.table.description.render.ColumnRenderers.short_name;
+
+import java.util.List;
+import java.util.SortedSet;
+
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.ValueByteOrder;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Format;
+import com.palantir.atlasdb.table.description.NameComponentDescription;
+import com.palantir.atlasdb.table.description.NameMetadataDescription;
+import com.palantir.atlasdb.table.description.NamedColumnDescription;
+
+/**
+ * Renders a read-only view over a raw row of a table with named columns. Unlike the generated RowResult, a view
+ * never hydrates the whole row name: each row component is decoded straight from the row bytes at its offset, and
+ * value type columns are decoded straight from the cell bytes without a NamedColumnValue in between.
+ */
+@SuppressWarnings("checkstyle:AvoidNestedBlocks")
+class NamedRowViewRenderer extends Renderer {
+    private final String row;
+    private final String rowView;
+    private final NameMetadataDescription rowDesc;
+    private final SortedSet<NamedColumnDescription> cols;
+
+    NamedRowViewRenderer(Renderer parent,
+                         String name,
+                         NameMetadataDescription rowDesc,
+                         SortedSet<NamedColumnDescription> cols) {
+        super(parent);
+        this.row = name + "Row";
+        this.rowView = name + "RowView";
+        this.rowDesc = rowDesc;
+        this.cols = cols;
+    }
+
+    @Override
+    protected void run() {
+        javaDoc();
+        line("public static final class ", rowView, " {"); {
+            fields();
+            line();
+            staticFactory();
+            line();
+            constructor();
+            line();
+            getRawRowName();
+            line();
+            getRowName();
+            line();
+            List<NameComponentDescription> parts = rowDesc.getRowParts();
+            for (int i = rowDesc.numberOfComponentsHashed() > 0 ? 1 : 0; i < parts.size(); i++) {
+                getComponent(parts, i);
+                line();
+            }
+            fromRawRowResultFun();
+            line();
+            for (NamedColumnDescription col : cols) {
+                hasCol(col);
+                line();
+            }
+            for (NamedColumnDescription col : cols) {
+                getCol(col);
+                line();
+                if (isDirectlyDecodable(col)) {
+                    getColWithDefault(col);
+                    line();
+                }
+            }
+            renderToString();
+        } line("}");
+    }
+
+    private void javaDoc() {
+        line("/**");
+        line(" * A view over a raw row that decodes row components and column values lazily, on each call.");
+        line(" */");
+    }
+
+    private void fields() {
+        line("private final RowResult<byte[]> row;");
+    }
+
+    private void staticFactory() {
+        line("public static ", rowView, " of(RowResult<byte[]> row) {"); {
+            line("return new ", rowView, "(row);");
+        } line("}");
+    }
+
+    private void constructor() {
+        line("private ", rowView, "(RowResult<byte[]> row) {"); {
+            line("this.row = row;");
+        } line("}");
+    }
+
+    private void getRawRowName() {
+        line("public byte[] getRawRowName() {"); {
+            line("return row.getRowName();");
+        } line("}");
+    }
+
+    private void getRowName() {
+        line("public ", row, " getRowName() {"); {
+            line("return ", row, ".BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());");
+        } line("}");
+    }
+
+    private void getComponent(List<NameComponentDescription> parts, int index) {
+        NameComponentDescription comp = parts.get(index);
+        boolean descending = comp.getOrder() == ValueByteOrder.DESCENDING;
+        line("public ", ComponentRenderers.typeName(comp), " getRow", ComponentRenderers.VarName(comp), "() {"); {
+            // flipped hydrators may flip the input in place, so decode descending components from a copy
+            line("byte[] __input = row.getRowName()", descending ? ".clone()" : "", ";");
+            line("int __index = 0;");
+            for (NameComponentDescription preceding : parts.subList(0, index)) {
+                line("__index += ", preceding.getType().getEncodedSizeCode(
+                        "__input", "__index", preceding.getOrder() == ValueByteOrder.DESCENDING), ";");
+            }
+            if (descending) {
+                line("return ", comp.getType().getFlippedHydrateCode("__input", "__index"), ";");
+            } else {
+                line("return ", comp.getType().getHydrateCode("__input", "__index"), ";");
+            }
+        } line("}");
+    }
+
+    private void fromRawRowResultFun() {
+        line("public static Function<RowResult<byte[]>, ", rowView, "> fromRawRowResultFun() {"); {
+            line("return new Function<RowResult<byte[]>, ", rowView, ">() {"); {
+                line("@Override");
+                line("public ", rowView, " apply(RowResult<byte[]> rowResult) {"); {
+                    line("return new ", rowView, "(rowResult);");
+                } line("}");
+            } line("};");
+        } line("}");
+    }
+
+    private void hasCol(NamedColumnDescription col) {
+        line("public boolean has", VarName(col), "() {"); {
+            line("return row.getColumns().containsKey(PtBytes.toCachedBytes(", short_name(col), "));");
+        } line("}");
+    }
+
+    private void getCol(NamedColumnDescription col) {
+        line("public ", TypeName(col), " get", VarName(col), "() {"); {
+            line("byte[] bytes = row.getColumns().get(PtBytes.toCachedBytes(", short_name(col), "));");
+            line("if (bytes == null) {"); {
+                line("return null;");
+            } line("}");
+            if (isDirectlyDecodable(col)) {
+                renderDirectDecode(col);
+            } else {
+                line("return ", Renderers.CamelCase(col.getLongName()), ".BYTES_HYDRATOR.hydrateFromBytes(bytes).getValue();");
+            }
+        } line("}");
+    }
+
+    private void getColWithDefault(NamedColumnDescription col) {
+        String type = ColumnRenderers.typeName(col);
+        line("public ", type, " get", VarName(col), "(", type, " defaultValue) {"); {
+            line("byte[] bytes = row.getColumns().get(PtBytes.toCachedBytes(", short_name(col), "));");
+            line("if (bytes == null) {"); {
+                line("return defaultValue;");
+            } line("}");
+            renderDirectDecode(col);
+        } line("}");
+    }
+
+    private void renderDirectDecode(NamedColumnDescription col) {
+        if (col.getValue().getCompression() != Compression.NONE) {
+            line("bytes = CompressionUtils.decompress(bytes, Compression.", col.getValue().getCompression().name(), ");");
+        }
+        line("return ", col.getValue().getValueType().getHydrateCode("bytes", "0"), ";");
+    }
+
+    private void renderToString() {
+        line("@Override");
+        line("public String toString() {"); {
+            line("return MoreObjects.toStringHelper(getClass().getSimpleName())");
+            line("    .add(\"RowName\", getRowName())");
+            for (NamedColumnDescription col : cols) {
+                line("    .add(\"", VarName(col), "\", get", VarName(col), "())");
+            }
+            line("    .toString();");
+        } line("}");
+    }
+
+    private static boolean isDirectlyDecodable(NamedColumnDescription col) {
+        return col.getValue().getFormat() == Format.VALUE_TYPE;
+    }
+}
@@ -23,6 +23,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.SeekableByteChannel;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.util.Arrays;
@@ -66,6 +67,7 @@ import com.palantir.atlasdb.stream.BlockConsumingInputStream;
 import com.palantir.atlasdb.stream.BlockGetter;
 import com.palantir.atlasdb.stream.BlockLoader;
 import com.palantir.atlasdb.stream.PersistentStreamStore;
+import com.palantir.atlasdb.stream.StreamBlockCodec;
 import com.palantir.atlasdb.stream.StreamCleanedException;
 import com.palantir.atlasdb.stream.StreamStorePersistenceConfiguration;
 import com.palantir.atlasdb.table.description.ValueType;
@@ -94,14 +96,20 @@ public class StreamStoreRenderer {
     private final String schemaName;
     private final int inMemoryThreshold;
     private final boolean clientSideCompression;
+    private final StreamBlockCodec blockCodec;
 
     public StreamStoreRenderer(String name, ValueType streamIdType, String packageName, String schemaName, int inMemoryThreshold, boolean clientSideCompression) {
+        this(name, streamIdType, packageName, schemaName, inMemoryThreshold, clientSideCompression, StreamBlockCodec.NONE);
+    }
+
+    public StreamStoreRenderer(String name, ValueType streamIdType, String packageName, String schemaName, int inMemoryThreshold, boolean clientSideCompression, StreamBlockCodec blockCodec) {
         this.name = name;
         this.streamIdType = streamIdType;
         this.packageName = packageName;
         this.schemaName = schemaName;
         this.inMemoryThreshold = inMemoryThreshold;
         this.clientSideCompression = clientSideCompression;
+        this.blockCodec = blockCodec;
     }
 
     public String getPackageName() {
@@ -159,6 +167,10 @@ public class StreamStoreRenderer {
                     line();
                     getInMemoryThreshold();
                     line();
+                    if (blockCodec != StreamBlockCodec.NONE) {
+                        getBlockCodec();
+                        line();
+                    }
                     storeBlock();
                     line();
                     touchMetadataWhileStoringForConflicts();
@@ -182,6 +194,10 @@ public class StreamStoreRenderer {
                         line();
                         loadStreamsWithCompression();
                         line();
+                        loadStreamRangeWithCompression();
+                        line();
+                        loadStreamAsChannelWithCompression();
+                        line();
                         tryWriteStreamToFile();
                         line();
                         makeStreamUsingTransaction();
@@ -326,6 +342,13 @@ public class StreamStoreRenderer {
                 } line("}");
             }
 
+            private void getBlockCodec() {
+                line("@Override");
+                line("protected StreamBlockCodec getBlockCodec() {"); {
+                    line("return StreamBlockCodec.", blockCodec.name(), ";");
+                } line("}");
+            }
+
             private void createTempFile() {
                 line("@Override");
                 line("protected File createTempFile(", StreamId, " id) throws IOException {"); {
@@ -599,6 +622,29 @@ public class StreamStoreRenderer {
                 } line("}");
             }
 
+            private void loadStreamRangeWithCompression() {
+                line("@Override");
+                line("public InputStream loadStreamRange(Transaction t, final ", StreamId, " id, long offset, long length) {"); {
+                    line("Preconditions.checkArgument(offset >= 0, \"Offset must not be negative, but was %s\", offset);");
+                    line("Preconditions.checkArgument(length >= 0, \"Length must not be negative, but was %s\", length);");
+                    line("// Streams compressed in the client can only be decompressed from the start, so skip to the offset.");
+                    line("InputStream stream = loadStream(t, id);");
+                    line("try {"); {
+                        line("ByteStreams.exhaust(ByteStreams.limit(stream, offset));");
+                    } line("} catch (IOException e) {"); {
+                        line("throw Throwables.rewrapAndThrowUncheckedException(\"Error skipping to the start of the range.\", e);");
+                    } line("}");
+                    line("return ByteStreams.limit(stream, length);");
+                } line("}");
+            }
+
+            private void loadStreamAsChannelWithCompression() {
+                line("@Override");
+                line("public SeekableByteChannel loadStreamAsChannel(Transaction t, final ", StreamId, " id) {"); {
+                    line("throw new UnsupportedOperationException(\"Streams compressed in the client cannot be read as a channel\");");
+                } line("}");
+            }
+
             private void tryWriteStreamToFile() {
                 line("@Override");
                 line("protected void tryWriteStreamToFile(Transaction transaction, ", StreamId, " id, StreamMetadata metadata, FileOutputStream fos) throws IOException {"); {
@@ -777,6 +823,7 @@ public class StreamStoreRenderer {
         IOException.class,
         InputStream.class,
         OutputStream.class,
+        SeekableByteChannel.class,
         DigestInputStream.class,
         MessageDigest.class,
         Collection.class,
@@ -811,6 +858,7 @@ public class StreamStoreRenderer {
         ConcatenatedInputStream.class,
         Cell.class,
         PersistentStreamStore.class,
+        StreamBlockCodec.class,
         Transaction.class,
         TransactionManager.class,
         TransactionTask.class,
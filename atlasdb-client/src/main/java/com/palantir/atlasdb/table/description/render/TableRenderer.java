@@ -62,6 +62,9 @@ import com.google.common.hash.Hashing;
 import com.google.common.io.BaseEncoding;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -82,6 +85,7 @@ import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbNamedMutableTable;
 import com.palantir.atlasdb.table.api.AtlasDbNamedPersistentSet;
 import com.palantir.atlasdb.table.api.ColumnValue;
+import com.palantir.atlasdb.table.api.RowBatchLoader;
 import com.palantir.atlasdb.table.api.TypedRowResult;
 import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
 import com.palantir.atlasdb.table.description.IndexComponent;
@@ -141,12 +145,17 @@ public class TableRenderer {
         private final String raw_table_name;
         private final boolean isGeneric;
         private final boolean isNestedIndex;
+        private final boolean rowViewsEnabled;
+        private final boolean batchLoadingEnabled;
+        private final boolean isCellReferencingIndex;
         private final String outerTable;
+        private final String outerTableName;
         private final String Table;
         private final String Row;
         private final String Column;
         private final String ColumnValue;
         private final String RowResult;
+        private final String RowView;
         private final String Trigger;
 
         public ClassRenderer(String rawTableName,
@@ -162,16 +171,21 @@ public class TableRenderer {
             this.raw_table_name = rawTableName;
             this.isGeneric = table.getGenericTableName() != null;
             this.isNestedIndex = false;
+            this.rowViewsEnabled = table.hasRowViewsEnabled();
+            this.batchLoadingEnabled = table.hasBatchLoadingEnabled();
+            this.isCellReferencingIndex = false;
             this.outerTable = null;
+            this.outerTableName = null;
             this.Table = tableName + "Table";
             this.Row = tableName + "Row";
             this.Column = tableName + (isDynamic(this.table) ? "Column" : "NamedColumn");
             this.ColumnValue = tableName + (isDynamic(this.table) ? "ColumnValue" : "NamedColumnValue<?>");
             this.RowResult = tableName + "RowResult";
+            this.RowView = tableName + "RowView";
             this.Trigger = tableName + "Trigger";
         }
 
-        public ClassRenderer(Renderer parent, String outerTable, IndexMetadata index) {
+        public ClassRenderer(ClassRenderer parent, IndexMetadata index) {
             super(parent);
             this.tableName = Renderers.getIndexTableName(index);
             this.table = index.getTableMetadata();
@@ -180,18 +194,23 @@ public class TableRenderer {
             this.raw_table_name = index.getIndexName();
             this.isGeneric = false;
             this.isNestedIndex = true;
-            this.outerTable = outerTable;
+            this.rowViewsEnabled = false;
+            this.batchLoadingEnabled = parent.batchLoadingEnabled && !parent.isGeneric;
+            this.isCellReferencingIndex = index.getIndexType() == IndexType.CELL_REFERENCING;
+            this.outerTable = parent.Table;
+            this.outerTableName = parent.tableName;
             this.Table = tableName + "Table";
             this.Row = tableName + "Row";
             this.Column = tableName + (isDynamic(this.table) ? "Column" : "NamedColumn");
             this.ColumnValue = tableName + (isDynamic(this.table) ? "ColumnValue" : "NamedColumnValue<?>");
             this.RowResult = tableName + "RowResult";
+            this.RowView = tableName + "RowView";
             this.Trigger = tableName + "Trigger";
         }
 
         @Override
         protected void run() {
-            ImportRenderer importRenderer = new ImportRenderer(this, getImports(optionalType));
+            ImportRenderer importRenderer = new ImportRenderer(this, getImports(optionalType, batchLoadingEnabled));
             if (!isNestedIndex) {
                 line("package ", packageName, ";");
                 line();
@@ -243,6 +262,10 @@ public class TableRenderer {
                 if (table.isRangeScanAllowed()) {
                     renderGetRange();
                     line();
+                    if (rowViewsEnabled) {
+                        renderGetRangeViews();
+                        line();
+                    }
                     renderGetRanges();
                     line();
                     renderDeleteRange();
@@ -263,7 +286,7 @@ public class TableRenderer {
                 renderFindConstraintFailures();
                 for (IndexMetadata index : indices) {
                     line();
-                    new ClassRenderer(this, Table, index).run();
+                    new ClassRenderer(this, index).run();
                 }
                 if (!isNestedIndex) {
                     line();
@@ -285,6 +308,10 @@ public class TableRenderer {
             line();
             new NamedRowResultRenderer(this, tableName, ColumnRenderers.namedColumns(table)).run();
             line();
+            if (rowViewsEnabled) {
+                new NamedRowViewRenderer(this, tableName, table.getRowMetadata(), ColumnRenderers.namedColumns(table)).run();
+                line();
+            }
             new NamedColumnRenderer(this, tableName, ColumnRenderers.namedColumns(table)).run();
             line();
             renderColumnSelection(false);
@@ -313,10 +340,22 @@ public class TableRenderer {
             line();
             renderNamedGetRows();
             line();
+            if (batchLoadingEnabled) {
+                renderNamedGetRowsAsync();
+                line();
+            }
+            if (rowViewsEnabled) {
+                renderNamedGetRowViews();
+                line();
+            }
             renderGetRowColumns(false);
             line();
             renderGetRowsMultimap(false);
             line();
+            if (batchLoadingEnabled) {
+                renderGetRowsMultimapAsync();
+                line();
+            }
             renderGetRowsColumnRange(false);
 
             if (!cellReferencingIndices.isEmpty()) {
@@ -354,6 +393,14 @@ public class TableRenderer {
             line();
             renderGetRowsMultimap(true);
             line();
+            if (batchLoadingEnabled) {
+                renderGetRowsMultimapAsync();
+                line();
+                if (isCellReferencingIndex) {
+                    renderGetReferencedRows();
+                    line();
+                }
+            }
             renderGetRowsColumnRange(true);
         }
 
@@ -937,6 +984,15 @@ public class TableRenderer {
             } line("}");
         }
 
+        private void renderGetRangeViews() {
+            line("public BatchingVisitableView<", RowView, "> getRangeViews(RangeRequest range) {"); {
+                line("if (range.getColumnNames().isEmpty()) {"); {
+                    line("range = range.getBuilder().retainColumns(allColumns).build();");
+                } line("}");
+                line("return BatchingVisitables.transform(t.getRange(tableRef, range), ", RowView, ".fromRawRowResultFun());");
+            } line("}");
+        }
+
         private void renderGetRanges() {
             line("@Deprecated");
             line("public IterableView<BatchingVisitable<", RowResult, ">> getRanges(Iterable<RangeRequest> ranges) {"); {
@@ -1069,6 +1125,37 @@ public class TableRenderer {
             } line("}");
         }
 
+        private void renderNamedGetRowsAsync() {
+            line("public ListenableFuture<List<", RowResult, ">> getRowsAsync(RowBatchLoader loader, Iterable<", Row, "> rows) {"); {
+                line("return getRowsAsync(loader, rows, allColumns);");
+            } line("}");
+            line();
+            line("public ListenableFuture<List<", RowResult, ">> getRowsAsync(RowBatchLoader loader, Iterable<", Row, "> rows, ColumnSelection columns) {"); {
+                line("return Futures.transform(loader.getRows(t, tableRef, Persistables.persistAll(rows), columns), results -> {"); {
+                    line("List<", RowResult, "> rowResults = Lists.newArrayListWithCapacity(results.size());");
+                    line("for (RowResult<byte[]> row : results.values()) {"); {
+                        line("rowResults.add(", RowResult, ".of(row));");
+                    } line("}");
+                    line("return rowResults;");
+                } line("}, MoreExecutors.directExecutor());");
+            } line("}");
+        }
+
+        private void renderNamedGetRowViews() {
+            line("public List<", RowView, "> getRowViews(Iterable<", Row, "> rows) {"); {
+                line("return getRowViews(rows, allColumns);");
+            } line("}");
+            line();
+            line("public List<", RowView, "> getRowViews(Iterable<", Row, "> rows, ColumnSelection columns) {"); {
+                line("SortedMap<byte[], RowResult<byte[]>> results = t.getRows(tableRef, Persistables.persistAll(rows), columns);");
+                line("List<", RowView, "> rowViews = Lists.newArrayListWithCapacity(results.size());");
+                line("for (RowResult<byte[]> row : results.values()) {"); {
+                    line("rowViews.add(", RowView, ".of(row));");
+                } line("}");
+                line("return rowViews;");
+            } line("}");
+        }
+
         private void renderDynamicGet() {
             line("@Override");
             line("public Multimap<", Row, ", ", ColumnValue, "> get(Multimap<", Row, ", ", Column, "> cells) {"); {
@@ -1121,6 +1208,69 @@ public class TableRenderer {
             } line("}");
         }
 
+        private void renderGetRowsMultimapAsync() {
+            line("public ListenableFuture<Multimap<", Row, ", ", ColumnValue, ">> getRowsMultimapAsync(RowBatchLoader loader, Iterable<", Row, "> rows) {"); {
+                line("return getRowsMultimapAsync(loader, rows, allColumns);");
+            } line("}");
+            line();
+            line("public ListenableFuture<Multimap<", Row, ", ", ColumnValue, ">> getRowsMultimapAsync(RowBatchLoader loader, Iterable<", Row, "> rows, ColumnSelection columns) {"); {
+                line("return Futures.transform(");
+                line("        loader.getRows(t, tableRef, Persistables.persistAll(rows), columns),");
+                line("        results -> getRowMapFromRowResults(results.values()),");
+                line("        MoreExecutors.directExecutor());");
+            } line("}");
+        }
+
+        private void renderGetReferencedRows() {
+            String ReferencedRowResult = outerTableName + "RowResult";
+            line("public Multimap<", Row, ", ", ReferencedRowResult, "> getReferencedRows(Iterable<", Row, "> rows) {"); {
+                line("return getReferencedRows(rows, ", outerTable, ".allColumns);");
+            } line("}");
+            line();
+            line("public Multimap<", Row, ", ", ReferencedRowResult, "> getReferencedRows(Iterable<", Row, "> rows, ColumnSelection columns) {"); {
+                line("Multimap<", Row, ", ", ColumnValue, "> indexEntries = getRowsMultimap(rows);");
+                line("SortedMap<byte[], RowResult<byte[]>> results = t.getRows(getReferencedTableRef(), getReferencedRowNames(indexEntries), columns);");
+                line("return joinReferencedRows(indexEntries, results);");
+            } line("}");
+            line();
+            line("public ListenableFuture<Multimap<", Row, ", ", ReferencedRowResult, ">> getReferencedRowsAsync(RowBatchLoader loader, Iterable<", Row, "> rows) {"); {
+                line("return getReferencedRowsAsync(loader, rows, ", outerTable, ".allColumns);");
+            } line("}");
+            line();
+            line("public ListenableFuture<Multimap<", Row, ", ", ReferencedRowResult, ">> getReferencedRowsAsync(RowBatchLoader loader, Iterable<", Row, "> rows, ColumnSelection columns) {"); {
+                line("return Futures.transformAsync(getRowsMultimapAsync(loader, rows), indexEntries -> Futures.transform(");
+                line("        loader.getRows(t, getReferencedTableRef(), getReferencedRowNames(indexEntries), columns),");
+                line("        results -> joinReferencedRows(indexEntries, results),");
+                line("        MoreExecutors.directExecutor()), MoreExecutors.directExecutor());");
+            } line("}");
+            line();
+            line("private TableReference getReferencedTableRef() {"); {
+                line("return TableReference.create(tableRef.getNamespace(), ", outerTable, ".getRawTableName());");
+            } line("}");
+            line();
+            line("private static Set<byte[]> getReferencedRowNames(Multimap<", Row, ", ", ColumnValue, "> indexEntries) {"); {
+                line("Set<byte[]> rowNames = Sets.newTreeSet(UnsignedBytes.lexicographicalComparator());");
+                line("for (", ColumnValue, " value : indexEntries.values()) {"); {
+                    line("rowNames.add(value.getColumnName().getRowName());");
+                } line("}");
+                line("return rowNames;");
+            } line("}");
+            line();
+            line("private static Multimap<", Row, ", ", ReferencedRowResult, "> joinReferencedRows(Multimap<", Row, ", ", ColumnValue, "> indexEntries, SortedMap<byte[], RowResult<byte[]>> results) {"); {
+                line("Multimap<", Row, ", ", ReferencedRowResult, "> joined = ArrayListMultimap.create();");
+                line("for (Entry<", Row, ", Collection<", ColumnValue, ">> e : indexEntries.asMap().entrySet()) {"); {
+                    line("Set<byte[]> rowNames = Sets.newTreeSet(UnsignedBytes.lexicographicalComparator());");
+                    line("for (", ColumnValue, " value : e.getValue()) {"); {
+                        line("RowResult<byte[]> result = results.get(value.getColumnName().getRowName());");
+                        line("if (result != null && rowNames.add(result.getRowName())) {"); {
+                            line("joined.put(e.getKey(), ", ReferencedRowResult, ".of(result));");
+                        } line("}");
+                    } line("}");
+                } line("}");
+                line("return joined;");
+            } line("}");
+        }
+
         private void renderGetRowsColumnRange(boolean isDynamic) {
             line("@Override");
             line("public Map<", Row, ", BatchingVisitable<", ColumnValue, ">> getRowsColumnRange(Iterable<", Row, "> rows, BatchColumnRangeSelection columnRangeSelection) {"); {
@@ -1232,9 +1382,12 @@ public class TableRenderer {
         return Collections2.filter(indices, index -> index.getIndexType() == IndexType.CELL_REFERENCING);
     }
 
-    private static List<Class<?>> getImports(OptionalType optionalType) {
+    private static List<Class<?>> getImports(OptionalType optionalType, boolean batchLoadingEnabled) {
         List<Class<?>> classes = Lists.newArrayList();
         classes.addAll(Arrays.asList(IMPORTS_WITHOUT_OPTIONAL));
+        if (batchLoadingEnabled) {
+            classes.addAll(Arrays.asList(BATCH_LOADING_IMPORTS));
+        }
         switch (optionalType) {
             case GUAVA:
                 classes.add(com.google.common.base.Optional.class);
@@ -1248,6 +1401,13 @@ public class TableRenderer {
         return classes;
     }
 
+    private static final Class<?>[] BATCH_LOADING_IMPORTS = {
+        ListenableFuture.class,
+        Futures.class,
+        MoreExecutors.class,
+        RowBatchLoader.class,
+    };
+
     private static final Class<?>[] IMPORTS_WITHOUT_OPTIONAL = {
         Set.class,
         List.class,
@@ -19,6 +19,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -29,6 +30,7 @@ import com.codahale.metrics.Histogram;
 import com.codahale.metrics.Meter;
 import com.codahale.metrics.Metric;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Reservoir;
 import com.codahale.metrics.Timer;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
@@ -132,12 +134,15 @@ public class MetricsManager {
 
     @VisibleForTesting
     Map<String, String> getTableNameTagFor(TableReference tableRef) {
+        return ImmutableMap.of("tableName", getSafeTableName(tableRef));
+    }
+
+    private String getSafeTableName(TableReference tableRef) {
         String tableName = tableRef.getTablename();
         if (!isSafeToLog.apply(tableRef)) {
             tableName = "unsafeTable_" + obfuscate(tableRef);
         }
-
-        return ImmutableMap.of("tableName", tableName);
+        return tableName;
     }
 
     private String obfuscate(TableReference tableRef) {
@@ -176,6 +181,43 @@ public class MetricsManager {
         return histogram;
     }
 
+    /**
+     * Returns the histogram of the given name, registering one backed by a new reservoir if there is none yet.
+     */
+    public synchronized Histogram registerOrGetHistogram(Class clazz, String metricPrefix, String metricName,
+            Supplier<Reservoir> reservoirSupplier) {
+        String fullyQualifiedHistogramName = MetricRegistry.name(clazz, metricPrefix, metricName);
+        Metric existing = metricRegistry.getMetrics().get(fullyQualifiedHistogramName);
+        if (existing instanceof Histogram) {
+            registeredMetrics.add(fullyQualifiedHistogramName);
+            return (Histogram) existing;
+        }
+        Histogram histogram = new Histogram(reservoirSupplier.get());
+        registerMetricWithFqn(fullyQualifiedHistogramName, histogram);
+        return histogram;
+    }
+
+    /**
+     * As {@link #registerOrGetHistogram(Class, String, String, Supplier)}, with the table name as the prefix. Names
+     * of tables that are not safe for logging are obfuscated.
+     */
+    public Histogram registerOrGetHistogramForTable(Class clazz, String metricName, TableReference tableRef,
+            Supplier<Reservoir> reservoirSupplier) {
+        return registerOrGetHistogram(clazz, getSafeTableName(tableRef), metricName, reservoirSupplier);
+    }
+
+    /**
+     * As {@link #registerOrGetHistogramForTable}, with the sorted table names of the given set joined as the prefix.
+     */
+    public Histogram registerOrGetHistogramForTables(Class clazz, String metricName, Set<TableReference> tableRefs,
+            Supplier<Reservoir> reservoirSupplier) {
+        String tableNames = tableRefs.stream()
+                .map(this::getSafeTableName)
+                .sorted()
+                .collect(Collectors.joining("+"));
+        return registerOrGetHistogram(clazz, tableNames, metricName, reservoirSupplier);
+    }
+
     public Timer registerOrGetTimer(Class clazz, String metricName) {
         return registerOrGetTimer(MetricRegistry.name(clazz, metricName));
     }
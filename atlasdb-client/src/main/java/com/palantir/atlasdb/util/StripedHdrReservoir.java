@@ -0,0 +1,179 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.util;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.HdrHistogram.Recorder;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.math.IntMath;
+
+/**
+ * A {@link Reservoir} that records values in HdrHistograms, so percentiles are accurate to the given number of
+ * significant digits rather than estimated from a sample.
+ * <p>
+ * Updates are wait-free: values are recorded into one of a few {@link Recorder}s chosen by thread, so concurrent
+ * writers rarely touch the same counters. Snapshots drain every stripe into the histogram of the current window, and
+ * describe the current and previous windows only, so older values decay and memory use stays fixed.
+ */
+public final class StripedHdrReservoir implements Reservoir {
+    private static final int DEFAULT_SIGNIFICANT_DIGITS = 2;
+    private static final int MAX_STRIPES = 4;
+    private static final long DEFAULT_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final Recorder[] stripes;
+    private final Histogram[] intervalHistograms;
+    private final Ticker ticker;
+    private final long windowNanos;
+
+    private Histogram currentWindow;
+    private Histogram previousWindow;
+    private long currentWindowStart;
+
+    public StripedHdrReservoir() {
+        this(Math.min(MAX_STRIPES, Runtime.getRuntime().availableProcessors()), DEFAULT_SIGNIFICANT_DIGITS);
+    }
+
+    @VisibleForTesting
+    StripedHdrReservoir(int stripes, int significantDigits) {
+        this(stripes, significantDigits, Ticker.systemTicker(), DEFAULT_WINDOW_NANOS);
+    }
+
+    @VisibleForTesting
+    StripedHdrReservoir(int stripes, int significantDigits, Ticker ticker, long windowNanos) {
+        Preconditions.checkArgument(stripes > 0, "Must have at least one stripe");
+        Preconditions.checkArgument(windowNanos > 0, "Window must be positive");
+        this.stripes = new Recorder[IntMath.ceilingPowerOfTwo(stripes)];
+        this.intervalHistograms = new Histogram[this.stripes.length];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Recorder(significantDigits);
+        }
+        this.ticker = ticker;
+        this.windowNanos = windowNanos;
+        this.currentWindow = new Histogram(significantDigits);
+        this.previousWindow = new Histogram(significantDigits);
+        this.currentWindowStart = ticker.read();
+    }
+
+    @Override
+    public void update(long value) {
+        int stripe = (int) Thread.currentThread().getId() & (stripes.length - 1);
+        stripes[stripe].recordValue(Math.max(0, value));
+    }
+
+    @Override
+    public int size() {
+        return getSnapshot().size();
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        return new HdrSnapshot(drain());
+    }
+
+    private synchronized Histogram drain() {
+        for (int i = 0; i < stripes.length; i++) {
+            // Each recorder only accepts histograms it handed out itself for recycling.
+            intervalHistograms[i] = stripes[i].getIntervalHistogram(intervalHistograms[i]);
+            currentWindow.add(intervalHistograms[i]);
+        }
+        Histogram snapshot = currentWindow.copy();
+        snapshot.add(previousWindow);
+        rollWindowIfElapsed();
+        return snapshot;
+    }
+
+    private void rollWindowIfElapsed() {
+        long now = ticker.read();
+        if (now - currentWindowStart < windowNanos) {
+            return;
+        }
+        Histogram expired = previousWindow;
+        expired.reset();
+        previousWindow = currentWindow;
+        currentWindow = expired;
+        currentWindowStart = now;
+    }
+
+    private static final class HdrSnapshot extends Snapshot {
+        private final Histogram histogram;
+
+        private HdrSnapshot(Histogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public double getValue(double quantile) {
+            return histogram.getValueAtPercentile(quantile * 100);
+        }
+
+        /**
+         * Returns each distinct recorded value (to the histogram's precision) once, rather than once per sample.
+         */
+        @Override
+        public long[] getValues() {
+            return StreamSupport.stream(histogram.recordedValues().spliterator(), false)
+                    .mapToLong(HistogramIterationValue::getValueIteratedTo)
+                    .toArray();
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(Integer.MAX_VALUE, histogram.getTotalCount());
+        }
+
+        @Override
+        public long getMax() {
+            return histogram.getMaxValue();
+        }
+
+        @Override
+        public double getMean() {
+            return histogram.getMean();
+        }
+
+        @Override
+        public long getMin() {
+            return histogram.getMinValue();
+        }
+
+        @Override
+        public double getStdDev() {
+            return histogram.getStdDeviation();
+        }
+
+        @Override
+        public void dump(OutputStream output) {
+            try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                for (long value : getValues()) {
+                    out.printf("%d%n", value);
+                }
+            }
+        }
+    }
+}
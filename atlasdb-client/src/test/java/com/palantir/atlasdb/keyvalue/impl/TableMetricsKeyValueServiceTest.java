@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableMap;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.util.MetricsManager;
+import com.palantir.atlasdb.util.MetricsRule;
+
+public class TableMetricsKeyValueServiceTest {
+    private static final TableReference TABLE = TableReference.createFromFullyQualifiedName("ns.table");
+    private static final TableReference OTHER_TABLE = TableReference.createFromFullyQualifiedName("ns.other");
+    private static final Cell CELL = Cell.create(PtBytes.toBytes("row"), PtBytes.toBytes("col"));
+    private static final byte[] VALUE = new byte[100];
+    private static final long TIMESTAMP = 10L;
+
+    @Rule
+    public MetricsRule metricsRule = new MetricsRule();
+
+    private final KeyValueService delegate = mock(KeyValueService.class);
+
+    @Test
+    public void recordsLatencyAndSizeOfEachCall() {
+        KeyValueService kvs = new TableMetricsKeyValueService(delegate, new MetricsManager(), 1, 10);
+
+        kvs.put(TABLE, ImmutableMap.of(CELL, VALUE), TIMESTAMP);
+        kvs.put(TABLE, ImmutableMap.of(CELL, VALUE), TIMESTAMP);
+
+        verify(delegate, times(2)).put(TABLE, ImmutableMap.of(CELL, VALUE), TIMESTAMP);
+        assertThat(getHistograms("put.latencyMicros")).hasSize(1);
+        Histogram sizes = getOnlyHistogram("put.bytes");
+        assertThat(sizes.getCount()).isEqualTo(2);
+        long expectedSize = VALUE.length + Cells.getApproxSizeOfCell(CELL);
+        assertThat(sizes.getSnapshot().getMax()).isBetween(expectedSize - 1, expectedSize + 1);
+    }
+
+    @Test
+    public void recordsTablesBeyondTheLimitTogether() {
+        KeyValueService kvs = new TableMetricsKeyValueService(delegate, new MetricsManager(), 1, 1);
+
+        kvs.put(TABLE, ImmutableMap.of(CELL, VALUE), TIMESTAMP);
+        kvs.put(OTHER_TABLE, ImmutableMap.of(CELL, VALUE), TIMESTAMP);
+
+        Map<String, Histogram> latencies = getHistograms("put.latencyMicros");
+        assertThat(latencies).hasSize(2);
+        assertThat(latencies).containsKey(MetricRegistry.name(
+                TableMetricsKeyValueService.class, TableMetricsKeyValueService.OTHER_TABLES, "put.latencyMicros"));
+        latencies.values().forEach(histogram -> assertThat(histogram.getCount()).isEqualTo(1));
+    }
+
+    @Test
+    public void onlyRecordsSampledCalls() {
+        KeyValueService kvs = new TableMetricsKeyValueService(delegate, new MetricsManager(), Integer.MAX_VALUE, 10);
+
+        kvs.put(TABLE, ImmutableMap.of(CELL, VALUE), TIMESTAMP);
+
+        verify(delegate).put(TABLE, ImmutableMap.of(CELL, VALUE), TIMESTAMP);
+        assertThat(getHistograms("put.latencyMicros")).isEmpty();
+    }
+
+    private Histogram getOnlyHistogram(String metricName) {
+        Map<String, Histogram> histograms = getHistograms(metricName);
+        assertThat(histograms).hasSize(1);
+        return histograms.values().iterator().next();
+    }
+
+    private Map<String, Histogram> getHistograms(String metricName) {
+        return metricsRule.metrics().getHistograms().entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(TableMetricsKeyValueService.class.getName()))
+                .filter(entry -> entry.getKey().endsWith("." + metricName))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
@@ -91,4 +91,28 @@ public class StreamTableTypeTest {
         assertThat(indexTableFromValueTable).isNotEqualTo(valueTable);
         assertEquals(expectedIndexTable, indexTableFromValueTable);
     }
+
+    @Test
+    public void isStreamStoreMetadataTableReturnsFalseForOtherStreamStoreTableTypes() {
+        List<StreamTableType> streamTypes =
+                Lists.newArrayList(StreamTableType.VALUE, StreamTableType.INDEX, StreamTableType.HASH);
+        for (StreamTableType streamType : streamTypes) {
+            String tableName = streamType.getTableName(TEST_TABLE);
+            TableReference tableReference = TableReference.create(TEST_NAMESPACE, tableName);
+
+            assertFalse(StreamTableType.isStreamStoreMetadataTable(tableReference));
+        }
+    }
+
+    @Test
+    public void getValueTableFromMetadataTableWorksWithTableWithNamespace() {
+        String metadataTableName = StreamTableType.METADATA.getTableName(TEST_TABLE);
+        TableReference metadataTable = TableReference.create(TEST_NAMESPACE, metadataTableName);
+
+        String valueTableName = StreamTableType.VALUE.getTableName(TEST_TABLE);
+        TableReference expectedValueTable = TableReference.create(TEST_NAMESPACE, valueTableName);
+
+        assertTrue(StreamTableType.isStreamStoreMetadataTable(metadataTable));
+        assertEquals(expectedValueTable, StreamTableType.getValueTableFromMetadataTable(metadataTable));
+    }
 }
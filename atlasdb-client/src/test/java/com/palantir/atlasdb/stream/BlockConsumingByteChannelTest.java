@@ -0,0 +1,170 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.common.concurrent.PTExecutors;
+
+public class BlockConsumingByteChannelTest {
+    private static final int BLOCK_LENGTH = 3;
+
+    private final byte[] stored = "abcdefghijklmnopq".getBytes(StandardCharsets.UTF_8);
+    private final List<Long> loadedBlocks = new CopyOnWriteArrayList<>();
+    private final BlockGetter blockGetter = new BlockGetter() {
+        @Override
+        public void get(long firstBlock, long numBlocks, OutputStream destination) {
+            for (long block = firstBlock; block < firstBlock + numBlocks; block++) {
+                loadedBlocks.add(block);
+                int start = (int) block * BLOCK_LENGTH;
+                try {
+                    destination.write(stored, start, Math.min(BLOCK_LENGTH, stored.length - start));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+
+        @Override
+        public int expectedBlockLength() {
+            return BLOCK_LENGTH;
+        }
+    };
+
+    private final ExecutorService readAheadExecutor = PTExecutors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown() {
+        readAheadExecutor.shutdownNow();
+    }
+
+    @Test
+    public void readsWholeStream() throws IOException {
+        BlockConsumingByteChannel channel = createChannel(2, false);
+        assertThat(readFully(channel, stored.length + 1)).isEqualTo("abcdefghijklmnopq");
+        assertThat(channel.read(ByteBuffer.allocate(1))).isEqualTo(-1);
+    }
+
+    @Test
+    public void onlyLoadsBlocksFromPosition() throws IOException {
+        BlockConsumingByteChannel channel = createChannel(1, false);
+        channel.position(10);
+        assertThat(readFully(channel, 4)).isEqualTo("klmn");
+        assertThat(loadedBlocks).containsExactly(3L, 4L);
+    }
+
+    @Test
+    public void canSeekBackwards() throws IOException {
+        BlockConsumingByteChannel channel = createChannel(2, false);
+        channel.position(13);
+        assertThat(readFully(channel, 2)).isEqualTo("no");
+        channel.position(1);
+        assertThat(readFully(channel, 2)).isEqualTo("bc");
+        assertThat(channel.position()).isEqualTo(3);
+    }
+
+    @Test
+    public void readsAheadWhenAllowed() throws IOException {
+        BlockConsumingByteChannel channel = BlockConsumingByteChannel.create(
+                blockGetter, stored.length, 2, () -> true, MoreExecutors.newDirectExecutorService());
+        assertThat(readFully(channel, 1)).isEqualTo("a");
+        assertThat(loadedBlocks).containsExactly(0L, 1L, 2L, 3L);
+
+        assertThat(readFully(channel, 8)).isEqualTo("bcdefghi");
+        assertThat(loadedBlocks).containsExactly(0L, 1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    public void doesNotReadAheadWhenNotAllowed() throws IOException {
+        BlockConsumingByteChannel channel = createChannel(2, false);
+        assertThat(readFully(channel, 1)).isEqualTo("a");
+        assertThat(loadedBlocks).containsExactly(0L, 1L);
+    }
+
+    @Test
+    public void loadsBlocksOnReadingThreadWhenReadAheadIsRejected() throws IOException {
+        readAheadExecutor.shutdown();
+        BlockConsumingByteChannel channel = createChannel(2, true);
+        assertThat(readFully(channel, stored.length)).isEqualTo("abcdefghijklmnopq");
+        assertThat(loadedBlocks).containsExactly(0L, 1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    public void readingPastTheEndReturnsEndOfStream() throws IOException {
+        BlockConsumingByteChannel channel = createChannel(2, false);
+        channel.position(100);
+        assertThat(channel.read(ByteBuffer.allocate(1))).isEqualTo(-1);
+        assertThat(loadedBlocks).isEmpty();
+    }
+
+    @Test
+    public void emptyStreamHasNoBytes() throws IOException {
+        BlockConsumingByteChannel channel = BlockConsumingByteChannel.create(
+                blockGetter, 0, 2, () -> false, readAheadExecutor);
+        assertThat(channel.size()).isEqualTo(0);
+        assertThat(channel.read(ByteBuffer.allocate(1))).isEqualTo(-1);
+    }
+
+    @Test
+    public void cannotWrite() {
+        BlockConsumingByteChannel channel = createChannel(2, false);
+        assertThatThrownBy(() -> channel.write(ByteBuffer.allocate(1)))
+                .isInstanceOf(NonWritableChannelException.class);
+        assertThatThrownBy(() -> channel.truncate(0)).isInstanceOf(NonWritableChannelException.class);
+    }
+
+    @Test
+    public void cannotReadAfterClose() {
+        BlockConsumingByteChannel channel = createChannel(2, true);
+        channel.close();
+        assertThat(channel.isOpen()).isFalse();
+        assertThatThrownBy(() -> channel.read(ByteBuffer.allocate(1))).isInstanceOf(ClosedChannelException.class);
+    }
+
+    @Test
+    public void cannotSeekToNegativePosition() {
+        BlockConsumingByteChannel channel = createChannel(2, false);
+        assertThatThrownBy(() -> channel.position(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private BlockConsumingByteChannel createChannel(int blocksInMemory, boolean canReadAhead) {
+        return BlockConsumingByteChannel.create(
+                blockGetter, stored.length, blocksInMemory, () -> canReadAhead, readAheadExecutor);
+    }
+
+    private static String readFully(BlockConsumingByteChannel channel, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // keep reading
+        }
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class StreamBlockCodecTest {
+    private static final int BLOCK_SIZE = GenericStreamStore.BLOCK_SIZE_IN_BYTES;
+
+    @Test
+    public void compressibleBlocksRoundTripCompressed() {
+        byte[] block = compressibleBytes(BLOCK_SIZE);
+        for (StreamBlockCodec codec : new StreamBlockCodec[] {StreamBlockCodec.LZ4, StreamBlockCodec.DEFLATE}) {
+            byte[] stored = codec.encode(block);
+            assertThat(stored.length).isLessThan(block.length);
+            assertThat(codec.decode(stored, block.length)).isEqualTo(block);
+        }
+    }
+
+    @Test
+    public void incompressibleBlocksAreStoredAsIs() {
+        byte[] block = new byte[BLOCK_SIZE];
+        new Random(0).nextBytes(block);
+        for (StreamBlockCodec codec : StreamBlockCodec.values()) {
+            byte[] stored = codec.encode(block);
+            assertThat(stored).isSameAs(block);
+            assertThat(codec.decode(stored, block.length)).isSameAs(block);
+        }
+    }
+
+    @Test
+    public void partialLastBlocksRoundTrip() {
+        byte[] block = compressibleBytes(500);
+        for (StreamBlockCodec codec : StreamBlockCodec.values()) {
+            assertThat(codec.decode(codec.encode(block), block.length)).isEqualTo(block);
+        }
+    }
+
+    @Test
+    public void decodingThrowsIfStoredBlockIsLongerThanBlock() {
+        assertThatThrownBy(() -> StreamBlockCodec.LZ4.decode(new byte[10], 5))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void deflateThrowsIfBlockHasTheWrongLength() {
+        byte[] block = compressibleBytes(BLOCK_SIZE);
+        byte[] stored = StreamBlockCodec.DEFLATE.encode(block);
+        assertThatThrownBy(() -> StreamBlockCodec.DEFLATE.decode(stored, block.length + 1))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void persistedCodecsRoundTrip() {
+        for (StreamBlockCodec codec : StreamBlockCodec.values()) {
+            assertThat(StreamBlockCodec.fromPersistedCodec(codec.getPersistedCodec())).isEqualTo(codec);
+        }
+    }
+
+    private static byte[] compressibleBytes(int size) {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte) 42);
+        return bytes;
+    }
+}
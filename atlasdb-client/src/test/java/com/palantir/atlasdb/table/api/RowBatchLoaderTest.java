@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.table.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.SortedMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.transaction.api.Transaction;
+
+public class RowBatchLoaderTest {
+    private static final TableReference TABLE_1 = TableReference.createFromFullyQualifiedName("test.table1");
+    private static final TableReference TABLE_2 = TableReference.createFromFullyQualifiedName("test.table2");
+    private static final byte[] ROW_1 = PtBytes.toBytes("row1");
+    private static final byte[] ROW_2 = PtBytes.toBytes("row2");
+    private static final byte[] ROW_3 = PtBytes.toBytes("row3");
+    private static final byte[] COLUMN = PtBytes.toBytes("c");
+
+    private final Transaction transaction = mock(Transaction.class);
+    private final RowBatchLoader loader = RowBatchLoader.create();
+
+    @Before
+    public void setUp() {
+        when(transaction.getRows(any(), any(), any())).thenAnswer(invocation -> {
+            ImmutableSortedMap.Builder<byte[], RowResult<byte[]>> results =
+                    ImmutableSortedMap.orderedBy(UnsignedBytes.lexicographicalComparator());
+            @SuppressWarnings("unchecked")
+            Iterable<byte[]> rows = (Iterable<byte[]>) invocation.getArguments()[1];
+            for (byte[] row : rows) {
+                // every row holds a pointer to the next one
+                results.put(row, RowResult.of(Cell.create(row, COLUMN), next(row)));
+            }
+            return results.build();
+        });
+    }
+
+    @Test
+    public void doesNotReadBeforeDispatch() {
+        ListenableFuture<SortedMap<byte[], RowResult<byte[]>>> result =
+                loader.getRows(transaction, TABLE_1, ImmutableList.of(ROW_1), ColumnSelection.all());
+
+        assertThat(result.isDone()).isFalse();
+        verifyNoMoreInteractions(transaction);
+    }
+
+    @Test
+    public void readsOfTheSameTableShareOneCall() {
+        ListenableFuture<SortedMap<byte[], RowResult<byte[]>>> first =
+                loader.getRows(transaction, TABLE_1, ImmutableList.of(ROW_1), ColumnSelection.all());
+        ListenableFuture<SortedMap<byte[], RowResult<byte[]>>> second =
+                loader.getRows(transaction, TABLE_1, ImmutableList.of(ROW_2, ROW_3), ColumnSelection.all());
+        loader.dispatch();
+
+        verify(transaction, times(1)).getRows(eq(TABLE_1), any(), eq(ColumnSelection.all()));
+        assertThat(Futures.getUnchecked(first).keySet()).containsExactly(ROW_1);
+        assertThat(Futures.getUnchecked(second).keySet()).containsExactly(ROW_2, ROW_3);
+    }
+
+    @Test
+    public void readsOfDifferentTablesOrColumnsAreNotMerged() {
+        ColumnSelection columns = ColumnSelection.create(ImmutableList.of(COLUMN));
+        loader.getRows(transaction, TABLE_1, ImmutableList.of(ROW_1), ColumnSelection.all());
+        loader.getRows(transaction, TABLE_1, ImmutableList.of(ROW_1), columns);
+        loader.getRows(transaction, TABLE_2, ImmutableList.of(ROW_1), ColumnSelection.all());
+        loader.dispatch();
+
+        verify(transaction).getRows(eq(TABLE_1), any(), eq(ColumnSelection.all()));
+        verify(transaction).getRows(eq(TABLE_1), any(), eq(columns));
+        verify(transaction).getRows(eq(TABLE_2), any(), eq(ColumnSelection.all()));
+        verifyNoMoreInteractions(transaction);
+    }
+
+    @Test
+    public void dispatchesReadsEnqueuedByCallbacksOneBatchPerHop() {
+        ListenableFuture<SortedMap<byte[], RowResult<byte[]>>> secondHop = Futures.transformAsync(
+                loader.getRows(transaction, TABLE_1, ImmutableList.of(ROW_1, ROW_2), ColumnSelection.all()),
+                firstHop -> loader.getRows(
+                        transaction,
+                        TABLE_2,
+                        ImmutableList.copyOf(firstHop.values().stream().map(RowResult::getOnlyColumnValue).iterator()),
+                        ColumnSelection.all()),
+                MoreExecutors.directExecutor());
+        loader.dispatch();
+
+        assertThat(Futures.getUnchecked(secondHop).keySet()).containsExactly(ROW_2, ROW_3);
+        verify(transaction).getRows(eq(TABLE_1), any(), any());
+        verify(transaction).getRows(eq(TABLE_2), any(), any());
+        verifyNoMoreInteractions(transaction);
+    }
+
+    @Test
+    public void failedReadsFailTheirFuturesOnly() {
+        TableReference brokenTable = TableReference.createFromFullyQualifiedName("test.broken");
+        RuntimeException failure = new RuntimeException("broken");
+        doThrow(failure).when(transaction).getRows(eq(brokenTable), any(), any());
+
+        ListenableFuture<SortedMap<byte[], RowResult<byte[]>>> broken =
+                loader.getRows(transaction, brokenTable, ImmutableList.of(ROW_1), ColumnSelection.all());
+        ListenableFuture<SortedMap<byte[], RowResult<byte[]>>> healthy =
+                loader.getRows(transaction, TABLE_1, ImmutableList.of(ROW_1), ColumnSelection.all());
+        loader.dispatch();
+
+        assertThatThrownBy(broken::get).isInstanceOf(ExecutionException.class).hasMessageContaining("broken");
+        assertThat(Futures.getUnchecked(healthy).keySet()).containsExactly(ROW_1);
+    }
+
+    @Test
+    public void issuesRejectedBatchesOnTheDispatchingThread() {
+        RowBatchLoader rejectingLoader = RowBatchLoader.create(command -> {
+            throw new RejectedExecutionException("saturated");
+        });
+
+        ListenableFuture<SortedMap<byte[], RowResult<byte[]>>> result =
+                rejectingLoader.getRows(transaction, TABLE_1, ImmutableList.of(ROW_1), ColumnSelection.all());
+        rejectingLoader.dispatch();
+
+        assertThat(Futures.getUnchecked(result).keySet()).containsExactly(ROW_1);
+    }
+
+    private static byte[] next(byte[] row) {
+        byte[] next = row.clone();
+        next[next.length - 1]++;
+        return next;
+    }
+}
@@ -27,6 +27,8 @@ import org.junit.Test;
 
 import com.palantir.atlasdb.keyvalue.api.Namespace;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.table.description.IndexDefinition;
+import com.palantir.atlasdb.table.description.IndexDefinition.IndexType;
 import com.palantir.atlasdb.table.description.IndexMetadata;
 import com.palantir.atlasdb.table.description.OptionalType;
 import com.palantir.atlasdb.table.description.TableDefinition;
@@ -63,6 +65,103 @@ public class TableRendererTest {
                         containsString("Optional.empty")));
     }
 
+    @Test
+    public void doesNotRenderRowViewsByDefault() {
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        assertThat(renderer.render("table", getSimpleTableDefinition(TABLE_REF), NO_INDICES),
+                allOf(
+                        not(containsString("TestTableRowView")),
+                        not(containsString("getRowViews(")),
+                        not(containsString("getRangeViews("))));
+    }
+
+    @Test
+    public void testCanRenderRowViews() {
+        TableDefinition definition = getSimpleTableDefinition(TABLE_REF);
+        definition.rangeScanAllowed();
+        definition.enableRowViews();
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        assertThat(renderer.render("table", definition, NO_INDICES),
+                allOf(
+                        containsString("public static final class TestTableRowView {"),
+                        containsString("public String getRowRowName() {"),
+                        containsString("return EncodingUtils.decodeUnsignedVarLong(bytes, 0);"),
+                        containsString("public long getCol1(long defaultValue) {"),
+                        containsString("public List<TestTableRowView> getRowViews(Iterable<TestTableRow> rows) {"),
+                        containsString("public BatchingVisitableView<TestTableRowView> getRangeViews("
+                                + "RangeRequest range) {")));
+    }
+
+    @Test
+    public void rowViewsSkipPrecedingComponentsWithoutDecodingThem() {
+        TableDefinition definition = new TableDefinition() {{
+            javaTableName(TABLE_REF.getTablename());
+            rowName();
+            rowComponent("first", ValueType.VAR_STRING);
+            rowComponent("second", ValueType.FIXED_LONG);
+            columns();
+            column("col1", "1", ValueType.VAR_LONG);
+            enableRowViews();
+        }};
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        assertThat(renderer.render("table", definition, NO_INDICES),
+                allOf(
+                        containsString("__index += EncodingUtils.sizeOfEncodedSizedBytes(__input, __index);"),
+                        containsString("public long getRowSecond() {"),
+                        not(containsString("getRangeViews("))));
+    }
+
+    @Test
+    public void doesNotRenderBatchLoadingByDefault() {
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        assertThat(renderer.render("table", getSimpleTableDefinition(TABLE_REF), NO_INDICES),
+                allOf(
+                        not(containsString("RowBatchLoader")),
+                        not(containsString("ListenableFuture"))));
+    }
+
+    @Test
+    public void testCanRenderBatchLoading() {
+        TableDefinition definition = getSimpleTableDefinition(TABLE_REF);
+        definition.enableBatchLoading();
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        assertThat(renderer.render("table", definition, NO_INDICES),
+                allOf(
+                        containsString("import com.palantir.atlasdb.table.api.RowBatchLoader;"),
+                        containsString("public ListenableFuture<List<TestTableRowResult>> getRowsAsync("
+                                + "RowBatchLoader loader, Iterable<TestTableRow> rows) {"),
+                        containsString("public ListenableFuture<Multimap<TestTableRow, TestTableNamedColumnValue<?>>> "
+                                + "getRowsMultimapAsync(RowBatchLoader loader, Iterable<TestTableRow> rows) {"),
+                        not(containsString("getReferencedRows("))));
+    }
+
+    @Test
+    public void rendersReferencedRowsForCellReferencingIndexesWithBatchLoading() {
+        TableDefinition definition = getSimpleTableDefinition(TABLE_REF);
+        definition.enableBatchLoading();
+        IndexDefinition indexDefinition = new IndexDefinition(IndexType.CELL_REFERENCING) {{
+            onTable("table");
+            rowName();
+            componentFromColumn("value", ValueType.VAR_LONG, "col1", "_value");
+            dynamicColumns();
+            componentFromRow("rowName", ValueType.STRING);
+        }};
+        SortedSet<IndexMetadata> indices = new TreeSet<>((first, second) ->
+                first.getIndexName().compareTo(second.getIndexName()));
+        indices.add(indexDefinition.toIndexMetadata("value_idx"));
+
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        assertThat(renderer.render("table", definition, indices),
+                allOf(
+                        containsString("public Multimap<ValueIdxRow, TestTableRowResult> getReferencedRows("
+                                + "Iterable<ValueIdxRow> rows) {"),
+                        containsString("return getReferencedRows(rows, TestTableTable.allColumns);"),
+                        containsString("public ListenableFuture<Multimap<ValueIdxRow, TestTableRowResult>> "
+                                + "getReferencedRowsAsync(RowBatchLoader loader, Iterable<ValueIdxRow> rows) {"),
+                        containsString("return TableReference.create(tableRef.getNamespace(), "
+                                + "TestTableTable.getRawTableName());")));
+    }
+
     private TableDefinition getSimpleTableDefinition(TableReference tableRef) {
         return new TableDefinition() {{
             javaTableName(tableRef.getTablename());
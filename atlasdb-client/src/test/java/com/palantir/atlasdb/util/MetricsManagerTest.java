@@ -27,6 +27,7 @@ import org.junit.After;
 import org.junit.Test;
 
 import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.ImmutableMap;
@@ -188,6 +189,16 @@ public class MetricsManagerTest {
         assertThat(registry.getNames()).containsExactly("java.util.List.error.outofbounds");
     }
 
+    @Test
+    public void registersHistogramsOnce() {
+        Histogram histogram = metricsManager.registerOrGetHistogram(
+                LIST_CLASS, ERROR_PREFIX, OOM, StripedHdrReservoir::new);
+
+        assertThat(metricsManager.registerOrGetHistogram(LIST_CLASS, ERROR_PREFIX, OOM, StripedHdrReservoir::new))
+                .isSameAs(histogram);
+        assertThat(registry.getHistograms()).containsOnlyKeys(MetricRegistry.name(LIST_CLASS, ERROR_OOM));
+    }
+
     @Test
     public void getTableNameTagFor_usesSafeTableNames() {
         Map<String, String> tag = metricsManager.getTableNameTagFor(table("safe"));
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.codahale.metrics.Snapshot;
+import com.google.common.base.Ticker;
+
+public class StripedHdrReservoirTest {
+    private static final long WINDOW_NANOS = 100L;
+
+    private final AtomicLong time = new AtomicLong();
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return time.get();
+        }
+    };
+
+    @Test
+    public void snapshotIncludesValuesFromAllThreads() throws InterruptedException {
+        StripedHdrReservoir reservoir = new StripedHdrReservoir(4, 2);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++) {
+            executor.execute(() -> {
+                for (int value = 1; value <= 100; value++) {
+                    reservoir.update(value);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertThat(snapshot.size()).isEqualTo(400);
+        assertThat(snapshot.getMin()).isEqualTo(1);
+        assertThat(snapshot.getMax()).isEqualTo(100);
+        assertThat(snapshot.getMedian()).isEqualTo(50.0);
+        assertThat(snapshot.getValues()).hasSize(100);
+    }
+
+    @Test
+    public void snapshotsAccumulateValues() {
+        StripedHdrReservoir reservoir = new StripedHdrReservoir(1, 2);
+        reservoir.update(10);
+        assertThat(reservoir.size()).isEqualTo(1);
+
+        reservoir.update(20);
+        assertThat(reservoir.size()).isEqualTo(2);
+        assertThat(reservoir.getSnapshot().getMax()).isEqualTo(20);
+    }
+
+    @Test
+    public void snapshotsOnlyDescribeTheCurrentAndPreviousWindows() {
+        StripedHdrReservoir reservoir = new StripedHdrReservoir(1, 2, ticker, WINDOW_NANOS);
+        reservoir.update(10);
+        time.addAndGet(WINDOW_NANOS);
+        assertThat(reservoir.size()).isEqualTo(1);
+
+        time.addAndGet(WINDOW_NANOS);
+        reservoir.update(20);
+        assertThat(reservoir.size()).isEqualTo(2);
+
+        time.addAndGet(WINDOW_NANOS);
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertThat(snapshot.size()).isEqualTo(1);
+        assertThat(snapshot.getMin()).isEqualTo(20);
+        assertThat(reservoir.size()).isEqualTo(0);
+    }
+}
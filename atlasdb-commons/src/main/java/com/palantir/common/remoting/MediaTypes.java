@@ -0,0 +1,31 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.common.remoting;
+
+/**
+ * Media types that are not in {@link javax.ws.rs.core.MediaType}.
+ */
+public final class MediaTypes {
+    /**
+     * Smile, a binary encoding of JSON. Bodies in this format are read and written with Jackson in the same way as
+     * JSON bodies, but are smaller and cheaper to encode and decode.
+     */
+    public static final String APPLICATION_JACKSON_SMILE = "application/x-jackson-smile";
+
+    private MediaTypes() {
+        // constants
+    }
+}
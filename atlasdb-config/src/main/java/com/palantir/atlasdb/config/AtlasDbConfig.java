@@ -28,6 +28,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.memory.InMemoryAtlasDbConfig;
+import com.palantir.atlasdb.memory.OffHeapAtlasDbConfig;
 import com.palantir.atlasdb.spi.KeyValueServiceConfig;
 import com.palantir.exception.NotInitializedException;
 
@@ -254,6 +255,33 @@ public abstract class AtlasDbConfig {
         return 1000;
     }
 
+    /**
+     * The total commit time above which a transaction's commit is logged with the time taken by each of its phases.
+     * If zero, slow commits are not logged.
+     */
+    @Value.Default
+    public long getSlowCommitLogThresholdMillis() {
+        return 0;
+    }
+
+    /**
+     * One in this many KVS calls has its latency and payload size recorded in per-table histograms by
+     * TableMetricsKeyValueService. If zero, no such histograms are recorded.
+     */
+    @Value.Default
+    public int getKvsTableMetricsSampleRate() {
+        return 16;
+    }
+
+    /**
+     * The number of tables that get their own KVS latency and size histograms. Calls on any other tables are recorded
+     * together, which bounds the number of metrics.
+     */
+    @Value.Default
+    public int getKvsTableMetricsMaxTables() {
+        return 64;
+    }
+
     /**
      * The default lock expiration time for requests to the lock service.
      */
@@ -267,6 +295,20 @@ public abstract class AtlasDbConfig {
         checkLeaderAndTimelockBlocks();
         checkLockAndTimestampBlocks();
         checkNamespaceConfigAndGetNamespace();
+        checkKvsTableMetrics();
+        checkSlowCommitLogThreshold();
+    }
+
+    private void checkSlowCommitLogThreshold() {
+        Preconditions.checkState(getSlowCommitLogThresholdMillis() >= 0,
+                "Slow commit log threshold must not be negative.");
+    }
+
+    private void checkKvsTableMetrics() {
+        Preconditions.checkState(getKvsTableMetricsSampleRate() >= 0,
+                "KVS table metrics sample rate must not be negative.");
+        Preconditions.checkState(getKvsTableMetricsMaxTables() >= 0,
+                "KVS table metrics max tables must not be negative.");
     }
 
     private void checkLeaderAndTimelockBlocks() {
@@ -311,7 +353,7 @@ public abstract class AtlasDbConfig {
                             "If present, the TimeLock client config should be the same as the"
                                     + " atlas root-level namespace config.")));
             return namespaceConfigValue;
-        } else if (!(keyValueService() instanceof InMemoryAtlasDbConfig)) {
+        } else if (!isInProcessKeyValueService()) {
             Preconditions.checkState(keyValueService().namespace().isPresent(),
                     "Either the atlas root-level namespace"
                             + " or the keyspace/dbName/sid config needs to be set.");
@@ -336,18 +378,24 @@ public abstract class AtlasDbConfig {
             }
             return keyValueServiceNamespace;
         } else {
-            Preconditions.checkState(keyValueService() instanceof InMemoryAtlasDbConfig,
-                    "Expecting KeyvalueServiceConfig to be instance of InMemoryAtlasDbConfig, found %s",
+            Preconditions.checkState(isInProcessKeyValueService(),
+                    "Expecting KeyvalueServiceConfig to be instance of InMemoryAtlasDbConfig or OffHeapAtlasDbConfig,"
+                            + " found %s",
                     keyValueService().getClass());
             if (timelock().isPresent()) {
                 return timelock().get().client()
-                        .orElseThrow(() ->
-                                new IllegalStateException("For InMemoryKVS, the TimeLock client should not be empty"));
+                        .orElseThrow(() -> new IllegalStateException(
+                                "For InMemoryKVS and OffHeapKVS, the TimeLock client should not be empty"));
             }
             return UNSPECIFIED_NAMESPACE;
         }
     }
 
+    private boolean isInProcessKeyValueService() {
+        return keyValueService() instanceof InMemoryAtlasDbConfig
+                || keyValueService() instanceof OffHeapAtlasDbConfig;
+    }
+
     @Value.Derived
     @JsonIgnore
     public String getNamespaceString() {
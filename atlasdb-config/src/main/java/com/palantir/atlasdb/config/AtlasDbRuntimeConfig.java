@@ -27,6 +27,7 @@ import com.palantir.atlasdb.compact.CompactorConfig;
 import com.palantir.atlasdb.qos.config.QosClientConfig;
 import com.palantir.atlasdb.spi.KeyValueServiceRuntimeConfig;
 import com.palantir.atlasdb.stream.StreamStorePersistenceConfiguration;
+import com.palantir.atlasdb.sweep.StreamStoreGarbageCollectorConfig;
 
 @JsonDeserialize(as = ImmutableAtlasDbRuntimeConfig.class)
 @JsonSerialize(as = ImmutableAtlasDbRuntimeConfig.class)
@@ -43,6 +44,11 @@ public abstract class AtlasDbRuntimeConfig {
         return CompactorConfig.defaultCompactorConfig();
     }
 
+    @Value.Default
+    public StreamStoreGarbageCollectorConfig streamStoreGarbageCollector() {
+        return StreamStoreGarbageCollectorConfig.defaultConfig();
+    }
+
     /**
      * Returns a configuration for this timestamp client.
      */
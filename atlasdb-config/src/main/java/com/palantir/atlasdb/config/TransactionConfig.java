@@ -20,6 +20,7 @@ import org.immutables.value.Value;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.base.Preconditions;
 import com.palantir.atlasdb.AtlasDbConstants;
 
 @JsonDeserialize(as = ImmutableTransactionConfig.class)
@@ -32,4 +33,19 @@ public abstract class TransactionConfig {
         return AtlasDbConstants.DEFAULT_TRANSACTION_LOCK_ACQUIRE_TIMEOUT_MS;
     }
 
+    /**
+     * The approximate number of bytes of data that a transactional range scan may fetch ahead of its visitor.
+     * Each fetched batch is post-filtered in parallel with the fetch of the next one. Zero disables prefetching.
+     */
+    @Value.Default
+    public long getRangeScanPrefetchBytes() {
+        return AtlasDbConstants.DEFAULT_RANGE_SCAN_PREFETCH_BYTES;
+    }
+
+    @Value.Check
+    protected final void check() {
+        Preconditions.checkArgument(getRangeScanPrefetchBytes() >= 0,
+                "Range scan prefetch bytes must not be negative, but was %s", getRangeScanPrefetchBytes());
+    }
+
 }
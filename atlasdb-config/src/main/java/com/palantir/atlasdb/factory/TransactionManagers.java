@@ -70,6 +70,7 @@ import com.palantir.atlasdb.http.UserAgents;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.impl.ProfilingKeyValueService;
 import com.palantir.atlasdb.keyvalue.impl.SweepStatsKeyValueService;
+import com.palantir.atlasdb.keyvalue.impl.TableMetricsKeyValueService;
 import com.palantir.atlasdb.keyvalue.impl.TracingKeyValueService;
 import com.palantir.atlasdb.keyvalue.impl.ValidatingQueryRewritingKeyValueService;
 import com.palantir.atlasdb.logging.KvsProfilingLogger;
@@ -95,6 +96,8 @@ import com.palantir.atlasdb.sweep.ImmutableSweepBatchConfig;
 import com.palantir.atlasdb.sweep.NoOpBackgroundSweeperPerformanceLogger;
 import com.palantir.atlasdb.sweep.PersistentLockManager;
 import com.palantir.atlasdb.sweep.SpecificTableSweeper;
+import com.palantir.atlasdb.sweep.StreamStoreGarbageCollector;
+import com.palantir.atlasdb.sweep.StreamStoreGarbageCollectorConfig;
 import com.palantir.atlasdb.sweep.SweepBatchConfig;
 import com.palantir.atlasdb.sweep.SweepTaskRunner;
 import com.palantir.atlasdb.sweep.SweeperServiceImpl;
@@ -102,6 +105,7 @@ import com.palantir.atlasdb.sweep.metrics.SweepMetricsManager;
 import com.palantir.atlasdb.sweep.queue.MultiTableSweepQueueWriter;
 import com.palantir.atlasdb.table.description.Schema;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
+import com.palantir.atlasdb.transaction.impl.CommitPhaseMetrics;
 import com.palantir.atlasdb.transaction.impl.ConflictDetectionManager;
 import com.palantir.atlasdb.transaction.impl.ConflictDetectionManagers;
 import com.palantir.atlasdb.transaction.impl.SerializableTransactionManager;
@@ -288,11 +292,16 @@ public abstract class TransactionManagers {
                 userAgent());
 
         KvsProfilingLogger.setSlowLogThresholdMillis(config.getKvsSlowLogThresholdMillis());
+        CommitPhaseMetrics.setSlowCommitLogThresholdMillis(config.getSlowCommitLogThresholdMillis());
 
         Supplier<SweepConfig> sweepConfig = JavaSuppliers.compose(AtlasDbRuntimeConfig::sweep, runtimeConfigSupplier);
 
         KeyValueService keyValueService = initializeCloseable(() -> {
             KeyValueService kvs = atlasFactory.getKeyValueService();
+            if (config.getKvsTableMetricsSampleRate() > 0) {
+                kvs = TableMetricsKeyValueService.create(kvs,
+                        config.getKvsTableMetricsSampleRate(), config.getKvsTableMetricsMaxTables());
+            }
             kvs = ProfilingKeyValueService.create(kvs);
             kvs = SweepStatsKeyValueService.create(kvs,
                     new TimelockTimestampServiceAdapter(lockAndTimestampServices.timelock()),
@@ -354,6 +363,7 @@ public abstract class TransactionManagers {
                                 lockAndTimestampServices),
                         allowHiddenTableAccess(),
                         () -> runtimeConfigSupplier.get().transaction().getLockAcquireTimeoutMillis(),
+                        () -> runtimeConfigSupplier.get().transaction().getRangeScanPrefetchBytes(),
                         config.keyValueService().concurrentGetRangesThreadPoolSize(),
                         config.keyValueService().defaultGetRangesConcurrency(),
                         config.initializeAsync(),
@@ -382,6 +392,15 @@ public abstract class TransactionManagers {
                         transactionManager,
                         persistentLockManager),
                 closeables);
+        initializeCloseable(
+                () -> initializeStreamStoreGarbageCollector(
+                        lockAndTimestampServices,
+                        keyValueService,
+                        transactionService,
+                        transactionManager,
+                        JavaSuppliers.compose(AtlasDbRuntimeConfig::streamStoreGarbageCollector,
+                                runtimeConfigSupplier)),
+                closeables);
         initializeCloseable(
                 initializeCompactBackgroundProcess(
                         lockAndTimestampServices,
@@ -410,6 +429,22 @@ public abstract class TransactionManagers {
         return backgroundCompactorOptional;
     }
 
+    private static StreamStoreGarbageCollector initializeStreamStoreGarbageCollector(
+            LockAndTimestampServices lockAndTimestampServices,
+            KeyValueService keyValueService,
+            TransactionService transactionService,
+            SerializableTransactionManager transactionManager,
+            Supplier<StreamStoreGarbageCollectorConfig> configSupplier) {
+        StreamStoreGarbageCollector garbageCollector = StreamStoreGarbageCollector.createAndRun(
+                transactionManager,
+                keyValueService,
+                transactionService,
+                lockAndTimestampServices.lock(),
+                configSupplier);
+        transactionManager.registerClosingCallback(garbageCollector::close);
+        return garbageCollector;
+    }
+
     private <T extends AutoCloseable> T initializeCloseable(
             Supplier<T> closeableSupplier, @Output List<AutoCloseable> closeables) {
         T ret = closeableSupplier.get();
@@ -510,6 +545,7 @@ public abstract class TransactionManagers {
                 sweepBatchConfigSource,
                 () -> runtimeConfigSupplier.get().sweep().enabled(),
                 () -> runtimeConfigSupplier.get().sweep().pauseMillis(),
+                () -> runtimeConfigSupplier.get().streamStoreGarbageCollector().enabled(),
                 persistentLockManager,
                 specificTableSweeper);
 
@@ -32,6 +32,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import com.palantir.atlasdb.memory.InMemoryAtlasDbConfig;
+import com.palantir.atlasdb.memory.OffHeapAtlasDbConfig;
 import com.palantir.atlasdb.spi.KeyValueServiceConfig;
 import com.palantir.remoting.api.config.ssl.SslConfiguration;
 
@@ -238,6 +239,18 @@ public class AtlasDbConfigTest {
         assertThat(config.getNamespaceString(), equalTo(AtlasDbConfig.UNSPECIFIED_NAMESPACE));
     }
 
+    @Test
+    public void offHeapConfigCanHaveEmptyNamespace() {
+        OffHeapAtlasDbConfig kvsConfig = new OffHeapAtlasDbConfig();
+        assertFalse("This test assumes the OffHeapAtlasDbConfig has no namespace by default",
+                kvsConfig.namespace().isPresent());
+        ImmutableAtlasDbConfig config = ImmutableAtlasDbConfig.builder()
+                .namespace(Optional.empty())
+                .keyValueService(kvsConfig)
+                .build();
+        assertThat(config.getNamespaceString(), equalTo(AtlasDbConfig.UNSPECIFIED_NAMESPACE));
+    }
+
     @Test
     public void inMemoryConfigWorksWithNonTestNamespace() {
         InMemoryAtlasDbConfig kvsConfig = new InMemoryAtlasDbConfig();
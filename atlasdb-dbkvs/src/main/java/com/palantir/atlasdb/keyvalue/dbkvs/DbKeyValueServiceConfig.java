@@ -38,6 +38,11 @@ public abstract class DbKeyValueServiceConfig implements KeyValueServiceConfig {
 
     public abstract ConnectionConfig connection();
 
+    @Value.Default
+    public SqlExecutionConfig sqlExecution() {
+        return ImmutableSqlExecutionConfig.builder().build();
+    }
+
     @Override
     @JsonIgnore
     @Value.Derived
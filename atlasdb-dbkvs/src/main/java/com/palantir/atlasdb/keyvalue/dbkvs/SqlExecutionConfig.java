@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.dbkvs;
+
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.base.Preconditions;
+
+/**
+ * Controls which thread runs SQL statements. By default, statements are handed off to a shared thread pool so that
+ * callers can stop waiting for them when interrupted; with {@link #runOnCallingThread()}, they run on the caller's own
+ * thread and are cancelled from a shared scheduler instead, which saves two thread hops per statement.
+ */
+@JsonDeserialize(as = ImmutableSqlExecutionConfig.class)
+@JsonSerialize(as = ImmutableSqlExecutionConfig.class)
+@Value.Immutable
+public abstract class SqlExecutionConfig {
+    @Value.Default
+    public boolean runOnCallingThread() {
+        return false;
+    }
+
+    /**
+     * Queries running on the calling thread for longer than this are cancelled. 0 means no timeout.
+     */
+    @Value.Default
+    public long statementTimeoutMillis() {
+        return 0;
+    }
+
+    /**
+     * The maximum number of queries that may run on calling threads at once. 0 means no limit.
+     */
+    @Value.Default
+    public int maxConcurrentStatements() {
+        return 0;
+    }
+
+    @Value.Check
+    protected final void check() {
+        Preconditions.checkArgument(statementTimeoutMillis() >= 0,
+                "statementTimeoutMillis must be nonnegative, but was %s", statementTimeoutMillis());
+        Preconditions.checkArgument(maxConcurrentStatements() >= 0,
+                "maxConcurrentStatements must be nonnegative, but was %s", maxConcurrentStatements());
+    }
+}
@@ -16,13 +16,16 @@
 package com.palantir.atlasdb.keyvalue.dbkvs.impl;
 
 import java.sql.Connection;
+import java.util.Optional;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.dbkvs.DbKeyValueServiceConfig;
+import com.palantir.atlasdb.keyvalue.dbkvs.SqlExecutionConfig;
 import com.palantir.atlasdb.keyvalue.impl.ForwardingKeyValueService;
+import com.palantir.atlasdb.util.AtlasDbMetrics;
 import com.palantir.nexus.db.monitoring.timer.SqlTimer;
 import com.palantir.nexus.db.monitoring.timer.SqlTimers;
 import com.palantir.nexus.db.pool.ConnectionManager;
@@ -32,6 +35,7 @@ import com.palantir.nexus.db.sql.ConnectionBackedSqlConnectionImpl;
 import com.palantir.nexus.db.sql.SQL;
 import com.palantir.nexus.db.sql.SqlConnection;
 import com.palantir.nexus.db.sql.SqlConnectionHelper;
+import com.palantir.nexus.db.sql.StatementCanceller;
 
 // This class should be removed and replaced by DbKvs when InDbTimestampStore depends directly on DbKvs
 public final class ConnectionManagerAwareDbKvs extends ForwardingKeyValueService {
@@ -42,12 +46,24 @@ public final class ConnectionManagerAwareDbKvs extends ForwardingKeyValueService
     public static ConnectionManagerAwareDbKvs create(DbKeyValueServiceConfig config) {
         HikariCPConnectionManager connManager = new HikariCPConnectionManager(config.connection());
         ReentrantManagedConnectionSupplier connSupplier = new ReentrantManagedConnectionSupplier(connManager);
-        SqlConnectionSupplier sqlConnSupplier = getSimpleTimedSqlConnectionSupplier(connSupplier);
+        SqlConnectionSupplier sqlConnSupplier = getSimpleTimedSqlConnectionSupplier(
+                connSupplier, createStatementCanceller(config.sqlExecution()));
         return new ConnectionManagerAwareDbKvs(DbKvs.create(config, sqlConnSupplier), connManager, sqlConnSupplier);
     }
 
+    private static Optional<StatementCanceller> createStatementCanceller(SqlExecutionConfig config) {
+        if (!config.runOnCallingThread()) {
+            return Optional.empty();
+        }
+        return Optional.of(StatementCanceller.create(
+                config.statementTimeoutMillis(),
+                config.maxConcurrentStatements(),
+                AtlasDbMetrics.getMetricRegistry()));
+    }
+
     private static SqlConnectionSupplier getSimpleTimedSqlConnectionSupplier(
-            ReentrantManagedConnectionSupplier connectionSupplier) {
+            ReentrantManagedConnectionSupplier connectionSupplier,
+            Optional<StatementCanceller> statementCanceller) {
         Supplier<Connection> supplier = () -> connectionSupplier.get();
         SQL sql = new SQL() {
             @Override
@@ -68,6 +84,11 @@ public final class ConnectionManagerAwareDbKvs extends ForwardingKeyValueService
                     public SqlTimer getSqlTimer() {
                         return SqlTimers.createCombinedSqlTimer(getSqlTimers());
                     }
+
+                    @Override
+                    public Optional<StatementCanceller> getStatementCanceller() {
+                        return statementCanceller;
+                    }
                 };
             }
         };
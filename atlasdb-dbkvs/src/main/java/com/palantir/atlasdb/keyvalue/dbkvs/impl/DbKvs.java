@@ -119,8 +119,7 @@ import com.palantir.common.concurrent.NamedThreadFactory;
 import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.exception.PalantirSqlException;
 import com.palantir.nexus.db.sql.AgnosticLightResultRow;
-import com.palantir.nexus.db.sql.AgnosticResultRow;
-import com.palantir.nexus.db.sql.AgnosticResultSet;
+import com.palantir.nexus.db.sql.AgnosticLightResultSet;
 import com.palantir.nexus.db.sql.SqlConnection;
 import com.palantir.util.crypto.Sha256Hash;
 import com.palantir.util.paging.AbstractPagingIterable;
@@ -1102,11 +1101,12 @@ public final class DbKvs extends AbstractKeyValueService {
     @Override
     public Set<TableReference> getAllTableNames() {
         return run(conn -> {
-            AgnosticResultSet results = conn.selectResultSetUnregisteredQuery(
-                    "SELECT table_name FROM " + config.metadataTable().getQualifiedName());
-            Set<TableReference> ret = Sets.newHashSetWithExpectedSize(results.size());
-            for (AgnosticResultRow row : results.rows()) {
-                ret.add(TableReference.createUnsafe(row.getString("table_name")));
+            Set<TableReference> ret = Sets.newHashSet();
+            try (AgnosticLightResultSet results = conn.selectLightResultSetUnregisteredQuery(
+                    "SELECT table_name FROM " + config.metadataTable().getQualifiedName())) {
+                for (AgnosticLightResultRow row : results) {
+                    ret.add(TableReference.createUnsafe(row.getString("table_name")));
+                }
             }
             return ret;
         });
@@ -1128,11 +1128,12 @@ public final class DbKvs extends AbstractKeyValueService {
     @Override
     public Map<TableReference, byte[]> getMetadataForTables() {
         return run(conn -> {
-            AgnosticResultSet results = conn.selectResultSetUnregisteredQuery(
-                    "SELECT table_name, value FROM " + config.metadataTable().getQualifiedName());
-            Map<TableReference, byte[]> ret = Maps.newHashMapWithExpectedSize(results.size());
-            for (AgnosticResultRow row : results.rows()) {
-                ret.put(TableReference.createUnsafe(row.getString("table_name")), row.getBytes("value"));
+            Map<TableReference, byte[]> ret = Maps.newHashMap();
+            try (AgnosticLightResultSet results = conn.selectLightResultSetUnregisteredQuery(
+                    "SELECT table_name, value FROM " + config.metadataTable().getQualifiedName())) {
+                for (AgnosticLightResultRow row : results) {
+                    ret.put(TableReference.createUnsafe(row.getString("table_name")), row.getBytes("value"));
+                }
             }
             return ret;
         });
@@ -126,7 +126,8 @@ public class PostgresCellTsPageLoader implements CellTsPairLoader {
 
         private AgnosticLightResultSet selectNextPage(ConnectionSupplier conns) {
             FullQuery fullQuery = getFullQuery();
-            return conns.get().selectLightResultSetUnregisteredQuery(fullQuery.getQuery(), fullQuery.getArgs());
+            return conns.get().selectLightResultSetUnregisteredQueryWithFetchSize(
+                    fullQuery.getQuery(), sqlRowLimit, fullQuery.getArgs());
         }
 
         private FullQuery getFullQuery() {
@@ -50,8 +50,8 @@ import com.palantir.atlasdb.keyvalue.impl.Cells;
 import com.palantir.atlasdb.keyvalue.impl.RowResults;
 import com.palantir.common.collect.IterableView;
 import com.palantir.nexus.db.DBType;
-import com.palantir.nexus.db.sql.AgnosticResultRow;
-import com.palantir.nexus.db.sql.AgnosticResultSet;
+import com.palantir.nexus.db.sql.AgnosticLightResultRow;
+import com.palantir.nexus.db.sql.AgnosticLightResultSet;
 import com.palantir.nexus.db.sql.BasicSQLUtils;
 import com.palantir.nexus.db.sql.SqlConnection;
 import com.palantir.util.AssertUtils;
@@ -143,12 +143,11 @@ public class DbKvsGetRanges {
             String query,
             Object[] args) {
         SqlConnection connection = connectionSupplier.get();
-        try {
-            AgnosticResultSet results = connection.selectResultSetUnregisteredQuery(query, args);
+        try (AgnosticLightResultSet results = connection.selectLightResultSetUnregisteredQuery(query, args)) {
             SortedSetMultimap<Integer, byte[]> ret = TreeMultimap.create(
                     Ordering.natural(),
                     UnsignedBytes.lexicographicalComparator());
-            for (AgnosticResultRow row : results.rows()) {
+            for (AgnosticLightResultRow row : results) {
                 @SuppressWarnings("deprecation")
                 byte[] rowName = row.getBytes("row_name");
                 int batchNum = row.getInteger("batch_num");
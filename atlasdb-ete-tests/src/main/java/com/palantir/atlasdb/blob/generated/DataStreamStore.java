@@ -8,6 +8,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.SeekableByteChannel;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.util.Arrays;
@@ -53,6 +54,7 @@ import com.palantir.atlasdb.stream.BlockConsumingInputStream;
 import com.palantir.atlasdb.stream.BlockGetter;
 import com.palantir.atlasdb.stream.BlockLoader;
 import com.palantir.atlasdb.stream.PersistentStreamStore;
+import com.palantir.atlasdb.stream.StreamBlockCodec;
 import com.palantir.atlasdb.stream.StreamCleanedException;
 import com.palantir.atlasdb.stream.StreamStorePersistenceConfiguration;
 import com.palantir.atlasdb.transaction.api.Transaction;
@@ -429,11 +431,13 @@ public final class DataStreamStore extends AbstractPersistentStreamStore {
      * {@link Pair}
      * {@link PersistentStreamStore}
      * {@link Preconditions}
+     * {@link SeekableByteChannel}
      * {@link Set}
      * {@link SetView}
      * {@link Sets}
      * {@link Sha256Hash}
      * {@link Status}
+     * {@link StreamBlockCodec}
      * {@link StreamCleanedException}
      * {@link StreamMetadata}
      * {@link StreamStorePersistenceConfiguration}
@@ -35,6 +35,24 @@ public interface ServerListConfig {
 
     Optional<ProxyConfiguration> proxyConfiguration();
 
+    /**
+     * If true, services that accept Smile (a binary encoding of JSON) are sent requests in Smile, and asked to respond
+     * in Smile. The servers must accept Smile request bodies; responses are read in either format.
+     */
+    @Value.Default
+    default boolean useSmileEncoding() {
+        return false;
+    }
+
+    /**
+     * If true, connections to servers that support HTTP/2 multiplex concurrent requests over a single connection.
+     * Otherwise, HTTP/1.1 is used, with a connection per concurrent request.
+     */
+    @Value.Default
+    default boolean enableHttp2() {
+        return true;
+    }
+
     default boolean hasAtLeastOneServer() {
         return servers().size() >= 1;
     }
@@ -17,17 +17,23 @@
 package com.palantir.atlasdb.http;
 
 import java.net.ProxySelector;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import javax.net.ssl.SSLSocketFactory;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.core.MediaType;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.google.common.net.HttpHeaders;
 import com.google.common.reflect.Reflection;
 import com.palantir.atlasdb.config.ServerListConfig;
+import com.palantir.common.remoting.MediaTypes;
 import com.palantir.common.remoting.ServiceNotAvailableException;
 import com.palantir.remoting.api.config.service.ProxyConfiguration;
 import com.palantir.remoting.api.config.ssl.SslConfiguration;
@@ -52,10 +58,16 @@ public final class AtlasDbFeignTargetFactory {
 
     private static final ObjectMapper mapper = new ObjectMapper()
             .registerModule(new Jdk8Module());
+    private static final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory())
+            .registerModule(new Jdk8Module());
     private static final Contract contract = new JAXRSContract();
     private static final Encoder encoder = new JacksonEncoder(mapper);
+    private static final Encoder smileEncoder = new SmileEncoder(smileMapper);
     private static final Decoder decoder = new TextDelegateDecoder(
-            new OptionalAwareDecoder(new JacksonDecoder(mapper)));
+            new OptionalAwareDecoder(new SmileDelegateDecoder(smileMapper, new JacksonDecoder(mapper))));
+    // Servers that cannot write Smile fall back to JSON, which the decoder also reads.
+    private static final String SMILE_ACCEPT_HEADER = MediaTypes.APPLICATION_JACKSON_SMILE + ", "
+            + MediaType.APPLICATION_JSON + ";q=0.5";
     private static final ErrorDecoder errorDecoder = new AtlasDbErrorDecoder();
 
     private AtlasDbFeignTargetFactory() {
@@ -145,18 +157,53 @@ public final class AtlasDbFeignTargetFactory {
             int maxBackoffMillis,
             Class<T> type,
             String userAgent) {
+        return createProxyWithFailover(
+                sslSocketFactory,
+                proxySelector,
+                endpointUris,
+                feignOptions,
+                maxBackoffMillis,
+                false,
+                true,
+                type,
+                userAgent);
+    }
+
+    private static <T> T createProxyWithFailover(
+            Optional<SSLSocketFactory> sslSocketFactory,
+            Optional<ProxySelector> proxySelector,
+            Collection<String> endpointUris,
+            Request.Options feignOptions,
+            int maxBackoffMillis,
+            boolean useSmileEncoding,
+            boolean enableHttp2,
+            Class<T> type,
+            String userAgent) {
         FailoverFeignTarget<T> failoverFeignTarget = new FailoverFeignTarget<>(endpointUris, maxBackoffMillis, type);
         Client client = failoverFeignTarget.wrapClient(
-                FeignOkHttpClients.newOkHttpClient(sslSocketFactory, proxySelector, userAgent));
-        return Feign.builder()
+                FeignOkHttpClients.newOkHttpClient(sslSocketFactory, proxySelector, userAgent, enableHttp2));
+        Feign.Builder builder = Feign.builder()
                 .contract(contract)
-                .encoder(encoder)
                 .decoder(decoder)
                 .errorDecoder(errorDecoder)
                 .client(client)
                 .retryer(failoverFeignTarget)
-                .options(feignOptions)
-                .target(failoverFeignTarget);
+                .options(feignOptions);
+        if (useSmileEncoding && acceptsSmile(type)) {
+            builder.encoder(smileEncoder)
+                    .requestInterceptor(template -> {
+                        template.header(HttpHeaders.ACCEPT, (String) null);
+                        template.header(HttpHeaders.ACCEPT, SMILE_ACCEPT_HEADER);
+                    });
+        } else {
+            builder.encoder(encoder);
+        }
+        return builder.target(failoverFeignTarget);
+    }
+
+    private static boolean acceptsSmile(Class<?> type) {
+        Consumes consumes = type.getAnnotation(Consumes.class);
+        return consumes != null && Arrays.asList(consumes.value()).contains(MediaTypes.APPLICATION_JACKSON_SMILE);
     }
 
     public static <T> T createLiveReloadingProxyWithFailover(
@@ -197,9 +244,10 @@ public final class AtlasDbFeignTargetFactory {
                                         serverListConfig.sslConfiguration().map(sslSocketFactoryCreator),
                                         serverListConfig.proxyConfiguration().map(proxySelectorCreator),
                                         serverListConfig.servers(),
-                                        feignConnectTimeout,
-                                        feignReadTimeout,
+                                        new Request.Options(feignConnectTimeout, feignReadTimeout),
                                         maxBackoffMillis,
+                                        serverListConfig.useSmileEncoding(),
+                                        serverListConfig.enableHttp2(),
                                         type,
                                         userAgent);
                             }
@@ -33,6 +33,7 @@ import okhttp3.CipherSuite;
 import okhttp3.ConnectionPool;
 import okhttp3.ConnectionSpec;
 import okhttp3.Interceptor;
+import okhttp3.Protocol;
 import okhttp3.Response;
 import okhttp3.TlsVersion;
 
@@ -100,7 +101,19 @@ public final class FeignOkHttpClients {
             Optional<SSLSocketFactory> sslSocketFactory,
             Optional<ProxySelector> proxySelector,
             String userAgent) {
-        return new OkHttpClient(newRawOkHttpClient(sslSocketFactory, proxySelector, userAgent));
+        return newOkHttpClient(sslSocketFactory, proxySelector, userAgent, true);
+    }
+
+    /**
+     * As {@link #newOkHttpClient(Optional, Optional, String)}, but only uses HTTP/2 if enableHttp2 is true. HTTP/2 is
+     * negotiated using ALPN, which on Java 8 requires an ALPN agent such as jetty-alpn-agent on the client.
+     */
+    public static Client newOkHttpClient(
+            Optional<SSLSocketFactory> sslSocketFactory,
+            Optional<ProxySelector> proxySelector,
+            String userAgent,
+            boolean enableHttp2) {
+        return new OkHttpClient(newRawOkHttpClient(sslSocketFactory, proxySelector, userAgent, enableHttp2));
     }
 
     /**
@@ -120,6 +133,15 @@ public final class FeignOkHttpClients {
             Optional<SSLSocketFactory> sslSocketFactory,
             Optional<ProxySelector> proxySelector,
             String userAgent) {
+        return newRawOkHttpClient(sslSocketFactory, proxySelector, userAgent, true);
+    }
+
+    @VisibleForTesting
+    static okhttp3.OkHttpClient newRawOkHttpClient(
+            Optional<SSLSocketFactory> sslSocketFactory,
+            Optional<ProxySelector> proxySelector,
+            String userAgent,
+            boolean enableHttp2) {
         // Don't allow retrying on connection failures - see ticket #2194
         okhttp3.OkHttpClient.Builder builder = new okhttp3.OkHttpClient.Builder()
                 .connectionSpecs(CONNECTION_SPEC_WITH_CYPHER_SUITES)
@@ -129,6 +151,9 @@ public final class FeignOkHttpClients {
         if (sslSocketFactory.isPresent()) {
             builder.sslSocketFactory(sslSocketFactory.get());
         }
+        if (!enableHttp2) {
+            builder.protocols(ImmutableList.of(Protocol.HTTP_1_1));
+        }
         builder.interceptors().add(new UserAgentAddingInterceptor(userAgent));
 
         globalClientSettings.accept(builder);
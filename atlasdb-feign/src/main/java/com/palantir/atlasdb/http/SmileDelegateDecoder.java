@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.http;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.net.HttpHeaders;
+import com.palantir.common.remoting.HeaderAccessUtils;
+import com.palantir.common.remoting.MediaTypes;
+
+import feign.FeignException;
+import feign.Response;
+import feign.Util;
+import feign.codec.Decoder;
+
+/**
+ * If the response has a Content-Type of Smile, then this decoder reads it as Smile.
+ * Otherwise, it falls back to the delegate.
+ */
+public class SmileDelegateDecoder implements Decoder {
+    private static final String CONTENT_TYPE = HttpHeaders.CONTENT_TYPE.toLowerCase();
+
+    private final ObjectMapper smileMapper;
+    private final Decoder delegate;
+
+    public SmileDelegateDecoder(ObjectMapper smileMapper, Decoder delegate) {
+        this.smileMapper = smileMapper;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException, FeignException {
+        if (!HeaderAccessUtils.shortcircuitingCaseInsensitiveContainsEntry(
+                response.headers(),
+                CONTENT_TYPE,
+                MediaTypes.APPLICATION_JACKSON_SMILE)) {
+            return delegate.decode(response, type);
+        }
+
+        // Mirrors feign.jackson.JacksonDecoder
+        if (response.status() == 404) {
+            return Util.emptyValueOf(type);
+        }
+        if (response.body() == null) {
+            return null;
+        }
+        try (InputStream body = new BufferedInputStream(response.body().asInputStream())) {
+            body.mark(1);
+            if (body.read() == -1) {
+                return null;
+            }
+            body.reset();
+            return smileMapper.readValue(body, smileMapper.constructType(type));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.http;
+
+import java.lang.reflect.Type;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.net.HttpHeaders;
+import com.palantir.common.remoting.MediaTypes;
+
+import feign.RequestTemplate;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+
+/**
+ * Encodes request bodies as Smile, a binary encoding of JSON, and marks them as such.
+ */
+public class SmileEncoder implements Encoder {
+    private final ObjectMapper smileMapper;
+
+    public SmileEncoder(ObjectMapper smileMapper) {
+        this.smileMapper = smileMapper;
+    }
+
+    @Override
+    public void encode(Object object, Type bodyType, RequestTemplate template) throws EncodeException {
+        try {
+            byte[] body = smileMapper.writerFor(smileMapper.constructType(bodyType)).writeValueAsBytes(object);
+            // Feign adds to rather than replaces existing header values, so clear the JSON type from the contract.
+            template.header(HttpHeaders.CONTENT_TYPE, (String) null);
+            template.header(HttpHeaders.CONTENT_TYPE, MediaTypes.APPLICATION_JACKSON_SMILE);
+            template.body(body, null);
+        } catch (JsonProcessingException e) {
+            throw new EncodeException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.net.HttpHeaders;
+import com.palantir.common.remoting.MediaTypes;
+
+import feign.Response;
+import feign.codec.Decoder;
+
+public class SmileDelegateDecoderTest {
+    private static final int HTTP_OK = 200;
+    private static final String REASON = "reason";
+    private static final Map<String, Long> VALUE = ImmutableMap.of("timestamp", 42L);
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+    private final Decoder delegate = mock(Decoder.class);
+    private final SmileDelegateDecoder smileDelegateDecoder = new SmileDelegateDecoder(smileMapper, delegate);
+
+    @Test
+    public void decodesSmileContent() throws IOException {
+        Response response = createResponse(MediaTypes.APPLICATION_JACKSON_SMILE, smileMapper.writeValueAsBytes(VALUE));
+
+        assertThat(smileDelegateDecoder.decode(response, Map.class)).isEqualTo(VALUE);
+        verify(delegate, never()).decode(any(), any());
+    }
+
+    @Test
+    public void decodesSmileContentRegardlessOfHeaderCase() throws IOException {
+        Response response = Response.create(
+                HTTP_OK,
+                REASON,
+                ImmutableMap.of("COnTeNt-tYPe", ImmutableList.of(MediaTypes.APPLICATION_JACKSON_SMILE)),
+                smileMapper.writeValueAsBytes(VALUE));
+
+        assertThat(smileDelegateDecoder.decode(response, Map.class)).isEqualTo(VALUE);
+    }
+
+    @Test
+    public void decodesEmptySmileContentAsNull() throws IOException {
+        Response response = createResponse(MediaTypes.APPLICATION_JACKSON_SMILE, new byte[0]);
+
+        assertThat(smileDelegateDecoder.decode(response, Map.class)).isNull();
+        verify(delegate, never()).decode(any(), any());
+    }
+
+    @Test
+    public void delegatesApplicationJsonContent() throws IOException {
+        Response response = createResponse(MediaType.APPLICATION_JSON, "{}".getBytes());
+
+        smileDelegateDecoder.decode(response, Map.class);
+        verify(delegate).decode(response, (Type) Map.class);
+    }
+
+    @Test
+    public void delegatesContentWithNoHttpHeaders() throws IOException {
+        Response response = Response.create(HTTP_OK, REASON, ImmutableMap.of(), new byte[0]);
+
+        smileDelegateDecoder.decode(response, Map.class);
+        verify(delegate).decode(response, (Type) Map.class);
+    }
+
+    private static Response createResponse(String contentType, byte[] body) {
+        Map<String, Collection<String>> headers = ImmutableMap.of(
+                HttpHeaders.CONTENT_TYPE, ImmutableList.of(contentType));
+        return Response.create(HTTP_OK, REASON, headers, body);
+    }
+}
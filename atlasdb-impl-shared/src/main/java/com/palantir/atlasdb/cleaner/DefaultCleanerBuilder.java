@@ -24,6 +24,7 @@ import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.transaction.service.TransactionService;
 import com.palantir.common.time.Clock;
+import com.palantir.common.time.SystemClock;
 import com.palantir.lock.LockClient;
 import com.palantir.lock.LockService;
 import com.palantir.lock.impl.LegacyTimelockService;
@@ -107,8 +108,14 @@ public class DefaultCleanerBuilder {
 
     private Puncher buildPuncher() {
         PuncherStore keyValuePuncherStore = KeyValueServicePuncherStore.create(keyValueService, initalizeAsync);
-        PuncherStore cachingPuncherStore = CachingPuncherStore.create(
+        PuncherStore indexedPuncherStore = IndexedPuncherStore.create(
                 keyValuePuncherStore,
+                keyValueService,
+                new SystemClock(),
+                punchIntervalMillis,
+                AtlasDbConstants.DEFAULT_PUNCH_TABLE_RECONCILE_INTERVAL_MILLIS);
+        PuncherStore cachingPuncherStore = CachingPuncherStore.create(
+                indexedPuncherStore,
                 punchIntervalMillis * 3);
         Clock clock = GlobalClock.create(timelockService);
         SimplePuncher simplePuncher = SimplePuncher.create(
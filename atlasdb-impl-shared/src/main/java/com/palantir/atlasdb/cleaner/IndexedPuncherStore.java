@@ -0,0 +1,204 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cleaner;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.ptobject.EncodingUtils;
+import com.palantir.common.base.ClosableIterator;
+import com.palantir.common.time.Clock;
+import com.palantir.exception.NotInitializedException;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * A PuncherStore that answers reads from an in-memory {@link PunchIndex} of the punch table instead of scanning
+ * the table on every call. Writes go to the delegate and straight into the index.
+ *
+ * The index is loaded from the key value service on first use. Punches made by other clients are picked up by
+ * reading the tail of the punch table at most once per refresh interval, and the whole table is re-read once per
+ * reconcile interval to catch any punches the tail reads missed. Refreshes happen on the calling thread, but only
+ * one caller refreshes at a time; everybody else is served from the index as it stands.
+ *
+ * The punch table may hold several versions of a row if two punches happened in the same millisecond; only the
+ * latest of these is loaded, so for timestamps in between getMillisForTimestamp may return an earlier time than
+ * {@link KeyValueServicePuncherStore} would.
+ */
+public final class IndexedPuncherStore implements PuncherStore {
+    private static final Logger log = LoggerFactory.getLogger(IndexedPuncherStore.class);
+
+    // Clients whose clocks lag ours punch rows that sort behind our latest punch; re-reading this far behind
+    // the latest known punch on each tail read picks those up without waiting for a reconcile.
+    private static final long TAIL_READ_OVERLAP_MILLIS = 5 * 60 * 1000;
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final PuncherStore delegate;
+    private final KeyValueService keyValueService;
+    private final Clock clock;
+    private final long refreshIntervalMillis;
+    private final long reconcileIntervalMillis;
+
+    private final PunchIndex index = new PunchIndex();
+    private final Lock refreshLock = new ReentrantLock();
+    private volatile boolean loaded = false;
+    private volatile long lastRefreshMillis;
+    private volatile long lastReconcileMillis;
+
+    public static IndexedPuncherStore create(PuncherStore delegate,
+            KeyValueService keyValueService,
+            Clock clock,
+            long refreshIntervalMillis,
+            long reconcileIntervalMillis) {
+        return new IndexedPuncherStore(
+                delegate, keyValueService, clock, refreshIntervalMillis, reconcileIntervalMillis);
+    }
+
+    private IndexedPuncherStore(PuncherStore delegate,
+            KeyValueService keyValueService,
+            Clock clock,
+            long refreshIntervalMillis,
+            long reconcileIntervalMillis) {
+        this.delegate = delegate;
+        this.keyValueService = keyValueService;
+        this.clock = clock;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.reconcileIntervalMillis = reconcileIntervalMillis;
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return delegate.isInitialized();
+    }
+
+    @Override
+    public void put(long timestamp, long timeMillis) {
+        delegate.put(timestamp, timeMillis);
+        index.add(timestamp, timeMillis);
+    }
+
+    @Override
+    public Long get(Long timeMillis) {
+        refreshIfStale();
+        return index.getTimestampForMillis(timeMillis);
+    }
+
+    @Override
+    public long getMillisForTimestamp(long timestamp) {
+        refreshIfStale();
+        return index.getMillisForTimestamp(timestamp);
+    }
+
+    private void refreshIfStale() {
+        if (!loaded) {
+            loadFully();
+            return;
+        }
+
+        long now = clock.getTimeMillis();
+        if (now - lastRefreshMillis < refreshIntervalMillis || !refreshLock.tryLock()) {
+            return;
+        }
+        try {
+            if (now - lastRefreshMillis < refreshIntervalMillis) {
+                return;
+            }
+            if (now - lastReconcileMillis >= reconcileIntervalMillis) {
+                readPunchesAfter(Long.MIN_VALUE);
+                lastReconcileMillis = now;
+            } else {
+                readPunchesAfter(tailReadStartMillis());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh the punch table index; serving punches known as of {}.",
+                    SafeArg.of("lastRefreshMillis", lastRefreshMillis),
+                    e);
+        } finally {
+            lastRefreshMillis = now;
+            refreshLock.unlock();
+        }
+    }
+
+    private long tailReadStartMillis() {
+        if (index.size() == 0) {
+            // Nothing known yet; subtracting the overlap from Long.MIN_VALUE would wrap around and skip every punch.
+            return Long.MIN_VALUE;
+        }
+        return index.getLatestMillis() - TAIL_READ_OVERLAP_MILLIS;
+    }
+
+    private void loadFully() {
+        if (!isInitialized()) {
+            throw new NotInitializedException("IndexedPuncherStore");
+        }
+        refreshLock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            long now = clock.getTimeMillis();
+            readPunchesAfter(Long.MIN_VALUE);
+            lastRefreshMillis = now;
+            lastReconcileMillis = now;
+            loaded = true;
+            log.info("Loaded {} punches into the punch table index.", SafeArg.of("numPunches", index.size()));
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void readPunchesAfter(long timeMillisExclusive) {
+        // The punch table is ordered by descending time, so we start from the latest punch and read backwards.
+        byte[] startRow = EncodingUtils.encodeUnsignedVarLong(Long.MAX_VALUE);
+        EncodingUtils.flipAllBitsInPlace(startRow);
+        RangeRequest.Builder rangeRequest = RangeRequest.builder()
+                .startRowInclusive(startRow)
+                .batchHint(LOAD_BATCH_SIZE);
+        if (timeMillisExclusive >= 0) {
+            byte[] endRow = EncodingUtils.encodeUnsignedVarLong(timeMillisExclusive);
+            EncodingUtils.flipAllBitsInPlace(endRow);
+            rangeRequest.endRowExclusive(endRow);
+        }
+
+        long[] timestamps = new long[LOAD_BATCH_SIZE];
+        long[] timesMillis = new long[LOAD_BATCH_SIZE];
+        int count = 0;
+        try (ClosableIterator<RowResult<Value>> rows = keyValueService.getRange(
+                AtlasDbConstants.PUNCH_TABLE, rangeRequest.build(), Long.MAX_VALUE)) {
+            while (rows.hasNext()) {
+                RowResult<Value> row = rows.next();
+                if (count == timestamps.length) {
+                    timestamps = Arrays.copyOf(timestamps, count * 2);
+                    timesMillis = Arrays.copyOf(timesMillis, count * 2);
+                }
+                byte[] encodedMillis = row.getRowName();
+                EncodingUtils.flipAllBitsInPlace(encodedMillis);
+                timesMillis[count] = EncodingUtils.decodeUnsignedVarLong(encodedMillis);
+                timestamps[count] = EncodingUtils.decodeUnsignedVarLong(row.getOnlyColumnValue().getContents());
+                count++;
+            }
+        }
+        index.addAll(timestamps, timesMillis, count);
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cleaner;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An in-memory index of punches, i.e. (timestamp, wall clock time) pairs, kept in primitive sorted arrays so that
+ * both directions of lookup are binary searches.
+ *
+ * Reads are lock-free: they work against an immutable {@link Snapshot} published through a volatile field.
+ * Writers are serialized. Punches that sort after every existing punch (the common case, since timestamps and
+ * wall clock time both increase) are appended in place into spare capacity of the current arrays; anything else
+ * rebuilds the arrays.
+ */
+@ThreadSafe
+final class PunchIndex {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * Mirrors {@link PuncherStore#get(Long)}: the timestamp of the punch with the greatest wall clock time at or
+     * before timeMillis, breaking ties in favour of the greatest timestamp, or Long.MIN_VALUE if there is none.
+     */
+    long getTimestampForMillis(long timeMillis) {
+        return snapshot.getTimestampForMillis(timeMillis);
+    }
+
+    /**
+     * Mirrors {@link PuncherStore#getMillisForTimestamp(long)}: the greatest wall clock time among punches with
+     * timestamp at or before the given timestamp, or 0 if there is none.
+     */
+    long getMillisForTimestamp(long timestamp) {
+        return snapshot.getMillisForTimestamp(timestamp);
+    }
+
+    /**
+     * @return the greatest wall clock time punched so far, or Long.MIN_VALUE if the index is empty.
+     */
+    long getLatestMillis() {
+        return snapshot.getLatestMillis();
+    }
+
+    int size() {
+        return snapshot.size;
+    }
+
+    synchronized void add(long timestamp, long timeMillis) {
+        Snapshot current = snapshot;
+        if (current.containsTimestamp(timestamp)) {
+            return;
+        }
+        if (current.canAppend(timestamp, timeMillis)) {
+            snapshot = current.append(timestamp, timeMillis);
+        } else {
+            snapshot = current.rebuildWith(new long[] {timestamp}, new long[] {timeMillis}, 1);
+        }
+    }
+
+    /**
+     * Adds the first count punches of the given arrays, ignoring those whose timestamps are already indexed.
+     */
+    synchronized void addAll(long[] timestamps, long[] timesMillis, int count) {
+        Snapshot current = snapshot;
+        long[] newTimestamps = new long[count];
+        long[] newTimesMillis = new long[count];
+        int newCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (!current.containsTimestamp(timestamps[i])) {
+                newTimestamps[newCount] = timestamps[i];
+                newTimesMillis[newCount] = timesMillis[i];
+                newCount++;
+            }
+        }
+        if (newCount == 0) {
+            return;
+        }
+
+        int[] order = sortedByTimestamp(newTimestamps, newCount);
+        Snapshot appended = current;
+        for (int i : order) {
+            if (!appended.canAppend(newTimestamps[i], newTimesMillis[i])) {
+                snapshot = current.rebuildWith(newTimestamps, newTimesMillis, newCount);
+                return;
+            }
+            appended = appended.append(newTimestamps[i], newTimesMillis[i]);
+        }
+        snapshot = appended;
+    }
+
+    private static int[] sortedByTimestamp(long[] timestamps, int count) {
+        return IntStream.range(0, count)
+                .boxed()
+                .sorted(Comparator.comparingLong(i -> timestamps[i]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static final class Snapshot {
+        // Has no spare capacity, so that indexes never append into each other's arrays.
+        private static final Snapshot EMPTY = new Snapshot(new long[0], new long[0], new long[0], new long[0], 0);
+
+        // Punches ordered by timestamp; maxMillis[i] is the greatest wall clock time among punches 0..i.
+        private final long[] timestamps;
+        private final long[] maxMillis;
+        // Punches ordered by wall clock time, then by timestamp.
+        private final long[] millisByMillis;
+        private final long[] timestampsByMillis;
+        // Entries at or beyond size may be written by a later append, so they must never be read.
+        private final int size;
+
+        private Snapshot(long[] timestamps,
+                long[] maxMillis,
+                long[] millisByMillis,
+                long[] timestampsByMillis,
+                int size) {
+            this.timestamps = timestamps;
+            this.maxMillis = maxMillis;
+            this.millisByMillis = millisByMillis;
+            this.timestampsByMillis = timestampsByMillis;
+            this.size = size;
+        }
+
+        long getTimestampForMillis(long timeMillis) {
+            int index = lastIndexAtOrBefore(millisByMillis, timeMillis);
+            return index < 0 ? Long.MIN_VALUE : timestampsByMillis[index];
+        }
+
+        long getMillisForTimestamp(long timestamp) {
+            int index = lastIndexAtOrBefore(timestamps, timestamp);
+            return index < 0 ? 0L : maxMillis[index];
+        }
+
+        long getLatestMillis() {
+            return size == 0 ? Long.MIN_VALUE : millisByMillis[size - 1];
+        }
+
+        boolean containsTimestamp(long timestamp) {
+            return Arrays.binarySearch(timestamps, 0, size, timestamp) >= 0;
+        }
+
+        boolean canAppend(long timestamp, long timeMillis) {
+            return size == 0 || (timestamp > timestamps[size - 1] && timeMillis >= millisByMillis[size - 1]);
+        }
+
+        Snapshot append(long timestamp, long timeMillis) {
+            Snapshot target = size < timestamps.length
+                    ? this
+                    : withCapacity(Math.max(INITIAL_CAPACITY, size * 2));
+            target.timestamps[size] = timestamp;
+            target.maxMillis[size] = size == 0 ? timeMillis : Math.max(maxMillis[size - 1], timeMillis);
+            target.millisByMillis[size] = timeMillis;
+            target.timestampsByMillis[size] = timestamp;
+            return new Snapshot(
+                    target.timestamps,
+                    target.maxMillis,
+                    target.millisByMillis,
+                    target.timestampsByMillis,
+                    size + 1);
+        }
+
+        Snapshot rebuildWith(long[] newTimestamps, long[] newTimesMillis, int newCount) {
+            int total = size + newCount;
+            long[] allTimestamps = Arrays.copyOf(timestampsByMillis, total);
+            long[] allMillis = Arrays.copyOf(millisByMillis, total);
+            System.arraycopy(newTimestamps, 0, allTimestamps, size, newCount);
+            System.arraycopy(newTimesMillis, 0, allMillis, size, newCount);
+
+            int capacity = Math.max(INITIAL_CAPACITY, total * 2);
+            long[] sortedTimestamps = new long[capacity];
+            long[] sortedMaxMillis = new long[capacity];
+            int[] byTimestamp = sortedByTimestamp(allTimestamps, total);
+            long runningMax = Long.MIN_VALUE;
+            for (int i = 0; i < total; i++) {
+                sortedTimestamps[i] = allTimestamps[byTimestamp[i]];
+                runningMax = Math.max(runningMax, allMillis[byTimestamp[i]]);
+                sortedMaxMillis[i] = runningMax;
+            }
+
+            long[] sortedMillis = new long[capacity];
+            long[] sortedTimestampsByMillis = new long[capacity];
+            int[] byMillis = IntStream.range(0, total)
+                    .boxed()
+                    .sorted(Comparator.<Integer>comparingLong(i -> allMillis[i])
+                            .thenComparingLong(i -> allTimestamps[i]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            for (int i = 0; i < total; i++) {
+                sortedMillis[i] = allMillis[byMillis[i]];
+                sortedTimestampsByMillis[i] = allTimestamps[byMillis[i]];
+            }
+
+            return new Snapshot(sortedTimestamps, sortedMaxMillis, sortedMillis, sortedTimestampsByMillis, total);
+        }
+
+        private Snapshot withCapacity(int capacity) {
+            return new Snapshot(
+                    Arrays.copyOf(timestamps, capacity),
+                    Arrays.copyOf(maxMillis, capacity),
+                    Arrays.copyOf(millisByMillis, capacity),
+                    Arrays.copyOf(timestampsByMillis, capacity),
+                    size);
+        }
+
+        private int lastIndexAtOrBefore(long[] sorted, long key) {
+            int index = Arrays.binarySearch(sorted, 0, size, key);
+            if (index < 0) {
+                return -index - 2;
+            }
+            // binarySearch may land on any of several equal keys; we want the last one
+            while (index + 1 < size && sorted[index + 1] == key) {
+                index++;
+            }
+            return index;
+        }
+    }
+}
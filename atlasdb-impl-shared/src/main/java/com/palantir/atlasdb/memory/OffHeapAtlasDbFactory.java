@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.memory;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.auto.service.AutoService;
+import com.palantir.atlasdb.config.LeaderConfig;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.impl.OffHeapKeyValueService;
+import com.palantir.atlasdb.qos.QosClient;
+import com.palantir.atlasdb.spi.AtlasDbFactory;
+import com.palantir.atlasdb.spi.KeyValueServiceConfig;
+import com.palantir.atlasdb.spi.KeyValueServiceRuntimeConfig;
+import com.palantir.atlasdb.versions.AtlasDbVersion;
+import com.palantir.timestamp.InMemoryTimestampService;
+import com.palantir.timestamp.TimestampService;
+
+/**
+ * Runs AtlasDB in a single process on an {@link OffHeapKeyValueService}, which keeps most of its data outside of the
+ * Java heap. Like the in-memory store, its data is lost when the process exits.
+ */
+@AutoService(AtlasDbFactory.class)
+public class OffHeapAtlasDbFactory implements AtlasDbFactory {
+    private static final Logger log = LoggerFactory.getLogger(OffHeapAtlasDbFactory.class);
+
+    @Override
+    public String getType() {
+        return OffHeapAtlasDbConfig.TYPE;
+    }
+
+    /**
+     * Creates an OffHeapKeyValueService.
+     *
+     * @param config Configuration file.
+     * @param runtimeConfig unused.
+     * @param leaderConfig unused.
+     * @param unused unused.
+     * @param initializeAsync unused. Async initialization has not been implemented and is not propagated.
+     * @param unusedQosClient unused.
+     * @return The requested KeyValueService instance
+     */
+    @Override
+    public OffHeapKeyValueService createRawKeyValueService(
+            KeyValueServiceConfig config,
+            Supplier<Optional<KeyValueServiceRuntimeConfig>> runtimeConfig,
+            Optional<LeaderConfig> leaderConfig,
+            Optional<String> unused,
+            boolean initializeAsync,
+            QosClient unusedQosClient) {
+        if (initializeAsync) {
+            log.warn("Asynchronous initialization not implemented, will initialize synchronously.");
+        }
+
+        AtlasDbVersion.ensureVersionReported();
+        return OffHeapKeyValueService.create();
+    }
+
+    @Override
+    public TimestampService createTimestampService(
+            KeyValueService rawKvs,
+            Optional<TableReference> unused,
+            boolean initializeAsync) {
+        if (initializeAsync) {
+            log.warn("Asynchronous initialization not implemented, will initialize synchronously.");
+        }
+
+        AtlasDbVersion.ensureVersionReported();
+        return new InMemoryTimestampService();
+    }
+}
@@ -19,14 +19,20 @@ package com.palantir.atlasdb.schema;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.RateLimiter;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.Namespace;
@@ -34,6 +40,8 @@ import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.table.description.RowNamePartitioner;
 import com.palantir.atlasdb.table.description.TableMetadata;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
+import com.palantir.atlasdb.transaction.service.TransactionService;
+import com.palantir.atlasdb.transaction.service.TransactionServices;
 import com.palantir.common.base.Throwables;
 import com.palantir.common.concurrent.PTExecutors;
 
@@ -57,6 +65,9 @@ public class KeyValueServiceMigrator {
 
     private final Map<TableReference, Integer> readBatchSizeOverrides;
 
+    private final boolean bulkMigration;
+    private final long maxBytesPerSecond;
+
     public enum KvsMigrationMessageLevel {
         INFO,
         WARN,
@@ -82,6 +93,43 @@ public class KeyValueServiceMigrator {
                                    KvsMigrationMessageProcessor messageProcessor,
                                    TaskProgress taskProgress,
                                    Set<TableReference> unmigratableTables) {
+        this(checkpointNamespace,
+                fromTransactionManager,
+                toTransactionManager,
+                fromKvs,
+                toKvs,
+                migrationTimestampSupplier,
+                threads,
+                defaultBatchSize,
+                readBatchSizeOverrides,
+                messageProcessor,
+                taskProgress,
+                unmigratableTables,
+                false,
+                0L);
+    }
+
+    /**
+     * If bulkMigration is set, the ranges of all tables are migrated from one shared queue, copying the raw
+     * committed cells of the source key value service rather than reading each row in a transaction (see
+     * {@link KvsBulkRangeMigrator}), and the throughput of each table is reported once it has been migrated.
+     * If maxBytesPerSecond is positive, bulk migration copies at most that many bytes a second across all tables.
+     */
+    public KeyValueServiceMigrator(Namespace checkpointNamespace,
+                                   TransactionManager fromTransactionManager,
+                                   TransactionManager toTransactionManager,
+                                   KeyValueService fromKvs,
+                                   KeyValueService toKvs,
+                                   Supplier<Long> migrationTimestampSupplier,
+                                   int threads,
+                                   int defaultBatchSize,
+                                   Map<TableReference, Integer> readBatchSizeOverrides,
+                                   KvsMigrationMessageProcessor messageProcessor,
+                                   TaskProgress taskProgress,
+                                   Set<TableReference> unmigratableTables,
+                                   boolean bulkMigration,
+                                   long maxBytesPerSecond) {
+        Preconditions.checkArgument(maxBytesPerSecond >= 0, "maxBytesPerSecond must not be negative");
         this.checkpointTable = TableReference.create(checkpointNamespace, CHECKPOINT_TABLE_NAME);
         this.fromTransactionManager = fromTransactionManager;
         this.toTransactionManager = toTransactionManager;
@@ -94,6 +142,8 @@ public class KeyValueServiceMigrator {
         this.messageProcessor = messageProcessor;
         this.taskProgress = taskProgress;
         this.unmigratableTables = unmigratableTables;
+        this.bulkMigration = bulkMigration;
+        this.maxBytesPerSecond = maxBytesPerSecond;
     }
 
     private void processMessage(String string, KvsMigrationMessageLevel level) {
@@ -180,14 +230,24 @@ public class KeyValueServiceMigrator {
 
         ExecutorService executor = PTExecutors.newFixedThreadPool(threads);
         try {
-            migrateTables(
-                    tables,
-                    readTxManager,
-                    txManager,
-                    toKvs,
-                    migrationTimestampSupplier.get(),
-                    executor,
-                    checkpointer);
+            if (bulkMigration) {
+                migrateTablesInBulk(
+                        tables,
+                        txManager,
+                        toKvs,
+                        migrationTimestampSupplier.get(),
+                        executor,
+                        checkpointer);
+            } else {
+                migrateTables(
+                        tables,
+                        readTxManager,
+                        txManager,
+                        toKvs,
+                        migrationTimestampSupplier.get(),
+                        executor,
+                        checkpointer);
+            }
             processMessage("Data migration complete.", KvsMigrationMessageLevel.INFO);
         } catch (Throwable t) {
             processMessage("Migration failed.", t, KvsMigrationMessageLevel.ERROR);
@@ -222,6 +282,102 @@ public class KeyValueServiceMigrator {
         }
     }
 
+    private void migrateTablesInBulk(Set<TableReference> tables,
+                                     TransactionManager txManager,
+                                     KeyValueService writeKvs,
+                                     long migrationTimestamp,
+                                     ExecutorService executor,
+                                     GeneralTaskCheckpointer checkpointer) {
+        processMessage("Bulk migrating tables at migrationTimestamp " + migrationTimestamp,
+                KvsMigrationMessageLevel.INFO);
+        TransactionService readTransactionService = TransactionServices.createTransactionService(fromKvs);
+        RateLimiter rateLimiter = maxBytesPerSecond > 0 ? RateLimiter.create(maxBytesPerSecond) : null;
+
+        List<Future<Void>> futures = Lists.newArrayList();
+        for (TableReference table : tables) {
+            BulkTableProgress tableProgress = new BulkTableProgress(table);
+            KvsBulkRangeMigratorBuilder rangeMigratorBuilder = new KvsBulkRangeMigratorBuilder()
+                    .srcTable(table)
+                    .txManager(txManager)
+                    .readKvs(fromKvs)
+                    .writeKvs(writeKvs)
+                    .readTransactionService(readTransactionService)
+                    .migrationTimestamp(migrationTimestamp)
+                    .readBatchSize(getBatchSize(table))
+                    .checkpointer(checkpointer)
+                    .bytesCopiedListener(tableProgress::bytesCopied);
+            if (rateLimiter != null) {
+                rangeMigratorBuilder.bytesRateLimiter(rateLimiter);
+            }
+            TableMigrator migrator = new TableMigratorBuilder()
+                    .srcTable(table)
+                    .partitions(PARTITIONS)
+                    .partitioners(getPartitioners(fromKvs, table))
+                    .readBatchSize(getBatchSize(table))
+                    .executor(executor)
+                    .checkpointer(checkpointer)
+                    .progress(tableProgress)
+                    .rangeMigrator(rangeMigratorBuilder.build())
+                    .build();
+            futures.addAll(migrator.submitRangeMigrations());
+        }
+
+        try {
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Throwables.throwUncheckedException(e);
+        } catch (ExecutionException e) {
+            Throwables.throwUncheckedException(e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Forwards progress to the migrator's {@link TaskProgress}, and reports how quickly a table was copied once
+     * all of its ranges have been migrated.
+     */
+    private final class BulkTableProgress implements TaskProgress {
+        private final TableReference table;
+        private final AtomicInteger remainingRanges = new AtomicInteger();
+        private final AtomicLong bytesCopied = new AtomicLong();
+        private volatile long startNanos;
+
+        private BulkTableProgress(TableReference table) {
+            this.table = table;
+        }
+
+        void bytesCopied(long bytes) {
+            bytesCopied.addAndGet(bytes);
+        }
+
+        @Override
+        public void beginTask(String message, int tasks) {
+            startNanos = System.nanoTime();
+            remainingRanges.set(tasks);
+            taskProgress.beginTask(message, tasks);
+        }
+
+        @Override
+        public void subTaskComplete() {
+            taskProgress.subTaskComplete();
+            if (remainingRanges.decrementAndGet() == 0) {
+                taskComplete();
+            }
+        }
+
+        @Override
+        public void taskComplete() {
+            long bytes = bytesCopied.get();
+            double seconds = Math.max(System.nanoTime() - startNanos, 1L) / (double) TimeUnit.SECONDS.toNanos(1);
+            processMessage(String.format("Migrated table %s: %d bytes in %.1f seconds (%.0f bytes/sec)",
+                    table, bytes, seconds, bytes / seconds), KvsMigrationMessageLevel.INFO);
+            taskProgress.taskComplete();
+        }
+    }
+
     private List<RowNamePartitioner> getPartitioners(KeyValueService kvs, TableReference table) {
         try {
             byte[] metadata = kvs.getMetadataForTable(table);
@@ -35,6 +35,10 @@ import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.Cells;
 import com.palantir.atlasdb.schema.KeyValueServiceMigrator.KvsMigrationMessageLevel;
 import com.palantir.atlasdb.schema.KeyValueServiceMigrator.KvsMigrationMessageProcessor;
+import com.palantir.atlasdb.table.common.MerkleRangeDiff;
+import com.palantir.atlasdb.table.common.MerkleRangeDiff.DigestMode;
+import com.palantir.atlasdb.table.common.MerkleRangeDiff.DigestedRangeVisitor;
+import com.palantir.atlasdb.table.common.MutableRange;
 import com.palantir.atlasdb.transaction.api.Transaction;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
 import com.palantir.atlasdb.transaction.api.TransactionTask;
@@ -58,6 +62,8 @@ public class KeyValueServiceValidator {
 
     private final KvsMigrationMessageProcessor messageProcessor;
 
+    private final boolean compareDigests;
+
     public KeyValueServiceValidator(TransactionManager validationFromTransactionManager,
                                     TransactionManager validationToTransactionManager,
                                     KeyValueService validationFromKvs,
@@ -66,6 +72,30 @@ public class KeyValueServiceValidator {
                                     Map<TableReference, Integer> readBatchSizeOverrides,
                                     KvsMigrationMessageProcessor messageProcessor,
                                     Set<TableReference> unmigratableTables) {
+        this(validationFromTransactionManager,
+                validationToTransactionManager,
+                validationFromKvs,
+                threads,
+                defaultBatchSize,
+                readBatchSizeOverrides,
+                messageProcessor,
+                unmigratableTables,
+                false);
+    }
+
+    /**
+     * If compareDigests is set, tables are validated one at a time by hashing ranges of rows of both sides in
+     * parallel, and only ranges whose digests differ are compared cell by cell (see {@link MerkleRangeDiff}).
+     */
+    public KeyValueServiceValidator(TransactionManager validationFromTransactionManager,
+                                    TransactionManager validationToTransactionManager,
+                                    KeyValueService validationFromKvs,
+                                    int threads,
+                                    int defaultBatchSize,
+                                    Map<TableReference, Integer> readBatchSizeOverrides,
+                                    KvsMigrationMessageProcessor messageProcessor,
+                                    Set<TableReference> unmigratableTables,
+                                    boolean compareDigests) {
         this.validationFromTransactionManager = validationFromTransactionManager;
         this.validationToTransactionManager = validationToTransactionManager;
         this.validationFromKvs = validationFromKvs;
@@ -74,6 +104,7 @@ public class KeyValueServiceValidator {
         this.readBatchSizeOverrides = readBatchSizeOverrides;
         this.messageProcessor = messageProcessor;
         this.unmigratableTables = unmigratableTables;
+        this.compareDigests = compareDigests;
     }
 
     private int getBatchSize(TableReference table) {
@@ -85,7 +116,11 @@ public class KeyValueServiceValidator {
         Set<TableReference> tables = KeyValueServiceValidators.getValidatableTableNames(
                 validationFromKvs, unmigratableTables);
         try {
-            validateTables(tables);
+            if (compareDigests) {
+                validateTablesByDigest(tables);
+            } else {
+                validateTables(tables);
+            }
         } catch (Throwable t) {
             KeyValueServiceMigrators.processMessage(messageProcessor,
                     "Validation failed.", t, KvsMigrationMessageLevel.ERROR);
@@ -114,6 +149,42 @@ public class KeyValueServiceValidator {
         futures.forEach(future -> Futures.getUnchecked(future));
     }
 
+    private void validateTablesByDigest(Set<TableReference> tables) throws InterruptedException {
+        ExecutorService executor = PTExecutors.newFixedThreadPool(threads);
+        try {
+            for (TableReference table : tables) {
+                int limit = getBatchSize(table);
+                new MerkleRangeDiff(validationFromTransactionManager, table, validationToTransactionManager, table,
+                        DigestMode.CELLS_AND_VALUES, limit, MerkleRangeDiff.DEFAULT_FAN_OUT).run(executor, threads,
+                        new DigestedRangeVisitor() {
+                            @Override
+                            public void matched(long rows, long cells) {
+                                // nothing to check
+                            }
+
+                            @Override
+                            public void differs(MutableRange range) {
+                                validateRange(table, limit, range.getRangeRequest());
+                            }
+                        });
+                KeyValueServiceMigrators.processMessage(messageProcessor, "Validated " + table,
+                        KvsMigrationMessageLevel.INFO);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void validateRange(TableReference table, int limit, RangeRequest range) {
+        // read only, but need to use a write tx in case the source table has SweepStrategy.THOROUGH
+        validationFromTransactionManager.runTaskWithRetry(
+                (TransactionTask<Void, RuntimeException>) t1 -> validationToTransactionManager.runTaskWithRetry(
+                        (TransactionTask<Void, RuntimeException>) t2 -> {
+                            validateTable(table, limit, t1, t2, range.getBuilder().batchHint(limit));
+                            return null;
+                        }));
+    }
+
     private void validateTable(final TableReference table) {
         final int limit = getBatchSize(table);
         // read only, but need to use a write tx in case the source table has SweepStrategy.THOROUGH
@@ -135,8 +206,15 @@ public class KeyValueServiceValidator {
     }
 
     private void validateTable(TableReference table, int limit, Transaction t1, Transaction t2) {
-        RangeRequest.Builder builder = RangeRequest.builder().batchHint(limit);
-        byte[] nextRowName = new byte[0];
+        validateTable(table, limit, t1, t2, RangeRequest.builder().batchHint(limit));
+    }
+
+    private void validateTable(TableReference table,
+                               int limit,
+                               Transaction t1,
+                               Transaction t2,
+                               RangeRequest.Builder builder) {
+        byte[] nextRowName = builder.build().getStartInclusive();
         while (nextRowName != null) {
             RangeRequest range = builder.startRowInclusive(nextRowName).build();
             nextRowName = validateAndGetNextRowName(table, limit, t1, t2, range);
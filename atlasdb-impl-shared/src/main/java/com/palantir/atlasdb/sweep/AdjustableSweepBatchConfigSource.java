@@ -59,11 +59,12 @@ public final class AdjustableSweepBatchConfigSource {
         SweepBatchConfig sweepConfig = getRawSweepConfig();
         double multiplier = batchSizeMultiplier;
 
-        return ImmutableSweepBatchConfig.builder()
+        ImmutableSweepBatchConfig.Builder adjustedConfig = ImmutableSweepBatchConfig.builder()
                 .maxCellTsPairsToExamine(adjust(sweepConfig.maxCellTsPairsToExamine(), multiplier))
                 .candidateBatchSize(adjust(sweepConfig.candidateBatchSize(), multiplier))
-                .deleteBatchSize(adjust(sweepConfig.deleteBatchSize(), multiplier))
-                .build();
+                .deleteBatchSize(adjust(sweepConfig.deleteBatchSize(), multiplier));
+        sweepConfig.valuesBatchSize().ifPresent(size -> adjustedConfig.valuesBatchSize(adjust(size, multiplier)));
+        return adjustedConfig.build();
     }
 
     private static int adjust(int parameterValue, double multiplier) {
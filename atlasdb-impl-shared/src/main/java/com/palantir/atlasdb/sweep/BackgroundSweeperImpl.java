@@ -20,6 +20,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -84,8 +85,25 @@ public final class BackgroundSweeperImpl implements BackgroundSweeper, AutoClose
             Supplier<Long> sweepPauseMillis,
             PersistentLockManager persistentLockManager,
             SpecificTableSweeper specificTableSweeper) {
-        NextTableToSweepProvider nextTableToSweepProvider = NextTableToSweepProvider
-                .create(specificTableSweeper.getKvs(), specificTableSweeper.getSweepPriorityStore());
+        return create(sweepBatchConfigSource,
+                isSweepEnabled,
+                sweepPauseMillis,
+                () -> false,
+                persistentLockManager,
+                specificTableSweeper);
+    }
+
+    public static BackgroundSweeperImpl create(
+            AdjustableSweepBatchConfigSource sweepBatchConfigSource,
+            Supplier<Boolean> isSweepEnabled,
+            Supplier<Long> sweepPauseMillis,
+            BooleanSupplier isStreamStoreGarbageCollectorEnabled,
+            PersistentLockManager persistentLockManager,
+            SpecificTableSweeper specificTableSweeper) {
+        NextTableToSweepProvider nextTableToSweepProvider = NextTableToSweepProvider.create(
+                specificTableSweeper.getKvs(),
+                specificTableSweeper.getSweepPriorityStore(),
+                isStreamStoreGarbageCollectorEnabled);
 
         return new BackgroundSweeperImpl(
                 specificTableSweeper.getTxManager().getLockService(),
@@ -31,5 +31,21 @@ public interface BatchOfCellsToSweep {
      */
     long numCellTsPairsExamined();
 
+    /**
+     * Returns the number of distinct cells examined in this batch.
+     */
+    @Value.Default
+    default long numCellsExamined() {
+        return 0L;
+    }
+
+    /**
+     * Returns the total size in bytes of the row and column names of the cells examined in this batch.
+     */
+    @Value.Default
+    default long cellNameBytesExamined() {
+        return 0L;
+    }
+
     Cell lastCellExamined();
 }
@@ -65,6 +65,8 @@ public class CellsToSweepPartitioningIterator extends AbstractIterator<BatchOfCe
             List<CellToSweep> batch = Lists.newArrayList();
             int cellTsPairsToDelete = 0;
             long numCellTsPairsExamined = 0;
+            long numCellsExamined = 0;
+            long cellNameBytesExamined = 0;
             Cell lastCellExamined = null;
             while (cellTsPairsToDelete < deleteBatchSize && cellsToSweep.hasNext()) {
                 BatchOfCellsToSweep sourceBatch = cellsToSweep.next();
@@ -73,6 +75,8 @@ public class CellsToSweepPartitioningIterator extends AbstractIterator<BatchOfCe
                     cellTsPairsToDelete += cell.sortedTimestamps().size();
                 }
                 numCellTsPairsExamined += sourceBatch.numCellTsPairsExamined();
+                numCellsExamined += sourceBatch.numCellsExamined();
+                cellNameBytesExamined += sourceBatch.cellNameBytesExamined();
                 lastCellExamined = sourceBatch.lastCellExamined();
                 if (limit.examinedEnoughCells(numCellTsPairsExamined, lastCellExamined)) {
                     limitReached = true;
@@ -84,6 +88,8 @@ public class CellsToSweepPartitioningIterator extends AbstractIterator<BatchOfCe
                     : ImmutableBatchOfCellsToSweep.builder()
                             .cells(batch)
                             .numCellTsPairsExamined(numCellTsPairsExamined)
+                            .numCellsExamined(numCellsExamined)
+                            .cellNameBytesExamined(cellNameBytesExamined)
                             .lastCellExamined(lastCellExamined)
                             .build();
         }
@@ -15,6 +15,8 @@
  */
 package com.palantir.atlasdb.sweep;
 
+import java.util.Optional;
+
 import javax.annotation.Nullable;
 
 import org.slf4j.Logger;
@@ -23,6 +25,7 @@ import org.slf4j.LoggerFactory;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.InsufficientConsistencyException;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.SweepResults;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
@@ -30,6 +33,7 @@ import com.palantir.atlasdb.logging.LoggingArgs;
 import com.palantir.atlasdb.schema.generated.SweepTableFactory;
 import com.palantir.atlasdb.sweep.metrics.SweepMetricsManager;
 import com.palantir.atlasdb.sweep.priority.ImmutableUpdateSweepPriority;
+import com.palantir.atlasdb.sweep.priority.SweepPriority;
 import com.palantir.atlasdb.sweep.priority.SweepPriorityStore;
 import com.palantir.atlasdb.sweep.priority.SweepPriorityStoreImpl;
 import com.palantir.atlasdb.sweep.progress.ImmutableSweepProgress;
@@ -37,6 +41,7 @@ import com.palantir.atlasdb.sweep.progress.SweepProgress;
 import com.palantir.atlasdb.sweep.progress.SweepProgressStore;
 import com.palantir.atlasdb.sweep.progress.SweepProgressStoreImpl;
 import com.palantir.atlasdb.transaction.api.LockAwareTransactionManager;
+import com.palantir.atlasdb.transaction.api.Transaction;
 import com.palantir.atlasdb.transaction.impl.TxTask;
 import com.palantir.common.time.Clock;
 import com.palantir.logsafe.SafeArg;
@@ -52,7 +57,7 @@ public class SpecificTableSweeper {
     private final BackgroundSweeperPerformanceLogger sweepPerfLogger;
     private final SweepMetricsManager sweepMetricsManager;
     private final Clock wallClock;
-
+    private final SweepBatchSizeController batchSizeController = new SweepBatchSizeController();
 
     @VisibleForTesting
     SpecificTableSweeper(
@@ -114,12 +119,40 @@ public class SpecificTableSweeper {
         return sweepProgressStore;
     }
 
+    /**
+     * Runs one iteration of background sweep on the given table. The batch sizes of the given config are tuned for
+     * the table based on how previous iterations went, and the tuned sizes are saved along with the results whenever
+     * they change.
+     */
     void runOnceAndSaveResults(TableToSweep tableToSweep, SweepBatchConfig batchConfig) {
         TableReference tableRef = tableToSweep.getTableRef();
         byte[] startRow = tableToSweep.getStartRow();
 
-        SweepResults results = runOneIteration(tableRef, startRow, batchConfig);
-        processSweepResults(tableToSweep, results);
+        SweepBatchConfig tableBatchConfig = batchSizeController.getBatchConfig(
+                tableRef, batchConfig, () -> loadPriority(tableRef));
+        SweepResults results;
+        try {
+            results = runOneIteration(tableRef, startRow, tableBatchConfig);
+        } catch (InsufficientConsistencyException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            batchSizeController.recordFailure(tableRef, tableBatchConfig);
+            throw e;
+        }
+        SweepBatchConfig learnedBatchConfig = batchSizeController.recordSuccess(tableRef, tableBatchConfig, results);
+        processSweepResults(tableToSweep, results, getChangedBatchSizes(tableBatchConfig, learnedBatchConfig));
+    }
+
+    private static Optional<SweepBatchConfig> getChangedBatchSizes(SweepBatchConfig usedBatchConfig,
+            SweepBatchConfig learnedBatchConfig) {
+        boolean changed = usedBatchConfig.candidateBatchSize() != learnedBatchConfig.candidateBatchSize()
+                || !usedBatchConfig.valuesBatchSize().equals(learnedBatchConfig.valuesBatchSize())
+                || usedBatchConfig.deleteBatchSize() != learnedBatchConfig.deleteBatchSize();
+        return changed ? Optional.of(learnedBatchConfig) : Optional.empty();
+    }
+
+    private Optional<SweepPriority> loadPriority(TableReference tableRef) {
+        return txManager.runTaskReadOnly(tx -> sweepPriorityStore.loadPriority(tx, tableRef));
     }
 
     SweepResults runOneIteration(TableReference tableRef, byte[] startRow, SweepBatchConfig batchConfig) {
@@ -173,15 +206,16 @@ public class SpecificTableSweeper {
                 exception);
     }
 
-    private void processSweepResults(TableToSweep tableToSweep, SweepResults currentIteration) {
+    private void processSweepResults(TableToSweep tableToSweep, SweepResults currentIteration,
+            Optional<SweepBatchConfig> changedBatchSizes) {
         updateMetricsOneIteration(currentIteration, tableToSweep.getTableRef());
 
         SweepResults cumulativeResults = getCumulativeSweepResults(tableToSweep, currentIteration);
 
         if (currentIteration.getNextStartRow().isPresent()) {
-            saveIntermediateSweepResults(tableToSweep, cumulativeResults);
+            saveIntermediateSweepResults(tableToSweep, cumulativeResults, changedBatchSizes);
         } else {
-            processFinishedSweep(tableToSweep, cumulativeResults);
+            processFinishedSweep(tableToSweep, cumulativeResults, changedBatchSizes);
         }
     }
 
@@ -189,7 +223,8 @@ public class SpecificTableSweeper {
         return tableToSweep.getPreviousSweepResults().accumulateWith(currentIteration);
     }
 
-    private void saveIntermediateSweepResults(TableToSweep tableToSweep, SweepResults results) {
+    private void saveIntermediateSweepResults(TableToSweep tableToSweep, SweepResults results,
+            Optional<SweepBatchConfig> changedBatchSizes) {
         Preconditions.checkArgument(results.getNextStartRow().isPresent(),
                 "Next start row should be present when saving intermediate results!");
         txManager.runTaskWithRetry((TxTask) tx -> {
@@ -212,12 +247,14 @@ public class SpecificTableSweeper {
                     .startTimeInMillis(results.getTimeSweepStarted())
                     .build();
             sweepProgressStore.saveProgress(newProgress);
+            changedBatchSizes.ifPresent(sizes -> saveLearnedBatchSizes(tx, tableToSweep.getTableRef(), sizes));
             return null;
         });
     }
 
-    private void processFinishedSweep(TableToSweep tableToSweep, SweepResults cumulativeResults) {
-        saveFinalSweepResults(tableToSweep, cumulativeResults);
+    private void processFinishedSweep(TableToSweep tableToSweep, SweepResults cumulativeResults,
+            Optional<SweepBatchConfig> changedBatchSizes) {
+        saveFinalSweepResults(tableToSweep, cumulativeResults, changedBatchSizes);
         log.info("Finished sweeping table {}. Examined {} cell+timestamp pairs, deleted {} stale values. Time taken "
                         + "sweeping: {} ms, time elapsed since sweep first started on this table: {} ms.",
                 LoggingArgs.tableRef("tableRef", tableToSweep.getTableRef()),
@@ -228,7 +265,8 @@ public class SpecificTableSweeper {
         sweepProgressStore.clearProgress();
     }
 
-    private void saveFinalSweepResults(TableToSweep tableToSweep, SweepResults finalSweepResults) {
+    private void saveFinalSweepResults(TableToSweep tableToSweep, SweepResults finalSweepResults,
+            Optional<SweepBatchConfig> changedBatchSizes) {
         txManager.runTaskWithRetry((TxTask) tx -> {
             ImmutableUpdateSweepPriority.Builder update = ImmutableUpdateSweepPriority.builder()
                     .newStaleValuesDeleted(finalSweepResults.getStaleValuesDeleted())
@@ -240,10 +278,19 @@ public class SpecificTableSweeper {
                 update.newWriteCount(0L);
             }
             sweepPriorityStore.update(tx, tableToSweep.getTableRef(), update.build());
+            changedBatchSizes.ifPresent(sizes -> saveLearnedBatchSizes(tx, tableToSweep.getTableRef(), sizes));
             return null;
         });
     }
 
+    private void saveLearnedBatchSizes(Transaction tx, TableReference tableRef, SweepBatchConfig learnedBatchConfig) {
+        sweepPriorityStore.update(tx, tableRef, ImmutableUpdateSweepPriority.builder()
+                .newCandidateBatchSize(learnedBatchConfig.candidateBatchSize())
+                .newValuesBatchSize(learnedBatchConfig.valuesBatchSize())
+                .newDeleteBatchSize(learnedBatchConfig.deleteBatchSize())
+                .build());
+    }
+
     private static String startRowToHex(@Nullable byte[] row) {
         if (row == null) {
             return "0";
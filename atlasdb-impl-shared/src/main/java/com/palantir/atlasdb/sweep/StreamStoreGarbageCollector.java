@@ -0,0 +1,394 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.sweep;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codahale.metrics.Meter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.logging.LoggingArgs;
+import com.palantir.atlasdb.protos.generated.StreamPersistence.Status;
+import com.palantir.atlasdb.protos.generated.StreamPersistence.StreamMetadata;
+import com.palantir.atlasdb.ptobject.EncodingUtils;
+import com.palantir.atlasdb.schema.stream.StreamTableType;
+import com.palantir.atlasdb.stream.GenericStreamStore;
+import com.palantir.atlasdb.table.description.TableMetadata;
+import com.palantir.atlasdb.transaction.api.TransactionManager;
+import com.palantir.atlasdb.transaction.impl.TransactionConstants;
+import com.palantir.atlasdb.transaction.service.TransactionService;
+import com.palantir.atlasdb.util.MetricsManager;
+import com.palantir.common.base.ClosableIterator;
+import com.palantir.common.base.Throwables;
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.lock.LockService;
+import com.palantir.lock.SingleLockService;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * Deletes the blocks of deleted streams from stream store value tables, so that the background sweeper does not
+ * have to scan those tables cell by cell.
+ * <p>
+ * Streams are deleted transactionally by the stream store cleanup tasks, which delete the stream's metadata together
+ * with its blocks. Metadata tables are conservatively swept, so the deletion of the metadata remains visible as the
+ * latest value of the metadata cell. For every such deletion that committed before the conservative sweep timestamp
+ * and still has older versions of the metadata below it, the blocks of the stream are looked up in batches and all of
+ * their versions below the sweep timestamp are deleted, with the streams of a batch handled in parallel. The number
+ * of blocks is taken from the stored metadata; streams that were never stored completely are scanned until a run of
+ * batches holds no blocks. The metadata cell is then swept like a conservative sweep would: the deletion is kept, and
+ * its older versions are replaced by a sentinel, so that the stream is not visited again.
+ * <p>
+ * Streams whose metadata was already swept by the background sweeper are skipped, and their blocks are left to the
+ * background sweeper.
+ */
+public final class StreamStoreGarbageCollector implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(StreamStoreGarbageCollector.class);
+
+    private static final long SLEEP_TIME_WHEN_DISABLED_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final int METADATA_BATCH_SIZE = 1000;
+    private static final byte[] METADATA_COLUMN = PtBytes.toCachedBytes("md");
+    private static final byte[] VALUE_COLUMN = PtBytes.toCachedBytes("v");
+    private static final int MAX_EMPTY_BLOCK_BATCHES = 10;
+
+    private final TransactionManager transactionManager;
+    private final KeyValueService keyValueService;
+    private final TransactionService transactionService;
+    private final LockService lockService;
+    private final Supplier<StreamStoreGarbageCollectorConfig> configSupplier;
+
+    private final MetricsManager metricsManager = new MetricsManager();
+    private final Meter streamsDeleted =
+            metricsManager.registerOrGetMeter(StreamStoreGarbageCollector.class, "streamsDeleted");
+    private final Meter blocksDeleted =
+            metricsManager.registerOrGetMeter(StreamStoreGarbageCollector.class, "blocksDeleted");
+
+    private Thread daemon;
+
+    public static StreamStoreGarbageCollector createAndRun(TransactionManager transactionManager,
+            KeyValueService keyValueService,
+            TransactionService transactionService,
+            LockService lockService,
+            Supplier<StreamStoreGarbageCollectorConfig> configSupplier) {
+        StreamStoreGarbageCollector garbageCollector = new StreamStoreGarbageCollector(transactionManager,
+                keyValueService,
+                transactionService,
+                lockService,
+                configSupplier);
+        garbageCollector.runInBackground();
+        return garbageCollector;
+    }
+
+    @VisibleForTesting
+    StreamStoreGarbageCollector(TransactionManager transactionManager,
+            KeyValueService keyValueService,
+            TransactionService transactionService,
+            LockService lockService,
+            Supplier<StreamStoreGarbageCollectorConfig> configSupplier) {
+        this.transactionManager = transactionManager;
+        this.keyValueService = keyValueService;
+        this.transactionService = transactionService;
+        this.lockService = lockService;
+        this.configSupplier = configSupplier;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (daemon == null) {
+            return;
+        }
+        log.info("Closing StreamStoreGarbageCollector");
+        daemon.interrupt();
+        try {
+            daemon.join();
+            daemon = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        }
+    }
+
+    private synchronized void runInBackground() {
+        Preconditions.checkState(daemon == null);
+        daemon = new Thread(this::run);
+        daemon.setDaemon(true);
+        daemon.setName("StreamStoreGarbageCollector");
+        daemon.start();
+    }
+
+    private void run() {
+        try (SingleLockService lock = SingleLockService.createSingleLockServiceWithSafeLockId(
+                lockService, "atlas stream store gc")) {
+            while (!transactionManager.isInitialized()) {
+                Thread.sleep(SLEEP_TIME_WHEN_DISABLED_MILLIS);
+            }
+            log.info("Starting stream store garbage collector");
+            while (true) {
+                StreamStoreGarbageCollectorConfig config = configSupplier.get();
+                if (config.enabled()) {
+                    grabLockAndRunOnce(lock, config);
+                    Thread.sleep(config.pauseMillis());
+                } else {
+                    Thread.sleep(SLEEP_TIME_WHEN_DISABLED_MILLIS);
+                }
+            }
+        } catch (InterruptedException e) {
+            log.warn("Shutting down the stream store garbage collector due to InterruptedException", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void grabLockAndRunOnce(SingleLockService lock, StreamStoreGarbageCollectorConfig config)
+            throws InterruptedException {
+        try {
+            lock.lockOrRefresh();
+            if (!lock.haveLocks()) {
+                log.info("Failed to get the stream store garbage collection lock. "
+                        + "Probably, another host is collecting garbage.");
+                return;
+            }
+            long sweepTimestamp = Sweeper.CONSERVATIVE.getSweepTimestampSupplier().getSweepTimestamp(
+                    transactionManager::getUnreadableTimestamp,
+                    transactionManager::getImmutableTimestamp);
+            long deleted = runOnce(sweepTimestamp, config);
+            log.info("Deleted the blocks of {} streams below timestamp {}",
+                    SafeArg.of("streams", deleted),
+                    SafeArg.of("sweepTimestamp", sweepTimestamp));
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.warn("Unexpected exception occurred whilst collecting stream store garbage", e);
+        }
+    }
+
+    /**
+     * Deletes the blocks of every stream whose deletion committed before the given timestamp, and returns the
+     * number of streams deleted.
+     */
+    @VisibleForTesting
+    long runOnce(long sweepTimestamp, StreamStoreGarbageCollectorConfig config) throws InterruptedException {
+        Set<TableReference> tables = keyValueService.getAllTableNames();
+        ExecutorService executor = PTExecutors.newFixedThreadPool(config.threads(),
+                new NamedThreadFactory("StreamStoreGarbageCollector", true));
+        try {
+            long deleted = 0;
+            for (TableReference metadataTable : tables) {
+                if (!StreamTableType.isStreamStoreMetadataTable(metadataTable)) {
+                    continue;
+                }
+                TableReference valueTable = StreamTableType.getValueTableFromMetadataTable(metadataTable);
+                if (tables.contains(valueTable)) {
+                    deleted += collect(metadataTable, valueTable, sweepTimestamp, config, executor);
+                }
+            }
+            return deleted;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long collect(TableReference metadataTable,
+            TableReference valueTable,
+            long sweepTimestamp,
+            StreamStoreGarbageCollectorConfig config,
+            ExecutorService executor) throws InterruptedException {
+        byte[] valueTableMetadata = keyValueService.getMetadataForTable(valueTable);
+        if (valueTableMetadata == null || valueTableMetadata.length == 0) {
+            log.warn("Not collecting garbage from {} because its metadata is missing",
+                    LoggingArgs.tableRef(valueTable));
+            return 0;
+        }
+        int componentsHashed = TableMetadata.BYTES_HYDRATOR.hydrateFromBytes(valueTableMetadata)
+                .getRowMetadata()
+                .numberOfComponentsHashed();
+
+        RangeRequest range = RangeRequest.builder()
+                .retainColumns(ColumnSelection.create(ImmutableList.of(METADATA_COLUMN)))
+                .batchHint(METADATA_BATCH_SIZE)
+                .build();
+        long deleted = 0;
+        try (ClosableIterator<RowResult<Value>> rows = keyValueService.getRange(metadataTable, range, sweepTimestamp)) {
+            Iterator<List<RowResult<Value>>> batches = Iterators.partition(rows, METADATA_BATCH_SIZE);
+            while (batches.hasNext()) {
+                Map<Cell, Long> deletions = getCommittedDeletions(batches.next(), sweepTimestamp);
+                if (deletions.isEmpty()) {
+                    continue;
+                }
+                Map<Cell, Value> storedMetadata = getMetadataBelowDeletions(metadataTable, deletions);
+                if (storedMetadata.isEmpty()) {
+                    continue;
+                }
+
+                List<Future<Long>> futures = Lists.newArrayListWithCapacity(storedMetadata.size());
+                for (Map.Entry<Cell, Value> metadata : storedMetadata.entrySet()) {
+                    futures.add(executor.submit(() -> deleteBlocks(
+                            valueTable,
+                            metadata.getKey().getRowName(),
+                            componentsHashed,
+                            getNumberOfBlocks(metadata.getValue()),
+                            sweepTimestamp,
+                            config)));
+                }
+                for (Future<Long> future : futures) {
+                    blocksDeleted.mark(getUnchecked(future));
+                }
+
+                keyValueService.addGarbageCollectionSentinelValues(metadataTable, storedMetadata.keySet());
+                keyValueService.deleteAllTimestamps(metadataTable,
+                        ImmutableMap.copyOf(Maps.filterKeys(deletions, storedMetadata::containsKey)));
+                streamsDeleted.mark(storedMetadata.size());
+                deleted += storedMetadata.size();
+            }
+        }
+        return deleted;
+    }
+
+    private Map<Cell, Long> getCommittedDeletions(List<RowResult<Value>> rows, long sweepTimestamp) {
+        Map<Cell, Long> deletions = Maps.newHashMap();
+        for (RowResult<Value> row : rows) {
+            Value metadata = row.getColumns().get(METADATA_COLUMN);
+            if (metadata != null && metadata.getContents().length == 0
+                    && metadata.getTimestamp() != Value.INVALID_VALUE_TIMESTAMP) {
+                deletions.put(Cell.create(row.getRowName(), METADATA_COLUMN), metadata.getTimestamp());
+            }
+        }
+        if (deletions.isEmpty()) {
+            return deletions;
+        }
+
+        Map<Long, Long> commitTimestamps = transactionService.get(Sets.newHashSet(deletions.values()));
+        return ImmutableMap.copyOf(Maps.filterValues(deletions, startTs -> {
+            Long commitTs = commitTimestamps.get(startTs);
+            return commitTs != null && commitTs != TransactionConstants.FAILED_COMMIT_TS && commitTs < sweepTimestamp;
+        }));
+    }
+
+    /**
+     * Returns the latest version of each metadata cell below its deletion, leaving out cells whose older versions
+     * have already been swept.
+     */
+    private Map<Cell, Value> getMetadataBelowDeletions(TableReference metadataTable, Map<Cell, Long> deletions) {
+        return ImmutableMap.copyOf(Maps.filterValues(keyValueService.get(metadataTable, deletions),
+                metadata -> metadata.getTimestamp() != Value.INVALID_VALUE_TIMESTAMP));
+    }
+
+    /**
+     * Returns the number of blocks written for a stored stream, including the empty block that follows a stream
+     * whose length is a multiple of the block size, or nothing if the stream was never stored completely.
+     */
+    private static OptionalLong getNumberOfBlocks(Value metadata) {
+        try {
+            StreamMetadata streamMetadata = StreamMetadata.parseFrom(metadata.getContents());
+            if (streamMetadata.getStatus() == Status.STORED) {
+                return OptionalLong.of(streamMetadata.getLength() / GenericStreamStore.BLOCK_SIZE_IN_BYTES + 1);
+            }
+        } catch (InvalidProtocolBufferException e) {
+            // The older version is not stream metadata, so the blocks are scanned instead.
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Deletes the given number of blocks or, if it is not known, every block up to the first run of
+     * {@link #MAX_EMPTY_BLOCK_BATCHES} batches that hold no blocks. Earlier passes or the background sweeper may
+     * already have deleted some of the blocks, so a missing block does not mean that the stream ends there.
+     */
+    private long deleteBlocks(TableReference valueTable,
+            byte[] metadataRow,
+            int componentsHashed,
+            OptionalLong numberOfBlocks,
+            long sweepTimestamp,
+            StreamStoreGarbageCollectorConfig config) {
+        long deleted = 0;
+        int emptyBatches = 0;
+        for (long firstBlockId = 0; ; firstBlockId += config.blockBatchSize()) {
+            long endBlockId = firstBlockId + config.blockBatchSize();
+            if (numberOfBlocks.isPresent()) {
+                if (firstBlockId >= numberOfBlocks.getAsLong()) {
+                    return deleted;
+                }
+                endBlockId = Math.min(endBlockId, numberOfBlocks.getAsLong());
+            } else if (emptyBatches >= MAX_EMPTY_BLOCK_BATCHES) {
+                return deleted;
+            }
+
+            Map<Cell, Long> blocks = Maps.newHashMapWithExpectedSize(config.blockBatchSize());
+            for (long blockId = firstBlockId; blockId < endBlockId; blockId++) {
+                blocks.put(Cell.create(getValueRow(metadataRow, componentsHashed, blockId), VALUE_COLUMN),
+                        sweepTimestamp);
+            }
+            Set<Cell> existingBlocks = keyValueService.getLatestTimestamps(valueTable, blocks).keySet();
+            if (!existingBlocks.isEmpty()) {
+                keyValueService.deleteAllTimestamps(valueTable, Maps.toMap(existingBlocks, cell -> sweepTimestamp));
+            }
+            deleted += existingBlocks.size();
+            emptyBatches = existingBlocks.isEmpty() ? emptyBatches + 1 : 0;
+        }
+    }
+
+    /**
+     * Value table rows are made of the stream id and the block id, and metadata table rows of the stream id alone.
+     * Unless both components of value table rows are hashed, a value table row starts with the metadata table row of
+     * its stream, which is either the stream id or the stream id prefixed with its hash.
+     */
+    @VisibleForTesting
+    static byte[] getValueRow(byte[] metadataRow, int componentsHashed, long blockId) {
+        byte[] blockIdBytes = EncodingUtils.encodeUnsignedVarLong(blockId);
+        if (componentsHashed < 2) {
+            return EncodingUtils.add(metadataRow, blockIdBytes);
+        }
+        byte[] idBytes = Arrays.copyOfRange(metadataRow, PtBytes.SIZEOF_LONG, metadataRow.length);
+        long hash = Hashing.murmur3_128().hashBytes(EncodingUtils.add(idBytes, blockIdBytes)).asLong();
+        return EncodingUtils.add(PtBytes.toBytes(Long.MIN_VALUE ^ hash), idBytes, blockIdBytes);
+    }
+
+    private static long getUnchecked(Future<Long> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.sweep;
+
+import java.util.concurrent.TimeUnit;
+
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.base.Preconditions;
+
+@JsonDeserialize(as = ImmutableStreamStoreGarbageCollectorConfig.class)
+@JsonSerialize(as = ImmutableStreamStoreGarbageCollectorConfig.class)
+@Value.Immutable
+public interface StreamStoreGarbageCollectorConfig {
+    long DEFAULT_PAUSE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    int DEFAULT_THREADS = 4;
+    int DEFAULT_BLOCK_BATCH_SIZE = 100;
+
+    /**
+     * Indicates whether the stream store garbage collector should run. While it is enabled, the background sweeper
+     * leaves stream store value tables to it.
+     */
+    @Value.Default
+    default boolean enabled() {
+        return false;
+    }
+
+    /**
+     * The time to wait between passes over all stream stores.
+     */
+    @Value.Default
+    default long pauseMillis() {
+        return DEFAULT_PAUSE_MILLIS;
+    }
+
+    /**
+     * The number of deleted streams whose blocks are deleted concurrently.
+     */
+    @Value.Default
+    default int threads() {
+        return DEFAULT_THREADS;
+    }
+
+    /**
+     * The number of blocks of a single stream to look up and delete in one call to the key value service.
+     */
+    @Value.Default
+    default int blockBatchSize() {
+        return DEFAULT_BLOCK_BATCH_SIZE;
+    }
+
+    @Value.Check
+    default void check() {
+        Preconditions.checkState(pauseMillis() >= 0,
+                "Stream store garbage collector pause must be nonnegative, but found %s", pauseMillis());
+        Preconditions.checkState(threads() > 0,
+                "Stream store garbage collector threads must be positive, but found %s", threads());
+        Preconditions.checkState(blockBatchSize() > 0,
+                "Stream store garbage collector block batch size must be positive, but found %s", blockBatchSize());
+    }
+
+    static StreamStoreGarbageCollectorConfig defaultConfig() {
+        return ImmutableStreamStoreGarbageCollectorConfig.builder().build();
+    }
+}
@@ -15,6 +15,8 @@
  */
 package com.palantir.atlasdb.sweep;
 
+import java.util.OptionalInt;
+
 import org.immutables.value.Value;
 
 import com.google.common.base.Preconditions;
@@ -38,10 +40,18 @@ public interface SweepBatchConfig {
      */
     int deleteBatchSize();
 
+    /**
+     * The number of cells whose latest values are loaded at once when looking for candidates to sweep under the
+     * THOROUGH sweep strategy. If absent, the key value service picks a size based on the candidate batch size.
+     */
+    OptionalInt valuesBatchSize();
+
     @Value.Check
     default void check() {
         Preconditions.checkState(maxCellTsPairsToExamine() > 0, "Number of cells to examine must be greater than zero");
         Preconditions.checkState(candidateBatchSize() > 0, "Candidate batch size must be greater than zero");
         Preconditions.checkState(deleteBatchSize() > 0, "Delete batch size must be greater than zero");
+        Preconditions.checkState(!valuesBatchSize().isPresent() || valuesBatchSize().getAsInt() > 0,
+                "Values batch size must be greater than zero");
     }
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.sweep;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.primitives.Ints;
+import com.palantir.atlasdb.keyvalue.api.SweepResults;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.logging.LoggingArgs;
+import com.palantir.atlasdb.sweep.priority.SweepPriority;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * Learns the candidate, values and delete batch sizes to use when sweeping each table.
+ * <p>
+ * Each table starts from its last persisted sizes, or else from the configured ones. After every successful
+ * iteration, all three sizes are scaled towards {@link #TARGET_BATCH_MILLIS} per batch of candidates, by at most a
+ * factor of two, and then capped so that a batch of candidates or deletes carries about {@link #MAX_BATCH_BYTES} of
+ * cell names at most, and a batch of values does not ask for more cells than a batch of candidates holds given the
+ * number of timestamps per cell. A failed iteration halves all three sizes.
+ * <p>
+ * The configured sizes still bound the learned ones: candidate and delete batch sizes are clamped to between one and
+ * {@link #MAX_GROWTH} times the configured sizes whenever they are used, so that lowering the configured sizes, or the
+ * batch size multiplier backing off after errors, takes effect immediately. A failure lowers both the learned sizes
+ * and, through the multiplier, this bound, but as the learned sizes never exceed the bound, the sizes of the failed
+ * table are only halved once. Batches of values load whole values under the thorough sweep strategy, which the byte
+ * budget does not account for, so the values batch size never exceeds the configured one, or
+ * {@link #MAX_VALUES_BATCH_SIZE} if none is configured.
+ */
+final class SweepBatchSizeController {
+    private static final Logger log = LoggerFactory.getLogger(SweepBatchSizeController.class);
+
+    @VisibleForTesting
+    static final long TARGET_BATCH_MILLIS = 1_000;
+    @VisibleForTesting
+    static final int MAX_GROWTH = 8;
+    @VisibleForTesting
+    static final long MAX_BATCH_BYTES = 16 * 1024 * 1024;
+    // The largest values batch size that the Cassandra key value service uses if none is given.
+    @VisibleForTesting
+    static final int MAX_VALUES_BATCH_SIZE = 100;
+
+    private static final double MAX_STEP = 2.0;
+    private static final int CANDIDATES_PER_DEFAULT_VALUES_BATCH = 32;
+
+    private final Map<TableReference, SweepBatchConfig> learnedConfigs = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the batch config to use for the next iteration on the given table.
+     */
+    SweepBatchConfig getBatchConfig(TableReference tableRef, SweepBatchConfig configuredConfig,
+            Supplier<Optional<SweepPriority>> persistedPriority) {
+        SweepBatchConfig learnedConfig = learnedConfigs.computeIfAbsent(tableRef,
+                unused -> fromPersistedPriority(configuredConfig, persistedPriority.get()));
+        return clamp(learnedConfig, configuredConfig);
+    }
+
+    /**
+     * Records that an iteration with the given batch config succeeded, and returns the config learned from it.
+     */
+    SweepBatchConfig recordSuccess(TableReference tableRef, SweepBatchConfig usedConfig, SweepResults results) {
+        if (results.getCellTsPairsExamined() == 0) {
+            learnedConfigs.put(tableRef, usedConfig);
+            return usedConfig;
+        }
+
+        double step = getStepTowardsTargetLatency(usedConfig, results);
+        int candidateBatchSize = scale(usedConfig.candidateBatchSize(), step);
+        int valuesBatchSize = scale(getValuesBatchSize(usedConfig), step);
+        int deleteBatchSize = scale(usedConfig.deleteBatchSize(), step);
+
+        if (results.getCellsExamined() > 0) {
+            double timestampsPerCell = (double) results.getCellTsPairsExamined() / results.getCellsExamined();
+            double nameBytesPerCell = (double) results.getCellNameBytesExamined() / results.getCellsExamined();
+            // Candidates and deletes carry the full cell name, and a timestamp, for each (cell, timestamp) pair.
+            int maxPairsPerBatch = atLeastOne(MAX_BATCH_BYTES / (nameBytesPerCell + Long.BYTES));
+            candidateBatchSize = Math.min(candidateBatchSize, maxPairsPerBatch);
+            deleteBatchSize = Math.min(deleteBatchSize, maxPairsPerBatch);
+            int cellsPerCandidateBatch = atLeastOne(candidateBatchSize / Math.max(1.0, timestampsPerCell));
+            valuesBatchSize = Math.min(valuesBatchSize, cellsPerCandidateBatch);
+        }
+
+        SweepBatchConfig learnedConfig = ImmutableSweepBatchConfig.builder()
+                .from(usedConfig)
+                .candidateBatchSize(candidateBatchSize)
+                .valuesBatchSize(valuesBatchSize)
+                .deleteBatchSize(deleteBatchSize)
+                .build();
+        learnedConfigs.put(tableRef, learnedConfig);
+        log.debug("Learned candidate batch size {}, values batch size {} and delete batch size {} for table {}"
+                        + " after sweeping {} cell+timestamp pairs in {} ms.",
+                SafeArg.of("candidateBatchSize", candidateBatchSize),
+                SafeArg.of("valuesBatchSize", valuesBatchSize),
+                SafeArg.of("deleteBatchSize", deleteBatchSize),
+                LoggingArgs.tableRef(tableRef),
+                SafeArg.of("cellTsPairsExamined", results.getCellTsPairsExamined()),
+                SafeArg.of("timeInMillis", results.getTimeInMillis()));
+        return learnedConfig;
+    }
+
+    /**
+     * Records that an iteration with the given batch config failed, halving the batch sizes for the table.
+     */
+    void recordFailure(TableReference tableRef, SweepBatchConfig usedConfig) {
+        learnedConfigs.put(tableRef, ImmutableSweepBatchConfig.builder()
+                .from(usedConfig)
+                .candidateBatchSize(scale(usedConfig.candidateBatchSize(), 1 / MAX_STEP))
+                .valuesBatchSize(scale(getValuesBatchSize(usedConfig), 1 / MAX_STEP))
+                .deleteBatchSize(scale(usedConfig.deleteBatchSize(), 1 / MAX_STEP))
+                .build());
+    }
+
+    private static double getStepTowardsTargetLatency(SweepBatchConfig usedConfig, SweepResults results) {
+        // Most of the time of an iteration is spent loading and deleting batches of candidates, so we treat each
+        // batch of candidates as taking an equal share of it.
+        long candidateBatches = (results.getCellTsPairsExamined() + usedConfig.candidateBatchSize() - 1)
+                / usedConfig.candidateBatchSize();
+        double millisPerBatch = (double) results.getTimeInMillis() / candidateBatches;
+        if (millisPerBatch <= 0) {
+            return MAX_STEP;
+        }
+        return Math.max(1 / MAX_STEP, Math.min(MAX_STEP, TARGET_BATCH_MILLIS / millisPerBatch));
+    }
+
+    private static SweepBatchConfig fromPersistedPriority(SweepBatchConfig configuredConfig,
+            Optional<SweepPriority> priority) {
+        ImmutableSweepBatchConfig.Builder learnedConfig = ImmutableSweepBatchConfig.builder().from(configuredConfig);
+        priority.ifPresent(p -> {
+            p.candidateBatchSize().ifPresent(learnedConfig::candidateBatchSize);
+            p.valuesBatchSize().ifPresent(learnedConfig::valuesBatchSize);
+            p.deleteBatchSize().ifPresent(learnedConfig::deleteBatchSize);
+        });
+        return learnedConfig.build();
+    }
+
+    private static SweepBatchConfig clamp(SweepBatchConfig learnedConfig, SweepBatchConfig configuredConfig) {
+        int candidateBatchSize = clamp(learnedConfig.candidateBatchSize(), configuredConfig.candidateBatchSize());
+        int valuesBatchSize = Math.min(getValuesBatchSize(learnedConfig),
+                configuredConfig.valuesBatchSize().orElse(MAX_VALUES_BATCH_SIZE));
+        return ImmutableSweepBatchConfig.builder()
+                .maxCellTsPairsToExamine(configuredConfig.maxCellTsPairsToExamine())
+                .candidateBatchSize(candidateBatchSize)
+                .valuesBatchSize(Math.max(1, Math.min(valuesBatchSize, candidateBatchSize)))
+                .deleteBatchSize(clamp(learnedConfig.deleteBatchSize(), configuredConfig.deleteBatchSize()))
+                .build();
+    }
+
+    private static int clamp(int learnedSize, int configuredSize) {
+        return Math.max(1, Math.min(learnedSize, Ints.saturatedCast((long) configuredSize * MAX_GROWTH)));
+    }
+
+    private static int getValuesBatchSize(SweepBatchConfig config) {
+        int defaultValuesBatchSize = Math.min(
+                MAX_VALUES_BATCH_SIZE, config.candidateBatchSize() / CANDIDATES_PER_DEFAULT_VALUES_BATCH);
+        return config.valuesBatchSize().orElse(Math.max(1, defaultValuesBatchSize));
+    }
+
+    private static int scale(int size, double step) {
+        return atLeastOne(size * step);
+    }
+
+    private static int atLeastOne(double size) {
+        return Math.max(1, Ints.saturatedCast(Math.round(size)));
+    }
+}
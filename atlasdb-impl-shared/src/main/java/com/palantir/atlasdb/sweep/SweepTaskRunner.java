@@ -185,6 +185,7 @@ public class SweepTaskRunner {
         CandidateCellForSweepingRequest request = ImmutableCandidateCellForSweepingRequest.builder()
                 .startRowInclusive(startRow)
                 .batchSizeHint(batchConfig.candidateBatchSize())
+                .valuesBatchSizeHint(batchConfig.valuesBatchSize())
                 .maxTimestampExclusive(sweepTs)
                 .shouldCheckIfLatestValueIsEmpty(sweeper.shouldSweepLastCommitted())
                 .shouldDeleteGarbageCollectionSentinels(!sweeper.shouldAddSentinels())
@@ -197,6 +198,8 @@ public class SweepTaskRunner {
             Iterator<BatchOfCellsToSweep> batchesToSweep = getBatchesToSweep(
                         candidates, batchConfig, sweepableCellFilter, limit);
             long totalCellTsPairsExamined = 0;
+            long totalCellsExamined = 0;
+            long totalCellNameBytesExamined = 0;
             long totalCellTsPairsDeleted = 0;
 
             metricsManager.ifPresent(SweepMetricsManager::resetBeforeDeleteBatch);
@@ -216,6 +219,8 @@ public class SweepTaskRunner {
 
                 long cellsExamined = batch.numCellTsPairsExamined();
                 totalCellTsPairsExamined += cellsExamined;
+                totalCellsExamined += batch.numCellsExamined();
+                totalCellNameBytesExamined += batch.cellNameBytesExamined();
 
                 metricsManager.ifPresent(manager -> manager.updateAfterDeleteBatch(cellsExamined, cellsDeleted));
 
@@ -225,6 +230,8 @@ public class SweepTaskRunner {
                     .previousStartRow(Optional.of(startRow))
                     .nextStartRow(Arrays.equals(startRow, lastRow) ? Optional.empty() : Optional.of(lastRow))
                     .cellTsPairsExamined(totalCellTsPairsExamined)
+                    .cellsExamined(totalCellsExamined)
+                    .cellNameBytesExamined(totalCellNameBytesExamined)
                     .staleValuesDeleted(totalCellTsPairsDeleted)
                     .minSweptTimestamp(sweepTs)
                     .timeInMillis(watch.elapsed(TimeUnit.MILLISECONDS))
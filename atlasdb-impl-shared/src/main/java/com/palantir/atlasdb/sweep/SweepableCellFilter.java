@@ -51,6 +51,7 @@ public class SweepableCellFilter {
         CommitTsLoader commitTss = CommitTsLoader.create(transactionService, getAllTimestamps(candidates));
         ImmutableBatchOfCellsToSweep.Builder builder = ImmutableBatchOfCellsToSweep.builder();
         long numCellTsPairsExamined = 0;
+        long cellNameBytesExamined = 0;
         Cell lastCellExamined = null;
         for (CandidateCellForSweeping candidate : candidates) {
             if (candidate.sortedTimestamps().size() > 0) {
@@ -60,9 +61,14 @@ public class SweepableCellFilter {
                 }
             }
             numCellTsPairsExamined += candidate.sortedTimestamps().size();
+            cellNameBytesExamined += candidate.cell().getRowName().length + candidate.cell().getColumnName().length;
             lastCellExamined = candidate.cell();
         }
-        return builder.numCellTsPairsExamined(numCellTsPairsExamined).lastCellExamined(lastCellExamined).build();
+        return builder.numCellTsPairsExamined(numCellTsPairsExamined)
+                .numCellsExamined(candidates.size())
+                .cellNameBytesExamined(cellNameBytesExamined)
+                .lastCellExamined(lastCellExamined)
+                .build();
     }
 
     // Decide if the candidate cell needs to be swept, and if so, for which timestamps.
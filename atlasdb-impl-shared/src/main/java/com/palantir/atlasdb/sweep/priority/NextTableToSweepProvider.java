@@ -22,6 +22,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -47,9 +48,16 @@ public class NextTableToSweepProvider {
     }
 
     public static NextTableToSweepProvider create(KeyValueService kvs, SweepPriorityStore sweepPriorityStore) {
+        return create(kvs, sweepPriorityStore, () -> false);
+    }
+
+    public static NextTableToSweepProvider create(KeyValueService kvs,
+            SweepPriorityStore sweepPriorityStore,
+            BooleanSupplier isStreamStoreGarbageCollectorEnabled) {
         SweepPriorityCalculator basicCalculator = new SweepPriorityCalculator(kvs, sweepPriorityStore);
         StreamStoreRemappingSweepPriorityCalculator streamStoreRemappingSweepPriorityCalculator =
-                new StreamStoreRemappingSweepPriorityCalculator(basicCalculator, sweepPriorityStore);
+                new StreamStoreRemappingSweepPriorityCalculator(
+                        basicCalculator, sweepPriorityStore, isStreamStoreGarbageCollectorEnabled);
 
         return new NextTableToSweepProvider(streamStoreRemappingSweepPriorityCalculator);
     }
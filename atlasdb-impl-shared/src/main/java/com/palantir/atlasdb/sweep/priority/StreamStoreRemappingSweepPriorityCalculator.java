@@ -18,6 +18,7 @@ package com.palantir.atlasdb.sweep.priority;
 
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -28,22 +29,39 @@ import com.palantir.common.annotation.Output;
 
 public class StreamStoreRemappingSweepPriorityCalculator {
     public static final long INDEX_TO_VALUE_TABLE_SLEEP_TIME = TimeUnit.MINUTES.toMillis(65);
+    public static final double GARBAGE_COLLECTED_VALUE_TABLE_PRIORITY_FACTOR = 0.1;
     private SweepPriorityCalculator delegate;
     private SweepPriorityStore sweepPriorityStore;
+    private BooleanSupplier isStreamStoreGarbageCollectorEnabled;
 
     public StreamStoreRemappingSweepPriorityCalculator(SweepPriorityCalculator delegate,
             SweepPriorityStore sweepPriorityStore) {
+        this(delegate, sweepPriorityStore, () -> false);
+    }
+
+    /**
+     * While the stream store garbage collector is enabled, it deletes the blocks of most deleted streams, so value
+     * tables are still swept (for whatever the garbage collector could not see), but at a reduced priority.
+     */
+    public StreamStoreRemappingSweepPriorityCalculator(SweepPriorityCalculator delegate,
+            SweepPriorityStore sweepPriorityStore,
+            BooleanSupplier isStreamStoreGarbageCollectorEnabled) {
         this.delegate = delegate;
         this.sweepPriorityStore = sweepPriorityStore;
+        this.isStreamStoreGarbageCollectorEnabled = isStreamStoreGarbageCollectorEnabled;
     }
 
     public Map<TableReference, Double> calculateSweepPriorityScores(Transaction tx, long conservativeSweepTs) {
         Map<TableReference, Double> scores = delegate.calculateSweepPriorityScores(tx, conservativeSweepTs);
 
         Map<TableReference, SweepPriority> tableToSweepPriority = getSweepPriorityMap(tx);
+        boolean garbageCollectorEnabled = isStreamStoreGarbageCollectorEnabled.getAsBoolean();
 
         for (TableReference table : scores.keySet()) {
             if (StreamTableType.isStreamStoreValueTable(table)) {
+                if (garbageCollectorEnabled) {
+                    scores.put(table, scores.get(table) * GARBAGE_COLLECTED_VALUE_TABLE_PRIORITY_FACTOR);
+                }
                 adjustStreamStoreScores(table, scores, tableToSweepPriority);
             }
         }
@@ -15,6 +15,7 @@
  */
 package com.palantir.atlasdb.sweep.priority;
 
+import java.util.OptionalInt;
 import java.util.OptionalLong;
 
 import org.immutables.value.Value;
@@ -36,4 +37,19 @@ public interface SweepPriority {
 
     long cellTsPairsExamined();
 
+    /**
+     * The candidate batch size that the background sweeper last learned for this table, if any.
+     */
+    OptionalInt candidateBatchSize();
+
+    /**
+     * The values batch size that the background sweeper last learned for this table, if any.
+     */
+    OptionalInt valuesBatchSize();
+
+    /**
+     * The delete batch size that the background sweeper last learned for this table, if any.
+     */
+    OptionalInt deleteBatchSize();
+
 }
@@ -18,6 +18,7 @@ package com.palantir.atlasdb.sweep.priority;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.transaction.api.Transaction;
@@ -27,6 +28,7 @@ public interface SweepPriorityStore {
     void update(Transaction tx, TableReference tableRef, UpdateSweepPriority update);
     List<SweepPriority> loadNewPriorities(Transaction tx);
     List<SweepPriority> loadOldPriorities(Transaction tx, long sweepTimestamp);
+    Optional<SweepPriority> loadPriority(Transaction tx, TableReference tableRef);
 
     default boolean isInitialized() {
         return true;
@@ -17,6 +17,8 @@ package com.palantir.atlasdb.sweep.priority;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.OptionalLong;
 
 import com.google.common.collect.Collections2;
@@ -80,6 +82,12 @@ public final class SweepPriorityStoreImpl implements SweepPriorityStore {
         return loadPriorities(tx);
     }
 
+    @Override
+    public Optional<SweepPriority> loadPriority(Transaction tx, TableReference tableRef) {
+        SweepPriorityTable table = sweepTableFactory.getSweepPriorityTable(tx);
+        return table.getRow(SweepPriorityRow.of(tableRef.getQualifiedName())).map(SweepPriorityStoreImpl::hydrate);
+    }
+
     @Override
     public void update(Transaction tx, TableReference tableRef, UpdateSweepPriority update) {
         SweepPriorityRow row = SweepPriorityRow.of(tableRef.getQualifiedName());
@@ -89,6 +97,9 @@ public final class SweepPriorityStoreImpl implements SweepPriorityStore {
         update.newLastSweepTimeMillis().ifPresent(t -> table.putLastSweepTime(row, t));
         update.newMinimumSweptTimestamp().ifPresent(t -> table.putMinimumSweptTimestamp(row, t));
         update.newWriteCount().ifPresent(c -> table.putWriteCount(row, c));
+        update.newCandidateBatchSize().ifPresent(n -> table.putCandidateBatchSize(row, (long) n));
+        update.newValuesBatchSize().ifPresent(n -> table.putValuesBatchSize(row, (long) n));
+        update.newDeleteBatchSize().ifPresent(n -> table.putDeleteBatchSize(row, (long) n));
     }
 
     @Override
@@ -116,6 +127,15 @@ public final class SweepPriorityStoreImpl implements SweepPriorityStore {
                 .minimumSweptTimestamp(rr.hasMinimumSweptTimestamp() ? rr.getMinimumSweptTimestamp() : Long.MIN_VALUE)
                 .staleValuesDeleted(rr.hasCellsDeleted() ? rr.getCellsDeleted() : 0L)
                 .cellTsPairsExamined(rr.hasCellsExamined() ? rr.getCellsExamined() : 0L)
+                .candidateBatchSize(rr.hasCandidateBatchSize()
+                        ? OptionalInt.of(Math.toIntExact(rr.getCandidateBatchSize()))
+                        : OptionalInt.empty())
+                .valuesBatchSize(rr.hasValuesBatchSize()
+                        ? OptionalInt.of(Math.toIntExact(rr.getValuesBatchSize()))
+                        : OptionalInt.empty())
+                .deleteBatchSize(rr.hasDeleteBatchSize()
+                        ? OptionalInt.of(Math.toIntExact(rr.getDeleteBatchSize()))
+                        : OptionalInt.empty())
                 .build();
     }
 
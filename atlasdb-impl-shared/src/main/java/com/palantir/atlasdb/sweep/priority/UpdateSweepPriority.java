@@ -15,6 +15,7 @@
  */
 package com.palantir.atlasdb.sweep.priority;
 
+import java.util.OptionalInt;
 import java.util.OptionalLong;
 
 import org.immutables.value.Value;
@@ -32,4 +33,10 @@ public interface UpdateSweepPriority {
 
     OptionalLong newWriteCount();
 
+    OptionalInt newCandidateBatchSize();
+
+    OptionalInt newValuesBatchSize();
+
+    OptionalInt newDeleteBatchSize();
+
 }
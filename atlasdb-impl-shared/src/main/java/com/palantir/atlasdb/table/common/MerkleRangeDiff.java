@@ -0,0 +1,266 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.table.common;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RangeRequests;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.logging.LoggingArgs;
+import com.palantir.atlasdb.transaction.api.TransactionManager;
+import com.palantir.common.base.Throwables;
+import com.palantir.common.concurrent.BlockingWorkerPool;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * Finds the row ranges in which two tables differ by comparing digests of their rows, rather than the rows
+ * themselves.
+ * <p>
+ * Each range is hashed on both sides in parallel, counting its rows and sampling evenly spaced row names on the way.
+ * Ranges whose digests match are reported as matching. Ranges that differ are split at the row names sampled from
+ * the side with more rows and hashed again, until they hold at most one batch of rows on each side, at which point
+ * they are handed to the visitor to be compared cell by cell. When the tables mostly agree, each side is read about
+ * once and only the few batches that differ are compared.
+ * <p>
+ * Rows are read in batches, each in its own transaction, as key value services cannot hash rows where they are
+ * stored.
+ */
+public final class MerkleRangeDiff {
+    /** The number of ranges that a differing range is split into by default. */
+    public static final int DEFAULT_FAN_OUT = 16;
+
+    private static final Logger log = LoggerFactory.getLogger(MerkleRangeDiff.class);
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    public enum DigestMode {
+        /** Only cell names are hashed, so ranges match if they hold the same cells, whatever their values. */
+        CELL_NAMES,
+        CELLS_AND_VALUES
+    }
+
+    public interface DigestedRangeVisitor {
+        /**
+         * Called for a range whose digests match, with the number of rows and cells in it on the plus side.
+         */
+        void matched(long rows, long cells);
+
+        /**
+         * Called for a range whose digests differ, which holds at most one batch of rows on each side.
+         */
+        void differs(MutableRange range) throws InterruptedException;
+    }
+
+    private final TransactionManager plusTxManager;
+    private final TableReference plusTable;
+    private final TransactionManager minusTxManager;
+    private final TableReference minusTable;
+    private final DigestMode digestMode;
+    private final int batchSize;
+    private final int fanOut;
+
+    public MerkleRangeDiff(TransactionManager plusTxManager,
+                           TableReference plusTable,
+                           TransactionManager minusTxManager,
+                           TableReference minusTable,
+                           DigestMode digestMode,
+                           int batchSize,
+                           int fanOut) {
+        Preconditions.checkArgument(batchSize > 0, "batchSize must be positive");
+        Preconditions.checkArgument(fanOut > 1, "fanOut must be at least 2");
+        this.plusTxManager = plusTxManager;
+        this.plusTable = plusTable;
+        this.minusTxManager = minusTxManager;
+        this.minusTable = minusTable;
+        this.digestMode = digestMode;
+        this.batchSize = batchSize;
+        this.fanOut = fanOut;
+    }
+
+    public void run(ExecutorService exec, int threadCount, DigestedRangeVisitor visitor) throws InterruptedException {
+        Preconditions.checkArgument(threadCount > 0, "threadCount must be positive");
+        List<Range> ranges = getInitialRanges(threadCount);
+        for (int level = 0; !ranges.isEmpty(); level++) {
+            RangeDigest[] plusDigests = new RangeDigest[ranges.size()];
+            RangeDigest[] minusDigests = new RangeDigest[ranges.size()];
+            BlockingWorkerPool pool = new BlockingWorkerPool(exec, threadCount);
+            for (int i = 0; i < ranges.size(); i++) {
+                Range range = ranges.get(i);
+                int index = i;
+                pool.submitTask(() -> plusDigests[index] = digest(plusTxManager, plusTable, range));
+                pool.submitTask(() -> minusDigests[index] = digest(minusTxManager, minusTable, range));
+            }
+            pool.waitForSubmittedTasks();
+
+            List<Range> differingRanges = Lists.newArrayList();
+            List<Range> nextRanges = Lists.newArrayList();
+            for (int i = 0; i < ranges.size(); i++) {
+                RangeDigest plus = plusDigests[i];
+                RangeDigest minus = minusDigests[i];
+                if (plus.matches(minus)) {
+                    visitor.matched(plus.rows, plus.cells);
+                } else if (Math.max(plus.rows, minus.rows) <= batchSize) {
+                    differingRanges.add(ranges.get(i));
+                } else {
+                    RangeDigest larger = plus.rows >= minus.rows ? plus : minus;
+                    nextRanges.addAll(ranges.get(i).split(larger.sampledRows));
+                }
+            }
+            log.info("Compared digests of {} ranges of {} and {} at level {}: {} ranges to compare, {} to split.",
+                    SafeArg.of("ranges", ranges.size()),
+                    LoggingArgs.tableRef("plusTable", plusTable),
+                    LoggingArgs.tableRef("minusTable", minusTable),
+                    SafeArg.of("level", level),
+                    SafeArg.of("differingRanges", differingRanges.size()),
+                    SafeArg.of("rangesToSplit", nextRanges.size()));
+
+            for (Range range : differingRanges) {
+                pool.submitTask(() -> {
+                    try {
+                        visitor.differs(new MutableRange(range.start, range.end, batchSize));
+                    } catch (InterruptedException e) {
+                        throw Throwables.rewrapAndThrowUncheckedException(e);
+                    }
+                });
+            }
+            pool.waitForSubmittedTasks();
+            ranges = nextRanges;
+        }
+    }
+
+    private RangeDigest digest(TransactionManager txManager, TableReference table, Range range) {
+        RangeDigest digest = new RangeDigest();
+        byte[] startRow = range.start;
+        while (startRow != null) {
+            RangeRequest request = RangeRequest.builder()
+                    .startRowInclusive(startRow)
+                    .endRowExclusive(range.end)
+                    .batchHint(batchSize)
+                    .build();
+            List<RowResult<byte[]>> batch = txManager.runTaskWithRetry(tx -> {
+                List<RowResult<byte[]>> rows = Lists.newArrayListWithCapacity(batchSize);
+                tx.getRange(table, request).batchAccept(batchSize, rowBatch -> {
+                    rows.addAll(rowBatch);
+                    return false;
+                });
+                return rows;
+            });
+            batch.forEach(digest::add);
+            if (batch.size() < batchSize) {
+                startRow = null;
+            } else {
+                byte[] lastRow = batch.get(batch.size() - 1).getRowName();
+                startRow = RangeRequests.isLastRowName(lastRow) ? null : RangeRequests.nextLexicographicName(lastRow);
+            }
+        }
+        return digest;
+    }
+
+    private static List<Range> getInitialRanges(int threadCount) {
+        int rangeCount = Math.min(threadCount, 256);
+        if (rangeCount == 1) {
+            return ImmutableList.of(new Range(new byte[0], new byte[0]));
+        }
+        List<byte[]> boundaries = Lists.newArrayListWithCapacity(rangeCount - 1);
+        for (int i = 1; i < rangeCount; i++) {
+            boundaries.add(new byte[] {(byte) (i * 256 / rangeCount)});
+        }
+        return new Range(new byte[0], new byte[0]).split(boundaries);
+    }
+
+    private final class RangeDigest {
+        private final Hasher hasher = HASH_FUNCTION.newHasher();
+        private List<byte[]> sampledRows = Lists.newArrayList();
+        private long sampleStride = 1;
+        private long rows;
+        private long cells;
+        private HashCode hash;
+
+        void add(RowResult<byte[]> row) {
+            byte[] rowName = row.getRowName();
+            if (rows > 0 && rows % sampleStride == 0) {
+                sampledRows.add(rowName);
+                // Keep between fanOut and 2 * fanOut samples, so that a range splits into about fanOut ranges.
+                if (sampledRows.size() > 2 * fanOut) {
+                    List<byte[]> halved = Lists.newArrayListWithCapacity(fanOut + 1);
+                    for (int i = 1; i < sampledRows.size(); i += 2) {
+                        halved.add(sampledRows.get(i));
+                    }
+                    sampledRows = halved;
+                    sampleStride *= 2;
+                }
+            }
+            rows++;
+
+            hasher.putInt(rowName.length).putBytes(rowName);
+            for (Map.Entry<byte[], byte[]> column : row.getColumns().entrySet()) {
+                hasher.putInt(column.getKey().length).putBytes(column.getKey());
+                if (digestMode == DigestMode.CELLS_AND_VALUES) {
+                    hasher.putInt(column.getValue().length).putBytes(column.getValue());
+                }
+                cells++;
+            }
+        }
+
+        boolean matches(RangeDigest other) {
+            return rows == other.rows && cells == other.cells && hash().equals(other.hash());
+        }
+
+        private HashCode hash() {
+            if (hash == null) {
+                hash = hasher.hash();
+            }
+            return hash;
+        }
+    }
+
+    private static final class Range {
+        private final byte[] start;
+        private final byte[] end;
+
+        Range(byte[] start, byte[] end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * Splits this range at the given boundaries, which must be sorted and lie strictly within this range.
+         */
+        List<Range> split(List<byte[]> boundaries) {
+            List<Range> ranges = Lists.newArrayListWithCapacity(boundaries.size() + 1);
+            byte[] rangeStart = start;
+            for (byte[] boundary : boundaries) {
+                ranges.add(new Range(rangeStart, boundary));
+                rangeStart = boundary;
+            }
+            ranges.add(new Range(rangeStart, end));
+            return ranges;
+        }
+    }
+}
@@ -43,6 +43,8 @@ import com.palantir.atlasdb.keyvalue.api.RangeRequests;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.logging.LoggingArgs;
+import com.palantir.atlasdb.table.common.MerkleRangeDiff.DigestMode;
+import com.palantir.atlasdb.table.common.MerkleRangeDiff.DigestedRangeVisitor;
 import com.palantir.atlasdb.transaction.api.Transaction;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
 import com.palantir.common.annotation.Inclusive;
@@ -118,6 +120,37 @@ public final class TableTasks {
                 SafeArg.of("timeTaken", System.currentTimeMillis() - startTime));
     }
 
+    /**
+     * Copies only the ranges of rows of srcTable whose cells or values differ from those of dstTable, finding them by
+     * comparing digests of both tables (see {@link MerkleRangeDiff}). As with {@link #copy}, cells that are only in
+     * dstTable are left alone.
+     */
+    public static void copyChangedRanges(
+            TransactionManager txManager,
+            ExecutorService exec,
+            TableReference srcTable,
+            TableReference dstTable,
+            int batchSize,
+            int threadCount,
+            @Output CopyStats stats) throws InterruptedException {
+        CopyTask task = (request, range) ->
+                txManager.runTaskWithRetry(tx -> copyInternal(tx, srcTable, dstTable, request, range));
+        new MerkleRangeDiff(txManager, srcTable, txManager, dstTable, DigestMode.CELLS_AND_VALUES, batchSize,
+                MerkleRangeDiff.DEFAULT_FAN_OUT).run(exec, threadCount, new DigestedRangeVisitor() {
+                    @Override
+                    public void matched(long rows, long cells) {
+                        // nothing to copy
+                    }
+
+                    @Override
+                    public void differs(MutableRange range) throws InterruptedException {
+                        do {
+                            executeCopyTask(srcTable, dstTable, stats, task, range);
+                        } while (!range.isComplete());
+                    }
+                });
+    }
+
     private static PartialCopyStats copyInternal(final Transaction transaction,
                                                  final TableReference srcTable,
                                                  final TableReference dstTable,
@@ -184,6 +217,39 @@ public final class TableTasks {
                                 diffInternal(t, plusTable, minusTable, request, range, strategy, visitor)));
     }
 
+    /**
+     * Like {@link #diff(TransactionManager, ExecutorService, TableReference, TableReference, int, int, DiffStats,
+     * DiffVisitor)}, but only compares cell by cell the ranges of rows whose digests differ between the two tables
+     * (see {@link MerkleRangeDiff}). When the tables mostly hold the same cells, each is read about once.
+     */
+    public static void diffByDigest(final TransactionManager txManager,
+                                    ExecutorService exec,
+                                    final TableReference plusTable,
+                                    final TableReference minusTable,
+                                    int batchSize,
+                                    int threadCount,
+                                    @Output DiffStats stats,
+                                    final DiffVisitor visitor) throws InterruptedException {
+        DiffTask task = (request, range, strategy) -> txManager.runTaskWithRetry(t ->
+                diffInternal(t, plusTable, minusTable, request, range, strategy, visitor));
+        new MerkleRangeDiff(txManager, plusTable, txManager, minusTable, DigestMode.CELL_NAMES, batchSize,
+                MerkleRangeDiff.DEFAULT_FAN_OUT).run(exec, threadCount, new DigestedRangeVisitor() {
+                    @Override
+                    public void matched(long rows, long cells) {
+                        stats.rowsCompletelyInCommon.addAndGet(rows);
+                        stats.rowsVisited.addAndGet(rows);
+                        stats.cellsInCommon.addAndGet(cells);
+                    }
+
+                    @Override
+                    public void differs(MutableRange range) throws InterruptedException {
+                        do {
+                            executeDiffTask(DiffStrategy.RANGE, plusTable, minusTable, stats, task, range);
+                        } while (!range.isComplete());
+                    }
+                });
+    }
+
     /**
      * Deprecated.
      * @deprecated Use {@link #diff(TransactionManager, ExecutorService, TableReference, TableReference,
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.impl;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codahale.metrics.Histogram;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.logging.LoggingArgs;
+import com.palantir.atlasdb.logging.LoggingArgs.SafeAndUnsafeTableReferences;
+import com.palantir.atlasdb.transaction.impl.CommitPhaseTimer.Phase;
+import com.palantir.atlasdb.util.MetricsManager;
+import com.palantir.atlasdb.util.StripedHdrReservoir;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * Aggregates the {@link CommitPhaseTimer}s of committed transactions into per-phase latency histograms (in
+ * microseconds) for each set of tables written to, and logs the phase breakdown of commits that took longer than
+ * {@link #setSlowCommitLogThresholdMillis the slow commit threshold}.
+ * <p>
+ * To bound the number of metrics, only the first {@link #MAX_TABLE_SETS} table sets of at most
+ * {@link #MAX_TABLES_PER_SET} tables get their own histograms; all other commits are recorded under
+ * {@link #OTHER_TABLE_SETS}.
+ */
+public final class CommitPhaseMetrics {
+    public static final String SLOW_LOGGER_NAME = "slow-commit-log";
+
+    @VisibleForTesting
+    static final int MAX_TABLE_SETS = 64;
+    @VisibleForTesting
+    static final int MAX_TABLES_PER_SET = 4;
+    @VisibleForTesting
+    static final String OTHER_TABLE_SETS = "otherTableSets";
+
+    private static volatile long slowCommitLogThresholdNanos = 0L;
+
+    private final MetricsManager metricsManager;
+    private final Logger slowLogger;
+    private final ConcurrentMap<Set<TableReference>, List<Histogram>> histogramsByTableSet = Maps.newConcurrentMap();
+    private volatile List<Histogram> otherTableSetsHistograms;
+
+    CommitPhaseMetrics(MetricsManager metricsManager) {
+        this(metricsManager, LoggerFactory.getLogger(SLOW_LOGGER_NAME));
+    }
+
+    @VisibleForTesting
+    CommitPhaseMetrics(MetricsManager metricsManager, Logger slowLogger) {
+        this.metricsManager = metricsManager;
+        this.slowLogger = slowLogger;
+    }
+
+    /**
+     * Sets the total commit time in millis above which the phases of a commit are logged to the
+     * {@value #SLOW_LOGGER_NAME} logger. Zero, the default, disables the slow commit log.
+     */
+    public static void setSlowCommitLogThresholdMillis(long thresholdMillis) {
+        slowCommitLogThresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    void record(Set<TableReference> tableRefs, CommitPhaseTimer timer, long startTimestamp, long commitTimestamp) {
+        List<Histogram> histograms = getHistograms(tableRefs);
+        for (int i = 0; i < Phase.ALL.size(); i++) {
+            Phase phase = Phase.ALL.get(i);
+            histograms.get(i).update(TimeUnit.NANOSECONDS.toMicros(timer.getNanos(phase)));
+        }
+
+        long thresholdNanos = slowCommitLogThresholdNanos;
+        if (thresholdNanos > 0 && timer.getTotalNanos() >= thresholdNanos && slowLogger.isWarnEnabled()) {
+            logSlowCommit(tableRefs, timer, startTimestamp, commitTimestamp);
+        }
+    }
+
+    private List<Histogram> getHistograms(Set<TableReference> tableRefs) {
+        List<Histogram> histograms = histogramsByTableSet.get(tableRefs);
+        if (histograms != null) {
+            return histograms;
+        }
+        if (tableRefs.size() > MAX_TABLES_PER_SET || histogramsByTableSet.size() >= MAX_TABLE_SETS) {
+            return getOtherTableSetsHistograms();
+        }
+        Set<TableReference> key = ImmutableSet.copyOf(tableRefs);
+        return histogramsByTableSet.computeIfAbsent(key, unused -> registerHistograms(metricName ->
+                metricsManager.registerOrGetHistogramForTables(
+                        CommitPhaseMetrics.class, metricName, key, StripedHdrReservoir::new)));
+    }
+
+    private List<Histogram> getOtherTableSetsHistograms() {
+        if (otherTableSetsHistograms == null) {
+            otherTableSetsHistograms = registerHistograms(metricName -> metricsManager.registerOrGetHistogram(
+                    CommitPhaseMetrics.class, OTHER_TABLE_SETS, metricName, StripedHdrReservoir::new));
+        }
+        return otherTableSetsHistograms;
+    }
+
+    private static List<Histogram> registerHistograms(Function<String, Histogram> register) {
+        List<Histogram> histograms = Lists.newArrayListWithCapacity(Phase.ALL.size());
+        for (Phase phase : Phase.ALL) {
+            histograms.add(register.apply(phase.metricName() + "Micros"));
+        }
+        return histograms;
+    }
+
+    private void logSlowCommit(Set<TableReference> tableRefs, CommitPhaseTimer timer, long startTimestamp,
+            long commitTimestamp) {
+        SafeAndUnsafeTableReferences loggableTableRefs = LoggingArgs.tableRefs(tableRefs);
+        List<Object> args = Lists.newArrayList();
+        StringBuilder message = new StringBuilder("Commit of transaction with start ts {} and commit ts {} took {} ms"
+                + " (");
+        args.add(SafeArg.of("startTs", startTimestamp));
+        args.add(SafeArg.of("commitTs", commitTimestamp));
+        args.add(SafeArg.of("millis", TimeUnit.NANOSECONDS.toMillis(timer.getTotalNanos())));
+        for (Phase phase : Phase.ALL) {
+            message.append(phase.metricName()).append(" {} ms, ");
+            args.add(SafeArg.of(phase.metricName() + "Millis", timer.getMillis(phase)));
+        }
+        message.append("tables: {}, {}).");
+        args.add(loggableTableRefs.safeTableRefs());
+        args.add(loggableTableRefs.unsafeTableRefs());
+        slowLogger.warn(message.toString(), args.toArray());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.impl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Times the consecutive phases of a single {@link SnapshotTransaction} commit. Each call to {@link #lap} attributes
+ * the time since the previous lap to the given phase, so a commit only reads the clock once per phase and allocates
+ * nothing beyond this object.
+ */
+final class CommitPhaseTimer {
+    enum Phase {
+        ACQUIRE_LOCKS("acquireLocks"),
+        CHECK_WRITE_WRITE_CONFLICTS("checkWriteWriteConflicts"),
+        WRITE("write"),
+        GET_COMMIT_TIMESTAMP("getCommitTimestamp"),
+        PUNCH("punch"),
+        CHECK_READ_WRITE_CONFLICTS("checkReadWriteConflicts"),
+        REFRESH_LOCKS("refreshLocks"),
+        PUT_COMMIT_TIMESTAMP("putCommitTimestamp"),
+        ENQUEUE_FOR_SWEEP("enqueueForSweep"),
+        UNLOCK("unlock");
+
+        static final List<Phase> ALL = ImmutableList.copyOf(values());
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        String metricName() {
+            return metricName;
+        }
+    }
+
+    private final long[] phaseNanos = new long[Phase.ALL.size()];
+    private final long startNanos;
+    private long lapStartNanos;
+
+    CommitPhaseTimer() {
+        this.startNanos = System.nanoTime();
+        this.lapStartNanos = startNanos;
+    }
+
+    void lap(Phase phase) {
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - lapStartNanos;
+        lapStartNanos = now;
+    }
+
+    long getNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    long getMillis(Phase phase) {
+        return TimeUnit.NANOSECONDS.toMillis(getNanos(phase));
+    }
+
+    long getTotalNanos() {
+        return lapStartNanos - startNanos;
+    }
+}
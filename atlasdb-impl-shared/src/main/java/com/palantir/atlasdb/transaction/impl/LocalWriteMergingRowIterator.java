@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.impl;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SortedMap;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Maps;
+import com.google.common.collect.PeekingIterator;
+import com.google.common.primitives.UnsignedBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+
+/**
+ * Merges rows read from the key value service with a transaction's local writes, in ascending row order. Local
+ * writes take precedence over values read, and empty values (which represent deletes) are removed, as are rows that
+ * are left with no columns.
+ * <p>
+ * Rows with no local writes are returned as they are, rather than being copied. Local writes are read from the
+ * write buffer as the merge reaches them, rather than being grouped into rows up front, and each row with local
+ * writes is built exactly once.
+ */
+final class LocalWriteMergingRowIterator extends AbstractIterator<RowResult<byte[]>> {
+    private static final Comparator<byte[]> COMPARATOR = UnsignedBytes.lexicographicalComparator();
+
+    private final Iterator<RowResult<byte[]>> kvsRows;
+    private final PeekingIterator<Map.Entry<Cell, byte[]>> localWrites;
+
+    @Nullable
+    private RowResult<byte[]> nextKvsRow;
+    @Nullable
+    private byte[] nextKvsRowName;
+
+    LocalWriteMergingRowIterator(
+            Iterator<RowResult<byte[]>> kvsRows,
+            Iterator<Map.Entry<Cell, byte[]>> localWrites) {
+        this.kvsRows = kvsRows;
+        this.localWrites = Iterators.peekingIterator(localWrites);
+    }
+
+    @Override
+    protected RowResult<byte[]> computeNext() {
+        while (hasNextKvsRow() || localWrites.hasNext()) {
+            RowResult<byte[]> row = mergeNextRow();
+            if (row != null) {
+                return row;
+            }
+        }
+        return endOfData();
+    }
+
+    @Nullable
+    private RowResult<byte[]> mergeNextRow() {
+        if (!localWrites.hasNext()) {
+            return withoutEmptyValues(takeNextKvsRow());
+        }
+
+        byte[] localRowName = localWrites.peek().getKey().getRowName();
+        if (!hasNextKvsRow()) {
+            return mergeLocalWritesForRow(localRowName, ImmutableSortedMap.of());
+        }
+
+        int comparison = COMPARATOR.compare(nextKvsRowName, localRowName);
+        if (comparison < 0) {
+            return withoutEmptyValues(takeNextKvsRow());
+        } else if (comparison > 0) {
+            return mergeLocalWritesForRow(localRowName, ImmutableSortedMap.of());
+        } else {
+            byte[] rowName = nextKvsRowName;
+            return mergeLocalWritesForRow(rowName, takeNextKvsRow().getColumns());
+        }
+    }
+
+    private boolean hasNextKvsRow() {
+        if (nextKvsRow == null && kvsRows.hasNext()) {
+            nextKvsRow = kvsRows.next();
+            nextKvsRowName = nextKvsRow.getRowName();
+        }
+        return nextKvsRow != null;
+    }
+
+    private RowResult<byte[]> takeNextKvsRow() {
+        RowResult<byte[]> row = nextKvsRow;
+        nextKvsRow = null;
+        nextKvsRowName = null;
+        return row;
+    }
+
+    /**
+     * Consumes the local writes for the given row, and merges them with the columns read for it, which must be
+     * sorted with the bytes comparator.
+     */
+    @Nullable
+    private RowResult<byte[]> mergeLocalWritesForRow(byte[] rowName, SortedMap<byte[], byte[]> kvsColumns) {
+        ImmutableSortedMap.Builder<byte[], byte[]> columns = ImmutableSortedMap.orderedBy(COMPARATOR);
+        PeekingIterator<Map.Entry<byte[], byte[]>> kvsEntries =
+                Iterators.peekingIterator(kvsColumns.entrySet().iterator());
+
+        while (localWrites.hasNext() && Arrays.equals(localWrites.peek().getKey().getRowName(), rowName)) {
+            Map.Entry<Cell, byte[]> write = localWrites.next();
+            byte[] columnName = write.getKey().getColumnName();
+
+            while (kvsEntries.hasNext() && COMPARATOR.compare(kvsEntries.peek().getKey(), columnName) < 0) {
+                putIfNotEmpty(columns, kvsEntries.next());
+            }
+            if (kvsEntries.hasNext() && COMPARATOR.compare(kvsEntries.peek().getKey(), columnName) == 0) {
+                kvsEntries.next();
+            }
+            putIfNotEmpty(columns, Maps.immutableEntry(columnName, write.getValue()));
+        }
+        while (kvsEntries.hasNext()) {
+            putIfNotEmpty(columns, kvsEntries.next());
+        }
+
+        SortedMap<byte[], byte[]> merged = columns.build();
+        return merged.isEmpty() ? null : RowResult.create(rowName, merged);
+    }
+
+    private static void putIfNotEmpty(ImmutableSortedMap.Builder<byte[], byte[]> columns,
+            Map.Entry<byte[], byte[]> entry) {
+        if (entry.getValue().length != 0) {
+            columns.put(entry);
+        }
+    }
+
+    @Nullable
+    private static RowResult<byte[]> withoutEmptyValues(RowResult<byte[]> row) {
+        if (row.getColumns().isEmpty()) {
+            return null;
+        }
+        for (byte[] value : row.getColumns().values()) {
+            if (value.length == 0) {
+                SortedMap<byte[], byte[]> nonEmptyColumns = Maps.filterValues(row.getColumns(), v -> v.length != 0);
+                return nonEmptyColumns.isEmpty() ? null : RowResult.create(row.getRowName(), nonEmptyColumns);
+            }
+        }
+        return row;
+    }
+}
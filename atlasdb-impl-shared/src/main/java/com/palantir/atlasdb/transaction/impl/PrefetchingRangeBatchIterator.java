@@ -0,0 +1,267 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.impl;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.concurrent.GuardedBy;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.util.concurrent.Futures;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.common.base.Throwables;
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.common.concurrent.PTExecutors;
+
+/**
+ * Fetches the batches of a transactional range scan ahead of the consumer, and post-filters each batch in parallel
+ * with the fetch of the next one. Batches are returned in order.
+ * <p>
+ * Fetching pauses whenever the batches that have been fetched but not yet returned take up more than the given
+ * number of bytes, so at most one batch beyond that budget is ever held. Once the iterator is closed no further
+ * batches are fetched, and the underlying iterator is closed by the fetching thread when it stops.
+ * <p>
+ * The threads shared by all prefetching range scans are bounded. A scan that cannot get a fetching thread fetches and
+ * post-filters its batches on the consuming thread instead, and a batch that cannot get a post-filtering thread is
+ * post-filtered by the fetching thread.
+ */
+final class PrefetchingRangeBatchIterator<T> extends AbstractIterator<SortedMap<Cell, T>> implements AutoCloseable {
+    private static final int MAX_PREFETCH_THREADS = 4 * Runtime.getRuntime().availableProcessors();
+    private static final ExecutorService PREFETCH_EXECUTOR = PTExecutors.newThreadPoolExecutor(
+            0, MAX_PREFETCH_THREADS,
+            1, TimeUnit.MINUTES,
+            new SynchronousQueue<>(),
+            new NamedThreadFactory("range-scan-prefetch", true /* isDaemon */));
+
+    private final ExecutorService executor;
+
+    private final BatchSizeIncreasingIterator<RowResult<Value>> results;
+    private final Function<List<RowResult<Value>>, SortedMap<Cell, T>> postFilter;
+    private final long budgetBytes;
+    private final Queue<Integer> notDeletedCorrections = new ConcurrentLinkedQueue<>();
+    private final boolean prefetching;
+
+    @GuardedBy("this")
+    private final Queue<FetchedBatch<T>> batches = new ArrayDeque<>();
+    @GuardedBy("this")
+    private long bytesFetched = 0;
+    @GuardedBy("this")
+    private boolean fetchingDone = false;
+    @GuardedBy("this")
+    private Throwable fetchFailure;
+    @GuardedBy("this")
+    private boolean closed = false;
+
+    PrefetchingRangeBatchIterator(
+            BatchSizeIncreasingIterator<RowResult<Value>> results,
+            Function<List<RowResult<Value>>, SortedMap<Cell, T>> postFilter,
+            long budgetBytes) {
+        this(results, postFilter, budgetBytes, PREFETCH_EXECUTOR);
+    }
+
+    @VisibleForTesting
+    PrefetchingRangeBatchIterator(
+            BatchSizeIncreasingIterator<RowResult<Value>> results,
+            Function<List<RowResult<Value>>, SortedMap<Cell, T>> postFilter,
+            long budgetBytes,
+            ExecutorService executor) {
+        this.results = results;
+        this.postFilter = postFilter;
+        this.budgetBytes = budgetBytes;
+        this.executor = executor;
+        this.prefetching = startFetching();
+    }
+
+    private boolean startFetching() {
+        try {
+            executor.execute(this::fetchBatches);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    @Override
+    protected SortedMap<Cell, T> computeNext() {
+        if (!prefetching) {
+            return fetchAndPostFilterBatch();
+        }
+        FetchedBatch<T> batch = takeNextBatch();
+        if (batch == null) {
+            return endOfData();
+        }
+        try {
+            return batch.postFiltered.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        } catch (ExecutionException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e.getCause());
+        }
+    }
+
+    private SortedMap<Cell, T> fetchAndPostFilterBatch() {
+        List<RowResult<Value>> batch = results.getBatch();
+        if (batch.isEmpty()) {
+            results.close();
+            return endOfData();
+        }
+        SortedMap<Cell, T> rows = postFilter.apply(batch);
+        results.markNumResultsNotDeleted(Cells.getRows(rows.keySet()).size());
+        return rows;
+    }
+
+    private synchronized FetchedBatch<T> takeNextBatch() {
+        try {
+            while (batches.isEmpty() && !fetchingDone) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        }
+        FetchedBatch<T> batch = batches.poll();
+        if (batch != null) {
+            bytesFetched -= batch.sizeInBytes;
+            notifyAll();
+            return batch;
+        }
+        if (fetchFailure != null) {
+            throw Throwables.rewrapAndThrowUncheckedException(fetchFailure);
+        }
+        return null;
+    }
+
+    private void fetchBatches() {
+        try {
+            while (awaitBudget()) {
+                Integer correction;
+                while ((correction = notDeletedCorrections.poll()) != null) {
+                    results.markNumResultsNotDeleted(correction);
+                }
+
+                List<RowResult<Value>> batch = results.getBatch();
+                // Assume that nothing was deleted until post-filtering says otherwise, so that batches which are
+                // still being post-filtered do not look deleted and make the next batch needlessly large.
+                results.markNumResultsNotDeleted(batch.size());
+                Future<SortedMap<Cell, T>> postFiltered = submitPostFilter(batch);
+                if (!addBatch(new FetchedBatch<>(postFiltered, approximateSizeOf(batch)), batch.isEmpty())) {
+                    postFiltered.cancel(false);
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+            }
+        } catch (Throwable t) {
+            synchronized (this) {
+                fetchFailure = t;
+            }
+        } finally {
+            synchronized (this) {
+                fetchingDone = true;
+                notifyAll();
+            }
+            results.close();
+        }
+    }
+
+    private Future<SortedMap<Cell, T>> submitPostFilter(List<RowResult<Value>> batch) {
+        try {
+            return executor.submit(() -> postFilterAndCorrect(batch));
+        } catch (RejectedExecutionException e) {
+            try {
+                return Futures.immediateFuture(postFilterAndCorrect(batch));
+            } catch (RuntimeException | Error t) {
+                return Futures.immediateFailedFuture(t);
+            }
+        }
+    }
+
+    private SortedMap<Cell, T> postFilterAndCorrect(List<RowResult<Value>> batch) {
+        SortedMap<Cell, T> rows = postFilter.apply(batch);
+        notDeletedCorrections.add(Cells.getRows(rows.keySet()).size() - batch.size());
+        return rows;
+    }
+
+    private synchronized boolean awaitBudget() throws InterruptedException {
+        while (!closed && bytesFetched >= budgetBytes) {
+            wait();
+        }
+        return !closed;
+    }
+
+    private synchronized boolean addBatch(FetchedBatch<T> batch, boolean isLast) {
+        if (closed) {
+            return false;
+        }
+        batches.add(batch);
+        bytesFetched += batch.sizeInBytes;
+        fetchingDone = isLast;
+        notifyAll();
+        return true;
+    }
+
+    private static long approximateSizeOf(List<RowResult<Value>> batch) {
+        long size = 0;
+        for (RowResult<Value> row : batch) {
+            for (Map.Entry<byte[], Value> column : row.getColumns().entrySet()) {
+                size += column.getKey().length + column.getValue().getContents().length
+                        + TransactionConstants.APPROX_IN_MEM_CELL_OVERHEAD_BYTES;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void close() {
+        if (!prefetching) {
+            results.close();
+            return;
+        }
+        synchronized (this) {
+            closed = true;
+            batches.forEach(batch -> batch.postFiltered.cancel(false));
+            batches.clear();
+            notifyAll();
+        }
+    }
+
+    private static final class FetchedBatch<T> {
+        private final Future<SortedMap<Cell, T>> postFiltered;
+        private final long sizeInBytes;
+
+        private FetchedBatch(Future<SortedMap<Cell, T>> postFiltered, long sizeInBytes) {
+            this.postFiltered = postFiltered;
+            this.sizeInBytes = sizeInBytes;
+        }
+    }
+}
@@ -49,6 +49,7 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
 import com.google.common.primitives.UnsignedBytes;
+import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.cache.TimestampCache;
 import com.palantir.atlasdb.cleaner.Cleaner;
 import com.palantir.atlasdb.cleaner.NoOpCleaner;
@@ -123,6 +124,48 @@ public class SerializableTransaction extends SnapshotTransaction {
                                    ExecutorService getRangesExecutor,
                                    int defaultGetRangesConcurrency,
                                    MultiTableSweepQueueWriter sweepQueue) {
+        this(keyValueService,
+             timelockService,
+             transactionService,
+             cleaner,
+             startTimeStamp,
+             conflictDetectionManager,
+             sweepStrategyManager,
+             immutableTimestamp,
+             immutableTsLock,
+             preCommitCondition,
+             constraintCheckingMode,
+             transactionTimeoutMillis,
+             readSentinelBehavior,
+             allowHiddenTableAccess,
+             timestampCache,
+             lockAcquireTimeoutMs,
+             getRangesExecutor,
+             defaultGetRangesConcurrency,
+             AtlasDbConstants.DEFAULT_RANGE_SCAN_PREFETCH_BYTES,
+             sweepQueue);
+    }
+
+    public SerializableTransaction(KeyValueService keyValueService,
+                                   TimelockService timelockService,
+                                   TransactionService transactionService,
+                                   Cleaner cleaner,
+                                   Supplier<Long> startTimeStamp,
+                                   ConflictDetectionManager conflictDetectionManager,
+                                   SweepStrategyManager sweepStrategyManager,
+                                   long immutableTimestamp,
+                                   Optional<LockToken> immutableTsLock,
+                                   PreCommitCondition preCommitCondition,
+                                   AtlasDbConstraintCheckingMode constraintCheckingMode,
+                                   Long transactionTimeoutMillis,
+                                   TransactionReadSentinelBehavior readSentinelBehavior,
+                                   boolean allowHiddenTableAccess,
+                                   TimestampCache timestampCache,
+                                   long lockAcquireTimeoutMs,
+                                   ExecutorService getRangesExecutor,
+                                   int defaultGetRangesConcurrency,
+                                   long rangeScanPrefetchBytes,
+                                   MultiTableSweepQueueWriter sweepQueue) {
         super(keyValueService,
               timelockService,
               transactionService,
@@ -141,6 +184,7 @@ public class SerializableTransaction extends SnapshotTransaction {
               lockAcquireTimeoutMs,
               getRangesExecutor,
               defaultGetRangesConcurrency,
+              rangeScanPrefetchBytes,
               sweepQueue);
     }
 
@@ -718,6 +762,7 @@ public class SerializableTransaction extends SnapshotTransaction {
                 lockAcquireTimeoutMs,
                 getRangesExecutor,
                 defaultGetRangesConcurrency,
+                rangeScanPrefetchBytes,
                 MultiTableSweepQueueWriter.NO_OP) {
             @Override
             protected Map<Long, Long> getCommitTimestamps(TableReference tableRef,
@@ -185,7 +185,7 @@ public class SerializableTransactionManager extends SnapshotTransactionManager {
     // TODO(ssouza): it's hard to change the interface of STM with this.
     // We should extract interfaces and delete this hack.
     protected SerializableTransactionManager() {
-        this(null, null, null, null, null, null, null, null, null, () -> 1L, false, null, 1, 1,
+        this(null, null, null, null, null, null, null, null, null, () -> 1L, false, null, () -> 0L, 1, 1,
                 MultiTableSweepQueueWriter.NO_OP);
     }
 
@@ -206,6 +206,45 @@ public class SerializableTransactionManager extends SnapshotTransactionManager {
             Supplier<Long> timestampCacheSize,
             MultiTableSweepQueueWriter sweepQueueWriter,
             Callback<SerializableTransactionManager> callback) {
+        return create(
+                keyValueService,
+                timelockService,
+                lockService,
+                transactionService,
+                constraintModeSupplier,
+                conflictDetectionManager,
+                sweepStrategyManager,
+                cleaner,
+                initializationPrerequisite,
+                allowHiddenTableAccess,
+                lockAcquireTimeoutMs,
+                () -> AtlasDbConstants.DEFAULT_RANGE_SCAN_PREFETCH_BYTES,
+                concurrentGetRangesThreadPoolSize,
+                defaultGetRangesConcurrency,
+                initializeAsync,
+                timestampCacheSize,
+                sweepQueueWriter,
+                callback);
+    }
+
+    public static SerializableTransactionManager create(KeyValueService keyValueService,
+            TimelockService timelockService,
+            LockService lockService,
+            TransactionService transactionService,
+            Supplier<AtlasDbConstraintCheckingMode> constraintModeSupplier,
+            ConflictDetectionManager conflictDetectionManager,
+            SweepStrategyManager sweepStrategyManager,
+            Cleaner cleaner,
+            Supplier<Boolean> initializationPrerequisite,
+            boolean allowHiddenTableAccess,
+            Supplier<Long> lockAcquireTimeoutMs,
+            Supplier<Long> rangeScanPrefetchBytes,
+            int concurrentGetRangesThreadPoolSize,
+            int defaultGetRangesConcurrency,
+            boolean initializeAsync,
+            Supplier<Long> timestampCacheSize,
+            MultiTableSweepQueueWriter sweepQueueWriter,
+            Callback<SerializableTransactionManager> callback) {
         TimestampTracker timestampTracker = TimestampTrackerImpl.createWithDefaultTrackers(
                 timelockService, cleaner, initializeAsync);
         SerializableTransactionManager serializableTransactionManager = new SerializableTransactionManager(
@@ -221,6 +260,7 @@ public class SerializableTransactionManager extends SnapshotTransactionManager {
                 timestampCacheSize,
                 allowHiddenTableAccess,
                 lockAcquireTimeoutMs,
+                rangeScanPrefetchBytes,
                 concurrentGetRangesThreadPoolSize,
                 defaultGetRangesConcurrency,
                 sweepQueueWriter);
@@ -259,6 +299,7 @@ public class SerializableTransactionManager extends SnapshotTransactionManager {
                 timestampCacheSize,
                 false,
                 () -> AtlasDbConstants.DEFAULT_TRANSACTION_LOCK_ACQUIRE_TIMEOUT_MS,
+                () -> AtlasDbConstants.DEFAULT_RANGE_SCAN_PREFETCH_BYTES,
                 concurrentGetRangesThreadPoolSize,
                 defaultGetRangesConcurrency,
                 sweepQueue);
@@ -296,12 +337,47 @@ public class SerializableTransactionManager extends SnapshotTransactionManager {
                 timestampCacheSize,
                 allowHiddenTableAccess,
                 () -> AtlasDbConstants.DEFAULT_TRANSACTION_LOCK_ACQUIRE_TIMEOUT_MS,
+                () -> AtlasDbConstants.DEFAULT_RANGE_SCAN_PREFETCH_BYTES,
                 concurrentGetRangesThreadPoolSize,
                 defaultGetRangesConcurrency,
                 MultiTableSweepQueueWriter.NO_OP
         );
     }
 
+    public SerializableTransactionManager(KeyValueService keyValueService,
+            TimelockService timelockService,
+            LockService lockService,
+            TransactionService transactionService,
+            Supplier<AtlasDbConstraintCheckingMode> constraintModeSupplier,
+            ConflictDetectionManager conflictDetectionManager,
+            SweepStrategyManager sweepStrategyManager,
+            Cleaner cleaner,
+            TimestampTracker timestampTracker,
+            Supplier<Long> timestampCacheSize,
+            boolean allowHiddenTableAccess,
+            Supplier<Long> lockAcquireTimeoutMs,
+            int concurrentGetRangesThreadPoolSize,
+            int defaultGetRangesConcurrency,
+            MultiTableSweepQueueWriter sweepQueueWriter) {
+        this(
+                keyValueService,
+                timelockService,
+                lockService,
+                transactionService,
+                constraintModeSupplier,
+                conflictDetectionManager,
+                sweepStrategyManager,
+                cleaner,
+                timestampTracker,
+                timestampCacheSize,
+                allowHiddenTableAccess,
+                lockAcquireTimeoutMs,
+                () -> AtlasDbConstants.DEFAULT_RANGE_SCAN_PREFETCH_BYTES,
+                concurrentGetRangesThreadPoolSize,
+                defaultGetRangesConcurrency,
+                sweepQueueWriter);
+    }
+
     // Canonical constructor.
     public SerializableTransactionManager(KeyValueService keyValueService,
             TimelockService timelockService,
@@ -315,6 +391,7 @@ public class SerializableTransactionManager extends SnapshotTransactionManager {
             Supplier<Long> timestampCacheSize,
             boolean allowHiddenTableAccess,
             Supplier<Long> lockAcquireTimeoutMs,
+            Supplier<Long> rangeScanPrefetchBytes,
             int concurrentGetRangesThreadPoolSize,
             int defaultGetRangesConcurrency,
             MultiTableSweepQueueWriter sweepQueueWriter) {
@@ -329,6 +406,7 @@ public class SerializableTransactionManager extends SnapshotTransactionManager {
                 cleaner,
                 allowHiddenTableAccess,
                 lockAcquireTimeoutMs,
+                rangeScanPrefetchBytes,
                 timestampTracker,
                 concurrentGetRangesThreadPoolSize,
                 defaultGetRangesConcurrency,
@@ -360,6 +438,7 @@ public class SerializableTransactionManager extends SnapshotTransactionManager {
                 lockAcquireTimeoutMs.get(),
                 getRangesExecutor,
                 defaultGetRangesConcurrency,
+                rangeScanPrefetchBytes.get(),
                 sweepQueueWriter);
     }
 
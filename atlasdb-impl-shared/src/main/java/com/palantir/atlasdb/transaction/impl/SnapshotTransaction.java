@@ -116,6 +116,7 @@ import com.palantir.atlasdb.transaction.api.TransactionFailedRetriableException;
 import com.palantir.atlasdb.transaction.api.TransactionLockAcquisitionTimeoutException;
 import com.palantir.atlasdb.transaction.api.TransactionLockTimeoutException;
 import com.palantir.atlasdb.transaction.api.TransactionReadSentinelBehavior;
+import com.palantir.atlasdb.transaction.impl.CommitPhaseTimer.Phase;
 import com.palantir.atlasdb.transaction.service.TransactionService;
 import com.palantir.atlasdb.util.MetricsManager;
 import com.palantir.common.annotation.Output;
@@ -184,6 +185,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
     private final Cleaner cleaner;
     private final Supplier<Long> startTimestamp;
     private static final MetricsManager metricsManager = new MetricsManager();
+    private static final CommitPhaseMetrics commitPhaseMetrics = new CommitPhaseMetrics(metricsManager);
 
     private final MultiTableSweepQueueWriter sweepQueue;
 
@@ -213,6 +215,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
     protected final long lockAcquireTimeoutMs;
     protected final ExecutorService getRangesExecutor;
     protected final int defaultGetRangesConcurrency;
+    protected final long rangeScanPrefetchBytes;
     private final Set<TableReference> involvedTables = Sets.newConcurrentHashSet();
 
     protected volatile boolean hasReads;
@@ -223,6 +226,8 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
      * @param immutableTimestamp If we find a row written before the immutableTimestamp we don't need to
      *                           grab a read lock for it because we know that no writers exist.
      * @param preCommitCondition This check must pass for this transaction to commit.
+     * @param rangeScanPrefetchBytes How much data range scans may fetch ahead of their visitors; zero disables
+     *                               prefetching.
      */
     /* package */ SnapshotTransaction(KeyValueService keyValueService,
                                TimelockService timelockService,
@@ -242,6 +247,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
                                long lockAcquireTimeoutMs,
                                ExecutorService getRangesExecutor,
                                int defaultGetRangesConcurrency,
+                               long rangeScanPrefetchBytes,
                                MultiTableSweepQueueWriter sweepQueue) {
         this.keyValueService = keyValueService;
         this.timelockService = timelockService;
@@ -261,6 +267,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         this.lockAcquireTimeoutMs = lockAcquireTimeoutMs;
         this.getRangesExecutor = getRangesExecutor;
         this.defaultGetRangesConcurrency = defaultGetRangesConcurrency;
+        this.rangeScanPrefetchBytes = rangeScanPrefetchBytes;
         this.sweepQueue = sweepQueue;
         this.hasReads = false;
     }
@@ -297,6 +304,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         this.lockAcquireTimeoutMs = AtlasDbConstants.DEFAULT_TRANSACTION_LOCK_ACQUIRE_TIMEOUT_MS;
         this.getRangesExecutor = getRangesExecutor;
         this.defaultGetRangesConcurrency = defaultGetRangesConcurrency;
+        this.rangeScanPrefetchBytes = 0;
         this.sweepQueue = sweepQueue;
         this.hasReads = false;
     }
@@ -330,6 +338,7 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         this.lockAcquireTimeoutMs = lockAcquireTimeoutMs;
         this.getRangesExecutor = getRangesExecutor;
         this.defaultGetRangesConcurrency = defaultGetRangesConcurrency;
+        this.rangeScanPrefetchBytes = 0;
         this.sweepQueue = MultiTableSweepQueueWriter.NO_OP;
         this.hasReads = false;
     }
@@ -875,10 +884,10 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         ClosableIterator<RowResult<byte[]>> postFilterIterator =
                 postFilterIterator(tableRef, range, preFilterBatchSize, Value.GET_VALUE);
         try {
-            Iterator<RowResult<byte[]>> localWritesInRange = Cells.createRowView(
-                    getLocalWritesForRange(tableRef, range.getStartInclusive(), range.getEndExclusive()).entrySet());
+            Iterator<Entry<Cell, byte[]>> localWritesInRange = getLocalWritesForRange(
+                    tableRef, range.getStartInclusive(), range.getEndExclusive()).entrySet().iterator();
             Iterator<RowResult<byte[]>> mergeIterators =
-                    mergeInLocalWritesRows(postFilterIterator, localWritesInRange, range.isReverse());
+                    new LocalWriteMergingRowIterator(postFilterIterator, localWritesInRange);
             return BatchingVisitableFromIterable.create(mergeIterators).batchAccept(userRequestedSize, visitor);
         } finally {
             postFilterIterator.close();
@@ -900,18 +909,6 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         return preFilterBatchSize;
     }
 
-    private static Iterator<RowResult<byte[]>> mergeInLocalWritesRows(
-            Iterator<RowResult<byte[]>> postFilterIterator,
-            Iterator<RowResult<byte[]>> localWritesInRange,
-            boolean isReverse) {
-        Ordering<RowResult<byte[]>> ordering = RowResult.getOrderingByRowName();
-        Iterator<RowResult<byte[]>> mergeIterators = IteratorUtils.mergeIterators(
-                postFilterIterator, localWritesInRange,
-                isReverse ? ordering.reverse() : ordering,
-                from -> RowResults.merge(from.lhSide, from.rhSide)); // prefer local writes
-        return RowResults.filterDeletedColumnsAndEmptyRows(mergeIterators);
-    }
-
     private static List<Entry<Cell, byte[]>> mergeInLocalWrites(
             Iterator<Entry<Cell, byte[]>> postFilterIterator,
             Iterator<Entry<Cell, byte[]>> localWritesInRange,
@@ -952,6 +949,9 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
                 new RowRangeBatchProvider(keyValueService, tableRef, range, getStartTimestamp());
         BatchSizeIncreasingIterator<RowResult<Value>> results =
                 new BatchSizeIncreasingIterator<>(batchProvider, preFilterBatchSize, null);
+        if (rangeScanPrefetchBytes > 0) {
+            return prefetchingPostFilterIterator(tableRef, results, transformer);
+        }
         Iterator<Iterator<RowResult<T>>> batchedPostFiltered = new AbstractIterator<Iterator<RowResult<T>>>() {
             @Override
             protected Iterator<RowResult<T>> computeNext() {
@@ -980,6 +980,32 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         };
     }
 
+    private <T> ClosableIterator<RowResult<T>> prefetchingPostFilterIterator(
+            TableReference tableRef,
+            BatchSizeIncreasingIterator<RowResult<Value>> results,
+            Function<Value, T> transformer) {
+        PrefetchingRangeBatchIterator<T> batches = new PrefetchingRangeBatchIterator<>(
+                results,
+                batch -> {
+                    validateExternalAndCommitLocksIfNecessary(tableRef, getStartTimestamp());
+                    return postFilterRows(tableRef, batch, transformer);
+                },
+                rangeScanPrefetchBytes);
+        final Iterator<RowResult<T>> rows = Iterators.concat(
+                Iterators.transform(batches, postFilter -> Cells.createRowView(postFilter.entrySet())));
+        return new ForwardingClosableIterator<RowResult<T>>() {
+            @Override
+            protected ClosableIterator<RowResult<T>> delegate() {
+                return ClosableIterators.wrap(rows);
+            }
+
+            @Override
+            public void close() {
+                batches.close();
+            }
+        };
+    }
+
     private ConcurrentNavigableMap<Cell, byte[]> getLocalWrites(TableReference tableRef) {
         ConcurrentNavigableMap<Cell, byte[]> writes = writesByTable.get(tableRef);
         if (writes == null) {
@@ -1370,67 +1396,75 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
             return;
         }
 
-        Timer.Context acquireLocksTimer = getTimer("commitAcquireLocks").time();
+        CommitPhaseTimer timer = new CommitPhaseTimer();
         LockToken commitLocksToken = acquireLocksForCommit();
-        long millisForLocks = TimeUnit.NANOSECONDS.toMillis(acquireLocksTimer.stop());
+        lap(timer, Phase.ACQUIRE_LOCKS, "commitAcquireLocks");
+        long commitTimestamp;
         try {
-            Timer.Context conflictsTimer = getTimer("commitCheckingForConflicts").time();
             throwIfConflictOnCommit(commitLocksToken, transactionService);
-            long millisCheckingForConflicts = TimeUnit.NANOSECONDS.toMillis(conflictsTimer.stop());
-            Timer.Context writesTimer = getTimer("commitWrite").time();
+            lap(timer, Phase.CHECK_WRITE_WRITE_CONFLICTS, "commitCheckingForConflicts");
             keyValueService.multiPut(writesByTable, getStartTimestamp());
-            long millisForWrites = TimeUnit.NANOSECONDS.toMillis(writesTimer.stop());
+            lap(timer, Phase.WRITE, "commitWrite");
 
             // Now that all writes are done, get the commit timestamp
             // We must do this before we check that our locks are still valid to ensure that
             // other transactions that will hold these locks are sure to have start
             // timestamps after our commit timestamp.
-            long commitTimestamp = timelockService.getFreshTimestamp();
+            commitTimestamp = timelockService.getFreshTimestamp();
             commitTsForScrubbing = commitTimestamp;
+            timer.lap(Phase.GET_COMMIT_TIMESTAMP);
 
             // punch on commit so that if hard delete is the only thing happening on a system,
             // we won't block forever waiting for the unreadable timestamp to advance past the
             // scrub timestamp (same as the hard delete transaction's start timestamp)
-            Timer.Context punchTimer = getTimer("millisForPunch").time();
             cleaner.punch(commitTimestamp);
-            long millisForPunch = TimeUnit.NANOSECONDS.toMillis(punchTimer.stop());
+            lap(timer, Phase.PUNCH, "millisForPunch");
 
             throwIfReadWriteConflictForSerializable(commitTimestamp);
+            timer.lap(Phase.CHECK_READ_WRITE_CONFLICTS);
 
             // Verify that our locks and pre-commit conditions are still valid before we actually commit;
             // this throwIfPreCommitRequirementsNotMet is required by the transaction protocol for correctness
             throwIfPreCommitRequirementsNotMet(commitLocksToken, commitTimestamp);
+            timer.lap(Phase.REFRESH_LOCKS);
 
-            Timer.Context commitTsTimer = getTimer("commitPutCommitTs").time();
             putCommitTimestamp(commitTimestamp, commitLocksToken, transactionService);
-            long millisForCommitTs = TimeUnit.NANOSECONDS.toMillis(commitTsTimer.stop());
-
-            long millisSinceCreation = System.currentTimeMillis() - timeCreated;
-            getTimer("commitTotalTimeSinceTxCreation").update(millisSinceCreation, TimeUnit.MILLISECONDS);
-            getHistogram(AtlasDbMetricNames.SNAPSHOT_TRANSACTION_BYTES_WRITTEN).update(byteCount.get());
-            if (perfLogger.isDebugEnabled()) {
-                SafeAndUnsafeTableReferences tableRefs = LoggingArgs.tableRefs(writesByTable.keySet());
-                perfLogger.debug("Committed {} bytes with locks, start ts {}, commit ts {}, "
-                        + "acquiring locks took {} ms, checking for conflicts took {} ms, "
-                        + "writing took {} ms, punch took {} ms, putCommitTs took {} ms, "
-                        + "total time since tx creation {} ms, tables: {}.",
-                        SafeArg.of("numBytes", byteCount.get()),
-                        SafeArg.of("startTs", getStartTimestamp()),
-                        SafeArg.of("commitTs", commitTimestamp),
-                        SafeArg.of("millisForLocks", millisForLocks),
-                        SafeArg.of("millisCheckForConflicts", millisCheckingForConflicts),
-                        SafeArg.of("millisForWrites", millisForWrites),
-                        SafeArg.of("millisForPunch", millisForPunch),
-                        SafeArg.of("millisForCommitTs", millisForCommitTs),
-                        SafeArg.of("millisSinceCreation", millisSinceCreation),
-                        tableRefs.safeTableRefs(),
-                        tableRefs.unsafeTableRefs());
-            }
+            lap(timer, Phase.PUT_COMMIT_TIMESTAMP, "commitPutCommitTs");
 
             sweepQueue.enqueue(writesByTable, getStartTimestamp());
+            timer.lap(Phase.ENQUEUE_FOR_SWEEP);
         } finally {
-            timelockService.unlock(ImmutableSet.of(commitLocksToken));
+            timelockService.tryUnlock(ImmutableSet.of(commitLocksToken));
         }
+        timer.lap(Phase.UNLOCK);
+
+        long millisSinceCreation = System.currentTimeMillis() - timeCreated;
+        getTimer("commitTotalTimeSinceTxCreation").update(millisSinceCreation, TimeUnit.MILLISECONDS);
+        getHistogram(AtlasDbMetricNames.SNAPSHOT_TRANSACTION_BYTES_WRITTEN).update(byteCount.get());
+        commitPhaseMetrics.record(writesByTable.keySet(), timer, getStartTimestamp(), commitTimestamp);
+        if (perfLogger.isDebugEnabled()) {
+            SafeAndUnsafeTableReferences tableRefs = LoggingArgs.tableRefs(writesByTable.keySet());
+            perfLogger.debug("Committed {} bytes with locks, start ts {}, commit ts {}, "
+                    + "acquiring locks took {} ms, checking for conflicts took {} ms, "
+                    + "writing took {} ms, punch took {} ms, putCommitTs took {} ms, "
+                    + "total time since tx creation {} ms, tables: {}.",
+                    SafeArg.of("numBytes", byteCount.get()),
+                    SafeArg.of("startTs", getStartTimestamp()),
+                    SafeArg.of("commitTs", commitTimestamp),
+                    SafeArg.of("millisForLocks", timer.getMillis(Phase.ACQUIRE_LOCKS)),
+                    SafeArg.of("millisCheckForConflicts", timer.getMillis(Phase.CHECK_WRITE_WRITE_CONFLICTS)),
+                    SafeArg.of("millisForWrites", timer.getMillis(Phase.WRITE)),
+                    SafeArg.of("millisForPunch", timer.getMillis(Phase.PUNCH)),
+                    SafeArg.of("millisForCommitTs", timer.getMillis(Phase.PUT_COMMIT_TIMESTAMP)),
+                    SafeArg.of("millisSinceCreation", millisSinceCreation),
+                    tableRefs.safeTableRefs(),
+                    tableRefs.unsafeTableRefs());
+        }
+    }
+
+    private void lap(CommitPhaseTimer timer, Phase phase, String timerName) {
+        timer.lap(phase);
+        getTimer(timerName).update(timer.getNanos(phase), TimeUnit.NANOSECONDS);
     }
 
     protected void throwIfReadWriteConflictForSerializable(long commitTimestamp) {
@@ -83,6 +83,11 @@ public class TimestampDecoratingTimelockService implements TimelockService {
         return delegate.unlock(tokens);
     }
 
+    @Override
+    public void tryUnlock(Set<LockToken> tokens) {
+        delegate.tryUnlock(tokens);
+    }
+
     @Override
     public long currentTimeMillis() {
         return delegate.currentTimeMillis();
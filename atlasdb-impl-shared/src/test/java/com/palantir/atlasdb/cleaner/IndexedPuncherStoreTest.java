@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cleaner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
+
+public class IndexedPuncherStoreTest {
+    private static final long REFRESH_INTERVAL_MILLIS = 1_000L;
+    private static final long RECONCILE_INTERVAL_MILLIS = 100_000L;
+
+    private final AtomicLong currentTimeMillis = new AtomicLong(1_000_000L);
+    private final KeyValueService kvs = new InMemoryKeyValueService(false);
+    private final PuncherStore otherClientStore = KeyValueServicePuncherStore.create(kvs);
+
+    private PuncherStore puncherStore;
+
+    @Before
+    public void setUp() {
+        puncherStore = IndexedPuncherStore.create(
+                KeyValueServicePuncherStore.create(kvs),
+                kvs,
+                currentTimeMillis::get,
+                REFRESH_INTERVAL_MILLIS,
+                RECONCILE_INTERVAL_MILLIS);
+    }
+
+    @Test
+    public void loadsExistingPunchesOnFirstRead() {
+        otherClientStore.put(10L, 100L);
+        otherClientStore.put(20L, 200L);
+
+        assertThat(puncherStore.get(150L)).isEqualTo(10L);
+        assertThat(puncherStore.getMillisForTimestamp(25L)).isEqualTo(200L);
+    }
+
+    @Test
+    public void returnsDefaultsWhenNothingPunched() {
+        assertThat(puncherStore.get(150L)).isEqualTo(Long.MIN_VALUE);
+        assertThat(puncherStore.getMillisForTimestamp(25L)).isEqualTo(0L);
+    }
+
+    @Test
+    public void ownPunchesAreVisibleImmediately() {
+        puncherStore.put(10L, 100L);
+        assertThat(puncherStore.get(100L)).isEqualTo(10L);
+
+        puncherStore.put(20L, 200L);
+        assertThat(puncherStore.get(200L)).isEqualTo(20L);
+        assertThat(puncherStore.getMillisForTimestamp(20L)).isEqualTo(200L);
+    }
+
+    @Test
+    public void picksUpOtherClientsPunchesAfterRefreshInterval() {
+        puncherStore.put(10L, 100L);
+        assertThat(puncherStore.get(300L)).isEqualTo(10L);
+
+        otherClientStore.put(30L, 300L);
+        assertThat(puncherStore.get(300L)).isEqualTo(10L);
+
+        currentTimeMillis.addAndGet(REFRESH_INTERVAL_MILLIS);
+        assertThat(puncherStore.get(300L)).isEqualTo(30L);
+    }
+
+    @Test
+    public void picksUpOtherClientsPunchesWhenStartingFromEmptyIndex() {
+        assertThat(puncherStore.get(300L)).isEqualTo(Long.MIN_VALUE);
+
+        otherClientStore.put(30L, 300L);
+        currentTimeMillis.addAndGet(REFRESH_INTERVAL_MILLIS);
+        assertThat(puncherStore.get(300L)).isEqualTo(30L);
+    }
+
+    @Test
+    public void picksUpPunchesFarBehindTheLatestOnReconcile() {
+        puncherStore.put(50L, 10_000_000L);
+        assertThat(puncherStore.getMillisForTimestamp(20L)).isEqualTo(0L);
+
+        otherClientStore.put(20L, 100L);
+        currentTimeMillis.addAndGet(REFRESH_INTERVAL_MILLIS);
+        assertThat(puncherStore.getMillisForTimestamp(20L)).isEqualTo(0L);
+
+        currentTimeMillis.addAndGet(RECONCILE_INTERVAL_MILLIS);
+        assertThat(puncherStore.getMillisForTimestamp(20L)).isEqualTo(100L);
+    }
+
+    @Test
+    public void matchesKeyValueServicePuncherStoreForPunchesOutOfOrder() {
+        puncherStore.put(10L, 200L);
+        puncherStore.put(20L, 100L);
+        puncherStore.put(15L, 150L);
+
+        assertThat(puncherStore.getMillisForTimestamp(20L))
+                .isEqualTo(otherClientStore.getMillisForTimestamp(20L))
+                .isEqualTo(200L);
+        assertThat(puncherStore.getMillisForTimestamp(12L))
+                .isEqualTo(otherClientStore.getMillisForTimestamp(12L))
+                .isEqualTo(200L);
+        assertThat(puncherStore.get(199L))
+                .isEqualTo(otherClientStore.get(199L))
+                .isEqualTo(15L);
+        assertThat(puncherStore.get(100L))
+                .isEqualTo(otherClientStore.get(100L))
+                .isEqualTo(20L);
+    }
+
+    @Test
+    public void growsBeyondInitialCapacity() {
+        for (long i = 1; i <= 1_000; i++) {
+            puncherStore.put(i * 10, i * 100);
+        }
+        assertThat(puncherStore.get(50_050L)).isEqualTo(5_000L);
+        assertThat(puncherStore.getMillisForTimestamp(9_999L)).isEqualTo(99_900L);
+    }
+}
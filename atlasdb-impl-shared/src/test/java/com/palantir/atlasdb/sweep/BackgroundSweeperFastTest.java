@@ -17,7 +17,10 @@ package com.palantir.atlasdb.sweep;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.assertj.core.api.Assertions;
@@ -28,7 +31,9 @@ import org.mockito.Mockito;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.ImmutableSweepResults;
 import com.palantir.atlasdb.keyvalue.api.SweepResults;
+import com.palantir.atlasdb.sweep.priority.ImmutableSweepPriority;
 import com.palantir.atlasdb.sweep.priority.ImmutableUpdateSweepPriority;
+import com.palantir.atlasdb.sweep.priority.UpdateSweepPriority;
 import com.palantir.atlasdb.sweep.progress.ImmutableSweepProgress;
 import com.palantir.atlasdb.sweep.progress.SweepProgress;
 
@@ -226,4 +231,118 @@ public class BackgroundSweeperFastTest extends SweeperTestSetup {
         backgroundSweeper.runOnce();
         Mockito.verify(sweepMetricsManager).updateMetrics(intermediateResults, TABLE_REF);
     }
+
+    @Test
+    public void testBatchSizesGrowAfterFastRun() {
+        setNoProgress();
+        setNextTableToSweep(TABLE_REF);
+        setupTaskRunner(fastIntermediateResults());
+        backgroundSweeper.runOnce();
+        backgroundSweeper.runOnce();
+
+        List<SweepBatchConfig> usedConfigs = getUsedBatchConfigs(2);
+        Assertions.assertThat(usedConfigs.get(1).candidateBatchSize())
+                .isEqualTo(2 * usedConfigs.get(0).candidateBatchSize());
+        Assertions.assertThat(usedConfigs.get(1).valuesBatchSize().getAsInt())
+                .isEqualTo(2 * usedConfigs.get(0).valuesBatchSize().getAsInt());
+        Assertions.assertThat(usedConfigs.get(1).deleteBatchSize())
+                .isEqualTo(2 * usedConfigs.get(0).deleteBatchSize());
+    }
+
+    @Test
+    public void testBatchSizesShrinkAfterFailedRun() {
+        setNoProgress();
+        setNextTableToSweep(TABLE_REF);
+        doThrow(new RuntimeException("failed")).doReturn(fastIntermediateResults())
+                .when(sweepTaskRunner).run(eq(TABLE_REF), any(), any());
+        backgroundSweeper.runOnce();
+        backgroundSweeper.runOnce();
+
+        List<SweepBatchConfig> usedConfigs = getUsedBatchConfigs(2);
+        Assertions.assertThat(usedConfigs.get(1).candidateBatchSize())
+                .isEqualTo((int) Math.round(usedConfigs.get(0).candidateBatchSize() / 2.0));
+        Assertions.assertThat(usedConfigs.get(1).deleteBatchSize())
+                .isEqualTo((int) Math.round(usedConfigs.get(0).deleteBatchSize() / 2.0));
+    }
+
+    @Test
+    public void testSavesLearnedBatchSizes() {
+        setNoProgress();
+        setNextTableToSweep(TABLE_REF);
+        setupTaskRunner(fastIntermediateResults());
+        backgroundSweeper.runOnce();
+        backgroundSweeper.runOnce();
+
+        SweepBatchConfig secondConfig = getUsedBatchConfigs(2).get(1);
+        Mockito.verify(priorityStore).update(
+                any(),
+                eq(TABLE_REF),
+                eq(ImmutableUpdateSweepPriority.builder()
+                        .newCandidateBatchSize(secondConfig.candidateBatchSize())
+                        .newValuesBatchSize(secondConfig.valuesBatchSize())
+                        .newDeleteBatchSize(secondConfig.deleteBatchSize())
+                        .build()));
+    }
+
+    @Test
+    public void testDoesNotSaveUnchangedBatchSizes() {
+        setNoProgress();
+        setNextTableToSweep(TABLE_REF);
+        setupTaskRunner(ImmutableSweepResults.builder()
+                .staleValuesDeleted(0)
+                .cellTsPairsExamined(0)
+                .minSweptTimestamp(12345L)
+                .nextStartRow(Optional.of(new byte[] {1, 2, 3}))
+                .timeInMillis(1L)
+                .timeSweepStarted(20L)
+                .build());
+        backgroundSweeper.runOnce();
+
+        ArgumentCaptor<UpdateSweepPriority> updates = ArgumentCaptor.forClass(UpdateSweepPriority.class);
+        Mockito.verify(priorityStore, Mockito.atLeastOnce()).update(any(), eq(TABLE_REF), updates.capture());
+        for (UpdateSweepPriority update : updates.getAllValues()) {
+            Assertions.assertThat(update.newCandidateBatchSize().isPresent()).isFalse();
+        }
+    }
+
+    @Test
+    public void testStartsFromPersistedBatchSizes() {
+        setNoProgress();
+        setNextTableToSweep(TABLE_REF);
+        doReturn(Optional.of(ImmutableSweepPriority.builder()
+                .tableRef(TABLE_REF)
+                .writeCount(0L)
+                .minimumSweptTimestamp(0L)
+                .staleValuesDeleted(0L)
+                .cellTsPairsExamined(0L)
+                .candidateBatchSize(17)
+                .valuesBatchSize(3)
+                .deleteBatchSize(11)
+                .build())).when(priorityStore).loadPriority(any(), eq(TABLE_REF));
+        setupTaskRunner(fastIntermediateResults());
+        backgroundSweeper.runOnce();
+
+        SweepBatchConfig usedConfig = getUsedBatchConfigs(1).get(0);
+        Assertions.assertThat(usedConfig.candidateBatchSize()).isEqualTo(17);
+        Assertions.assertThat(usedConfig.valuesBatchSize().getAsInt()).isEqualTo(3);
+        Assertions.assertThat(usedConfig.deleteBatchSize()).isEqualTo(11);
+    }
+
+    private static SweepResults fastIntermediateResults() {
+        return ImmutableSweepResults.builder()
+                .staleValuesDeleted(2)
+                .cellTsPairsExamined(10)
+                .minSweptTimestamp(12345L)
+                .nextStartRow(Optional.of(new byte[] {1, 2, 3}))
+                .timeInMillis(1L)
+                .timeSweepStarted(20L)
+                .build();
+    }
+
+    private List<SweepBatchConfig> getUsedBatchConfigs(int numberOfRuns) {
+        ArgumentCaptor<SweepBatchConfig> argumentCaptor = ArgumentCaptor.forClass(SweepBatchConfig.class);
+        Mockito.verify(sweepTaskRunner, Mockito.times(numberOfRuns))
+                .run(eq(TABLE_REF), argumentCaptor.capture(), any());
+        return argumentCaptor.getAllValues();
+    }
 }
@@ -67,4 +67,17 @@ public class SweepBatchConfigTest {
                 .deleteBatchSize(0)
                 .build();
     }
+
+    @Test
+    public void canNotCreateConfigWithZeroValuesBatchSize() {
+        exception.expect(IllegalStateException.class);
+        exception.expectMessage("Values batch size");
+
+        ImmutableSweepBatchConfig.builder()
+                .maxCellTsPairsToExamine(1)
+                .candidateBatchSize(1)
+                .deleteBatchSize(1)
+                .valuesBatchSize(0)
+                .build();
+    }
 }
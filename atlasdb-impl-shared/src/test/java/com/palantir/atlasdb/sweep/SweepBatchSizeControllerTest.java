@@ -0,0 +1,239 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.sweep;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+
+import org.junit.Test;
+
+import com.palantir.atlasdb.keyvalue.api.SweepResults;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.sweep.priority.ImmutableSweepPriority;
+import com.palantir.atlasdb.sweep.priority.SweepPriority;
+
+public class SweepBatchSizeControllerTest {
+    private static final TableReference TABLE_REF = TableReference.createFromFullyQualifiedName("sweep.controller");
+    private static final TableReference OTHER_TABLE_REF = TableReference.createFromFullyQualifiedName("sweep.other");
+    private static final SweepBatchConfig CONFIGURED = ImmutableSweepBatchConfig.builder()
+            .maxCellTsPairsToExamine(1000)
+            .candidateBatchSize(128)
+            .deleteBatchSize(64)
+            .build();
+    private static final int MEGABYTE = 1024 * 1024;
+
+    private final SweepBatchSizeController controller = new SweepBatchSizeController();
+
+    @Test
+    public void startsFromConfiguredSizesWithDefaultValuesBatchSize() {
+        assertSizes(getBatchConfig(TABLE_REF), 128, 4, 64);
+    }
+
+    @Test
+    public void startsFromPersistedSizes() {
+        SweepBatchConfig config = controller.getBatchConfig(TABLE_REF, CONFIGURED,
+                () -> Optional.of(priorityWithBatchSizes(200, 20, 30)));
+
+        assertSizes(config, 200, 20, 30);
+        assertThat(config.maxCellTsPairsToExamine()).isEqualTo(1000);
+    }
+
+    @Test
+    public void clampsPersistedSizesToConfiguredSizes() {
+        SweepBatchConfig config = controller.getBatchConfig(TABLE_REF, CONFIGURED,
+                () -> Optional.of(priorityWithBatchSizes(100_000, 100_000, 100_000)));
+
+        assertSizes(config,
+                128 * SweepBatchSizeController.MAX_GROWTH,
+                SweepBatchSizeController.MAX_VALUES_BATCH_SIZE,
+                64 * SweepBatchSizeController.MAX_GROWTH);
+    }
+
+    @Test
+    public void clampsValuesBatchSizeToConfiguredValuesBatchSize() {
+        SweepBatchConfig configured = ImmutableSweepBatchConfig.builder()
+                .from(CONFIGURED)
+                .valuesBatchSize(10)
+                .build();
+        SweepBatchConfig config = controller.getBatchConfig(TABLE_REF, configured,
+                () -> Optional.of(priorityWithBatchSizes(200, 20, 30)));
+
+        assertSizes(config, 200, 10, 30);
+    }
+
+    @Test
+    public void doublesSizesAfterFastIteration() {
+        SweepBatchConfig learned = controller.recordSuccess(TABLE_REF, getBatchConfig(TABLE_REF),
+                results(100, 0, 0, 10));
+
+        assertSizes(learned, 256, 8, 128);
+        assertSizes(getBatchConfig(TABLE_REF), 256, 8, 128);
+    }
+
+    @Test
+    public void halvesSizesAfterVerySlowIteration() {
+        SweepBatchConfig learned = controller.recordSuccess(TABLE_REF, getBatchConfig(TABLE_REF),
+                results(100, 0, 0, 10 * SweepBatchSizeController.TARGET_BATCH_MILLIS));
+
+        assertSizes(learned, 64, 2, 32);
+    }
+
+    @Test
+    public void scalesSizesTowardsTargetLatency() {
+        SweepBatchConfig learned = controller.recordSuccess(TABLE_REF, getBatchConfig(TABLE_REF),
+                results(100, 0, 0, SweepBatchSizeController.TARGET_BATCH_MILLIS * 4 / 5));
+
+        assertSizes(learned, 160, 5, 80);
+    }
+
+    @Test
+    public void sharesIterationTimeBetweenCandidateBatches() {
+        SweepBatchConfig learned = controller.recordSuccess(TABLE_REF, getBatchConfig(TABLE_REF),
+                results(128 * 4, 0, 0, SweepBatchSizeController.TARGET_BATCH_MILLIS * 4));
+
+        assertSizes(learned, 128, 4, 64);
+    }
+
+    @Test
+    public void capsBatchSizesForLargeCellNames() {
+        SweepBatchConfig learned = controller.recordSuccess(TABLE_REF, getBatchConfig(TABLE_REF),
+                results(10, 10, 10L * MEGABYTE, 10));
+
+        int maxPairs = (int) (SweepBatchSizeController.MAX_BATCH_BYTES / MEGABYTE);
+        assertSizes(learned, maxPairs, 8, maxPairs);
+    }
+
+    @Test
+    public void capsValuesBatchSizeForCellsWithManyTimestamps() {
+        SweepBatchConfig learned = controller.recordSuccess(TABLE_REF, getBatchConfig(TABLE_REF),
+                results(640, 10, 100, 50));
+
+        // 64 timestamps per cell, so a batch of 256 candidates only holds 4 cells.
+        assertSizes(learned, 256, 4, 128);
+    }
+
+    @Test
+    public void halvesSizesAfterFailure() {
+        controller.recordFailure(TABLE_REF, getBatchConfig(TABLE_REF));
+
+        assertSizes(getBatchConfig(TABLE_REF), 64, 2, 32);
+    }
+
+    @Test
+    public void keepsSizesIfNothingWasExamined() {
+        SweepBatchConfig learned = controller.recordSuccess(TABLE_REF, getBatchConfig(TABLE_REF),
+                results(0, 0, 0, 10));
+
+        assertSizes(learned, 128, 4, 64);
+    }
+
+    @Test
+    public void learnsSizesForEachTableSeparately() {
+        controller.recordSuccess(TABLE_REF, getBatchConfig(TABLE_REF), results(100, 0, 0, 10));
+
+        assertSizes(getBatchConfig(OTHER_TABLE_REF), 128, 4, 64);
+    }
+
+    @Test
+    public void neverGrowsBeyondConfiguredBound() {
+        for (int i = 0; i < 20; i++) {
+            controller.recordSuccess(TABLE_REF, getBatchConfig(TABLE_REF), results(100, 0, 0, 1));
+        }
+
+        assertThat(getBatchConfig(TABLE_REF).candidateBatchSize())
+                .isEqualTo(128 * SweepBatchSizeController.MAX_GROWTH);
+        assertThat(getBatchConfig(TABLE_REF).deleteBatchSize())
+                .isEqualTo(64 * SweepBatchSizeController.MAX_GROWTH);
+    }
+
+    @Test
+    public void neverGrowsValuesBatchSizeBeyondCassandraDefault() {
+        for (int i = 0; i < 20; i++) {
+            controller.recordSuccess(TABLE_REF, getBatchConfig(TABLE_REF), results(100, 0, 0, 1));
+        }
+
+        assertThat(getBatchConfig(TABLE_REF).valuesBatchSize().getAsInt())
+                .isEqualTo(SweepBatchSizeController.MAX_VALUES_BATCH_SIZE);
+    }
+
+    @Test
+    public void halvesSizesOnlyOnceWhenConfiguredSizesAreHalvedAfterFailure() {
+        SweepBatchConfig used = controller.getBatchConfig(TABLE_REF, CONFIGURED,
+                () -> Optional.of(priorityWithBatchSizes(100_000, 100_000, 100_000)));
+        controller.recordFailure(TABLE_REF, used);
+
+        // The background sweeper also halves its batch size multiplier after the failure.
+        SweepBatchConfig halvedConfigured = ImmutableSweepBatchConfig.builder()
+                .from(CONFIGURED)
+                .candidateBatchSize(64)
+                .deleteBatchSize(32)
+                .build();
+        SweepBatchConfig config = controller.getBatchConfig(TABLE_REF, halvedConfigured, Optional::empty);
+
+        assertSizes(config,
+                used.candidateBatchSize() / 2,
+                used.valuesBatchSize().getAsInt() / 2,
+                used.deleteBatchSize() / 2);
+    }
+
+    @Test
+    public void neverShrinksBelowOne() {
+        for (int i = 0; i < 20; i++) {
+            controller.recordFailure(TABLE_REF, getBatchConfig(TABLE_REF));
+        }
+
+        assertSizes(getBatchConfig(TABLE_REF), 1, 1, 1);
+    }
+
+    private SweepBatchConfig getBatchConfig(TableReference tableRef) {
+        return controller.getBatchConfig(tableRef, CONFIGURED, Optional::empty);
+    }
+
+    private static SweepPriority priorityWithBatchSizes(int candidateBatchSize, int valuesBatchSize,
+            int deleteBatchSize) {
+        return ImmutableSweepPriority.builder()
+                .tableRef(TABLE_REF)
+                .writeCount(0L)
+                .minimumSweptTimestamp(0L)
+                .staleValuesDeleted(0L)
+                .cellTsPairsExamined(0L)
+                .candidateBatchSize(candidateBatchSize)
+                .valuesBatchSize(valuesBatchSize)
+                .deleteBatchSize(deleteBatchSize)
+                .build();
+    }
+
+    private static SweepResults results(long cellTsPairsExamined, long cellsExamined, long cellNameBytesExamined,
+            long timeInMillis) {
+        return SweepResults.builder()
+                .cellTsPairsExamined(cellTsPairsExamined)
+                .cellsExamined(cellsExamined)
+                .cellNameBytesExamined(cellNameBytesExamined)
+                .staleValuesDeleted(0L)
+                .minSweptTimestamp(0L)
+                .timeInMillis(timeInMillis)
+                .timeSweepStarted(0L)
+                .build();
+    }
+
+    private static void assertSizes(SweepBatchConfig config, int candidateBatchSize, int valuesBatchSize,
+            int deleteBatchSize) {
+        assertThat(config.candidateBatchSize()).isEqualTo(candidateBatchSize);
+        assertThat(config.valuesBatchSize().getAsInt()).isEqualTo(valuesBatchSize);
+        assertThat(config.deleteBatchSize()).isEqualTo(deleteBatchSize);
+    }
+}
@@ -73,6 +73,7 @@ public class SweeperTestSetup {
 
     @Before
     public void setup() {
+        doReturn(Optional.empty()).when(priorityStore).loadPriority(any(), any());
         specificTableSweeper = getSpecificTableSweeperService();
 
         backgroundSweeper = new BackgroundSweeperImpl(
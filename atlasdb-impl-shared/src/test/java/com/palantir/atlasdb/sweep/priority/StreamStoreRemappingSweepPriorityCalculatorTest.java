@@ -16,6 +16,7 @@
 
 package com.palantir.atlasdb.sweep.priority;
 
+import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.any;
@@ -60,6 +61,7 @@ public class StreamStoreRemappingSweepPriorityCalculatorTest {
     private List<SweepPriority> oldPriorities;
     private List<SweepPriority> newPriorities;
     private boolean isCassandra;
+    private boolean isStreamStoreGarbageCollectorEnabled;
 
     private Map<TableReference, Double> priorities;
 
@@ -69,7 +71,8 @@ public class StreamStoreRemappingSweepPriorityCalculatorTest {
         sweepPriorityStore = mock(SweepPriorityStore.class);
 
         SweepPriorityCalculator nextTableToSweep = new SweepPriorityCalculator(kvs, sweepPriorityStore);
-        calculator = new StreamStoreRemappingSweepPriorityCalculator(nextTableToSweep, sweepPriorityStore);
+        calculator = new StreamStoreRemappingSweepPriorityCalculator(
+                nextTableToSweep, sweepPriorityStore, () -> isStreamStoreGarbageCollectorEnabled);
 
         allTables = new HashSet<>(AtlasDbConstants.hiddenTables);
         oldPriorities = new ArrayList<>();
@@ -408,6 +411,41 @@ public class StreamStoreRemappingSweepPriorityCalculatorTest {
         thenFirstTableHasHigherPriorityThanSecond(streamStoreValuesManyWrites, streamStoreIndexManyWrites);
     }
 
+    @Test
+    public void sweepStreamStoreValueTableWithReducedPriorityIfStreamStoreGarbageCollectorIsEnabled() {
+        SweepPriorityHistory streamStoreValuesManyWrites =
+                new SweepPriorityHistory(StreamTableType.VALUE.getTableName("streamStoreValuesManyWrites"))
+                        .withOld(sweepPriority()
+                                .build())
+                        .withNew(sweepPriority()
+                                .lastSweepTimeMillis(SIX_DAYS_AGO)
+                                .writeCount(SweepPriorityCalculator.STREAM_STORE_VALUES_TO_SWEEP + 10)
+                                .build());
+        SweepPriorityHistory streamStoreIndexManyWrites =
+                new SweepPriorityHistory(StreamTableType.INDEX.getTableName("streamStoreValuesManyWrites"))
+                        .withOld(sweepPriority()
+                                .build())
+                        .withNew(sweepPriority()
+                                .lastSweepTimeMillis(FIVE_DAYS_AGO)
+                                .build());
+
+        given(streamStoreValuesManyWrites);
+        given(streamStoreIndexManyWrites);
+
+        whenCalculatingSweepPriorities();
+        double priorityWithoutGarbageCollector = priorities.get(streamStoreValuesManyWrites.tableRef);
+
+        givenStreamStoreGarbageCollectorEnabled();
+        whenCalculatingSweepPriorities();
+
+        thenNumberOfTablesIs(2);
+        thenTableHasPriority(streamStoreValuesManyWrites);
+        double expectedPriority = priorityWithoutGarbageCollector
+                * StreamStoreRemappingSweepPriorityCalculator.GARBAGE_COLLECTED_VALUE_TABLE_PRIORITY_FACTOR;
+        Assert.assertThat(priorities.get(streamStoreValuesManyWrites.tableRef),
+                closeTo(expectedPriority, expectedPriority * 1e-6));
+    }
+
     @Test
     public void doNotSweepStreamStoreValueTableWithinOneHourOfIndexTableBeingSwept() {
         SweepPriorityHistory streamStoreValuesManyWrites =
@@ -538,6 +576,10 @@ public class StreamStoreRemappingSweepPriorityCalculatorTest {
         isCassandra = false;
     }
 
+    private void givenStreamStoreGarbageCollectorEnabled() {
+        isStreamStoreGarbageCollectorEnabled = true;
+    }
+
     //When
     private void whenCalculatingSweepPriorities() {
         when(kvs.getAllTableNames()).thenReturn(allTables);
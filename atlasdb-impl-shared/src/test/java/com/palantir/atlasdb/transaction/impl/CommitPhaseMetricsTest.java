@@ -0,0 +1,148 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.slf4j.Logger;
+
+import com.codahale.metrics.Histogram;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.transaction.impl.CommitPhaseTimer.Phase;
+import com.palantir.atlasdb.util.MetricsManager;
+import com.palantir.atlasdb.util.StripedHdrReservoir;
+
+public class CommitPhaseMetricsTest {
+    private static final TableReference TABLE_1 = TableReference.createFromFullyQualifiedName("ns.table1");
+    private static final TableReference TABLE_2 = TableReference.createFromFullyQualifiedName("ns.table2");
+    private static final long START_TS = 10L;
+    private static final long COMMIT_TS = 20L;
+
+    private static final String SLOW_COMMIT_MESSAGE = "Commit of transaction with start ts";
+
+    private final MetricsManager metricsManager = mock(MetricsManager.class);
+    private final Logger slowLogger = mock(Logger.class);
+    private final Map<String, Histogram> histograms = Maps.newHashMap();
+    private final CommitPhaseMetrics commitPhaseMetrics = new CommitPhaseMetrics(metricsManager, slowLogger);
+
+    @Before
+    public void setUp() {
+        when(slowLogger.isWarnEnabled()).thenReturn(true);
+        when(metricsManager.registerOrGetHistogramForTables(eq(CommitPhaseMetrics.class), anyString(), any(), any()))
+                .thenAnswer(invocation -> getHistogram("tables", invocation));
+        when(metricsManager.registerOrGetHistogram(
+                eq(CommitPhaseMetrics.class), eq(CommitPhaseMetrics.OTHER_TABLE_SETS), anyString(), any()))
+                .thenAnswer(invocation -> getHistogram(CommitPhaseMetrics.OTHER_TABLE_SETS, invocation));
+    }
+
+    @Test
+    public void timerAttributesTimeBetweenLapsToEachPhase() {
+        CommitPhaseTimer timer = new CommitPhaseTimer();
+        timer.lap(Phase.ACQUIRE_LOCKS);
+        timer.lap(Phase.WRITE);
+        timer.lap(Phase.WRITE);
+
+        long sumOfPhases = 0;
+        for (Phase phase : Phase.ALL) {
+            assertThat(timer.getNanos(phase)).isGreaterThanOrEqualTo(0L);
+            sumOfPhases += timer.getNanos(phase);
+        }
+        assertThat(timer.getNanos(Phase.PUNCH)).isEqualTo(0L);
+        assertThat(sumOfPhases).isEqualTo(timer.getTotalNanos());
+    }
+
+    @Test
+    public void recordsEveryPhaseForTheTableSet() {
+        commitPhaseMetrics.record(ImmutableSet.of(TABLE_1, TABLE_2), completedTimer(), START_TS, COMMIT_TS);
+        commitPhaseMetrics.record(ImmutableSet.of(TABLE_2, TABLE_1), completedTimer(), START_TS, COMMIT_TS);
+
+        assertThat(histograms).hasSize(Phase.ALL.size());
+        assertThat(histograms).containsKey("tables.acquireLocksMicros");
+        histograms.values().forEach(histogram -> assertThat(histogram.getCount()).isEqualTo(2));
+        verify(slowLogger, never()).warn(startsWith(SLOW_COMMIT_MESSAGE), (Object[]) anyVararg());
+    }
+
+    @Test
+    public void recordsLargeTableSetsTogether() {
+        Set<TableReference> manyTables = ImmutableSet.of(
+                TABLE_1, TABLE_2, table("table3"), table("table4"), table("table5"));
+        assertThat(manyTables.size()).isGreaterThan(CommitPhaseMetrics.MAX_TABLES_PER_SET);
+
+        commitPhaseMetrics.record(manyTables, completedTimer(), START_TS, COMMIT_TS);
+
+        assertThat(histograms).hasSize(Phase.ALL.size());
+        assertThat(histograms.keySet()).allMatch(name -> name.startsWith(CommitPhaseMetrics.OTHER_TABLE_SETS));
+    }
+
+    @Test
+    public void logsSlowCommits() {
+        CommitPhaseMetrics.setSlowCommitLogThresholdMillis(1);
+        try {
+            CommitPhaseTimer timer = new CommitPhaseTimer();
+            sleepMillis(2);
+            timer.lap(Phase.WRITE);
+            commitPhaseMetrics.record(ImmutableSet.of(TABLE_1), timer, START_TS, COMMIT_TS);
+        } finally {
+            CommitPhaseMetrics.setSlowCommitLogThresholdMillis(0);
+        }
+        assertThat(histograms.get("tables.writeMicros").getSnapshot().getMax()).isGreaterThanOrEqualTo(1_000L);
+        verify(slowLogger).warn(startsWith(SLOW_COMMIT_MESSAGE), (Object[]) anyVararg());
+    }
+
+    private Histogram getHistogram(String prefix, InvocationOnMock invocation) {
+        String metricName = (String) invocation.getArguments()[prefix.equals("tables") ? 1 : 2];
+        return histograms.computeIfAbsent(prefix + "." + metricName,
+                unused -> new Histogram(new StripedHdrReservoir()));
+    }
+
+    private static CommitPhaseTimer completedTimer() {
+        CommitPhaseTimer timer = new CommitPhaseTimer();
+        for (Phase phase : Phase.ALL) {
+            timer.lap(phase);
+        }
+        return timer;
+    }
+
+    private static TableReference table(String name) {
+        return TableReference.createFromFullyQualifiedName("ns." + name);
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
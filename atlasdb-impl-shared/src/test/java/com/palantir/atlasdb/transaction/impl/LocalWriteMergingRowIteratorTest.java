@@ -0,0 +1,149 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.SortedMap;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Lists;
+import com.google.common.primitives.UnsignedBytes;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+
+public class LocalWriteMergingRowIteratorTest {
+    private static final byte[] ROW_1 = PtBytes.toBytes("row1");
+    private static final byte[] ROW_2 = PtBytes.toBytes("row2");
+    private static final byte[] ROW_3 = PtBytes.toBytes("row3");
+    private static final byte[] COL_A = PtBytes.toBytes("a");
+    private static final byte[] COL_B = PtBytes.toBytes("b");
+    private static final byte[] COL_C = PtBytes.toBytes("c");
+    private static final byte[] VALUE_1 = PtBytes.toBytes("value1");
+    private static final byte[] VALUE_2 = PtBytes.toBytes("value2");
+    private static final byte[] DELETED = PtBytes.EMPTY_BYTE_ARRAY;
+
+    @Test
+    public void returnsRowsWithoutLocalWritesWithoutCopying() {
+        RowResult<byte[]> row1 = row(ROW_1, COL_A, VALUE_1);
+        RowResult<byte[]> row2 = row(ROW_2, COL_A, VALUE_2);
+
+        List<RowResult<byte[]>> merged = merge(ImmutableList.of(row1, row2), ImmutableSortedMap.of());
+
+        assertThat(merged).hasSize(2);
+        assertThat(merged.get(0)).isSameAs(row1);
+        assertThat(merged.get(1)).isSameAs(row2);
+    }
+
+    @Test
+    public void interleavesRowsOnlyWrittenLocally() {
+        RowResult<byte[]> row1 = row(ROW_1, COL_A, VALUE_1);
+        RowResult<byte[]> row3 = row(ROW_3, COL_A, VALUE_1);
+
+        List<RowResult<byte[]>> merged = merge(
+                ImmutableList.of(row1, row3),
+                writes(Cell.create(ROW_2, COL_B), VALUE_2));
+
+        assertThat(merged).containsExactly(row1, row(ROW_2, COL_B, VALUE_2), row3);
+        assertThat(merged.get(0)).isSameAs(row1);
+        assertThat(merged.get(2)).isSameAs(row3);
+    }
+
+    @Test
+    public void localWritesOverrideAndAddToColumnsRead() {
+        RowResult<byte[]> read = RowResult.create(ROW_1, columns(COL_A, VALUE_1, COL_C, VALUE_1));
+
+        List<RowResult<byte[]>> merged = merge(
+                ImmutableList.of(read),
+                writes(Cell.create(ROW_1, COL_B), VALUE_2, Cell.create(ROW_1, COL_C), VALUE_2));
+
+        assertThat(merged).containsExactly(
+                RowResult.create(ROW_1, columns(COL_A, VALUE_1, COL_B, VALUE_2, COL_C, VALUE_2)));
+    }
+
+    @Test
+    public void removesLocallyDeletedColumns() {
+        RowResult<byte[]> read = RowResult.create(ROW_1, columns(COL_A, VALUE_1, COL_B, VALUE_1));
+
+        List<RowResult<byte[]>> merged = merge(
+                ImmutableList.of(read),
+                writes(Cell.create(ROW_1, COL_A), DELETED));
+
+        assertThat(merged).containsExactly(row(ROW_1, COL_B, VALUE_1));
+    }
+
+    @Test
+    public void removesRowsWithAllColumnsDeleted() {
+        RowResult<byte[]> row1 = row(ROW_1, COL_A, VALUE_1);
+        RowResult<byte[]> row2 = row(ROW_2, COL_A, VALUE_2);
+
+        List<RowResult<byte[]>> merged = merge(
+                ImmutableList.of(row1, row2),
+                writes(Cell.create(ROW_1, COL_A), DELETED, Cell.create(ROW_3, COL_A), DELETED));
+
+        assertThat(merged).containsExactly(row2);
+    }
+
+    @Test
+    public void appendsLocalWritesAfterLastRowRead() {
+        RowResult<byte[]> row1 = row(ROW_1, COL_A, VALUE_1);
+
+        List<RowResult<byte[]>> merged = merge(
+                ImmutableList.of(row1),
+                writes(Cell.create(ROW_2, COL_A), VALUE_2, Cell.create(ROW_3, COL_A), VALUE_2));
+
+        assertThat(merged).containsExactly(row1, row(ROW_2, COL_A, VALUE_2), row(ROW_3, COL_A, VALUE_2));
+    }
+
+    @Test
+    public void filtersEmptyValuesFromRowsWithoutLocalWrites() {
+        RowResult<byte[]> read = RowResult.create(ROW_1, columns(COL_A, DELETED, COL_B, VALUE_1));
+
+        List<RowResult<byte[]>> merged = merge(ImmutableList.of(read), ImmutableSortedMap.of());
+
+        assertThat(merged).containsExactly(row(ROW_1, COL_B, VALUE_1));
+    }
+
+    private static List<RowResult<byte[]>> merge(List<RowResult<byte[]>> rowsRead, SortedMap<Cell, byte[]> writes) {
+        return Lists.newArrayList(new LocalWriteMergingRowIterator(rowsRead.iterator(), writes.entrySet().iterator()));
+    }
+
+    private static RowResult<byte[]> row(byte[] rowName, byte[] columnName, byte[] value) {
+        return RowResult.create(rowName, columns(columnName, value));
+    }
+
+    private static SortedMap<byte[], byte[]> columns(byte[]... columnsAndValues) {
+        ImmutableSortedMap.Builder<byte[], byte[]> columns =
+                ImmutableSortedMap.orderedBy(UnsignedBytes.lexicographicalComparator());
+        for (int i = 0; i < columnsAndValues.length; i += 2) {
+            columns.put(columnsAndValues[i], columnsAndValues[i + 1]);
+        }
+        return columns.build();
+    }
+
+    private static SortedMap<Cell, byte[]> writes(Object... cellsAndValues) {
+        ImmutableSortedMap.Builder<Cell, byte[]> writes = ImmutableSortedMap.naturalOrder();
+        for (int i = 0; i < cellsAndValues.length; i += 2) {
+            writes.put((Cell) cellsAndValues[i], (byte[]) cellsAndValues[i + 1]);
+        }
+        return writes.build();
+    }
+}
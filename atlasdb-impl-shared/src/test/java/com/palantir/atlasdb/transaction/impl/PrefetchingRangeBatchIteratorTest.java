@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.primitives.Ints;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.common.base.ClosableIterator;
+import com.palantir.common.base.ClosableIterators;
+import com.palantir.common.concurrent.PTExecutors;
+
+public class PrefetchingRangeBatchIteratorTest {
+    private static final byte[] COLUMN = PtBytes.toBytes("col");
+    private static final int NUM_ROWS = 100;
+    private static final int BATCH_SIZE = 3;
+
+    private final AtomicInteger rowsRead = new AtomicInteger();
+    private final CountDownLatch resultsClosed = new CountDownLatch(1);
+    private final BatchSizeIncreasingIterator<RowResult<Value>> results =
+            new BatchSizeIncreasingIterator<>(new ListBatchProvider(), BATCH_SIZE, null);
+
+    @Test
+    public void returnsAllPostFilteredBatchesInOrder() throws InterruptedException {
+        PrefetchingRangeBatchIterator<byte[]> batches =
+                new PrefetchingRangeBatchIterator<>(results, PrefetchingRangeBatchIteratorTest::toCells, 10);
+
+        List<Integer> rowsReturned = Lists.newArrayList();
+        batches.forEachRemaining(batch -> batch.keySet().forEach(cell -> rowsReturned.add(rowNumber(cell))));
+
+        assertThat(rowsReturned).isEqualTo(IntStream.range(0, NUM_ROWS).boxed().collect(Collectors.toList()));
+        assertThat(resultsClosed.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void skipsBatchesThatArePostFilteredAway() {
+        PrefetchingRangeBatchIterator<byte[]> batches = new PrefetchingRangeBatchIterator<>(
+                results, batch -> ImmutableSortedMap.of(), Long.MAX_VALUE);
+
+        assertThat(Iterators.concat(Iterators.transform(batches, batch -> batch.keySet().iterator())))
+                .isEmpty();
+        assertThat(rowsRead.get()).isEqualTo(NUM_ROWS);
+    }
+
+    @Test
+    public void throwsPostFilteringFailures() {
+        PrefetchingRangeBatchIterator<byte[]> batches = new PrefetchingRangeBatchIterator<>(results, batch -> {
+            throw new IllegalStateException("Transaction must be uncommitted.");
+        }, 10);
+
+        assertThatThrownBy(batches::next).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void stopsFetchingWhenClosed() throws InterruptedException {
+        PrefetchingRangeBatchIterator<byte[]> batches =
+                new PrefetchingRangeBatchIterator<>(results, PrefetchingRangeBatchIteratorTest::toCells, 1);
+
+        assertThat(batches.next()).hasSize(BATCH_SIZE);
+        batches.close();
+
+        assertThat(resultsClosed.await(10, TimeUnit.SECONDS)).isTrue();
+        // The batch that was returned, and at most one fetched while it was being read.
+        assertThat(rowsRead.get()).isLessThanOrEqualTo(2 * BATCH_SIZE);
+    }
+
+    @Test
+    public void fetchesOnConsumingThreadWhenPrefetchingIsRejected() throws InterruptedException {
+        ExecutorService rejectingExecutor = PTExecutors.newSingleThreadExecutor();
+        rejectingExecutor.shutdown();
+        PrefetchingRangeBatchIterator<byte[]> batches = new PrefetchingRangeBatchIterator<>(
+                results, PrefetchingRangeBatchIteratorTest::toCells, 10, rejectingExecutor);
+
+        List<Integer> rowsReturned = Lists.newArrayList();
+        batches.forEachRemaining(batch -> batch.keySet().forEach(cell -> rowsReturned.add(rowNumber(cell))));
+
+        assertThat(rowsReturned).isEqualTo(IntStream.range(0, NUM_ROWS).boxed().collect(Collectors.toList()));
+        assertThat(resultsClosed.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static SortedMap<Cell, byte[]> toCells(List<RowResult<Value>> batch) {
+        ImmutableSortedMap.Builder<Cell, byte[]> cells = ImmutableSortedMap.naturalOrder();
+        for (RowResult<Value> row : batch) {
+            cells.put(Cell.create(row.getRowName(), COLUMN), row.getOnlyColumnValue().getContents());
+        }
+        return cells.build();
+    }
+
+    private static int rowNumber(Cell cell) {
+        return Ints.fromByteArray(cell.getRowName());
+    }
+
+    private class ListBatchProvider implements BatchProvider<RowResult<Value>> {
+        @Override
+        public ClosableIterator<RowResult<Value>> getBatch(int batchSize, byte[] lastToken) {
+            int start = lastToken == null ? 0 : Ints.fromByteArray(lastToken) + 1;
+            List<RowResult<Value>> rows = IntStream.range(start, NUM_ROWS)
+                    .mapToObj(row -> RowResult.of(
+                            Cell.create(Ints.toByteArray(row), COLUMN), Value.create(PtBytes.toBytes(row), 1L)))
+                    .collect(Collectors.toList());
+            return ClosableIterators.wrap(
+                    Iterators.transform(rows.iterator(), row -> {
+                        rowsRead.incrementAndGet();
+                        return row;
+                    }),
+                    resultsClosed::countDown);
+        }
+
+        @Override
+        public boolean hasNext(byte[] lastToken) {
+            return true;
+        }
+
+        @Override
+        public byte[] getLastToken(List<RowResult<Value>> batch) {
+            return batch.get(batch.size() - 1).getRowName();
+        }
+    }
+}
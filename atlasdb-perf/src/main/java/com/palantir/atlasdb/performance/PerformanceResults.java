@@ -27,10 +27,14 @@ import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummaryValues;
+import org.apache.commons.math3.stat.inference.TestUtils;
 import org.immutables.value.Value;
 import org.openjdk.jmh.infra.BenchmarkParams;
 import org.openjdk.jmh.results.RunResult;
@@ -38,6 +42,7 @@ import org.openjdk.jmh.util.Multiset;
 import org.openjdk.jmh.util.Statistics;
 import org.openjdk.jmh.util.TreeMultiset;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
@@ -49,6 +54,11 @@ public class PerformanceResults {
     @VisibleForTesting
     static final String KVS_AGNOSTIC_SUFFIX = "N/A";
 
+    @VisibleForTesting
+    static final double SIGNIFICANCE_LEVEL = 0.01;
+    @VisibleForTesting
+    static final double MINIMUM_RELATIVE_REGRESSION = 0.05;
+
     private final Collection<RunResult> results;
     public static final int DOWNSAMPLE_MAXIMUM_SIZE = 500;
 
@@ -63,6 +73,61 @@ public class PerformanceResults {
         }
     }
 
+    /**
+     * Returns the benchmarks in these results whose mean is higher than in the given baseline results file, by at
+     * least {@link #MINIMUM_RELATIVE_REGRESSION} and with a Welch's t-test p-value below {@link #SIGNIFICANCE_LEVEL}.
+     */
+    public List<Regression> findRegressions(File baselineFile) throws IOException {
+        return findRegressions(readFromFile(baselineFile), getPerformanceResults(results));
+    }
+
+    public static List<Regression> findRegressions(File baselineFile, File resultsFile) throws IOException {
+        return findRegressions(readFromFile(baselineFile), readFromFile(resultsFile));
+    }
+
+    @VisibleForTesting
+    static List<Regression> findRegressions(
+            List<? extends PerformanceResult> baseline,
+            List<? extends PerformanceResult> current) {
+        Map<String, PerformanceResult> baselineByBenchmark = baseline.stream()
+                .collect(Collectors.toMap(PerformanceResult::benchmark, result -> result, (first, second) -> second));
+        List<Regression> regressions = Lists.newArrayList();
+        for (PerformanceResult result : current) {
+            PerformanceResult baselineResult = baselineByBenchmark.get(result.benchmark());
+            if (baselineResult == null || result.samples() < 2 || baselineResult.samples() < 2) {
+                continue;
+            }
+            // Results are compared in nanoseconds, in case the two runs used different time units.
+            double scale = (double) result.units().toNanos(1) / baselineResult.units().toNanos(1);
+            double baselineMean = baselineResult.mean() / scale;
+            double baselineStd = baselineResult.std() / scale;
+            if (result.mean() < baselineMean * (1 + MINIMUM_RELATIVE_REGRESSION)) {
+                continue;
+            }
+            double pValue = TestUtils.tTest(
+                    summary(result.mean(), result.std(), result.samples()),
+                    summary(baselineMean, baselineStd, baselineResult.samples()));
+            if (pValue < SIGNIFICANCE_LEVEL) {
+                regressions.add(ImmutableRegression.builder()
+                        .benchmark(result.benchmark())
+                        .baselineMean(baselineMean)
+                        .mean(result.mean())
+                        .units(result.units())
+                        .pValue(pValue)
+                        .build());
+            }
+        }
+        return regressions;
+    }
+
+    private static StatisticalSummary summary(double mean, double std, long samples) {
+        return new StatisticalSummaryValues(mean, std * std, samples, Double.NaN, Double.NaN, mean * samples);
+    }
+
+    private static List<ImmutablePerformanceResult> readFromFile(File file) throws IOException {
+        return new ObjectMapper().readValue(file, new TypeReference<List<ImmutablePerformanceResult>>() {});
+    }
+
     private static List<ImmutablePerformanceResult> getPerformanceResults(Collection<RunResult> results) {
         long date = System.currentTimeMillis();
         return results.stream().map(rs ->
@@ -178,4 +243,23 @@ public class PerformanceResults {
         public abstract double p99();
     }
 
+    @Value.Immutable
+    public abstract static class Regression {
+        public abstract String benchmark();
+        public abstract double baselineMean();
+        public abstract double mean();
+        public abstract TimeUnit units();
+        public abstract double pValue();
+
+        public String describe() {
+            return String.format("%s: mean %.3f -> %.3f %s (+%.1f%%, p = %.2g)",
+                    benchmark(),
+                    baselineMean(),
+                    mean(),
+                    units(),
+                    100 * (mean() / baselineMean() - 1),
+                    pValue());
+        }
+    }
+
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.backend;
+
+import java.net.InetSocketAddress;
+
+import com.palantir.atlasdb.memory.InMemoryAtlasDbConfig;
+import com.palantir.atlasdb.spi.KeyValueServiceConfig;
+
+/**
+ * Runs benchmarks against an {@link com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService} in the benchmark
+ * process. With no leader or timelock block configured, timestamps and locks are also served in-process, so no
+ * docker containers are needed.
+ */
+public class InMemoryKeyValueServiceInstrumentation extends KeyValueServiceInstrumentation {
+
+    public InMemoryKeyValueServiceInstrumentation() {
+        super(0, null);
+    }
+
+    @Override
+    public KeyValueServiceConfig getKeyValueServiceConfig(InetSocketAddress addr) {
+        return new InMemoryAtlasDbConfig();
+    }
+
+    @Override
+    public boolean canConnect(InetSocketAddress addr) {
+        return true;
+    }
+
+    @Override
+    public boolean isDockerized() {
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "IN_MEMORY";
+    }
+}
@@ -36,6 +36,9 @@ public abstract class KeyValueServiceInstrumentation {
     static {
         addNewBackendType(new CassandraKeyValueServiceInstrumentation());
         addNewBackendType(new PostgresKeyValueServiceInstrumentation());
+        addNewBackendType(new PostgresCallingThreadKeyValueServiceInstrumentation());
+        addNewBackendType(new InMemoryKeyValueServiceInstrumentation());
+        addNewBackendType(new OffHeapKeyValueServiceInstrumentation());
     }
 
     KeyValueServiceInstrumentation(int kvsPort, String dockerComposeFileName) {
@@ -51,6 +54,14 @@ public abstract class KeyValueServiceInstrumentation {
         return kvsPort;
     }
 
+    /**
+     * Whether this backend needs a docker container to be started from {@link #getDockerComposeResourceFileName()}.
+     * Backends that run in the benchmark process ignore the address they are given.
+     */
+    public boolean isDockerized() {
+        return true;
+    }
+
     public abstract KeyValueServiceConfig getKeyValueServiceConfig(InetSocketAddress addr);
     public abstract boolean canConnect(InetSocketAddress addr);
 
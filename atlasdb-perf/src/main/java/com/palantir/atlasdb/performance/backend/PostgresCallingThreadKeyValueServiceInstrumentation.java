@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.backend;
+
+import java.net.InetSocketAddress;
+
+import com.palantir.atlasdb.keyvalue.dbkvs.DbKeyValueServiceConfig;
+import com.palantir.atlasdb.keyvalue.dbkvs.ImmutableDbKeyValueServiceConfig;
+import com.palantir.atlasdb.keyvalue.dbkvs.ImmutableSqlExecutionConfig;
+import com.palantir.atlasdb.spi.KeyValueServiceConfig;
+
+/**
+ * Postgres, running SQL statements on the calling thread rather than handing them off to a thread pool. Compare
+ * against {@link PostgresKeyValueServiceInstrumentation} to measure the cost of the thread hops.
+ */
+public class PostgresCallingThreadKeyValueServiceInstrumentation extends PostgresKeyValueServiceInstrumentation {
+
+    @Override
+    public KeyValueServiceConfig getKeyValueServiceConfig(InetSocketAddress addr) {
+        return ImmutableDbKeyValueServiceConfig.builder()
+                .from((DbKeyValueServiceConfig) super.getKeyValueServiceConfig(addr))
+                .sqlExecution(ImmutableSqlExecutionConfig.builder()
+                        .runOnCallingThread(true)
+                        .build())
+                .build();
+    }
+
+    @Override
+    public String toString() {
+        return "POSTGRES_CALLING_THREAD";
+    }
+}
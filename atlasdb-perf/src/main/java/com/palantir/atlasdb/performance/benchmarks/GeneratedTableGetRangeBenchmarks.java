@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.base.Preconditions;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.performance.benchmarks.table.KeyValueRowsTable;
+import com.palantir.atlasdb.performance.schema.generated.KeyValueTable;
+
+/**
+ * Compares scanning a generated table through its hydrated RowResults against scanning it through row views.
+ * Run with JMH's gc profiler (-prof gc) to compare the allocation rate of the two.
+ */
+@State(Scope.Benchmark)
+public class GeneratedTableGetRangeBenchmarks {
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 2, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public long getRangeRowResults(KeyValueRowsTable table) {
+        return table.getTransactionManager().runTaskReadOnly(txn -> {
+            long[] sum = new long[1];
+            int[] count = new int[1];
+            table.getTableFactory().getKeyValueTable(txn)
+                    .getRange(RangeRequest.all())
+                    .batchAccept(1000, batch -> {
+                        for (KeyValueTable.KeyValueRowResult row : batch) {
+                            sum[0] += row.getStreamId();
+                            count[0]++;
+                        }
+                        return true;
+                    });
+            checkRowCount(count[0]);
+            return sum[0];
+        });
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 2, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public long getRangeRowViews(KeyValueRowsTable table) {
+        return table.getTransactionManager().runTaskReadOnly(txn -> {
+            long[] sum = new long[1];
+            int[] count = new int[1];
+            table.getTableFactory().getKeyValueTable(txn)
+                    .getRangeViews(RangeRequest.all())
+                    .batchAccept(1000, batch -> {
+                        for (KeyValueTable.KeyValueRowView row : batch) {
+                            sum[0] += row.getStreamId(0L);
+                            count[0]++;
+                        }
+                        return true;
+                    });
+            checkRowCount(count[0]);
+            return sum[0];
+        });
+    }
+
+    private static void checkRowCount(int count) {
+        Preconditions.checkState(count == KeyValueRowsTable.NUM_ROWS,
+                "Expected %s rows, found %s rows", KeyValueRowsTable.NUM_ROWS, count);
+    }
+}
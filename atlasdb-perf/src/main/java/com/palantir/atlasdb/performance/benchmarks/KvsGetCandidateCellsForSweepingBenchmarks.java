@@ -40,6 +40,9 @@ import com.palantir.common.base.ClosableIterator;
 
 @State(Scope.Benchmark)
 public class KvsGetCandidateCellsForSweepingBenchmarks {
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    // Small enough that per-batch costs, such as preparing statements, dominate the scan.
+    private static final int SMALL_BATCH_SIZE = 10;
 
     @Benchmark
     @Threads(1)
@@ -73,27 +76,44 @@ public class KvsGetCandidateCellsForSweepingBenchmarks {
         return fullTableScan(table, true);
     }
 
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 20, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 160, timeUnit = TimeUnit.SECONDS)
+    public Object fullTableScanCleanConservativeSmallBatches(ConsecutiveNarrowTable.CleanNarrowTable table) {
+        return fullTableScan(table.getTableRef(), table.getKvs(), table.getNumRows(), false, SMALL_BATCH_SIZE);
+    }
+
     @Benchmark
     @Threads(1)
     @Warmup(time = 20, timeUnit = TimeUnit.SECONDS)
     @Measurement(time = 160, timeUnit = TimeUnit.SECONDS)
     public Object fullTableScanOneWideRowThorough(VeryWideRowTable table) {
-        return fullTableScan(table.getTableRef(), table.getKvs(), table.getNumCols(), true);
+        return fullTableScan(table.getTableRef(), table.getKvs(), table.getNumCols(), true, DEFAULT_BATCH_SIZE);
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 20, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 160, timeUnit = TimeUnit.SECONDS)
+    public Object fullTableScanOneWideRowThoroughSmallBatches(VeryWideRowTable table) {
+        return fullTableScan(table.getTableRef(), table.getKvs(), table.getNumCols(), true, SMALL_BATCH_SIZE);
     }
 
     private int fullTableScan(ConsecutiveNarrowTable table, boolean thorough) {
         // TODO(gsheasby): consider extracting a common interface for WideRowTable and ConsecutiveNarrowTable
         // to avoid unpacking here
-        return fullTableScan(table.getTableRef(), table.getKvs(), table.getNumRows(), thorough);
+        return fullTableScan(table.getTableRef(), table.getKvs(), table.getNumRows(), thorough, DEFAULT_BATCH_SIZE);
     }
 
     private int fullTableScan(TableReference tableRef,
                               KeyValueService kvs,
                               int numCellsExpected,
-                              boolean thorough) {
+                              boolean thorough,
+                              int batchSize) {
         CandidateCellForSweepingRequest request = ImmutableCandidateCellForSweepingRequest.builder()
                     .startRowInclusive(PtBytes.EMPTY_BYTE_ARRAY)
-                    .batchSizeHint(1000)
+                    .batchSizeHint(batchSize)
                     .maxTimestampExclusive(Long.MAX_VALUE)
                     .shouldCheckIfLatestValueIsEmpty(thorough)
                     .shouldDeleteGarbageCollectionSentinels(thorough)
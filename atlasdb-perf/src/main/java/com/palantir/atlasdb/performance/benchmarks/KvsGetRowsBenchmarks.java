@@ -37,6 +37,18 @@ public class KvsGetRowsBenchmarks {
     @Warmup(time = 5)
     @Measurement(time = 40)
     public Object getManyRowsWithGetRows(ConsecutiveNarrowTable.CleanNarrowTable table) {
+        return getManyRows(table);
+    }
+
+    @Benchmark
+    @Threads(16)
+    @Warmup(time = 5)
+    @Measurement(time = 40)
+    public Object getManyRowsWithGetRowsFromManyThreads(ConsecutiveNarrowTable.CleanNarrowTable table) {
+        return getManyRows(table);
+    }
+
+    private static Object getManyRows(ConsecutiveNarrowTable.CleanNarrowTable table) {
         Map<Cell, Value> result = table.getKvs().getRows(
                 table.getTableRef(),
                 table.getRowList(),
@@ -34,6 +34,7 @@ import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 
 import com.google.common.base.Preconditions;
+import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.ColumnRangeSelection;
 import com.palantir.atlasdb.keyvalue.api.RowColumnRangeIterator;
@@ -97,6 +98,41 @@ public class KvsGetRowsColumnRangeBenchmarks {
         return loadedCells;
     }
 
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 16, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 160, timeUnit = TimeUnit.SECONDS)
+    public Object getAllColumnsInterleaved(WideRowsTable table) {
+        List<byte[]> rows =
+                IntStream.rangeClosed(0, WideRowsTable.NUM_ROWS - 1)
+                        .mapToObj(WideRowsTable::getRow)
+                        .collect(Collectors.toList());
+        Map<byte[], RowColumnRangeIterator> rowsColumnRange =
+                table.getKvs().getRowsColumnRange(
+                        table.getTableRef(),
+                        rows,
+                        BatchColumnRangeSelection.create(new ColumnRangeSelection(null, null), 3),
+                        Long.MAX_VALUE);
+        // Take one cell of each row in turn, so that every row needs its next page at about the same time.
+        List<RowColumnRangeIterator> iterators =
+                rows.stream().map(rowsColumnRange::get).collect(Collectors.toList());
+        int expectedNumCells = WideRowsTable.NUM_ROWS * WideRowsTable.NUM_COLS_PER_ROW;
+        List<Map.Entry<Cell, Value>> loadedCells = new ArrayList<>(expectedNumCells);
+        boolean loadedAny = true;
+        while (loadedAny) {
+            loadedAny = false;
+            for (RowColumnRangeIterator iterator : iterators) {
+                if (iterator.hasNext()) {
+                    loadedCells.add(iterator.next());
+                    loadedAny = true;
+                }
+            }
+        }
+        Preconditions.checkState(loadedCells.size() == expectedNumCells,
+                "Should be %s cells, but were: %s", expectedNumCells, loadedCells.size());
+        return loadedCells;
+    }
+
     @Benchmark
     @Threads(1)
     @Warmup(time = 16, timeUnit = TimeUnit.SECONDS)
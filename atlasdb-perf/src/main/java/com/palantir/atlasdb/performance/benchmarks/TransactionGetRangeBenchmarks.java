@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Ints;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.performance.benchmarks.table.ConsecutiveNarrowTable;
+import com.palantir.atlasdb.performance.benchmarks.table.Tables;
+import com.palantir.atlasdb.transaction.api.Transaction;
+import com.palantir.common.base.BatchingVisitables;
+
+/**
+ * Measures transactional range scans that have to be merged with the transaction's own writes. Every other row in
+ * the range is written (or deleted) locally before the scan, and the transaction is then aborted so that the table
+ * is left as it was.
+ */
+@State(Scope.Benchmark)
+public class TransactionGetRangeBenchmarks {
+
+    private static final int RANGE_REQUEST_SIZE = 1000;
+    private static final byte[] LOCAL_VALUE = PtBytes.toBytes("local");
+
+    private List<RowResult<byte[]>> getRangeInner(ConsecutiveNarrowTable table, LocalWrites localWrites) {
+        return table.getTransactionManager().runTaskThrowOnConflict(txn -> {
+            RangeRequest request = Iterables.getOnlyElement(
+                    table.getRangeRequests(1, RANGE_REQUEST_SIZE, false));
+            localWrites.apply(table, txn, request);
+            List<RowResult<byte[]>> results = BatchingVisitables.copyToList(
+                    txn.getRange(table.getTableRef(), request));
+            int expectedRows = localWrites == LocalWrites.DELETES ? RANGE_REQUEST_SIZE / 2 : RANGE_REQUEST_SIZE;
+            Preconditions.checkState(results.size() == expectedRows,
+                    "Expected %s rows, found %s rows", expectedRows, results.size());
+            txn.abort();
+            return results;
+        });
+    }
+
+    private enum LocalWrites {
+        NONE,
+        PUTS,
+        DELETES;
+
+        void apply(ConsecutiveNarrowTable table, Transaction txn, RangeRequest request) {
+            if (this == NONE) {
+                return;
+            }
+            int startRow = ConsecutiveNarrowTable.rowNumber(request.getStartInclusive());
+            Map<Cell, byte[]> writes = Maps.newHashMap();
+            for (int row = startRow; row < startRow + RANGE_REQUEST_SIZE; row += 2) {
+                writes.put(Cell.create(Ints.toByteArray(row), Tables.COLUMN_NAME_IN_BYTES.array()), LOCAL_VALUE);
+            }
+            if (this == PUTS) {
+                txn.put(table.getTableRef(), writes);
+            } else {
+                txn.delete(table.getTableRef(), writes.keySet());
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 2, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public Object getRangeWithoutLocalWrites(ConsecutiveNarrowTable.CleanNarrowTable table) {
+        return getRangeInner(table, LocalWrites.NONE);
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 2, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public Object getRangeWithLocalWrites(ConsecutiveNarrowTable.CleanNarrowTable table) {
+        return getRangeInner(table, LocalWrites.PUTS);
+    }
+
+    @Benchmark
+    @Threads(1)
+    @Warmup(time = 2, timeUnit = TimeUnit.SECONDS)
+    @Measurement(time = 10, timeUnit = TimeUnit.SECONDS)
+    public Object getRangeWithLocalDeletes(ConsecutiveNarrowTable.CleanNarrowTable table) {
+        return getRangeInner(table, LocalWrites.DELETES);
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks.table;
+
+import java.util.Map;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.google.common.collect.Maps;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.Namespace;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.performance.backend.AtlasDbServicesConnector;
+import com.palantir.atlasdb.performance.schema.StreamTestSchema;
+import com.palantir.atlasdb.performance.schema.generated.KeyValueTable;
+import com.palantir.atlasdb.performance.schema.generated.StreamTestTableFactory;
+import com.palantir.atlasdb.services.AtlasDbServices;
+import com.palantir.atlasdb.table.description.Schemas;
+import com.palantir.atlasdb.transaction.api.TransactionManager;
+
+/**
+ * State class for filling the generated KeyValue table with {@link #NUM_ROWS} rows, each with a random stream id,
+ * for benchmarks that read through the generated table API.
+ */
+@State(Scope.Benchmark)
+public class KeyValueRowsTable {
+    public static final int NUM_ROWS = 10_000;
+    private static final int ROWS_PER_TRANSACTION = 1_000;
+
+    private Random random = new Random(Tables.RANDOM_SEED);
+
+    private AtlasDbServicesConnector connector;
+    private AtlasDbServices services;
+
+    public TransactionManager getTransactionManager() {
+        return services.getTransactionManager();
+    }
+
+    public KeyValueService getKvs() {
+        return services.getKeyValueService();
+    }
+
+    public StreamTestTableFactory getTableFactory() {
+        return StreamTestTableFactory.of();
+    }
+
+    public TableReference getTableRef() {
+        return TableReference.create(Namespace.create("default", Namespace.UNCHECKED_NAME), "blobs");
+    }
+
+    @Setup(Level.Trial)
+    public void setup(AtlasDbServicesConnector conn) {
+        this.connector = conn;
+        this.services = conn.connect();
+        Schemas.createTablesAndIndexes(StreamTestSchema.getSchema(), getKvs());
+        setupData();
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() throws Exception {
+        getKvs().dropTable(getTableRef());
+        this.connector.close();
+    }
+
+    private void setupData() {
+        for (int start = 0; start < NUM_ROWS; start += ROWS_PER_TRANSACTION) {
+            Map<KeyValueTable.KeyValueRow, Long> streamIds = Maps.newHashMapWithExpectedSize(ROWS_PER_TRANSACTION);
+            for (int i = start; i < start + ROWS_PER_TRANSACTION; i++) {
+                streamIds.put(KeyValueTable.KeyValueRow.of(String.format("row%08d", i)), random.nextLong() >>> 1);
+            }
+            getTransactionManager().runTaskThrowOnConflict(txn -> {
+                getTableFactory().getKeyValueTable(txn).putStreamId(streamIds);
+                return null;
+            });
+        }
+    }
+}
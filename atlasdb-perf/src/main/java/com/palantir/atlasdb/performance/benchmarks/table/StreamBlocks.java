@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks.table;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.palantir.atlasdb.stream.GenericStreamStore;
+import com.palantir.atlasdb.stream.StreamBlockCodec;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * A single stream store block of text-like data, and the bytes that would be stored for it with each codec.
+ */
+@State(Scope.Benchmark)
+public class StreamBlocks {
+    private static final Logger log = LoggerFactory.getLogger(StreamBlocks.class);
+
+    private static final String[] WORDS = {
+            "atlas", "stream", "block", "codec", "table", "row", "column", "cell", "value", "timestamp",
+            "transaction", "sweep", "lock", "lease", "leader", "paxos", "cassandra", "postgres", "oracle", "memory"};
+
+    @Param({"NONE", "LZ4", "DEFLATE"})
+    private StreamBlockCodec codec;
+
+    private byte[] block;
+    private byte[] storedBlock;
+
+    public StreamBlockCodec getCodec() {
+        return codec;
+    }
+
+    public byte[] getBlock() {
+        return block;
+    }
+
+    public byte[] getStoredBlock() {
+        return storedBlock;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(Tables.RANDOM_SEED);
+        StringBuilder text = new StringBuilder(GenericStreamStore.BLOCK_SIZE_IN_BYTES + 16);
+        while (text.length() < GenericStreamStore.BLOCK_SIZE_IN_BYTES) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(1000)).append(' ');
+        }
+        block = text.substring(0, GenericStreamStore.BLOCK_SIZE_IN_BYTES).getBytes(StandardCharsets.UTF_8);
+        storedBlock = codec.encode(block);
+        log.info("Codec {} stores a block of {} bytes in {} bytes (compression ratio {})",
+                SafeArg.of("codec", codec),
+                SafeArg.of("blockLength", block.length),
+                SafeArg.of("storedLength", storedBlock.length),
+                SafeArg.of("ratio", (double) block.length / storedBlock.length));
+    }
+}
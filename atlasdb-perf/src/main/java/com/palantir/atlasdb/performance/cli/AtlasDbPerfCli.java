@@ -18,8 +18,11 @@
 package com.palantir.atlasdb.performance.cli;
 
 import java.io.File;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -40,7 +43,6 @@ import com.palantir.atlasdb.performance.BenchmarkParam;
 import com.palantir.atlasdb.performance.MinimalReportFormatForTest;
 import com.palantir.atlasdb.performance.PerformanceResults;
 import com.palantir.atlasdb.performance.backend.DatabasesContainer;
-import com.palantir.atlasdb.performance.backend.DockerizedDatabase;
 import com.palantir.atlasdb.performance.backend.DockerizedDatabaseUri;
 import com.palantir.atlasdb.performance.backend.KeyValueServiceInstrumentation;
 
@@ -53,20 +55,23 @@ import io.airlift.airline.SingleCommand;
 /**
  * The Atlas Perf(ormance) CLI is a tool for making and running AtlasDB performance tests.
  *
- * This requires you to have a docker-machine running and configured correctly.
+ * Apart from IN_MEMORY and OFF_HEAP, backends require you to have a docker-machine running and configured correctly.
  *
  * @author mwakerman, bullman
  */
 
 @Command(name = "atlasdb-perf", description = "The AtlasDB performance benchmark CLI.")
 public class AtlasDbPerfCli {
+    private static final InetSocketAddress IN_PROCESS_ADDRESS = InetSocketAddress.createUnresolved("localhost", 0);
+
     @Inject
     private HelpOption helpOption;
 
     @Arguments(description = "The performance benchmarks to run. Leave blank to run all performance benchmarks.")
     private Set<String> tests;
 
-    @Option(name = {"-b", "--backend"}, description = "Backing KVS stores to use. (e.g. POSTGRES or CASSANDRA)"
+    @Option(name = {"-b", "--backend"},
+            description = "Backing KVS stores to use. (e.g. POSTGRES, CASSANDRA, IN_MEMORY or OFF_HEAP)"
             + " Defaults to all backends if not specified.")
     private Set<String> backends;
 
@@ -82,6 +87,15 @@ public class AtlasDbPerfCli {
                     + "Leave blank to only write results to the console.")
     private String outputFile;
 
+    @Option(name = {"--baseline"},
+            description = "A results file written by --output to compare against. Fails if any benchmark regressed"
+                    + " by a statistically significant amount.")
+    private String baselineFile;
+
+    @Option(name = {"--compare"},
+            description = "A results file to compare against the --baseline instead of running any benchmarks.")
+    private String compareFile;
+
     @Option(name = {"--test-run"}, description = "Run a single iteration of the benchmarks for testing purposes.")
     private boolean testRun;
 
@@ -105,18 +119,29 @@ public class AtlasDbPerfCli {
     }
 
     private static void run(AtlasDbPerfCli cli) throws Exception {
-        if (cli.dbUris != null) {
+        if (cli.baselineFile != null && cli.compareFile != null) {
+            reportRegressions(PerformanceResults.findRegressions(
+                    new File(cli.baselineFile), new File(cli.compareFile)));
+        } else if (cli.dbUris != null) {
             runJmh(cli, getDockerUris(cli));
         } else {
             Set<String> backends = cli.backends != null
                     ? cli.backends
                     : KeyValueServiceInstrumentation.getBackends();
-            try (DatabasesContainer container = startupDatabase(backends)) {
-                runJmh(cli,
-                        container.getDockerizedDatabases()
-                                .stream()
-                                .map(DockerizedDatabase::getUri)
-                                .collect(Collectors.toList()));
+            Map<Boolean, List<KeyValueServiceInstrumentation>> backendsByIsDockerized = backends.stream()
+                    .map(KeyValueServiceInstrumentation::forDatabase)
+                    .collect(Collectors.partitioningBy(KeyValueServiceInstrumentation::isDockerized));
+            List<DockerizedDatabaseUri> uris = backendsByIsDockerized.get(false).stream()
+                    .map(backend -> new DockerizedDatabaseUri(backend, IN_PROCESS_ADDRESS))
+                    .collect(Collectors.toCollection(ArrayList::new));
+            List<KeyValueServiceInstrumentation> dockerizedBackends = backendsByIsDockerized.get(true);
+            if (dockerizedBackends.isEmpty()) {
+                runJmh(cli, uris);
+                return;
+            }
+            try (DatabasesContainer container = DatabasesContainer.startup(dockerizedBackends)) {
+                container.getDockerizedDatabases().forEach(db -> uris.add(db.getUri()));
+                runJmh(cli, uris);
             }
         }
     }
@@ -152,9 +177,23 @@ public class AtlasDbPerfCli {
 
         Collection<RunResult> results = new Runner(optBuilder.build()).run();
 
+        PerformanceResults performanceResults = new PerformanceResults(results);
         if (cli.outputFile != null) {
-            new PerformanceResults(results).writeToFile(new File(cli.outputFile));
+            performanceResults.writeToFile(new File(cli.outputFile));
+        }
+        if (cli.baselineFile != null) {
+            reportRegressions(performanceResults.findRegressions(new File(cli.baselineFile)));
+        }
+    }
+
+    private static void reportRegressions(List<PerformanceResults.Regression> regressions) {
+        if (regressions.isEmpty()) {
+            System.out.println("No statistically significant regressions against the baseline.");
+            return;
         }
+        System.out.println("Statistically significant regressions against the baseline:");
+        regressions.forEach(regression -> System.out.println("\t" + regression.describe()));
+        System.exit(1);
     }
 
     private static void runCliInTestMode(ChainedOptionsBuilder optBuilder) throws RunnerException {
@@ -163,13 +202,6 @@ public class AtlasDbPerfCli {
         new Runner(optBuilder.build(), MinimalReportFormatForTest.get()).run();
     }
 
-    private static DatabasesContainer startupDatabase(Set<String> backends) {
-        return DatabasesContainer.startup(
-                backends.stream()
-                        .map(KeyValueServiceInstrumentation::forDatabase)
-                        .collect(Collectors.toList()));
-    }
-
     private static List<DockerizedDatabaseUri> getDockerUris(AtlasDbPerfCli cli) {
         return cli.dbUris.stream()
                 .map(DockerizedDatabaseUri::fromUriString)
@@ -177,6 +209,12 @@ public class AtlasDbPerfCli {
     }
 
     private static boolean hasValidArgs(AtlasDbPerfCli cli) {
+        if (cli.compareFile != null && cli.baselineFile == null) {
+            throw new RuntimeException("Cannot specify --compare without --baseline");
+        }
+        if (cli.baselineFile != null && cli.testRun) {
+            throw new RuntimeException("Cannot compare a --test-run against a --baseline");
+        }
         if (cli.backends != null && cli.dbUris != null) {
             throw new RuntimeException("Cannot specify both --backends and --db-uris");
         }
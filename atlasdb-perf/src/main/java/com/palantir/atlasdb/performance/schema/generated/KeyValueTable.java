@@ -352,6 +352,72 @@ public final class KeyValueTable implements
         }
     }
 
+    /**
+     * A view over a raw row that decodes row components and column values lazily, on each call.
+     */
+    public static final class KeyValueRowView {
+        private final RowResult<byte[]> row;
+
+        public static KeyValueRowView of(RowResult<byte[]> row) {
+            return new KeyValueRowView(row);
+        }
+
+        private KeyValueRowView(RowResult<byte[]> row) {
+            this.row = row;
+        }
+
+        public byte[] getRawRowName() {
+            return row.getRowName();
+        }
+
+        public KeyValueRow getRowName() {
+            return KeyValueRow.BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());
+        }
+
+        public String getRowKey() {
+            byte[] __input = row.getRowName();
+            int __index = 0;
+            return PtBytes.toString(__input, __index, __input.length-__index);
+        }
+
+        public static Function<RowResult<byte[]>, KeyValueRowView> fromRawRowResultFun() {
+            return new Function<RowResult<byte[]>, KeyValueRowView>() {
+                @Override
+                public KeyValueRowView apply(RowResult<byte[]> rowResult) {
+                    return new KeyValueRowView(rowResult);
+                }
+            };
+        }
+
+        public boolean hasStreamId() {
+            return row.getColumns().containsKey(PtBytes.toCachedBytes("s"));
+        }
+
+        public Long getStreamId() {
+            byte[] bytes = row.getColumns().get(PtBytes.toCachedBytes("s"));
+            if (bytes == null) {
+                return null;
+            }
+            return EncodingUtils.decodeUnsignedVarLong(bytes, 0);
+        }
+
+        public long getStreamId(long defaultValue) {
+            byte[] bytes = row.getColumns().get(PtBytes.toCachedBytes("s"));
+            if (bytes == null) {
+                return defaultValue;
+            }
+            return EncodingUtils.decodeUnsignedVarLong(bytes, 0);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(getClass().getSimpleName())
+                .add("RowName", getRowName())
+                .add("StreamId", getStreamId())
+                .toString();
+        }
+    }
+
     public enum KeyValueNamedColumn {
         STREAM_ID {
             @Override
@@ -496,6 +562,19 @@ public final class KeyValueTable implements
         return rowResults;
     }
 
+    public List<KeyValueRowView> getRowViews(Iterable<KeyValueRow> rows) {
+        return getRowViews(rows, allColumns);
+    }
+
+    public List<KeyValueRowView> getRowViews(Iterable<KeyValueRow> rows, ColumnSelection columns) {
+        SortedMap<byte[], RowResult<byte[]>> results = t.getRows(tableRef, Persistables.persistAll(rows), columns);
+        List<KeyValueRowView> rowViews = Lists.newArrayListWithCapacity(results.size());
+        for (RowResult<byte[]> row : results.values()) {
+            rowViews.add(KeyValueRowView.of(row));
+        }
+        return rowViews;
+    }
+
     @Override
     public List<KeyValueNamedColumnValue<?>> getRowColumns(KeyValueRow row) {
         return getRowColumns(row, allColumns);
@@ -578,6 +657,13 @@ public final class KeyValueTable implements
         });
     }
 
+    public BatchingVisitableView<KeyValueRowView> getRangeViews(RangeRequest range) {
+        if (range.getColumnNames().isEmpty()) {
+            range = range.getBuilder().retainColumns(allColumns).build();
+        }
+        return BatchingVisitables.transform(t.getRange(tableRef, range), KeyValueRowView.fromRawRowResultFun());
+    }
+
     public IterableView<BatchingVisitable<KeyValueRowResult>> getRanges(Iterable<RangeRequest> ranges) {
         Iterable<BatchingVisitable<RowResult<byte[]>>> rangeResults = t.getRanges(tableRef, ranges);
         return IterableView.of(rangeResults).transform(
@@ -707,5 +793,5 @@ public final class KeyValueTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "DVmy8BAhP93Nqv/yw36IGw==";
+    static String __CLASS_HASH = "vDrpvjf5klCHcXGy9f/4fg==";
 }
@@ -18,6 +18,7 @@ package com.palantir.atlasdb.performance;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.math3.stat.inference.TestUtils;
 import org.assertj.core.util.Lists;
@@ -132,6 +133,52 @@ public class PerformanceResultsTest {
         assertThat(TestUtils.homoscedasticTTest(stats, downSampledStats)).isGreaterThan(0.5d);
     }
 
+    @Test
+    public void flagsSignificantRegressionAgainstBaseline() {
+        List<PerformanceResults.Regression> regressions = PerformanceResults.findRegressions(
+                ImmutableList.of(createResult(100.0, 5.0, TimeUnit.MICROSECONDS)),
+                ImmutableList.of(createResult(120.0, 5.0, TimeUnit.MICROSECONDS)));
+
+        assertThat(regressions).hasSize(1);
+        assertThat(regressions.get(0).benchmark()).isEqualTo(FORMATTED_BENCHMARK_NAME_CASSANDRA);
+        assertThat(regressions.get(0).baselineMean()).isEqualTo(100.0);
+        assertThat(regressions.get(0).pValue()).isLessThan(PerformanceResults.SIGNIFICANCE_LEVEL);
+    }
+
+    @Test
+    public void doesNotFlagImprovementsOrNoisyDifferences() {
+        assertThat(PerformanceResults.findRegressions(
+                ImmutableList.of(createResult(120.0, 5.0, TimeUnit.MICROSECONDS)),
+                ImmutableList.of(createResult(100.0, 5.0, TimeUnit.MICROSECONDS)))).isEmpty();
+        assertThat(PerformanceResults.findRegressions(
+                ImmutableList.of(createResult(100.0, 500.0, TimeUnit.MICROSECONDS)),
+                ImmutableList.of(createResult(120.0, 500.0, TimeUnit.MICROSECONDS)))).isEmpty();
+    }
+
+    @Test
+    public void comparesResultsInDifferentTimeUnits() {
+        assertThat(PerformanceResults.findRegressions(
+                ImmutableList.of(createResult(100_000.0, 5_000.0, TimeUnit.NANOSECONDS)),
+                ImmutableList.of(createResult(101.0, 5.0, TimeUnit.MICROSECONDS)))).isEmpty();
+        assertThat(PerformanceResults.findRegressions(
+                ImmutableList.of(createResult(100_000.0, 5_000.0, TimeUnit.NANOSECONDS)),
+                ImmutableList.of(createResult(120.0, 5.0, TimeUnit.MICROSECONDS)))).hasSize(1);
+    }
+
+    private static PerformanceResults.PerformanceResult createResult(double mean, double std, TimeUnit units) {
+        return ImmutablePerformanceResult.builder()
+                .date(0L)
+                .benchmark(FORMATTED_BENCHMARK_NAME_CASSANDRA)
+                .samples(100L)
+                .std(std)
+                .mean(mean)
+                .units(units)
+                .p50(mean)
+                .p90(mean)
+                .p99(mean)
+                .build();
+    }
+
     private static BenchmarkParams createBenchmarkParams(String benchmarkName, String paramKey, String paramValue) {
         WorkloadParams workloadParams = new WorkloadParams();
         workloadParams.put(paramKey, paramValue, 0);
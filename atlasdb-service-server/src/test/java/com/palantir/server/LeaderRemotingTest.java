@@ -47,6 +47,11 @@ public class LeaderRemotingTest {
         public String getUUID() {
             return UUID.randomUUID().toString();
         }
+
+        @Override
+        public boolean grantLeadershipLease(String leaderUuid, long durationMs) {
+            return false;
+        }
     });
 
     @ClassRule
@@ -82,6 +82,10 @@ public abstract class AbstractSerializableTransactionTest extends AbstractTransa
                 MultiTableSweepQueueWriter.NO_OP);
     }
 
+    protected long getRangeScanPrefetchBytes() {
+        return 0L;
+    }
+
     @Override
     protected Transaction startTransaction() {
         ImmutableMap<TableReference, ConflictHandler> tablesToWriteWrite = ImmutableMap.of(
@@ -108,6 +112,7 @@ public abstract class AbstractSerializableTransactionTest extends AbstractTransa
                 AtlasDbConstants.DEFAULT_TRANSACTION_LOCK_ACQUIRE_TIMEOUT_MS,
                 AbstractTransactionTest.GET_RANGES_EXECUTOR,
                 AbstractTransactionTest.DEFAULT_GET_RANGES_CONCURRENCY,
+                getRangeScanPrefetchBytes(),
                 MultiTableSweepQueueWriter.NO_OP) {
             @Override
             protected Map<Cell, byte[]> transformGetsForTesting(Map<Cell, byte[]> map) {
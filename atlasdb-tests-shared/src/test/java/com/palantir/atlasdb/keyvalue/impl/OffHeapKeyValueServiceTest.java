@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableMultimap;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+
+public class OffHeapKeyValueServiceTest extends AbstractKeyValueServiceTest {
+    // Small enough that the shared tests flush and merge segments all the time.
+    private static final long FLUSH_THRESHOLD_BYTES = 256;
+    private static final int MAX_FLUSHED_SEGMENTS = 2;
+
+    @ClassRule
+    public static final TemporaryFolder TEMPORARY_FOLDER = new TemporaryFolder();
+
+    @Override
+    protected KeyValueService getKeyValueService() {
+        try {
+            return new OffHeapKeyValueService(
+                    TEMPORARY_FOLDER.newFolder(), FLUSH_THRESHOLD_BYTES, MAX_FLUSHED_SEGMENTS);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    public void reopensTablesFromDataDirectory() throws IOException {
+        File dataDirectory = TEMPORARY_FOLDER.newFolder();
+        TableReference tableRef = TableReference.createFromFullyQualifiedName("ns.reopened");
+        Cell deletedCell = Cell.create(row1, column1);
+
+        KeyValueService kvs = new OffHeapKeyValueService(dataDirectory, FLUSH_THRESHOLD_BYTES, MAX_FLUSHED_SEGMENTS);
+        kvs.createTable(tableRef, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        kvs.put(tableRef, ImmutableMap.of(TEST_CELL, value00, deletedCell, value12), TEST_TIMESTAMP);
+        kvs.compactInternally(tableRef);
+        kvs.delete(tableRef, ImmutableMultimap.of(deletedCell, TEST_TIMESTAMP));
+        kvs.close();
+
+        KeyValueService reopened =
+                new OffHeapKeyValueService(dataDirectory, FLUSH_THRESHOLD_BYTES, MAX_FLUSHED_SEGMENTS);
+        try {
+            assertThat(reopened.getAllTableNames()).containsExactly(tableRef);
+            assertThat(reopened.getMetadataForTable(tableRef)).isEqualTo(AtlasDbConstants.GENERIC_TABLE_METADATA);
+            Map<Cell, Value> values = reopened.get(tableRef,
+                    ImmutableMap.of(TEST_CELL, TEST_TIMESTAMP + 1, deletedCell, TEST_TIMESTAMP + 1));
+            assertThat(values).containsOnlyKeys(TEST_CELL);
+            assertThat(PtBytes.toString(values.get(TEST_CELL).getContents())).isEqualTo(PtBytes.toString(value00));
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    public void dropTableDeletesLeftoverFiles() throws IOException {
+        File dataDirectory = TEMPORARY_FOLDER.newFolder();
+        TableReference tableRef = TableReference.createFromFullyQualifiedName("ns.dropped");
+
+        KeyValueService kvs = new OffHeapKeyValueService(dataDirectory, FLUSH_THRESHOLD_BYTES, MAX_FLUSHED_SEGMENTS);
+        try {
+            kvs.createTable(tableRef, AtlasDbConstants.GENERIC_TABLE_METADATA);
+            kvs.put(tableRef, ImmutableMap.of(TEST_CELL, value00), TEST_TIMESTAMP);
+            kvs.compactInternally(tableRef);
+            File[] tableDirectories = dataDirectory.listFiles();
+            assertThat(tableDirectories).hasSize(1);
+            assertThat(new File(tableDirectories[0], "leftover").createNewFile()).isTrue();
+
+            kvs.dropTable(tableRef);
+            assertThat(dataDirectory.listFiles()).isEmpty();
+        } finally {
+            kvs.close();
+        }
+    }
+}
@@ -29,6 +29,7 @@ import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.MoreExecutors;
@@ -168,4 +169,122 @@ public class TableTasksTest {
         Assert.assertEquals(partialRows, rowsPartiallyInCommon.get());
         Assert.assertEquals(keys1.keySet().size(), rowsVisited.get());
     }
+
+    @Test
+    public void testDiffByDigestTask() throws InterruptedException {
+        TableReference table1 = TableReference.createWithEmptyNamespace("table1");
+        TableReference table2 = TableReference.createWithEmptyNamespace("table2");
+        Random rand = new Random();
+        kvs.createTable(table1, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        kvs.createTable(table2, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        Multimap<Integer, Integer> keys1 = HashMultimap.create();
+        Multimap<Integer, Integer> keys2 = HashMultimap.create();
+        int key = 0;
+        for (int col = 0; col < 256; col++) {
+            int randomInt = rand.nextInt(3);
+            if (randomInt >= 1) {
+                keys1.put(key, col);
+                kvs.put(table1,
+                        ImmutableMap.of(Cell.create(new byte[]{(byte) key}, new byte[]{(byte) col}), new byte[] {0}),
+                        1);
+            }
+            if (randomInt <= 1) {
+                keys2.put(key, col);
+                kvs.put(table2,
+                        ImmutableMap.of(Cell.create(new byte[]{(byte) key}, new byte[]{(byte) col}), new byte[] {0}),
+                        1);
+            }
+            if (rand.nextBoolean()) {
+                key++;
+            }
+        }
+        TransactionServices.createTransactionService(kvs).putUnlessExists(1, 1);
+        AtomicLong rowsOnlyInSource = new AtomicLong();
+        AtomicLong rowsPartiallyInCommon = new AtomicLong();
+        AtomicLong rowsCompletelyInCommon = new AtomicLong();
+        AtomicLong rowsVisited = new AtomicLong();
+        AtomicLong cellsOnlyInSource = new AtomicLong();
+        AtomicLong cellsInCommon = new AtomicLong();
+        DiffStats stats = new TableTasks.DiffStats(
+                rowsOnlyInSource,
+                rowsPartiallyInCommon,
+                rowsCompletelyInCommon,
+                rowsVisited,
+                cellsOnlyInSource,
+                cellsInCommon);
+        TableTasks.diffByDigest(txManager,
+                MoreExecutors.newDirectExecutorService(),
+                table1,
+                table2,
+                10,
+                1,
+                stats,
+                (transaction, partialDiff) -> Iterators.size(partialDiff));
+        long sourceOnlyCells = 0;
+        long commonCells = 0;
+        for (Entry<Integer, Integer> cell : keys1.entries()) {
+            if (keys2.containsEntry(cell.getKey(), cell.getValue())) {
+                commonCells++;
+            } else {
+                sourceOnlyCells++;
+            }
+        }
+        long disjointRows = 0;
+        long partialRows = 0;
+        long commonRows = 0;
+        for (int k : keys1.keySet()) {
+            if (Collections.disjoint(keys2.get(k), keys1.get(k))) {
+                disjointRows++;
+            } else if (keys2.get(k).containsAll(keys1.get(k))) {
+                commonRows++;
+            } else {
+                partialRows++;
+            }
+        }
+
+        Assert.assertEquals(commonCells, cellsInCommon.get());
+        Assert.assertEquals(sourceOnlyCells, cellsOnlyInSource.get());
+        Assert.assertEquals(disjointRows, rowsOnlyInSource.get());
+        Assert.assertEquals(commonRows, rowsCompletelyInCommon.get());
+        Assert.assertEquals(partialRows, rowsPartiallyInCommon.get());
+        Assert.assertEquals(keys1.keySet().size(), rowsVisited.get());
+    }
+
+    @Test
+    public void testCopyChangedRanges() throws InterruptedException {
+        TableReference srcTable = TableReference.createWithEmptyNamespace("src");
+        TableReference dstTable = TableReference.createWithEmptyNamespace("dst");
+        kvs.createTable(srcTable, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        kvs.createTable(dstTable, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        for (int row = 0; row < 100; row++) {
+            Cell cell = Cell.create(new byte[] {(byte) row}, new byte[] {0});
+            kvs.put(srcTable, ImmutableMap.of(cell, new byte[] {(byte) row}), 1);
+            if (row != 42) {
+                kvs.put(dstTable, ImmutableMap.of(cell, new byte[] {(byte) (row == 7 ? 0 : row)}), 1);
+            }
+        }
+        TransactionServices.createTransactionService(kvs).putUnlessExists(1, 1);
+
+        AtomicLong rowsCopied = new AtomicLong();
+        AtomicLong cellsCopied = new AtomicLong();
+        TableTasks.copyChangedRanges(txManager,
+                MoreExecutors.newDirectExecutorService(),
+                srcTable,
+                dstTable,
+                10,
+                1,
+                new TableTasks.CopyStats(rowsCopied, cellsCopied));
+
+        // The digests split the table into ranges of four rows, and only the two holding rows 7 and 42 are copied.
+        Assert.assertEquals(8, rowsCopied.get());
+        Assert.assertEquals(8, cellsCopied.get());
+        txManager.runTaskReadOnly(tx -> {
+            for (int row = 0; row < 100; row++) {
+                Cell cell = Cell.create(new byte[] {(byte) row}, new byte[] {0});
+                Assert.assertArrayEquals(new byte[] {(byte) row},
+                        tx.get(dstTable, ImmutableSet.of(cell)).get(cell));
+            }
+            return null;
+        });
+    }
 }
@@ -17,14 +17,18 @@ package com.palantir.atlasdb.schema;
 
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.mutable.MutableLong;
 import org.junit.Assert;
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.AtlasDbTestCase;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.Cell;
@@ -32,6 +36,7 @@ import com.palantir.atlasdb.keyvalue.api.Namespace;
 import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
 import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
 import com.palantir.atlasdb.keyvalue.impl.TableMappingNotFoundException;
 import com.palantir.atlasdb.sweep.queue.MultiTableSweepQueueWriter;
@@ -155,4 +160,84 @@ public class TableMigratorTest extends AtlasDbTestCase {
         }
         Assert.assertEquals(2L, count.longValue());
     }
+
+    @Test
+    public void testBulkMigrationCopiesValuesCommittedBeforeTheMigrationTimestamp() {
+        final TableReference tableRef = TableReference.createFromFullyQualifiedName("namespace.bulk");
+        keyValueService.createTable(tableRef, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        final Cell committedCell = Cell.create(PtBytes.toBytes("r1"), PtBytes.toBytes("c"));
+        final Cell deletedCell = Cell.create(PtBytes.toBytes("r2"), PtBytes.toBytes("c"));
+        final Cell uncommittedCell = Cell.create(PtBytes.toBytes("r3"), PtBytes.toBytes("c"));
+        final Cell laterCell = Cell.create(PtBytes.toBytes("r4"), PtBytes.toBytes("c"));
+        final byte[] committedValue = PtBytes.toBytes("v1");
+        txManager.runTaskWithRetry((TransactionTask<Void, RuntimeException>) txn -> {
+            txn.put(tableRef, ImmutableMap.of(committedCell, committedValue, deletedCell, PtBytes.toBytes("v2")));
+            return null;
+        });
+        txManager.runTaskWithRetry((TransactionTask<Void, RuntimeException>) txn -> {
+            txn.delete(tableRef, ImmutableSet.of(deletedCell));
+            return null;
+        });
+        // Written without a commit timestamp, so these must be rolled back and read past.
+        keyValueService.put(tableRef,
+                ImmutableMap.of(committedCell, PtBytes.toBytes("dirty"), uncommittedCell, PtBytes.toBytes("v3")),
+                timestampService.getFreshTimestamp());
+        long migrationTimestamp = timestampService.getFreshTimestamp();
+        // Committed after the migration timestamp, so these must not be copied.
+        txManager.runTaskWithRetry((TransactionTask<Void, RuntimeException>) txn -> {
+            txn.put(tableRef, ImmutableMap.of(committedCell, PtBytes.toBytes("later"), laterCell, committedValue));
+            return null;
+        });
+
+        final InMemoryKeyValueService kvs2 = new InMemoryKeyValueService(false);
+        final TestTransactionManagerImpl txManager2 = new TestTransactionManagerImpl(
+                kvs2,
+                timestampService,
+                lockClient,
+                lockService,
+                transactionService,
+                ConflictDetectionManagers.createWithNoConflictDetection(),
+                SweepStrategyManagers.completelyConservative(kvs2),
+                MultiTableSweepQueueWriter.NO_OP);
+        kvs2.createTable(tableRef, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        TableReference checkpointTable = TableReference.create(Namespace.DEFAULT_NAMESPACE, "checkpoint");
+        GeneralTaskCheckpointer checkpointer = new GeneralTaskCheckpointer(checkpointTable, kvs2, txManager2);
+
+        AtomicLong bytesCopied = new AtomicLong();
+        KvsBulkRangeMigrator rangeMigrator = new KvsBulkRangeMigratorBuilder()
+                .srcTable(tableRef)
+                .txManager(txManager2)
+                .readKvs(keyValueService)
+                .writeKvs(kvs2)
+                .readTransactionService(transactionService)
+                .migrationTimestamp(migrationTimestamp)
+                .readBatchSize(1)
+                .checkpointer(checkpointer)
+                .bytesCopiedListener(bytesCopied::addAndGet)
+                .build();
+        ExecutorService executor = PTExecutors.newSingleThreadExecutor();
+        try {
+            new TableMigratorBuilder()
+                    .srcTable(tableRef)
+                    .partitions(2)
+                    .executor(executor)
+                    .checkpointer(checkpointer)
+                    .rangeMigrator(rangeMigrator)
+                    .build()
+                    .migrate();
+        } finally {
+            executor.shutdown();
+        }
+        checkpointer.deleteCheckpoints();
+
+        Map<Cell, Value> migrated = kvs2.get(tableRef, ImmutableMap.of(
+                committedCell, Long.MAX_VALUE,
+                deletedCell, Long.MAX_VALUE,
+                uncommittedCell, Long.MAX_VALUE,
+                laterCell, Long.MAX_VALUE));
+        Assert.assertEquals(ImmutableSet.of(committedCell), migrated.keySet());
+        Assert.assertArrayEquals(committedValue, migrated.get(committedCell).getContents());
+        Assert.assertEquals(migrationTimestamp, migrated.get(committedCell).getTimestamp());
+        Assert.assertTrue(bytesCopied.get() > 0);
+    }
 }
@@ -31,6 +31,8 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
@@ -67,6 +69,9 @@ import com.palantir.atlasdb.protos.generated.StreamPersistence;
 import com.palantir.atlasdb.protos.generated.StreamPersistence.StreamMetadata;
 import com.palantir.atlasdb.schema.stream.generated.DeletingStreamStore;
 import com.palantir.atlasdb.schema.stream.generated.KeyValueTable;
+import com.palantir.atlasdb.schema.stream.generated.StreamTestDeflateStreamMetadataTable.StreamTestDeflateStreamMetadataRow;
+import com.palantir.atlasdb.schema.stream.generated.StreamTestDeflateStreamStore;
+import com.palantir.atlasdb.schema.stream.generated.StreamTestLz4StreamStore;
 import com.palantir.atlasdb.schema.stream.generated.StreamTestMaxMemStreamStore;
 import com.palantir.atlasdb.schema.stream.generated.StreamTestStreamHashAidxTable;
 import com.palantir.atlasdb.schema.stream.generated.StreamTestStreamMetadataTable;
@@ -101,6 +106,8 @@ public class StreamTest extends AtlasDbTestCase {
     private boolean useStoreWithHashedComponents;
     private PersistentStreamStore compressedStore;
     private PersistentStreamStore maxMemStore;
+    private PersistentStreamStore lz4Store;
+    private PersistentStreamStore deflateStore;
 
     @Parameters
     public static Collection<Object[]> data() {
@@ -128,6 +135,8 @@ public class StreamTest extends AtlasDbTestCase {
 
         compressedStore = StreamTestWithHashStreamStore.of(txManager, StreamTestTableFactory.of());
         maxMemStore = StreamTestMaxMemStreamStore.of(txManager, StreamTestTableFactory.of());
+        lz4Store = StreamTestLz4StreamStore.of(txManager, StreamTestTableFactory.of());
+        deflateStore = StreamTestDeflateStreamStore.of(txManager, StreamTestTableFactory.of());
     }
 
     @Test
@@ -302,6 +311,31 @@ public class StreamTest extends AtlasDbTestCase {
         storeAndCheckByteStreams(maxMemStore, getIncompressibleBytes(20_000_000));
     }
 
+    @Test
+    public void testStoreCompressibleByteStreamThreeBlocksLong_lz4Stream() throws IOException {
+        storeAndCheckByteStreams(lz4Store,
+                getCompressibleBytes(StreamTestStreamStore.BLOCK_SIZE_IN_BYTES * 3 + 500));
+    }
+
+    @Test
+    public void testStoreCompressibleToDeflateStream() throws IOException {
+        storeAndCheckByteStreams(deflateStore, getCompressibleBytes(5_000_000));
+    }
+
+    @Test
+    public void testBlockCodecIsRecordedInMetadata() {
+        byte[] bytesToStore = getCompressibleBytes(StreamTestDeflateStreamStore.BLOCK_SIZE_IN_BYTES * 2 + 500);
+        long id = storeStream(deflateStore, bytesToStore, PtBytes.toBytes("ref"));
+
+        StreamMetadata metadata = txManager.runTaskReadOnly(tx -> Iterables.getOnlyElement(
+                StreamTestTableFactory.of().getStreamTestDeflateStreamMetadataTable(tx)
+                        .getMetadatas(ImmutableSet.of(StreamTestDeflateStreamMetadataRow.of(id)))
+                        .values()));
+        assertEquals(StreamPersistence.BlockCodec.DEFLATE, metadata.getBlockCodec());
+        assertEquals(bytesToStore.length, metadata.getLength());
+        assertTrue(metadata.getStoredLength() < metadata.getLength());
+    }
+
     private long storeAndCheckByteStreams(PersistentStreamStore store, byte[] bytesToStore) throws IOException {
         byte[] reference = PtBytes.toBytes("ref");
 
@@ -362,6 +396,87 @@ public class StreamTest extends AtlasDbTestCase {
         stream.close();
     }
 
+    @Test
+    public void testLoadStreamRangeAcrossBlocks_defaultStream() throws IOException {
+        loadAndCheckStreamRanges(defaultStore,
+                getIncompressibleBytes(StreamTestStreamStore.BLOCK_SIZE_IN_BYTES * 3 + 500));
+    }
+
+    @Test
+    public void testLoadStreamRangeAcrossBlocks_compressedStream() throws IOException {
+        loadAndCheckStreamRanges(compressedStore,
+                getCompressibleBytes(StreamTestStreamStore.BLOCK_SIZE_IN_BYTES * 3 + 500));
+    }
+
+    @Test
+    public void testLoadStreamRangeAcrossBlocks_maxMemStream() throws IOException {
+        loadAndCheckStreamRanges(maxMemStore,
+                getCompressibleBytes(StreamTestStreamStore.BLOCK_SIZE_IN_BYTES * 3 + 500));
+    }
+
+    @Test
+    public void testLoadStreamRangeAcrossBlocks_lz4Stream() throws IOException {
+        loadAndCheckStreamRanges(lz4Store,
+                getCompressibleBytes(StreamTestStreamStore.BLOCK_SIZE_IN_BYTES * 3 + 500));
+    }
+
+    @Test
+    public void testLoadStreamRangeAcrossBlocks_deflateStream() throws IOException {
+        loadAndCheckStreamRanges(deflateStore,
+                getCompressibleBytes(StreamTestStreamStore.BLOCK_SIZE_IN_BYTES * 3 + 500));
+    }
+
+    private void loadAndCheckStreamRanges(PersistentStreamStore store, byte[] bytesToStore) throws IOException {
+        long id = storeStream(store, bytesToStore, PtBytes.toBytes("ref"));
+        int blockSize = StreamTestStreamStore.BLOCK_SIZE_IN_BYTES;
+
+        verifyLoadStreamRange(store, id, bytesToStore, 0, 10);
+        verifyLoadStreamRange(store, id, bytesToStore, blockSize - 5, 10);
+        verifyLoadStreamRange(store, id, bytesToStore, blockSize + 10, blockSize + 100);
+        verifyLoadStreamRange(store, id, bytesToStore, bytesToStore.length - 5, 100);
+        verifyLoadStreamRange(store, id, bytesToStore, bytesToStore.length + 5, 100);
+    }
+
+    private void verifyLoadStreamRange(PersistentStreamStore store, long id, byte[] bytesToStore, int offset,
+            int length) throws IOException {
+        InputStream stream = txManager.runTaskThrowOnConflict(t -> store.loadStreamRange(t, id, offset, length));
+        int start = Math.min(offset, bytesToStore.length);
+        int end = Math.min(offset + length, bytesToStore.length);
+        assertStreamHasBytes(stream, Arrays.copyOfRange(bytesToStore, start, end));
+    }
+
+    @Test
+    public void testSeekWithinStreamChannelWhenTransactionOpen() throws IOException {
+        byte[] data = getIncompressibleBytes(StreamTestStreamStore.BLOCK_SIZE_IN_BYTES * 3 + 500);
+        long id = storeStream(defaultStore, data, PtBytes.toBytes("ref"));
+        int offset = StreamTestStreamStore.BLOCK_SIZE_IN_BYTES * 2 + 7;
+
+        txManager.runTaskThrowOnConflict(t -> {
+            try (SeekableByteChannel channel = defaultStore.loadStreamAsChannel(t, id)) {
+                assertEquals(data.length, channel.size());
+
+                ByteBuffer buffer = ByteBuffer.allocate(16);
+                channel.position(offset).read(buffer);
+                assertArrayEquals(Arrays.copyOfRange(data, offset, offset + buffer.position()),
+                        Arrays.copyOf(buffer.array(), buffer.position()));
+
+                buffer.clear();
+                channel.position(3).read(buffer);
+                assertArrayEquals(Arrays.copyOfRange(data, 3, 3 + buffer.position()),
+                        Arrays.copyOf(buffer.array(), buffer.position()));
+            } catch (IOException e) {
+                throw Throwables.propagate(e);
+            }
+            return null;
+        });
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCannotLoadCompressedStreamAsChannel() {
+        long id = storeStream(compressedStore, getCompressibleBytes(100), PtBytes.toBytes("ref"));
+        txManager.runTaskThrowOnConflict(t -> compressedStore.loadStreamAsChannel(t, id));
+    }
+
     @Test
     public void readFromStreamWhenTransactionOpen() throws IOException {
         readFromGivenStreamWhenTransactionOpen(defaultStore);
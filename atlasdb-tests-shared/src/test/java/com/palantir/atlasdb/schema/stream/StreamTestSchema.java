@@ -19,6 +19,7 @@ import java.io.File;
 
 import com.palantir.atlasdb.keyvalue.api.Namespace;
 import com.palantir.atlasdb.schema.AtlasSchema;
+import com.palantir.atlasdb.stream.StreamBlockCodec;
 import com.palantir.atlasdb.table.description.OptionalType;
 import com.palantir.atlasdb.table.description.Schema;
 import com.palantir.atlasdb.table.description.TableDefinition;
@@ -77,6 +78,17 @@ public class StreamTestSchema implements AtlasSchema {
                     .inMemoryThreshold(StreamStoreDefinition.MAX_IN_MEMORY_THRESHOLD)
                     .build());
 
+        // test block codecs
+        schema.addStreamStoreDefinition(
+                new StreamStoreDefinitionBuilder("stream_test_lz4", "stream_test_lz4", ValueType.VAR_LONG)
+                    .blockCodec(StreamBlockCodec.LZ4)
+                    .build());
+
+        schema.addStreamStoreDefinition(
+                new StreamStoreDefinitionBuilder("stream_test_deflate", "stream_test_deflate", ValueType.VAR_LONG)
+                    .blockCodec(StreamBlockCodec.DEFLATE)
+                    .build());
+
         return schema;
     }
 
@@ -46,6 +46,46 @@ public final class StreamTestTableFactory {
         return KeyValueTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
     }
 
+    public StreamTestDeflateStreamHashAidxTable getStreamTestDeflateStreamHashAidxTable(Transaction t,
+            StreamTestDeflateStreamHashAidxTable.StreamTestDeflateStreamHashAidxTrigger... triggers) {
+        return StreamTestDeflateStreamHashAidxTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
+    }
+
+    public StreamTestDeflateStreamIdxTable getStreamTestDeflateStreamIdxTable(Transaction t,
+            StreamTestDeflateStreamIdxTable.StreamTestDeflateStreamIdxTrigger... triggers) {
+        return StreamTestDeflateStreamIdxTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
+    }
+
+    public StreamTestDeflateStreamMetadataTable getStreamTestDeflateStreamMetadataTable(Transaction t,
+            StreamTestDeflateStreamMetadataTable.StreamTestDeflateStreamMetadataTrigger... triggers) {
+        return StreamTestDeflateStreamMetadataTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
+    }
+
+    public StreamTestDeflateStreamValueTable getStreamTestDeflateStreamValueTable(Transaction t,
+            StreamTestDeflateStreamValueTable.StreamTestDeflateStreamValueTrigger... triggers) {
+        return StreamTestDeflateStreamValueTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
+    }
+
+    public StreamTestLz4StreamHashAidxTable getStreamTestLz4StreamHashAidxTable(Transaction t,
+            StreamTestLz4StreamHashAidxTable.StreamTestLz4StreamHashAidxTrigger... triggers) {
+        return StreamTestLz4StreamHashAidxTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
+    }
+
+    public StreamTestLz4StreamIdxTable getStreamTestLz4StreamIdxTable(Transaction t,
+            StreamTestLz4StreamIdxTable.StreamTestLz4StreamIdxTrigger... triggers) {
+        return StreamTestLz4StreamIdxTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
+    }
+
+    public StreamTestLz4StreamMetadataTable getStreamTestLz4StreamMetadataTable(Transaction t,
+            StreamTestLz4StreamMetadataTable.StreamTestLz4StreamMetadataTrigger... triggers) {
+        return StreamTestLz4StreamMetadataTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
+    }
+
+    public StreamTestLz4StreamValueTable getStreamTestLz4StreamValueTable(Transaction t,
+            StreamTestLz4StreamValueTable.StreamTestLz4StreamValueTrigger... triggers) {
+        return StreamTestLz4StreamValueTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
+    }
+
     public StreamTestMaxMemStreamHashAidxTable getStreamTestMaxMemStreamHashAidxTable(Transaction t,
             StreamTestMaxMemStreamHashAidxTable.StreamTestMaxMemStreamHashAidxTrigger... triggers) {
         return StreamTestMaxMemStreamHashAidxTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
@@ -126,7 +166,7 @@ public final class StreamTestTableFactory {
         return TestHashComponentsStreamValueTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
     }
 
-    public interface SharedTriggers extends KeyValueTable.KeyValueTrigger, StreamTestMaxMemStreamHashAidxTable.StreamTestMaxMemStreamHashAidxTrigger, StreamTestMaxMemStreamIdxTable.StreamTestMaxMemStreamIdxTrigger, StreamTestMaxMemStreamMetadataTable.StreamTestMaxMemStreamMetadataTrigger, StreamTestMaxMemStreamValueTable.StreamTestMaxMemStreamValueTrigger, StreamTestStreamHashAidxTable.StreamTestStreamHashAidxTrigger, StreamTestStreamIdxTable.StreamTestStreamIdxTrigger, StreamTestStreamMetadataTable.StreamTestStreamMetadataTrigger, StreamTestStreamValueTable.StreamTestStreamValueTrigger, StreamTestWithHashStreamHashAidxTable.StreamTestWithHashStreamHashAidxTrigger, StreamTestWithHashStreamIdxTable.StreamTestWithHashStreamIdxTrigger, StreamTestWithHashStreamMetadataTable.StreamTestWithHashStreamMetadataTrigger, StreamTestWithHashStreamValueTable.StreamTestWithHashStreamValueTrigger, TestHashComponentsStreamHashAidxTable.TestHashComponentsStreamHashAidxTrigger, TestHashComponentsStreamIdxTable.TestHashComponentsStreamIdxTrigger, TestHashComponentsStreamMetadataTable.TestHashComponentsStreamMetadataTrigger, TestHashComponentsStreamValueTable.TestHashComponentsStreamValueTrigger {
+    public interface SharedTriggers extends KeyValueTable.KeyValueTrigger, StreamTestDeflateStreamHashAidxTable.StreamTestDeflateStreamHashAidxTrigger, StreamTestDeflateStreamIdxTable.StreamTestDeflateStreamIdxTrigger, StreamTestDeflateStreamMetadataTable.StreamTestDeflateStreamMetadataTrigger, StreamTestDeflateStreamValueTable.StreamTestDeflateStreamValueTrigger, StreamTestLz4StreamHashAidxTable.StreamTestLz4StreamHashAidxTrigger, StreamTestLz4StreamIdxTable.StreamTestLz4StreamIdxTrigger, StreamTestLz4StreamMetadataTable.StreamTestLz4StreamMetadataTrigger, StreamTestLz4StreamValueTable.StreamTestLz4StreamValueTrigger, StreamTestMaxMemStreamHashAidxTable.StreamTestMaxMemStreamHashAidxTrigger, StreamTestMaxMemStreamIdxTable.StreamTestMaxMemStreamIdxTrigger, StreamTestMaxMemStreamMetadataTable.StreamTestMaxMemStreamMetadataTrigger, StreamTestMaxMemStreamValueTable.StreamTestMaxMemStreamValueTrigger, StreamTestStreamHashAidxTable.StreamTestStreamHashAidxTrigger, StreamTestStreamIdxTable.StreamTestStreamIdxTrigger, StreamTestStreamMetadataTable.StreamTestStreamMetadataTrigger, StreamTestStreamValueTable.StreamTestStreamValueTrigger, StreamTestWithHashStreamHashAidxTable.StreamTestWithHashStreamHashAidxTrigger, StreamTestWithHashStreamIdxTable.StreamTestWithHashStreamIdxTrigger, StreamTestWithHashStreamMetadataTable.StreamTestWithHashStreamMetadataTrigger, StreamTestWithHashStreamValueTable.StreamTestWithHashStreamValueTrigger, TestHashComponentsStreamHashAidxTable.TestHashComponentsStreamHashAidxTrigger, TestHashComponentsStreamIdxTable.TestHashComponentsStreamIdxTrigger, TestHashComponentsStreamMetadataTable.TestHashComponentsStreamMetadataTrigger, TestHashComponentsStreamValueTable.TestHashComponentsStreamValueTrigger {
     }
 
     public abstract static class NullSharedTriggers implements SharedTriggers {
@@ -135,6 +175,46 @@ public final class StreamTestTableFactory {
             // do nothing
         }
 
+        @Override
+        public void putStreamTestDeflateStreamHashAidx(Multimap<StreamTestDeflateStreamHashAidxTable.StreamTestDeflateStreamHashAidxRow, ? extends StreamTestDeflateStreamHashAidxTable.StreamTestDeflateStreamHashAidxColumnValue> newRows) {
+            // do nothing
+        }
+
+        @Override
+        public void putStreamTestDeflateStreamIdx(Multimap<StreamTestDeflateStreamIdxTable.StreamTestDeflateStreamIdxRow, ? extends StreamTestDeflateStreamIdxTable.StreamTestDeflateStreamIdxColumnValue> newRows) {
+            // do nothing
+        }
+
+        @Override
+        public void putStreamTestDeflateStreamMetadata(Multimap<StreamTestDeflateStreamMetadataTable.StreamTestDeflateStreamMetadataRow, ? extends StreamTestDeflateStreamMetadataTable.StreamTestDeflateStreamMetadataNamedColumnValue<?>> newRows) {
+            // do nothing
+        }
+
+        @Override
+        public void putStreamTestDeflateStreamValue(Multimap<StreamTestDeflateStreamValueTable.StreamTestDeflateStreamValueRow, ? extends StreamTestDeflateStreamValueTable.StreamTestDeflateStreamValueNamedColumnValue<?>> newRows) {
+            // do nothing
+        }
+
+        @Override
+        public void putStreamTestLz4StreamHashAidx(Multimap<StreamTestLz4StreamHashAidxTable.StreamTestLz4StreamHashAidxRow, ? extends StreamTestLz4StreamHashAidxTable.StreamTestLz4StreamHashAidxColumnValue> newRows) {
+            // do nothing
+        }
+
+        @Override
+        public void putStreamTestLz4StreamIdx(Multimap<StreamTestLz4StreamIdxTable.StreamTestLz4StreamIdxRow, ? extends StreamTestLz4StreamIdxTable.StreamTestLz4StreamIdxColumnValue> newRows) {
+            // do nothing
+        }
+
+        @Override
+        public void putStreamTestLz4StreamMetadata(Multimap<StreamTestLz4StreamMetadataTable.StreamTestLz4StreamMetadataRow, ? extends StreamTestLz4StreamMetadataTable.StreamTestLz4StreamMetadataNamedColumnValue<?>> newRows) {
+            // do nothing
+        }
+
+        @Override
+        public void putStreamTestLz4StreamValue(Multimap<StreamTestLz4StreamValueTable.StreamTestLz4StreamValueRow, ? extends StreamTestLz4StreamValueTable.StreamTestLz4StreamValueNamedColumnValue<?>> newRows) {
+            // do nothing
+        }
+
         @Override
         public void putStreamTestMaxMemStreamHashAidx(Multimap<StreamTestMaxMemStreamHashAidxTable.StreamTestMaxMemStreamHashAidxRow, ? extends StreamTestMaxMemStreamHashAidxTable.StreamTestMaxMemStreamHashAidxColumnValue> newRows) {
             // do nothing
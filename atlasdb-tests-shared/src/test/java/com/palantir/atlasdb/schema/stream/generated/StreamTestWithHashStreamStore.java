@@ -8,6 +8,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.SeekableByteChannel;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.util.Arrays;
@@ -52,6 +53,7 @@ import com.palantir.atlasdb.stream.BlockConsumingInputStream;
 import com.palantir.atlasdb.stream.BlockGetter;
 import com.palantir.atlasdb.stream.BlockLoader;
 import com.palantir.atlasdb.stream.PersistentStreamStore;
+import com.palantir.atlasdb.stream.StreamBlockCodec;
 import com.palantir.atlasdb.stream.StreamCleanedException;
 import com.palantir.atlasdb.transaction.api.Transaction;
 import com.palantir.atlasdb.transaction.api.TransactionFailedRetriableException;
@@ -224,6 +226,25 @@ public final class StreamTestWithHashStreamStore extends AbstractPersistentStrea
         });
     }
 
+    @Override
+    public InputStream loadStreamRange(Transaction t, final Long id, long offset, long length) {
+        Preconditions.checkArgument(offset >= 0, "Offset must not be negative, but was %s", offset);
+        Preconditions.checkArgument(length >= 0, "Length must not be negative, but was %s", length);
+        // Streams compressed in the client can only be decompressed from the start, so skip to the offset.
+        InputStream stream = loadStream(t, id);
+        try {
+            ByteStreams.exhaust(ByteStreams.limit(stream, offset));
+        } catch (IOException e) {
+            throw Throwables.rewrapAndThrowUncheckedException("Error skipping to the start of the range.", e);
+        }
+        return ByteStreams.limit(stream, length);
+    }
+
+    @Override
+    public SeekableByteChannel loadStreamAsChannel(Transaction t, final Long id) {
+        throw new UnsupportedOperationException("Streams compressed in the client cannot be read as a channel");
+    }
+
     @Override
     protected void tryWriteStreamToFile(Transaction transaction, Long id, StreamMetadata metadata, FileOutputStream fos) throws IOException {
         try (InputStream blockStream = makeStreamUsingTransaction(transaction, id, metadata);
@@ -477,11 +498,13 @@ public final class StreamTestWithHashStreamStore extends AbstractPersistentStrea
      * {@link Pair}
      * {@link PersistentStreamStore}
      * {@link Preconditions}
+     * {@link SeekableByteChannel}
      * {@link Set}
      * {@link SetView}
      * {@link Sets}
      * {@link Sha256Hash}
      * {@link Status}
+     * {@link StreamBlockCodec}
      * {@link StreamCleanedException}
      * {@link StreamMetadata}
      * {@link TempFileUtils}
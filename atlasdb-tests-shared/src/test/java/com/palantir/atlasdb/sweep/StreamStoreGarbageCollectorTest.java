@@ -0,0 +1,203 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.sweep;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
+import com.palantir.atlasdb.AtlasDbTestCase;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.schema.stream.StreamTestSchema;
+import com.palantir.atlasdb.schema.stream.generated.DeletingStreamStore;
+import com.palantir.atlasdb.schema.stream.generated.StreamTestStreamMetadataTable.StreamTestStreamMetadataRow;
+import com.palantir.atlasdb.schema.stream.generated.StreamTestStreamStore;
+import com.palantir.atlasdb.schema.stream.generated.StreamTestStreamValueTable.StreamTestStreamValueRow;
+import com.palantir.atlasdb.schema.stream.generated.StreamTestTableFactory;
+import com.palantir.atlasdb.schema.stream.generated.StreamTestWithHashStreamMetadataTable.StreamTestWithHashStreamMetadataRow;
+import com.palantir.atlasdb.schema.stream.generated.StreamTestWithHashStreamValueTable.StreamTestWithHashStreamValueRow;
+import com.palantir.atlasdb.schema.stream.generated.TestHashComponentsStreamMetadataTable.TestHashComponentsStreamMetadataRow;
+import com.palantir.atlasdb.schema.stream.generated.TestHashComponentsStreamStore;
+import com.palantir.atlasdb.schema.stream.generated.TestHashComponentsStreamValueTable.TestHashComponentsStreamValueRow;
+import com.palantir.atlasdb.stream.GenericStreamStore;
+import com.palantir.atlasdb.stream.PersistentStreamStore;
+import com.palantir.atlasdb.table.description.Schemas;
+import com.palantir.common.base.ClosableIterator;
+
+public class StreamStoreGarbageCollectorTest extends AtlasDbTestCase {
+    private static final int BLOCKS_PER_STREAM = 3;
+    private static final StreamStoreGarbageCollectorConfig CONFIG = ImmutableStreamStoreGarbageCollectorConfig.builder()
+            .enabled(true)
+            .blockBatchSize(2)
+            .build();
+
+    private final StreamTestTableFactory tables = StreamTestTableFactory.of();
+
+    private StreamStoreGarbageCollector garbageCollector;
+
+    @Before
+    public void createSchema() {
+        Schemas.createTablesAndIndexes(StreamTestSchema.getSchema(), keyValueService);
+        garbageCollector = new StreamStoreGarbageCollector(
+                txManager, keyValueService, transactionService, lockService, () -> CONFIG);
+    }
+
+    @Test
+    public void deletesBlocksOfDeletedStreams() throws InterruptedException {
+        StreamTestStreamStore streamStore = StreamTestStreamStore.of(txManager, tables);
+        long keptStream = storeStream(streamStore);
+        long deletedStream = storeStream(streamStore);
+        txManager.runTaskWithRetry(tx -> {
+            new DeletingStreamStore(streamStore).deleteStreams(tx, ImmutableSet.of(deletedStream));
+            return null;
+        });
+        TableReference valueTable = txManager.runTaskReadOnly(tx -> tables.getStreamTestStreamValueTable(tx))
+                .getTableRef();
+        TableReference metadataTable = txManager.runTaskReadOnly(tx -> tables.getStreamTestStreamMetadataTable(tx))
+                .getTableRef();
+
+        assertThat(garbageCollector.runOnce(timestampService.getFreshTimestamp(), CONFIG)).isEqualTo(1);
+
+        assertThat(countRows(valueTable)).isEqualTo(BLOCKS_PER_STREAM);
+        Cell deletedMetadata = Cell.create(
+                StreamTestStreamMetadataRow.of(deletedStream).persistToBytes(), PtBytes.toBytes("md"));
+        assertThat(keyValueService.getAllTimestamps(metadataTable, ImmutableSet.of(deletedMetadata), Long.MAX_VALUE)
+                .values()).hasSize(2).contains(Value.INVALID_VALUE_TIMESTAMP);
+        assertThat(getStream(streamStore, keptStream)).isPresent();
+
+        assertThat(garbageCollector.runOnce(timestampService.getFreshTimestamp(), CONFIG)).isEqualTo(0);
+    }
+
+    @Test
+    public void deletedStreamsCanStillBeReadAfterCollection() throws InterruptedException {
+        StreamTestStreamStore streamStore = StreamTestStreamStore.of(txManager, tables);
+        long deletedStream = storeStream(streamStore);
+        txManager.runTaskWithRetry(tx -> {
+            new DeletingStreamStore(streamStore).deleteStreams(tx, ImmutableSet.of(deletedStream));
+            return null;
+        });
+
+        assertThat(garbageCollector.runOnce(timestampService.getFreshTimestamp(), CONFIG)).isEqualTo(1);
+
+        assertThat(getStream(streamStore, deletedStream)).isEmpty();
+        assertThat(txManager.runTaskWithRetry(tx -> tables.getStreamTestStreamMetadataTable(tx)
+                .getMetadatas(ImmutableSet.of(StreamTestStreamMetadataRow.of(deletedStream))))).isEmpty();
+    }
+
+    @Test
+    public void deletesLaterBlocksWhenLeadingBlocksAreAlreadyGone() throws InterruptedException {
+        StreamTestStreamStore streamStore = StreamTestStreamStore.of(txManager, tables);
+        long keptStream = storeStream(streamStore);
+        long deletedStream = storeStream(streamStore);
+        txManager.runTaskWithRetry(tx -> {
+            tables.getStreamTestStreamMetadataTable(tx).delete(StreamTestStreamMetadataRow.of(deletedStream));
+            return null;
+        });
+        TableReference valueTable = txManager.runTaskReadOnly(tx -> tables.getStreamTestStreamValueTable(tx))
+                .getTableRef();
+        // As if an earlier pass or the background sweeper had already removed the first batch of blocks.
+        keyValueService.deleteAllTimestamps(valueTable, ImmutableMap.of(
+                valueCell(deletedStream, 0), Long.MAX_VALUE,
+                valueCell(deletedStream, 1), Long.MAX_VALUE));
+
+        assertThat(garbageCollector.runOnce(timestampService.getFreshTimestamp(), CONFIG)).isEqualTo(1);
+
+        assertThat(countRows(valueTable)).isEqualTo(BLOCKS_PER_STREAM);
+        assertThat(getStream(streamStore, keptStream)).isPresent();
+    }
+
+    @Test
+    public void deletesBlocksOfDeletedStreamsWithHashedRowComponents() throws InterruptedException {
+        TestHashComponentsStreamStore streamStore = TestHashComponentsStreamStore.of(txManager, tables);
+        long keptStream = storeStream(streamStore);
+        long deletedStream = storeStream(streamStore);
+        txManager.runTaskWithRetry(tx -> {
+            tables.getTestHashComponentsStreamMetadataTable(tx)
+                    .delete(TestHashComponentsStreamMetadataRow.of(deletedStream));
+            return null;
+        });
+        TableReference valueTable = txManager.runTaskReadOnly(tx -> tables.getTestHashComponentsStreamValueTable(tx))
+                .getTableRef();
+
+        assertThat(garbageCollector.runOnce(timestampService.getFreshTimestamp(), CONFIG)).isEqualTo(1);
+
+        assertThat(countRows(valueTable)).isEqualTo(BLOCKS_PER_STREAM);
+        assertThat(getStream(streamStore, keptStream)).isPresent();
+    }
+
+    @Test
+    public void doesNotDeleteStreamsDeletedAfterSweepTimestamp() throws InterruptedException {
+        StreamTestStreamStore streamStore = StreamTestStreamStore.of(txManager, tables);
+        long deletedStream = storeStream(streamStore);
+        long sweepTimestamp = timestampService.getFreshTimestamp();
+        txManager.runTaskWithRetry(tx -> {
+            new DeletingStreamStore(streamStore).deleteStreams(tx, ImmutableSet.of(deletedStream));
+            return null;
+        });
+
+        assertThat(garbageCollector.runOnce(sweepTimestamp, CONFIG)).isEqualTo(0);
+    }
+
+    @Test
+    public void valueRowsMatchGeneratedRows() {
+        long streamId = 1234567L;
+        for (long blockId : ImmutableList.of(0L, 1L, 300L)) {
+            assertThat(StreamStoreGarbageCollector.getValueRow(
+                    StreamTestStreamMetadataRow.of(streamId).persistToBytes(), 0, blockId))
+                    .isEqualTo(StreamTestStreamValueRow.of(streamId, blockId).persistToBytes());
+            assertThat(StreamStoreGarbageCollector.getValueRow(
+                    StreamTestWithHashStreamMetadataRow.of(streamId).persistToBytes(), 1, blockId))
+                    .isEqualTo(StreamTestWithHashStreamValueRow.of(streamId, blockId).persistToBytes());
+            assertThat(StreamStoreGarbageCollector.getValueRow(
+                    TestHashComponentsStreamMetadataRow.of(streamId).persistToBytes(), 2, blockId))
+                    .isEqualTo(TestHashComponentsStreamValueRow.of(streamId, blockId).persistToBytes());
+        }
+    }
+
+    private long storeStream(PersistentStreamStore streamStore) {
+        byte[] data = new byte[(BLOCKS_PER_STREAM - 1) * GenericStreamStore.BLOCK_SIZE_IN_BYTES + 1];
+        new Random().nextBytes(data);
+        return streamStore.storeStream(new ByteArrayInputStream(data)).getLhSide();
+    }
+
+    private static Cell valueCell(long streamId, long blockId) {
+        return Cell.create(StreamTestStreamValueRow.of(streamId, blockId).persistToBytes(), PtBytes.toBytes("v"));
+    }
+
+    private Optional<InputStream> getStream(PersistentStreamStore streamStore, long streamId) {
+        return txManager.runTaskReadOnly(tx -> streamStore.loadSingleStream(tx, streamId));
+    }
+
+    private int countRows(TableReference tableRef) {
+        try (ClosableIterator<?> rows = keyValueService.getRange(tableRef, RangeRequest.all(), Long.MAX_VALUE)) {
+            return Iterators.size(rows);
+        }
+    }
+}
@@ -17,6 +17,8 @@ package com.palantir.atlasdb.sweep.priority;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.concurrent.ExecutorService;
 
@@ -182,6 +184,49 @@ public class SweepPriorityStoreTest {
                 txManager.runTaskReadOnly(priorityStore::loadNewPriorities));
     }
 
+    @Test
+    public void testStoreAndLoadLearnedBatchSizes() {
+        TableReference tableRef = TableReference.createFromFullyQualifiedName("foo.bar");
+        txManager.runTaskWithRetry(tx -> {
+            priorityStore.update(tx, tableRef, fullUpdate(0));
+            priorityStore.update(tx, tableRef, ImmutableUpdateSweepPriority.builder()
+                    .newCandidateBatchSize(256)
+                    .newValuesBatchSize(8)
+                    .newDeleteBatchSize(128)
+                    .build());
+            return null;
+        });
+        Assert.assertEquals(
+                Optional.of(ImmutableSweepPriority.builder()
+                        .from(priority("foo.bar", 0))
+                        .candidateBatchSize(256)
+                        .valuesBatchSize(8)
+                        .deleteBatchSize(128)
+                        .build()),
+                txManager.runTaskReadOnly(tx -> priorityStore.loadPriority(tx, tableRef)));
+    }
+
+    @Test
+    public void testLoadMissingPriority() {
+        Assert.assertEquals(
+                Optional.empty(),
+                txManager.runTaskReadOnly(tx -> priorityStore.loadPriority(
+                        tx, TableReference.createFromFullyQualifiedName("foo.bar"))));
+    }
+
+    @Test
+    public void testLearnedBatchSizesAbsentIfNeverSaved() {
+        TableReference tableRef = TableReference.createFromFullyQualifiedName("foo.bar");
+        txManager.runTaskWithRetry(tx -> {
+            priorityStore.update(tx, tableRef, fullUpdate(0));
+            return null;
+        });
+        SweepPriority priority = txManager.runTaskReadOnly(tx -> priorityStore.loadPriority(tx, tableRef)).get();
+        Assert.assertEquals(OptionalInt.empty(), priority.candidateBatchSize());
+        Assert.assertEquals(OptionalInt.empty(), priority.valuesBatchSize());
+        Assert.assertEquals(OptionalInt.empty(), priority.deleteBatchSize());
+    }
+
     private static UpdateSweepPriority fullUpdate(int increment) {
         return ImmutableUpdateSweepPriority.builder()
                 .newStaleValuesDeleted(3 + increment)
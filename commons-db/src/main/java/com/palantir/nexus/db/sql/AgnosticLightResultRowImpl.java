@@ -17,7 +17,6 @@ package com.palantir.nexus.db.sql;
 
 
 import java.io.InputStream;
-import java.math.BigDecimal;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.ResultSet;
@@ -124,58 +123,42 @@ public class AgnosticLightResultRowImpl extends AbstractAgnosticResultRow implem
     }
 
     /**
-     * This one isn't as fast, probably.  If the Long or BigDecimal
-     * doesn't need to be instantiated, it'll probably run faster.
+     * Reads the primitive value and then checks whether it was null, so that
+     * no Long or BigDecimal is instantiated for the column.
      * @throws PalantirSqlException
      */
     @Override
     @Deprecated // use the get by colname variant instead
     protected long getLong(int col, long fallback) throws PalantirSqlException {
-        Object retVal = ResultSets.getObject(results, col);
-        if(retVal == null) {
-            return fallback;
-        } else {
-            if(dbType == DBType.ORACLE) {
-                return ((BigDecimal) retVal).longValue();
-            } else if(dbType == DBType.POSTGRESQL || dbType == DBType.H2_MEMORY) {
-                return ResultSets.getLong(results, col);
-            } else {
-                assert false : "getLong from unknown db type"; //$NON-NLS-1$
-                throw PalantirSqlException.create("unknown db type: " + dbType); //$NON-NLS-1$
-            }
-        }
+        checkSupportedDbType();
+        long value = ResultSets.getLong(results, col);
+        return ResultSets.wasNull(results) ? fallback : value;
     }
 
     @Override
     @Deprecated // use the get by colname variant instead
     protected Long getLongObject(int col) throws PalantirSqlException {
-        if(ResultSets.getObject(results, col) == null) {
-            return null;
-        }
-        return getLong(col);
+        long value = ResultSets.getLong(results, col);
+        return ResultSets.wasNull(results) ? null : value;
     }
 
     @Override
     protected boolean getBoolean(int col) throws PalantirSqlException {
-        if(ResultSets.getObject(results, col) == null) {
-            return false;
-        }
+        // JDBC returns false for null
         return ResultSets.getBoolean(results, col);
     }
 
     @Override
     @Deprecated // use the get by colname variant instead
     protected int getInteger(int col) throws PalantirSqlException {
-        if(ResultSets.getObject(results, col) == null) {
-            return 0;
-        }
+        checkSupportedDbType();
+        // JDBC returns 0 for null
+        return ResultSets.getInt(results, col);
+    }
 
-        if(dbType == DBType.ORACLE) {
-            return ((BigDecimal) ResultSets.getObject(results, col)).intValue();
-        } else if (dbType == DBType.POSTGRESQL || dbType == DBType.H2_MEMORY) {
-            return ResultSets.getInt(results, col);
-        } else {
-            assert false : "unknown db type for getInteger"; //$NON-NLS-1$
+    private void checkSupportedDbType() {
+        if (dbType != DBType.ORACLE && dbType != DBType.POSTGRESQL && dbType != DBType.H2_MEMORY) {
+            assert false : "unknown db type"; //$NON-NLS-1$
             throw PalantirSqlException.create("unknown db type: " + dbType); //$NON-NLS-1$
         }
     }
@@ -227,10 +210,8 @@ public class AgnosticLightResultRowImpl extends AbstractAgnosticResultRow implem
     @Override
     @Deprecated // use the get by colname variant instead
     protected Double getDoubleObject(int col) throws PalantirSqlException {
-        if(ResultSets.getObject(results, col) == null) {
-            return null;
-        }
-        return getDouble(col);
+        double value = ResultSets.getDouble(results, col);
+        return ResultSets.wasNull(results) ? null : value;
     }
 
     @Override
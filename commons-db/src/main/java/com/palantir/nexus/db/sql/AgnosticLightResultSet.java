@@ -37,5 +37,9 @@ public interface AgnosticLightResultSet extends Iterable<AgnosticLightResultRow>
     @Override
     Iterator<AgnosticLightResultRow> iterator();
 
+    /**
+     * Sets the maximum number of rows fetched from the database at a time. Unless a fetch size was given with the
+     * query, iteration starts by fetching fewer rows and grows towards this.
+     */
     void setFetchSize(int fetchSize);
 }
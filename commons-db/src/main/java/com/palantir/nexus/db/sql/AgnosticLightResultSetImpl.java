@@ -23,6 +23,8 @@ import java.sql.SQLException;
 import java.util.Iterator;
 import java.util.Map;
 
+import javax.annotation.Nullable;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,11 +62,21 @@ class AgnosticLightResultSetImpl implements AgnosticLightResultSet {
     private final ResourceCreationLocation creationLocation;
     private final String creationThreadName;
     private int maxFetchSize = DEFAULT_MAX_FETCH_SIZE;
+    // If the fetch size was given with the query, we fetch that many rows at a time, rather than growing towards it.
+    @Nullable
+    private final Integer queryFetchSize;
     private final SqlTimer sqlTimerFactory;
 
     public AgnosticLightResultSetImpl(ResultSet rs, DBType type, ResultSetMetaData meta, PreparedStatement s,
                                       String timingModule, FinalSQLString sqlString, SqlTimer sqlTimerFactory,
                                       ResourceCreationLocation creationLocation) throws PalantirSqlException {
+        this(rs, type, meta, s, timingModule, sqlString, sqlTimerFactory, creationLocation, null);
+    }
+
+    public AgnosticLightResultSetImpl(ResultSet rs, DBType type, ResultSetMetaData meta, PreparedStatement s,
+                                      String timingModule, FinalSQLString sqlString, SqlTimer sqlTimerFactory,
+                                      ResourceCreationLocation creationLocation, @Nullable Integer queryFetchSize)
+            throws PalantirSqlException {
         results = rs;
         dbType = type;
         stmt = s;
@@ -77,6 +89,10 @@ class AgnosticLightResultSetImpl implements AgnosticLightResultSet {
         this.timingModule = timingModule;
         this.sqlString = sqlString;
         this.sqlTimerFactory = sqlTimerFactory;
+        this.queryFetchSize = queryFetchSize;
+        if (queryFetchSize != null) {
+            maxFetchSize = queryFetchSize;
+        }
     }
 
     @Override
@@ -143,7 +159,8 @@ class AgnosticLightResultSetImpl implements AgnosticLightResultSet {
     /**
      * Geometrically increases the fetch size, so that we don't have to GC a lot
      * memory for small (or empty) result sets, but we still do reasonable
-     * batching for large result sets.
+     * batching for large result sets. If the fetch size was given with the query,
+     * the caller already knows how many rows to expect, so we use it throughout.
      *
      * <strong> Note: calling hasNext() can invalidate the previous AgnosticLightResultRow
      * that was fetched from next().  This means that <code> item = it.next(); isDone = it.hasNext(); foo(item); </code>
@@ -158,7 +175,7 @@ class AgnosticLightResultSetImpl implements AgnosticLightResultSet {
 
         private AgnosticIterator(){
             try{
-                results.setFetchSize(INITIAL_FETCH_SIZE);
+                results.setFetchSize(queryFetchSize != null ? queryFetchSize : Math.min(INITIAL_FETCH_SIZE, maxFetchSize));
             } catch (SQLException e){
                 sqlExceptionlog.info("Caught SQLException", e);
                 log.error("Caught SQLException", e); //$NON-NLS-1$
@@ -180,7 +197,7 @@ class AgnosticLightResultSetImpl implements AgnosticLightResultSet {
             }
             try{
                 numRowsFetchedSinceLastChange++;
-                if (numRowsFetchedSinceLastChange >= results.getFetchSize()){
+                if (queryFetchSize == null && numRowsFetchedSinceLastChange >= results.getFetchSize()){
                     results.setFetchSize(Math.min(results.getFetchSize() * 2, maxFetchSize));
                     numRowsFetchedSinceLastChange = 0;
                 }
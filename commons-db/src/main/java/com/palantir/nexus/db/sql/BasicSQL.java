@@ -31,6 +31,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.ArrayList;
@@ -38,6 +39,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -77,6 +79,15 @@ public abstract class BasicSQL {
         boolean isSqlCancellationDisabled();
 
         SqlTimer getSqlTimer();
+
+        /**
+         * If present, statements run on the calling thread, and the canceller cancels cancellable statements when
+         * the calling thread is interrupted or they time out. Otherwise, statements are handed off to a shared thread
+         * pool, so that the calling thread can stop waiting for them when interrupted.
+         */
+        default Optional<StatementCanceller> getStatementCanceller() {
+            return Optional.empty();
+        }
     }
 
     protected abstract SqlConfig getSqlConfig();
@@ -379,22 +390,34 @@ public abstract class BasicSQL {
             AutoClose autoClose, @Nullable Integer fetchSize) throws PalantirInterruptedException, PalantirSqlException {
         if (isSqlCancellationDisabled()) {
             return runUninterruptablyInternal(ps, visitor, sql, autoClose, fetchSize);
-        } else {
-            return runCancellablyInternal(ps, visitor, sql, autoClose, fetchSize);
         }
+        Optional<StatementCanceller> canceller = getSqlConfig().getStatementCanceller();
+        if (canceller.isPresent()) {
+            return runCancellablyOnCallingThread(canceller.get(), ps, visitor, autoClose, fetchSize);
+        }
+        return runCancellablyInternal(ps, visitor, sql, autoClose, fetchSize);
+    }
+
+    /** Runs on a thread pool, unless statements should run on the calling thread. */
+    private <T> T runUninterruptably(Callable<T> callable, String threadString, @Nullable Connection c)
+            throws PalantirSqlException {
+        if (getSqlConfig().getStatementCanceller().isPresent()) {
+            return BasicSQLUtils.runUninterruptablyOnCallingThread(callable);
+        }
+        return BasicSQLUtils.runUninterruptably(callable, threadString, c);
     }
 
     protected boolean isSqlCancellationDisabled() {
         return getSqlConfig().isSqlCancellationDisabled();
     }
 
-    private static <T> T runUninterruptablyInternal(final PreparedStatement ps, final ResultSetVisitor<T> visitor, final FinalSQLString sql,
+    private <T> T runUninterruptablyInternal(final PreparedStatement ps, final ResultSetVisitor<T> visitor, final FinalSQLString sql,
             final AutoClose autoClose, @Nullable Integer fetchSize) throws PalantirInterruptedException, PalantirSqlException {
         if (Thread.currentThread().isInterrupted()) {
             SqlLoggers.CANCEL_LOGGER.debug("interrupted prior to executing uninterruptable SQL call");
             throw new PalantirInterruptedException("interrupted prior to executing uninterruptable SQL call");
         }
-        return BasicSQLUtils.runUninterruptably(() -> {
+        return runUninterruptably(() -> {
             if (fetchSize != null) {
                 ps.setFetchSize(fetchSize);
             }
@@ -412,6 +435,39 @@ public abstract class BasicSQL {
                 /* We no longer have a connection to worry about */ null);
     }
 
+    /** Executes the PreparedStatement on the calling thread, relying on the canceller to cancel it if we're
+    interrupted or it times out. Throws a RuntimeException (PalantirInterruptedException) in case of interrupts. */
+    private static <T> T runCancellablyOnCallingThread(StatementCanceller canceller, PreparedStatement ps,
+            ResultSetVisitor<T> visitor, AutoClose autoClose, @Nullable Integer fetchSize)
+            throws PalantirInterruptedException, PalantirSqlException {
+        ResultSet rs = null;
+        long startTime = System.currentTimeMillis();
+        try {
+            try (StatementCanceller.Watch watch = canceller.watch(ps)) {
+                try {
+                    if (fetchSize != null) {
+                        ps.setFetchSize(fetchSize);
+                    }
+                    rs = ps.executeQuery();
+                } catch (SQLException e) {
+                    if (watch.wasTimedOut()) {
+                        throw PalantirSqlException.create(new SQLTimeoutException("SQL call timed out", e)); //$NON-NLS-1$
+                    }
+                    if (watch.wasInterrupted()) {
+                        // the interrupt flag is still set, as we never cleared it
+                        throw new PalantirInterruptedException("SQL call interrupted", e); //$NON-NLS-1$
+                    }
+                    throw handleInterruptions(startTime, e);
+                }
+            }
+            return visitor.visit(rs);
+        } finally {
+            if (rs != null && autoClose == AutoClose.TRUE) {
+                ResultSets.close(rs);
+            }
+        }
+    }
+
     private static <T> T runCancellablyInternal(final PreparedStatement ps, ResultSetVisitor<T> visitor, final FinalSQLString sql,
                                         AutoClose autoClose, @Nullable Integer fetchSize) throws PalantirInterruptedException, PalantirSqlException {
         final String threadString = sql.toString();
@@ -475,7 +531,7 @@ public abstract class BasicSQL {
         PreparedStatement ps = null;
 
         try {
-            ps = BasicSQLUtils.runUninterruptably(() -> createPreparedStatement(c, query.getQuery(), vs), "SQL createPreparedStatement", c);
+            ps = runUninterruptably(() -> createPreparedStatement(c, query.getQuery(), vs), "SQL createPreparedStatement", c);
             return visitor.visit(ps);
         } catch (PalantirSqlException sqle) {
             throw wrapSQLExceptionWithVerboseLogging(sqle, query.getQuery(), vs);
@@ -487,7 +543,12 @@ public abstract class BasicSQL {
 
     static PalantirSqlException handleInterruptions(long startTime,
             ExecutionException ee) throws PalantirSqlException {
-        SQLException e = getSQLException(ee.getCause());
+        return handleInterruptions(startTime, ee.getCause());
+    }
+
+    static PalantirSqlException handleInterruptions(long startTime,
+            Throwable cause) throws PalantirSqlException {
+        SQLException e = getSQLException(cause);
         return handleInterruptions(startTime, e);
     }
 
@@ -541,7 +602,7 @@ public abstract class BasicSQL {
         if (SqlLoggers.LOGGER.isTraceEnabled()) {
             SqlLoggers.LOGGER.trace("SQL execution query: {}", sql.getQuery());
         }
-        return BasicSQLUtils.runUninterruptably (() -> {
+        return runUninterruptably(() -> {
             return wrapPreparedStatement(c, sql, vs, ps -> {
                 PreparedStatements.execute(ps);
                 return ps;
@@ -645,7 +706,8 @@ public abstract class BasicSQL {
                             "selectList", //$NON-NLS-1$
                             sql,
                             getSqlTimer(),
-                            creationException);
+                            creationException,
+                            fetchSize);
                 } catch (Exception e) {
                     closeSilently(rs);
                     BasicSQLUtils.throwUncheckedIfSQLException(e);
@@ -702,7 +764,7 @@ public abstract class BasicSQL {
         if (SqlLoggers.LOGGER.isTraceEnabled()) {
             SqlLoggers.LOGGER.trace("SQL update interval query: {}", sql.getQuery());
         }
-        return BasicSQLUtils.runUninterruptably (() -> {
+        return runUninterruptably(() -> {
      return wrapPreparedStatement(c, sql, vs, ps -> {
          PreparedStatements.execute(ps);
          return ps;
@@ -715,7 +777,7 @@ public abstract class BasicSQL {
         if (SqlLoggers.LOGGER.isTraceEnabled()) {
             SqlLoggers.LOGGER.trace("SQL update many query: {}", sql.getQuery());
         }
-        BasicSQLUtils.runUninterruptably ((Callable<Void>) () -> {
+        runUninterruptably((Callable<Void>) () -> {
             List<BlobHandler> cleanups = Lists.newArrayList();
             PreparedStatement ps = null;
             SqlTimer.Handle timerKey = getSqlTimer().start("updateMany(" + vs.length + ")", sql.getKey(), sql.getQuery()); //$NON-NLS-1$ //$NON-NLS-2$
@@ -755,7 +817,7 @@ public abstract class BasicSQL {
         if (SqlLoggers.LOGGER.isTraceEnabled()) {
             SqlLoggers.LOGGER.trace("SQL insert one count rows internal query: {}", sql.getQuery());
         }
-        return BasicSQLUtils.runUninterruptably (() -> {
+        return runUninterruptably(() -> {
             return wrapPreparedStatement(c, sql, vs, ps -> {
                 PreparedStatements.execute(ps);
                 return PreparedStatements.getUpdateCount(ps);
@@ -767,7 +829,7 @@ public abstract class BasicSQL {
         if (SqlLoggers.LOGGER.isTraceEnabled()) {
             SqlLoggers.LOGGER.trace("SQL insert many query: {}", sql.getQuery());
         }
-        return BasicSQLUtils.runUninterruptably (() -> {
+        return runUninterruptably(() -> {
             int[] inserted = null;
             PreparedStatement ps = null;
 
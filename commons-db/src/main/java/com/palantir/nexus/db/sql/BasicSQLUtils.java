@@ -310,6 +310,18 @@ public class BasicSQLUtils {
         return result;
     }
 
+    /** Like {@link #runUninterruptably}, but runs the callable on the calling thread, so the calling thread must
+     * already own any connection the callable uses. Interrupts are left for the caller to notice afterwards.
+     */
+    public static <T> T runUninterruptablyOnCallingThread(final Callable<T> callable) throws PalantirSqlException {
+        long startTime = System.currentTimeMillis();
+        try {
+            return callable.call();
+        } catch (Throwable t) {
+            throw BasicSQL.handleInterruptions(startTime, t);
+        }
+    }
+
     public static void toStringSqlArgs(final StringBuilder sb, Object[] args) {
         if (args instanceof Object[][]) {
             // then we're doing a batch query
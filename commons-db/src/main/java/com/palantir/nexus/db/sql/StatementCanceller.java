@@ -0,0 +1,182 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.nexus.db.sql;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.palantir.common.concurrent.NamedThreadFactory;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.exception.PalantirInterruptedException;
+import com.palantir.nexus.db.sql.monitoring.logger.SqlLoggers;
+
+/**
+ * Cancels statements that run on their caller's thread, if that thread is interrupted or the statement runs for longer
+ * than the timeout. This keeps statements cancellable without handing each of them off to another thread.
+ * <p>
+ * Running statements are checked every {@link #CHECK_INTERVAL_MILLIS} from a single scheduler thread shared by all
+ * cancellers, so a statement that finishes sooner costs no more than scheduling and descheduling its check. If a
+ * maximum number of concurrent statements is given, callers beyond it wait for one of the running statements to
+ * finish.
+ */
+public final class StatementCanceller {
+    @VisibleForTesting
+    static final long CHECK_INTERVAL_MILLIS = 100;
+
+    private static final ScheduledThreadPoolExecutor scheduler = createScheduler();
+
+    private final long timeoutNanos;
+    @Nullable
+    private final Semaphore permits;
+
+    private final Counter running;
+    private final Timer permitWaits;
+    private final Meter interrupted;
+    private final Meter timedOut;
+
+    /**
+     * @param timeoutMillis the time after which running statements are cancelled, or 0 for no timeout
+     * @param maxConcurrentStatements the maximum number of statements that may run at once, or 0 for no limit
+     */
+    public static StatementCanceller create(long timeoutMillis, int maxConcurrentStatements,
+            MetricRegistry metricRegistry) {
+        Preconditions.checkArgument(timeoutMillis >= 0, "timeoutMillis must be nonnegative");
+        Preconditions.checkArgument(maxConcurrentStatements >= 0, "maxConcurrentStatements must be nonnegative");
+        return new StatementCanceller(
+                TimeUnit.MILLISECONDS.toNanos(timeoutMillis),
+                maxConcurrentStatements == 0 ? null : new Semaphore(maxConcurrentStatements),
+                metricRegistry);
+    }
+
+    private StatementCanceller(long timeoutNanos, @Nullable Semaphore permits, MetricRegistry metricRegistry) {
+        this.timeoutNanos = timeoutNanos;
+        this.permits = permits;
+        this.running = metricRegistry.counter(MetricRegistry.name(StatementCanceller.class, "running"));
+        this.permitWaits = metricRegistry.timer(MetricRegistry.name(StatementCanceller.class, "permitWait"));
+        this.interrupted = metricRegistry.meter(MetricRegistry.name(StatementCanceller.class, "interrupted"));
+        this.timedOut = metricRegistry.meter(MetricRegistry.name(StatementCanceller.class, "timedOut"));
+    }
+
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        ScheduledThreadPoolExecutor executor = PTExecutors.newScheduledThreadPool(1,
+                new NamedThreadFactory("SQL statement canceller", true));
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /**
+     * Starts watching a statement that is about to run on the current thread. The returned watch must be closed once
+     * the statement has finished running.
+     *
+     * @throws PalantirInterruptedException if the current thread is interrupted, including while waiting for other
+     * statements to finish
+     */
+    public Watch watch(Statement statement) throws PalantirInterruptedException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new PalantirInterruptedException("interrupted prior to executing SQL call");
+        }
+        if (permits != null) {
+            try (Timer.Context ignored = permitWaits.time()) {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PalantirInterruptedException("interrupted while waiting to execute SQL call", e);
+            }
+        }
+        running.inc();
+        return new Watch(statement, Thread.currentThread());
+    }
+
+    public final class Watch implements AutoCloseable {
+        private final Statement statement;
+        private final Thread thread;
+        private final long startTime = System.nanoTime();
+        private final ScheduledFuture<?> check;
+
+        @GuardedBy("this")
+        private boolean isClosed = false;
+        private volatile boolean wasInterrupted = false;
+        private volatile boolean wasTimedOut = false;
+
+        private Watch(Statement statement, Thread thread) {
+            this.statement = statement;
+            this.thread = thread;
+            this.check = scheduler.scheduleWithFixedDelay(
+                    this::cancelIfNecessary, CHECK_INTERVAL_MILLIS, CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        /** Returns whether the statement was cancelled because the thread running it was interrupted. */
+        public boolean wasInterrupted() {
+            return wasInterrupted;
+        }
+
+        /** Returns whether the statement was cancelled because it ran for longer than the timeout. */
+        public boolean wasTimedOut() {
+            return wasTimedOut;
+        }
+
+        // Synchronized with close, so that the statement is never cancelled after the caller has moved on.
+        private synchronized void cancelIfNecessary() {
+            if (isClosed || wasInterrupted || wasTimedOut) {
+                return;
+            }
+            if (thread.isInterrupted()) {
+                wasInterrupted = true;
+                interrupted.mark();
+            } else if (timeoutNanos > 0 && System.nanoTime() - startTime >= timeoutNanos) {
+                wasTimedOut = true;
+                timedOut.mark();
+            } else {
+                return;
+            }
+
+            try {
+                SqlLoggers.CANCEL_LOGGER.debug("about to cancel a SQL call"); //$NON-NLS-1$
+                statement.cancel();
+            } catch (SQLException | RuntimeException e) {
+                SqlLoggers.CANCEL_LOGGER.warn("Failed to cancel a SQL call", e); //$NON-NLS-1$
+            }
+        }
+
+        @Override
+        public void close() {
+            check.cancel(false);
+            synchronized (this) {
+                if (isClosed) {
+                    return;
+                }
+                isClosed = true;
+            }
+            running.dec();
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+}
@@ -115,6 +115,14 @@ public class ResultSets {
         }
     }
 
+    public static boolean wasNull(ResultSet rs) throws PalantirSqlException {
+        try {
+            return rs.wasNull();
+        } catch (SQLException e) {
+            throw BasicSQL.handleInterruptions(0, e);
+        }
+    }
+
     public static Timestamp getTimestamp(ResultSet rs, int col) throws PalantirSqlException {
         try {
             return rs.getTimestamp(col);
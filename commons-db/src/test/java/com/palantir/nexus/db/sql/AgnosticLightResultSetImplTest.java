@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.nexus.db.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Iterator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.palantir.nexus.db.DBType;
+import com.palantir.nexus.db.ResourceCreationLocation;
+import com.palantir.nexus.db.monitoring.timer.SqlTimer;
+
+public class AgnosticLightResultSetImplTest {
+    private static final String COLUMN = "ts";
+
+    private final ResultSet resultSet = mock(ResultSet.class);
+    private final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+    private final SqlTimer sqlTimer = mock(SqlTimer.class);
+
+    @Before
+    public void setUp() throws SQLException {
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnLabel(1)).thenReturn(COLUMN);
+        when(sqlTimer.start(anyString(), anyString(), anyString())).thenReturn(mock(SqlTimer.Handle.class));
+        when(resultSet.next()).thenReturn(true, true, true, false);
+    }
+
+    @Test
+    public void usesFetchSizeGivenWithQueryThroughout() throws SQLException {
+        when(resultSet.getFetchSize()).thenReturn(1);
+
+        iterateAndClose(createResultSet(1));
+
+        verify(resultSet, never()).setFetchSize(AgnosticLightResultSetImpl.INITIAL_FETCH_SIZE);
+        verify(resultSet, never()).setFetchSize(2);
+    }
+
+    @Test
+    public void growsFetchSizeIfNoneGivenWithQuery() throws SQLException {
+        when(resultSet.getFetchSize()).thenReturn(1);
+
+        iterateAndClose(createResultSet(null));
+
+        verify(resultSet).setFetchSize(AgnosticLightResultSetImpl.INITIAL_FETCH_SIZE);
+        verify(resultSet).setFetchSize(2);
+    }
+
+    @Test
+    public void readsNullablePrimitivesWithoutBoxingObjects() throws SQLException {
+        when(resultSet.getLong(1)).thenReturn(0L);
+        when(resultSet.wasNull()).thenReturn(true);
+
+        AgnosticLightResultSet results = createResultSet(null);
+        AgnosticLightResultRow row = results.iterator().next();
+
+        assertNull(row.getLongObject(COLUMN));
+        assertEquals(7L, row.getLong(COLUMN, 7L));
+        verify(resultSet, never()).getObject(anyInt());
+        results.close();
+    }
+
+    private AgnosticLightResultSetImpl createResultSet(Integer queryFetchSize) {
+        return new AgnosticLightResultSetImpl(
+                resultSet,
+                DBType.POSTGRESQL,
+                metaData,
+                mock(PreparedStatement.class),
+                "test",
+                SQLString.getUnregisteredQuery("SELECT ts FROM test"),
+                sqlTimer,
+                new ResourceCreationLocation(),
+                queryFetchSize);
+    }
+
+    private static void iterateAndClose(AgnosticLightResultSet results) {
+        Iterator<AgnosticLightResultRow> iterator = results.iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+        results.close();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.nexus.db.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.codahale.metrics.MetricRegistry;
+import com.palantir.exception.PalantirInterruptedException;
+
+public class StatementCancellerTest {
+    private static final long WAIT_MILLIS = 20 * StatementCanceller.CHECK_INTERVAL_MILLIS;
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final Statement statement = mock(Statement.class);
+
+    @After
+    public void clearInterrupt() {
+        Thread.interrupted();
+    }
+
+    @Test
+    public void cancelsStatementWhenThreadIsInterrupted() throws SQLException {
+        StatementCanceller canceller = StatementCanceller.create(0, 0, metricRegistry);
+        try (StatementCanceller.Watch watch = canceller.watch(statement)) {
+            Thread.currentThread().interrupt();
+            verify(statement, timeout(WAIT_MILLIS)).cancel();
+            assertTrue(watch.wasInterrupted());
+            assertFalse(watch.wasTimedOut());
+        }
+        assertEquals(1, metricRegistry.meter("com.palantir.nexus.db.sql.StatementCanceller.interrupted").getCount());
+    }
+
+    @Test
+    public void cancelsStatementWhenTimedOut() throws SQLException {
+        StatementCanceller canceller = StatementCanceller.create(1, 0, metricRegistry);
+        try (StatementCanceller.Watch watch = canceller.watch(statement)) {
+            verify(statement, timeout(WAIT_MILLIS)).cancel();
+            assertTrue(watch.wasTimedOut());
+            assertFalse(watch.wasInterrupted());
+        }
+    }
+
+    @Test
+    public void doesNotCancelStatementAfterWatchIsClosed() throws Exception {
+        StatementCanceller canceller = StatementCanceller.create(1, 0, metricRegistry);
+        canceller.watch(statement).close();
+        Thread.sleep(2 * StatementCanceller.CHECK_INTERVAL_MILLIS);
+        verify(statement, never()).cancel();
+    }
+
+    @Test
+    public void doesNotWatchStatementsOnInterruptedThreads() {
+        StatementCanceller canceller = StatementCanceller.create(0, 1, metricRegistry);
+        Thread.currentThread().interrupt();
+        try {
+            canceller.watch(statement);
+            fail();
+        } catch (PalantirInterruptedException e) {
+            // expected
+        }
+        // the permit was not taken
+        Thread.interrupted();
+        canceller.watch(statement).close();
+    }
+
+    @Test
+    public void releasesPermitsWhenWatchesAreClosed() {
+        StatementCanceller canceller = StatementCanceller.create(0, 1, metricRegistry);
+        canceller.watch(statement).close();
+        try (StatementCanceller.Watch watch = canceller.watch(statement)) {
+            assertEquals(1, metricRegistry.counter("com.palantir.nexus.db.sql.StatementCanceller.running").getCount());
+        }
+        assertEquals(0, metricRegistry.counter("com.palantir.nexus.db.sql.StatementCanceller.running").getCount());
+    }
+}
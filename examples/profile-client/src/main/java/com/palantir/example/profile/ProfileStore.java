@@ -24,6 +24,7 @@ import java.util.UUID;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
 import com.palantir.atlasdb.ptobject.EncodingUtils;
 import com.palantir.atlasdb.transaction.api.Transaction;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
@@ -36,7 +37,9 @@ import com.palantir.example.profile.schema.generated.UserProfileTable.UserBirthd
 import com.palantir.example.profile.schema.generated.UserProfileTable.UserBirthdaysIdxTable.UserBirthdaysIdxColumn;
 import com.palantir.example.profile.schema.generated.UserProfileTable.UserBirthdaysIdxTable.UserBirthdaysIdxColumnValue;
 import com.palantir.example.profile.schema.generated.UserProfileTable.UserBirthdaysIdxTable.UserBirthdaysIdxRow;
+import com.palantir.example.profile.schema.generated.UserProfileTable.UserProfileNamedColumn;
 import com.palantir.example.profile.schema.generated.UserProfileTable.UserProfileRow;
+import com.palantir.example.profile.schema.generated.UserProfileTable.UserProfileRowResult;
 import com.palantir.util.crypto.Sha256Hash;
 
 public class ProfileStore {
@@ -132,4 +135,19 @@ public class ProfileStore {
                 .immutableSetCopy();
     }
 
+    public Map<UUID, UserProfile> getUserDataWithBirthdays(Set<Long> birthEpochDays) {
+        UserProfileTable table = tables.getUserProfileTable(tx);
+        UserBirthdaysIdxTable idx = UserBirthdaysIdxTable.of(table);
+        // One read of the index and one of the profiles, however many users share the birthdays.
+        Iterable<UserProfileRowResult> profiles = idx.getReferencedRows(
+                IterableView.of(birthEpochDays).transform(UserBirthdaysIdxRow::of),
+                UserProfileTable.getColumnSelection(UserProfileNamedColumn.METADATA)).values();
+
+        Map<UUID, UserProfile> result = Maps.newHashMap();
+        for (UserProfileRowResult profile : profiles) {
+            result.put(profile.getRowName().getId(), profile.getMetadata());
+        }
+        return result;
+    }
+
 }
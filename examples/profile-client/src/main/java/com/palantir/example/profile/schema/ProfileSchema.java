@@ -55,6 +55,7 @@ public class ProfileSchema implements AtlasSchema {
                 column("create", "c", CreationData.Persister.class);
                 column("json", "j", JsonNodePersister.class);
                 column("photo_stream_id", "p", ValueType.FIXED_LONG);
+            enableBatchLoading();
         }});
 
         schema.addIndexDefinition("user_birthdays", new IndexDefinition(IndexType.CELL_REFERENCING) {{
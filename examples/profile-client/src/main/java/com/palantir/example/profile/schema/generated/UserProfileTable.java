@@ -42,6 +42,9 @@ import com.google.common.collect.Sets;
 import com.google.common.hash.Hashing;
 import com.google.common.primitives.Bytes;
 import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -62,6 +65,7 @@ import com.palantir.atlasdb.table.api.AtlasDbMutablePersistentTable;
 import com.palantir.atlasdb.table.api.AtlasDbNamedMutableTable;
 import com.palantir.atlasdb.table.api.AtlasDbNamedPersistentSet;
 import com.palantir.atlasdb.table.api.ColumnValue;
+import com.palantir.atlasdb.table.api.RowBatchLoader;
 import com.palantir.atlasdb.table.api.TypedRowResult;
 import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
 import com.palantir.atlasdb.table.description.ValueType;
@@ -1040,6 +1044,20 @@ public final class UserProfileTable implements
         return rowResults;
     }
 
+    public ListenableFuture<List<UserProfileRowResult>> getRowsAsync(RowBatchLoader loader, Iterable<UserProfileRow> rows) {
+        return getRowsAsync(loader, rows, allColumns);
+    }
+
+    public ListenableFuture<List<UserProfileRowResult>> getRowsAsync(RowBatchLoader loader, Iterable<UserProfileRow> rows, ColumnSelection columns) {
+        return Futures.transform(loader.getRows(t, tableRef, Persistables.persistAll(rows), columns), results -> {
+            List<UserProfileRowResult> rowResults = Lists.newArrayListWithCapacity(results.size());
+            for (RowResult<byte[]> row : results.values()) {
+                rowResults.add(UserProfileRowResult.of(row));
+            }
+            return rowResults;
+        }, MoreExecutors.directExecutor());
+    }
+
     @Override
     public List<UserProfileNamedColumnValue<?>> getRowColumns(UserProfileRow row) {
         return getRowColumns(row, allColumns);
@@ -1086,6 +1104,17 @@ public final class UserProfileTable implements
         return rowMap;
     }
 
+    public ListenableFuture<Multimap<UserProfileRow, UserProfileNamedColumnValue<?>>> getRowsMultimapAsync(RowBatchLoader loader, Iterable<UserProfileRow> rows) {
+        return getRowsMultimapAsync(loader, rows, allColumns);
+    }
+
+    public ListenableFuture<Multimap<UserProfileRow, UserProfileNamedColumnValue<?>>> getRowsMultimapAsync(RowBatchLoader loader, Iterable<UserProfileRow> rows, ColumnSelection columns) {
+        return Futures.transform(
+                loader.getRows(t, tableRef, Persistables.persistAll(rows), columns),
+                results -> getRowMapFromRowResults(results.values()),
+                MoreExecutors.directExecutor());
+    }
+
     @Override
     public Map<UserProfileRow, BatchingVisitable<UserProfileNamedColumnValue<?>>> getRowsColumnRange(Iterable<UserProfileRow> rows, BatchColumnRangeSelection columnRangeSelection) {
         Map<byte[], BatchingVisitable<Map.Entry<Cell, byte[]>>> results = t.getRowsColumnRange(tableRef, Persistables.persistAll(rows), columnRangeSelection);
@@ -1783,6 +1812,64 @@ public final class UserProfileTable implements
             return rowMap;
         }
 
+        public ListenableFuture<Multimap<CookiesIdxRow, CookiesIdxColumnValue>> getRowsMultimapAsync(RowBatchLoader loader, Iterable<CookiesIdxRow> rows) {
+            return getRowsMultimapAsync(loader, rows, allColumns);
+        }
+
+        public ListenableFuture<Multimap<CookiesIdxRow, CookiesIdxColumnValue>> getRowsMultimapAsync(RowBatchLoader loader, Iterable<CookiesIdxRow> rows, ColumnSelection columns) {
+            return Futures.transform(
+                    loader.getRows(t, tableRef, Persistables.persistAll(rows), columns),
+                    results -> getRowMapFromRowResults(results.values()),
+                    MoreExecutors.directExecutor());
+        }
+
+        public Multimap<CookiesIdxRow, UserProfileRowResult> getReferencedRows(Iterable<CookiesIdxRow> rows) {
+            return getReferencedRows(rows, UserProfileTable.allColumns);
+        }
+
+        public Multimap<CookiesIdxRow, UserProfileRowResult> getReferencedRows(Iterable<CookiesIdxRow> rows, ColumnSelection columns) {
+            Multimap<CookiesIdxRow, CookiesIdxColumnValue> indexEntries = getRowsMultimap(rows);
+            SortedMap<byte[], RowResult<byte[]>> results = t.getRows(getReferencedTableRef(), getReferencedRowNames(indexEntries), columns);
+            return joinReferencedRows(indexEntries, results);
+        }
+
+        public ListenableFuture<Multimap<CookiesIdxRow, UserProfileRowResult>> getReferencedRowsAsync(RowBatchLoader loader, Iterable<CookiesIdxRow> rows) {
+            return getReferencedRowsAsync(loader, rows, UserProfileTable.allColumns);
+        }
+
+        public ListenableFuture<Multimap<CookiesIdxRow, UserProfileRowResult>> getReferencedRowsAsync(RowBatchLoader loader, Iterable<CookiesIdxRow> rows, ColumnSelection columns) {
+            return Futures.transformAsync(getRowsMultimapAsync(loader, rows), indexEntries -> Futures.transform(
+                    loader.getRows(t, getReferencedTableRef(), getReferencedRowNames(indexEntries), columns),
+                    results -> joinReferencedRows(indexEntries, results),
+                    MoreExecutors.directExecutor()), MoreExecutors.directExecutor());
+        }
+
+        private TableReference getReferencedTableRef() {
+            return TableReference.create(tableRef.getNamespace(), UserProfileTable.getRawTableName());
+        }
+
+        private static Set<byte[]> getReferencedRowNames(Multimap<CookiesIdxRow, CookiesIdxColumnValue> indexEntries) {
+            Set<byte[]> rowNames = Sets.newTreeSet(UnsignedBytes.lexicographicalComparator());
+            for (CookiesIdxColumnValue value : indexEntries.values()) {
+                rowNames.add(value.getColumnName().getRowName());
+            }
+            return rowNames;
+        }
+
+        private static Multimap<CookiesIdxRow, UserProfileRowResult> joinReferencedRows(Multimap<CookiesIdxRow, CookiesIdxColumnValue> indexEntries, SortedMap<byte[], RowResult<byte[]>> results) {
+            Multimap<CookiesIdxRow, UserProfileRowResult> joined = ArrayListMultimap.create();
+            for (Entry<CookiesIdxRow, Collection<CookiesIdxColumnValue>> e : indexEntries.asMap().entrySet()) {
+                Set<byte[]> rowNames = Sets.newTreeSet(UnsignedBytes.lexicographicalComparator());
+                for (CookiesIdxColumnValue value : e.getValue()) {
+                    RowResult<byte[]> result = results.get(value.getColumnName().getRowName());
+                    if (result != null && rowNames.add(result.getRowName())) {
+                        joined.put(e.getKey(), UserProfileRowResult.of(result));
+                    }
+                }
+            }
+            return joined;
+        }
+
         @Override
         public Map<CookiesIdxRow, BatchingVisitable<CookiesIdxColumnValue>> getRowsColumnRange(Iterable<CookiesIdxRow> rows, BatchColumnRangeSelection columnRangeSelection) {
             Map<byte[], BatchingVisitable<Map.Entry<Cell, byte[]>>> results = t.getRowsColumnRange(tableRef, Persistables.persistAll(rows), columnRangeSelection);
@@ -2469,6 +2556,64 @@ public final class UserProfileTable implements
             return rowMap;
         }
 
+        public ListenableFuture<Multimap<CreatedIdxRow, CreatedIdxColumnValue>> getRowsMultimapAsync(RowBatchLoader loader, Iterable<CreatedIdxRow> rows) {
+            return getRowsMultimapAsync(loader, rows, allColumns);
+        }
+
+        public ListenableFuture<Multimap<CreatedIdxRow, CreatedIdxColumnValue>> getRowsMultimapAsync(RowBatchLoader loader, Iterable<CreatedIdxRow> rows, ColumnSelection columns) {
+            return Futures.transform(
+                    loader.getRows(t, tableRef, Persistables.persistAll(rows), columns),
+                    results -> getRowMapFromRowResults(results.values()),
+                    MoreExecutors.directExecutor());
+        }
+
+        public Multimap<CreatedIdxRow, UserProfileRowResult> getReferencedRows(Iterable<CreatedIdxRow> rows) {
+            return getReferencedRows(rows, UserProfileTable.allColumns);
+        }
+
+        public Multimap<CreatedIdxRow, UserProfileRowResult> getReferencedRows(Iterable<CreatedIdxRow> rows, ColumnSelection columns) {
+            Multimap<CreatedIdxRow, CreatedIdxColumnValue> indexEntries = getRowsMultimap(rows);
+            SortedMap<byte[], RowResult<byte[]>> results = t.getRows(getReferencedTableRef(), getReferencedRowNames(indexEntries), columns);
+            return joinReferencedRows(indexEntries, results);
+        }
+
+        public ListenableFuture<Multimap<CreatedIdxRow, UserProfileRowResult>> getReferencedRowsAsync(RowBatchLoader loader, Iterable<CreatedIdxRow> rows) {
+            return getReferencedRowsAsync(loader, rows, UserProfileTable.allColumns);
+        }
+
+        public ListenableFuture<Multimap<CreatedIdxRow, UserProfileRowResult>> getReferencedRowsAsync(RowBatchLoader loader, Iterable<CreatedIdxRow> rows, ColumnSelection columns) {
+            return Futures.transformAsync(getRowsMultimapAsync(loader, rows), indexEntries -> Futures.transform(
+                    loader.getRows(t, getReferencedTableRef(), getReferencedRowNames(indexEntries), columns),
+                    results -> joinReferencedRows(indexEntries, results),
+                    MoreExecutors.directExecutor()), MoreExecutors.directExecutor());
+        }
+
+        private TableReference getReferencedTableRef() {
+            return TableReference.create(tableRef.getNamespace(), UserProfileTable.getRawTableName());
+        }
+
+        private static Set<byte[]> getReferencedRowNames(Multimap<CreatedIdxRow, CreatedIdxColumnValue> indexEntries) {
+            Set<byte[]> rowNames = Sets.newTreeSet(UnsignedBytes.lexicographicalComparator());
+            for (CreatedIdxColumnValue value : indexEntries.values()) {
+                rowNames.add(value.getColumnName().getRowName());
+            }
+            return rowNames;
+        }
+
+        private static Multimap<CreatedIdxRow, UserProfileRowResult> joinReferencedRows(Multimap<CreatedIdxRow, CreatedIdxColumnValue> indexEntries, SortedMap<byte[], RowResult<byte[]>> results) {
+            Multimap<CreatedIdxRow, UserProfileRowResult> joined = ArrayListMultimap.create();
+            for (Entry<CreatedIdxRow, Collection<CreatedIdxColumnValue>> e : indexEntries.asMap().entrySet()) {
+                Set<byte[]> rowNames = Sets.newTreeSet(UnsignedBytes.lexicographicalComparator());
+                for (CreatedIdxColumnValue value : e.getValue()) {
+                    RowResult<byte[]> result = results.get(value.getColumnName().getRowName());
+                    if (result != null && rowNames.add(result.getRowName())) {
+                        joined.put(e.getKey(), UserProfileRowResult.of(result));
+                    }
+                }
+            }
+            return joined;
+        }
+
         @Override
         public Map<CreatedIdxRow, BatchingVisitable<CreatedIdxColumnValue>> getRowsColumnRange(Iterable<CreatedIdxRow> rows, BatchColumnRangeSelection columnRangeSelection) {
             Map<byte[], BatchingVisitable<Map.Entry<Cell, byte[]>>> results = t.getRowsColumnRange(tableRef, Persistables.persistAll(rows), columnRangeSelection);
@@ -3155,6 +3300,64 @@ public final class UserProfileTable implements
             return rowMap;
         }
 
+        public ListenableFuture<Multimap<UserBirthdaysIdxRow, UserBirthdaysIdxColumnValue>> getRowsMultimapAsync(RowBatchLoader loader, Iterable<UserBirthdaysIdxRow> rows) {
+            return getRowsMultimapAsync(loader, rows, allColumns);
+        }
+
+        public ListenableFuture<Multimap<UserBirthdaysIdxRow, UserBirthdaysIdxColumnValue>> getRowsMultimapAsync(RowBatchLoader loader, Iterable<UserBirthdaysIdxRow> rows, ColumnSelection columns) {
+            return Futures.transform(
+                    loader.getRows(t, tableRef, Persistables.persistAll(rows), columns),
+                    results -> getRowMapFromRowResults(results.values()),
+                    MoreExecutors.directExecutor());
+        }
+
+        public Multimap<UserBirthdaysIdxRow, UserProfileRowResult> getReferencedRows(Iterable<UserBirthdaysIdxRow> rows) {
+            return getReferencedRows(rows, UserProfileTable.allColumns);
+        }
+
+        public Multimap<UserBirthdaysIdxRow, UserProfileRowResult> getReferencedRows(Iterable<UserBirthdaysIdxRow> rows, ColumnSelection columns) {
+            Multimap<UserBirthdaysIdxRow, UserBirthdaysIdxColumnValue> indexEntries = getRowsMultimap(rows);
+            SortedMap<byte[], RowResult<byte[]>> results = t.getRows(getReferencedTableRef(), getReferencedRowNames(indexEntries), columns);
+            return joinReferencedRows(indexEntries, results);
+        }
+
+        public ListenableFuture<Multimap<UserBirthdaysIdxRow, UserProfileRowResult>> getReferencedRowsAsync(RowBatchLoader loader, Iterable<UserBirthdaysIdxRow> rows) {
+            return getReferencedRowsAsync(loader, rows, UserProfileTable.allColumns);
+        }
+
+        public ListenableFuture<Multimap<UserBirthdaysIdxRow, UserProfileRowResult>> getReferencedRowsAsync(RowBatchLoader loader, Iterable<UserBirthdaysIdxRow> rows, ColumnSelection columns) {
+            return Futures.transformAsync(getRowsMultimapAsync(loader, rows), indexEntries -> Futures.transform(
+                    loader.getRows(t, getReferencedTableRef(), getReferencedRowNames(indexEntries), columns),
+                    results -> joinReferencedRows(indexEntries, results),
+                    MoreExecutors.directExecutor()), MoreExecutors.directExecutor());
+        }
+
+        private TableReference getReferencedTableRef() {
+            return TableReference.create(tableRef.getNamespace(), UserProfileTable.getRawTableName());
+        }
+
+        private static Set<byte[]> getReferencedRowNames(Multimap<UserBirthdaysIdxRow, UserBirthdaysIdxColumnValue> indexEntries) {
+            Set<byte[]> rowNames = Sets.newTreeSet(UnsignedBytes.lexicographicalComparator());
+            for (UserBirthdaysIdxColumnValue value : indexEntries.values()) {
+                rowNames.add(value.getColumnName().getRowName());
+            }
+            return rowNames;
+        }
+
+        private static Multimap<UserBirthdaysIdxRow, UserProfileRowResult> joinReferencedRows(Multimap<UserBirthdaysIdxRow, UserBirthdaysIdxColumnValue> indexEntries, SortedMap<byte[], RowResult<byte[]>> results) {
+            Multimap<UserBirthdaysIdxRow, UserProfileRowResult> joined = ArrayListMultimap.create();
+            for (Entry<UserBirthdaysIdxRow, Collection<UserBirthdaysIdxColumnValue>> e : indexEntries.asMap().entrySet()) {
+                Set<byte[]> rowNames = Sets.newTreeSet(UnsignedBytes.lexicographicalComparator());
+                for (UserBirthdaysIdxColumnValue value : e.getValue()) {
+                    RowResult<byte[]> result = results.get(value.getColumnName().getRowName());
+                    if (result != null && rowNames.add(result.getRowName())) {
+                        joined.put(e.getKey(), UserProfileRowResult.of(result));
+                    }
+                }
+            }
+            return joined;
+        }
+
         @Override
         public Map<UserBirthdaysIdxRow, BatchingVisitable<UserBirthdaysIdxColumnValue>> getRowsColumnRange(Iterable<UserBirthdaysIdxRow> rows, BatchColumnRangeSelection columnRangeSelection) {
             Map<byte[], BatchingVisitable<Map.Entry<Cell, byte[]>>> results = t.getRowsColumnRange(tableRef, Persistables.persistAll(rows), columnRangeSelection);
@@ -3302,6 +3505,7 @@ public final class UserProfileTable implements
      * {@link Entry}
      * {@link EnumSet}
      * {@link Function}
+     * {@link Futures}
      * {@link Generated}
      * {@link HashMultimap}
      * {@link HashSet}
@@ -3318,9 +3522,11 @@ public final class UserProfileTable implements
      * {@link Iterators}
      * {@link Joiner}
      * {@link List}
+     * {@link ListenableFuture}
      * {@link Lists}
      * {@link Map}
      * {@link Maps}
+     * {@link MoreExecutors}
      * {@link MoreObjects}
      * {@link Multimap}
      * {@link Multimaps}
@@ -3333,6 +3539,7 @@ public final class UserProfileTable implements
      * {@link Prefix}
      * {@link PtBytes}
      * {@link RangeRequest}
+     * {@link RowBatchLoader}
      * {@link RowResult}
      * {@link Set}
      * {@link Sets}
@@ -3349,5 +3556,5 @@ public final class UserProfileTable implements
      * {@link UnsignedBytes}
      * {@link ValueType}
      */
-    static String __CLASS_HASH = "2l6vERmYIdNq6v0h//tMEw==";
+    static String __CLASS_HASH = "3otc1rqbGnTdjd81fZNvkw==";
 }
@@ -21,6 +21,7 @@ import static org.junit.Assert.assertThat;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
@@ -31,6 +32,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.Closeables;
 import com.palantir.atlasdb.factory.TransactionManagers;
@@ -160,6 +162,17 @@ public class ProfileStoreTest {
         });
     }
 
+    @Test
+    public void testBirthdayIndexJoin() {
+        final UUID userId = storeUser();
+        runWithRetry(store -> {
+            Map<UUID, UserProfile> users = store.getUserDataWithBirthdays(
+                    ImmutableSet.of(USER.getBirthEpochDay(), USER.getBirthEpochDay() + 1));
+            Assert.assertEquals(ImmutableMap.of(userId, USER), users);
+            return userId;
+        });
+    }
+
     @Test
     public void testBirthdayIndexThrowsAfterTransactionManagerIsClosedThrows() throws Exception {
         txnMgr.close();
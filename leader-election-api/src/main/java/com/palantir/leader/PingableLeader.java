@@ -16,7 +16,9 @@
 package com.palantir.leader;
 
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 
@@ -41,4 +43,16 @@ public interface PingableLeader {
     @Produces(MediaType.TEXT_PLAIN)
     @SuppressWarnings("checkstyle:AbbreviationAsWordInName") // Avoiding API break
     String getUUID();
+
+    /**
+     * Asks this server to promise not to propose itself as leader for the given duration, which lets the server
+     * with the given UUID serve requests as leader without checking with a quorum for each one. The promise is
+     * only given if this server believes that server to be the current leader, and is not itself proposing.
+     *
+     * @return true if the promise was given
+     */
+    @POST
+    @Path("lease/{leaderUuid}/{durationMs}")
+    @Produces(MediaType.APPLICATION_JSON)
+    boolean grantLeadershipLease(@PathParam("leaderUuid") String leaderUuid, @PathParam("durationMs") long durationMs);
 }
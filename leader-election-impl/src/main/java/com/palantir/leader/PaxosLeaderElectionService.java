@@ -35,6 +35,7 @@ import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 
 import org.immutables.value.Value;
 import org.slf4j.Logger;
@@ -42,6 +43,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
+import com.google.common.base.Ticker;
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -71,6 +73,10 @@ public class PaxosLeaderElectionService implements PingableLeader, LeaderElectio
 
     private final ReentrantLock lock;
     private final CoalescingPaxosLatestRoundVerifier latestRoundVerifier;
+    private final PaxosLeadershipLease leadershipLease;
+    private final Ticker ticker;
+    @GuardedBy("lock")
+    private long noProposalsBefore;
 
     final PaxosProposer proposer;
     final PaxosLearner knowledge;
@@ -102,7 +108,7 @@ public class PaxosLeaderElectionService implements PingableLeader, LeaderElectio
                                       Supplier<Boolean> onlyLogOnQuorumFailure) {
         this(proposer, knowledge, otherPotentialLeadersToHosts, acceptors, learners, executor,
                 updatePollingWaitInMs, randomWaitBeforeProposingLeadership, leaderPingResponseWaitMs,
-                PaxosLeaderElectionEventRecorder.NO_OP, onlyLogOnQuorumFailure);
+                0L, Ticker.systemTicker(), PaxosLeaderElectionEventRecorder.NO_OP, onlyLogOnQuorumFailure);
     }
 
     PaxosLeaderElectionService(PaxosProposer proposer,
@@ -114,6 +120,8 @@ public class PaxosLeaderElectionService implements PingableLeader, LeaderElectio
             long updatePollingWaitInMs,
             long randomWaitBeforeProposingLeadership,
             long leaderPingResponseWaitMs,
+            long leaderLeaseDurationMs,
+            Ticker ticker,
             PaxosLeaderElectionEventRecorder eventRecorder,
             Supplier<Boolean> onlyLogOnQuorumFailure) {
         this.proposer = proposer;
@@ -130,6 +138,17 @@ public class PaxosLeaderElectionService implements PingableLeader, LeaderElectio
         this.eventRecorder = eventRecorder;
         this.latestRoundVerifier = new CoalescingPaxosLatestRoundVerifier(
                 new PaxosLatestRoundVerifierImpl(acceptors, proposer.getQuorumSize(), executor, onlyLogOnQuorumFailure));
+        this.leadershipLease = new PaxosLeadershipLease(
+                proposer.getUuid(),
+                this.otherPotentialLeadersToHosts.keySet(),
+                latestRoundVerifier,
+                executor,
+                ticker,
+                leaderLeaseDurationMs,
+                leaderPingResponseWaitMs);
+        this.ticker = ticker;
+        // We may have promised not to propose before we were restarted, and no longer remember for how long.
+        this.noProposalsBefore = ticker.read() + TimeUnit.MILLISECONDS.toNanos(leaderLeaseDurationMs);
     }
 
     @Override
@@ -370,6 +389,32 @@ public class PaxosLeaderElectionService implements PingableLeader, LeaderElectio
                 .orElse(false);
     }
 
+    @Override
+    public boolean grantLeadershipLease(String leaderUuid, long durationMs) {
+        if (!leadershipLease.isEnabled() || durationMs > leadershipLease.durationMs()) {
+            return false;
+        }
+        // If we are proposing, that proposal may complete within the lease; so refuse rather than wait for it.
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            boolean isLeader = getGreatestLearnedPaxosValue()
+                    .map(value -> value.getLeaderUUID().equals(leaderUuid))
+                    .orElse(false);
+            if (!isLeader) {
+                return false;
+            }
+            long promisedUntil = ticker.read() + TimeUnit.MILLISECONDS.toNanos(durationMs);
+            if (promisedUntil - noProposalsBefore > 0) {
+                noProposalsBefore = promisedUntil;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
     private void proposeLeadershipAfter(Optional<PaxosValue> value) {
         lock.lock();
         try {
@@ -378,6 +423,10 @@ public class PaxosLeaderElectionService implements PingableLeader, LeaderElectio
                 // We do this check in a lock to ensure concurrent callers to blockOnBecomingLeader behaves correctly.
                 return;
             }
+            if (ticker.read() - noProposalsBefore < 0) {
+                // We have promised the last known leader not to propose until its lease runs out.
+                return;
+            }
 
             long seq = value.map(val -> val.getRound()).orElse(PaxosAcceptor.NO_LOG_ENTRY) + 1;
 
@@ -426,6 +475,10 @@ public class PaxosLeaderElectionService implements PingableLeader, LeaderElectio
             return StillLeadingStatus.NOT_LEADING;
         }
 
+        if (leadershipLease.isHeldFor(value.getRound())) {
+            return StillLeadingStatus.LEADING;
+        }
+
         return latestRoundVerifier.isLatestRound(value.getRound())
                 .toStillLeadingStatus();
     }
@@ -20,6 +20,7 @@ import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 
+import com.google.common.base.Ticker;
 import com.google.common.collect.ImmutableList;
 import com.google.common.net.HostAndPort;
 import com.palantir.paxos.PaxosAcceptor;
@@ -36,6 +37,8 @@ public class PaxosLeaderElectionServiceBuilder {
     private long pingRateMs;
     private long randomWaitBeforeProposingLeadershipMs;
     private long leaderPingResponseWaitMs;
+    private long leaderLeaseDurationMs = 0L;
+    private Ticker ticker = Ticker.systemTicker();
     private PaxosLeaderElectionEventRecorder eventRecorder = PaxosLeaderElectionEventRecorder.NO_OP;
     private Supplier<Boolean> onlyLogOnQuorumFailure = () -> true;
 
@@ -89,6 +92,20 @@ public class PaxosLeaderElectionServiceBuilder {
         return this;
     }
 
+    /**
+     * How long the leader may serve requests without checking with a quorum that it is still the leader, once every
+     * other node has promised not to propose itself for this long. Zero (the default) disables leases.
+     */
+    public PaxosLeaderElectionServiceBuilder leaderLeaseDurationMs(long leaderLeaseDurationMs) {
+        this.leaderLeaseDurationMs = leaderLeaseDurationMs;
+        return this;
+    }
+
+    public PaxosLeaderElectionServiceBuilder ticker(Ticker ticker) {
+        this.ticker = ticker;
+        return this;
+    }
+
     public PaxosLeaderElectionServiceBuilder eventRecorder(PaxosLeaderElectionEventRecorder eventRecorder) {
         this.eventRecorder = eventRecorder;
         return this;
@@ -110,6 +127,8 @@ public class PaxosLeaderElectionServiceBuilder {
                 pingRateMs,
                 randomWaitBeforeProposingLeadershipMs,
                 leaderPingResponseWaitMs,
+                leaderLeaseDurationMs,
+                ticker,
                 eventRecorder,
                 onlyLogOnQuorumFailure);
     }
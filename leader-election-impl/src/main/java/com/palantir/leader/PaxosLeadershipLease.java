@@ -0,0 +1,182 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.leader;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.paxos.PaxosLatestRoundVerifier;
+import com.palantir.paxos.PaxosQuorumStatus;
+
+/**
+ * A time-bounded lease on leadership for a single Paxos round, which lets the leader answer
+ * {@link LeaderElectionService#isStillLeading} without checking with a quorum on every call.
+ * <p>
+ * A lease is obtained by asking every other potential leader to promise not to propose itself as leader for the
+ * lease duration (see {@link PingableLeader#grantLeadershipLease}), and then checking with a quorum that the round
+ * is still the latest. Since no new leader can be elected without some node proposing, the round remains the latest
+ * until the earliest of those promises runs out. Promises are measured on each node's monotonic clock from when it
+ * received the request, which is no earlier than when the leader started asking, so the lease only needs a margin
+ * for the rate at which clocks may drift apart, not for differences in their wall time.
+ * <p>
+ * If any potential leader cannot be reached or refuses, no lease is held and callers fall back to quorum checks.
+ * Leases are renewed in the background once half of the lease has elapsed, so long as they are being used.
+ */
+class PaxosLeadershipLease {
+    private static final Logger log = LoggerFactory.getLogger(PaxosLeadershipLease.class);
+
+    @VisibleForTesting
+    static final double CLOCK_DRIFT_ALLOWANCE = 0.1;
+
+    private final String uuid;
+    private final Set<PingableLeader> otherPotentialLeaders;
+    private final PaxosLatestRoundVerifier latestRoundVerifier;
+    private final ExecutorService executor;
+    private final Ticker ticker;
+    private final long durationMs;
+    private final long responseWaitMs;
+    private final long validityNanos;
+
+    private final AtomicBoolean isRenewing = new AtomicBoolean(false);
+    @Nullable
+    private volatile Lease lease;
+
+    PaxosLeadershipLease(String uuid,
+            Set<PingableLeader> otherPotentialLeaders,
+            PaxosLatestRoundVerifier latestRoundVerifier,
+            ExecutorService executor,
+            Ticker ticker,
+            long durationMs,
+            long responseWaitMs) {
+        this.uuid = uuid;
+        this.otherPotentialLeaders = otherPotentialLeaders;
+        this.latestRoundVerifier = latestRoundVerifier;
+        this.executor = executor;
+        this.ticker = ticker;
+        this.durationMs = durationMs;
+        this.responseWaitMs = responseWaitMs;
+        this.validityNanos = (long) (TimeUnit.MILLISECONDS.toNanos(durationMs) * (1 - CLOCK_DRIFT_ALLOWANCE));
+    }
+
+    boolean isEnabled() {
+        return durationMs > 0;
+    }
+
+    long durationMs() {
+        return durationMs;
+    }
+
+    /**
+     * Returns true if this node holds an unexpired lease for the given round. Starts renewing the lease in the
+     * background if it is missing, expired, or half way through.
+     */
+    boolean isHeldFor(long round) {
+        if (!isEnabled()) {
+            return false;
+        }
+
+        Lease currentLease = lease;
+        long now = ticker.read();
+        boolean isHeld = currentLease != null && currentLease.round == round && now - currentLease.expiresAt < 0;
+        if (!isHeld || now - currentLease.renewAfter >= 0) {
+            renewAsync(round);
+        }
+        return isHeld;
+    }
+
+    private void renewAsync(long round) {
+        if (!isRenewing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    renew(round);
+                } catch (Throwable t) {
+                    log.warn("Failed to renew the leadership lease for round {}", SafeArg.of("round", round), t);
+                } finally {
+                    isRenewing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            isRenewing.set(false);
+        }
+    }
+
+    @VisibleForTesting
+    void renew(long round) {
+        long start = ticker.read();
+        if (!allOtherPotentialLeadersGrantLease()) {
+            return;
+        }
+        // Only check the round now, so that any proposal started before a promise was given is accounted for.
+        if (latestRoundVerifier.isLatestRound(round) != PaxosQuorumStatus.QUORUM_AGREED) {
+            return;
+        }
+        lease = new Lease(round, start + validityNanos / 2, start + validityNanos);
+    }
+
+    private boolean allOtherPotentialLeadersGrantLease() {
+        List<Future<Boolean>> grants = otherPotentialLeaders.stream()
+                .map(leader -> executor.submit(() -> leader.grantLeadershipLease(uuid, durationMs)))
+                .collect(Collectors.toList());
+        long deadline = ticker.read() + TimeUnit.MILLISECONDS.toNanos(responseWaitMs);
+        try {
+            for (Future<Boolean> grant : grants) {
+                if (!grant.get(Math.max(0, deadline - ticker.read()), TimeUnit.NANOSECONDS)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            log.info("Could not obtain a leadership lease from every potential leader", e);
+            return false;
+        } finally {
+            grants.forEach(grant -> grant.cancel(true));
+        }
+    }
+
+    private static final class Lease {
+        private final long round;
+        private final long renewAfter;
+        private final long expiresAt;
+
+        private Lease(long round, long renewAfter, long expiresAt) {
+            this.round = round;
+            this.renewAfter = renewAfter;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -17,19 +17,87 @@
 package com.palantir.leader;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 
+import com.google.common.base.Ticker;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.net.HostAndPort;
 import com.palantir.paxos.PaxosLearner;
 import com.palantir.paxos.PaxosProposer;
+import com.palantir.paxos.PaxosValue;
 
 public class PaxosLeaderElectionServiceTest {
+    private static final String OUR_UUID = "us";
+    private static final String LEADER_UUID = "leader";
+    private static final long ROUND = 5L;
+    private static final long LEASE_DURATION_MS = 1000L;
+    private static final long LEASE_DURATION_NANOS = TimeUnit.MILLISECONDS.toNanos(LEASE_DURATION_MS);
+    private static final long NO_PROPOSAL_WAIT_MS = 200L;
+
+    private final PaxosProposer proposer = mock(PaxosProposer.class);
+    private final PaxosLearner knowledge = mock(PaxosLearner.class);
+    private final PingableLeader leader = mock(PingableLeader.class);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ExecutorService electionExecutor = Executors.newSingleThreadExecutor();
+    private final AtomicLong time = new AtomicLong();
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return time.get();
+        }
+    };
+
+    private PaxosLeaderElectionService service;
+
+    @Before
+    public void setUp() throws Exception {
+        when(proposer.getUuid()).thenReturn(OUR_UUID);
+        when(proposer.getQuorumSize()).thenReturn(0);
+        when(proposer.propose(anyLong(), any(byte[].class))).thenThrow(new IllegalStateException("stop proposing"));
+        when(knowledge.getGreatestLearnedValue()).thenReturn(new PaxosValue(LEADER_UUID, ROUND, null));
+        when(leader.getUUID()).thenReturn(LEADER_UUID);
+        when(leader.ping()).thenReturn(false);
+
+        service = new PaxosLeaderElectionServiceBuilder()
+                .proposer(proposer)
+                .knowledge(knowledge)
+                .potentialLeadersToHosts(ImmutableMap.of(leader, HostAndPort.fromHost("leader")))
+                .acceptors(ImmutableList.of())
+                .learners(ImmutableList.of())
+                .executor(executor)
+                .pingRateMs(0L)
+                .randomWaitBeforeProposingLeadershipMs(0L)
+                .leaderPingResponseWaitMs(0L)
+                .leaderLeaseDurationMs(LEASE_DURATION_MS)
+                .ticker(ticker)
+                .eventRecorder(mock(PaxosLeadershipEventRecorder.class))
+                .onlyLogOnQuorumFailure(() -> true)
+                .build();
+    }
+
+    @After
+    public void tearDown() {
+        electionExecutor.shutdownNow();
+        executor.shutdownNow();
+    }
+
     @Test
     public void weAreOneOfThePotentialLeaders() throws Exception {
         PingableLeader other = mock(PingableLeader.class);
@@ -50,4 +118,63 @@ public class PaxosLeaderElectionServiceTest {
         assertThat(service.getPotentialLeaders()).containsExactlyInAnyOrder(other, service);
     }
 
+    @Test
+    public void grantsLeaseToCurrentLeader() {
+        assertThat(service.grantLeadershipLease(LEADER_UUID, LEASE_DURATION_MS)).isTrue();
+    }
+
+    @Test
+    public void refusesLeaseToNodeThatIsNotTheLeader() {
+        assertThat(service.grantLeadershipLease("someone else", LEASE_DURATION_MS)).isFalse();
+    }
+
+    @Test
+    public void refusesLeaseLongerThanOwnLeaseDuration() {
+        assertThat(service.grantLeadershipLease(LEADER_UUID, LEASE_DURATION_MS + 1)).isFalse();
+    }
+
+    @Test
+    public void refusesLeaseWhileProposing() throws Exception {
+        CountDownLatch proposing = new CountDownLatch(1);
+        CountDownLatch finishProposing = new CountDownLatch(1);
+        when(proposer.propose(anyLong(), any(byte[].class))).thenAnswer(invocation -> {
+            proposing.countDown();
+            finishProposing.await();
+            throw new IllegalStateException("stop proposing");
+        });
+        time.set(LEASE_DURATION_NANOS);
+
+        electionExecutor.submit(() -> service.blockOnBecomingLeader());
+        assertThat(proposing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThat(service.grantLeadershipLease(LEADER_UUID, LEASE_DURATION_MS)).isFalse();
+        } finally {
+            finishProposing.countDown();
+        }
+    }
+
+    @Test
+    public void doesNotProposeUntilOneLeaseDurationAfterStartup() throws Exception {
+        electionExecutor.submit(() -> service.blockOnBecomingLeader());
+        Thread.sleep(NO_PROPOSAL_WAIT_MS);
+        verify(proposer, never()).propose(anyLong(), any(byte[].class));
+
+        time.set(LEASE_DURATION_NANOS);
+        verify(proposer, timeout(5000)).propose(ROUND + 1, null);
+    }
+
+    @Test
+    public void doesNotProposeWhileLeaseIsPromised() throws Exception {
+        time.set(LEASE_DURATION_NANOS);
+        assertThat(service.grantLeadershipLease(LEADER_UUID, LEASE_DURATION_MS)).isTrue();
+
+        electionExecutor.submit(() -> service.blockOnBecomingLeader());
+        time.set(2 * LEASE_DURATION_NANOS - 1);
+        Thread.sleep(NO_PROPOSAL_WAIT_MS);
+        verify(proposer, never()).propose(anyLong(), any(byte[].class));
+
+        time.set(2 * LEASE_DURATION_NANOS);
+        verify(proposer, timeout(5000)).propose(ROUND + 1, null);
+    }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.leader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.paxos.PaxosLatestRoundVerifier;
+import com.palantir.paxos.PaxosQuorumStatus;
+
+public class PaxosLeadershipLeaseTest {
+    private static final String UUID = "uuid";
+    private static final long ROUND = 5L;
+    private static final long LEASE_DURATION_MS = 1000L;
+    private static final long VALIDITY_NANOS = (long) (TimeUnit.MILLISECONDS.toNanos(LEASE_DURATION_MS)
+            * (1 - PaxosLeadershipLease.CLOCK_DRIFT_ALLOWANCE));
+
+    private final PingableLeader otherLeader1 = mock(PingableLeader.class);
+    private final PingableLeader otherLeader2 = mock(PingableLeader.class);
+    private final PaxosLatestRoundVerifier verifier = mock(PaxosLatestRoundVerifier.class);
+    private final AtomicLong time = new AtomicLong();
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return time.get();
+        }
+    };
+
+    private PaxosLeadershipLease lease = createLease(LEASE_DURATION_MS);
+
+    @Before
+    public void setUp() {
+        when(otherLeader1.grantLeadershipLease(anyString(), anyLong())).thenReturn(true);
+        when(otherLeader2.grantLeadershipLease(anyString(), anyLong())).thenReturn(true);
+        when(verifier.isLatestRound(ROUND)).thenReturn(PaxosQuorumStatus.QUORUM_AGREED);
+    }
+
+    @Test
+    public void isNeverHeldIfDisabled() {
+        lease = createLease(0L);
+
+        assertThat(lease.isHeldFor(ROUND)).isFalse();
+        assertThat(lease.isHeldFor(ROUND)).isFalse();
+        verify(otherLeader1, never()).grantLeadershipLease(anyString(), anyLong());
+    }
+
+    @Test
+    public void isHeldOnceRenewedInBackground() {
+        assertThat(lease.isHeldFor(ROUND)).isFalse();
+        assertThat(lease.isHeldFor(ROUND)).isTrue();
+
+        verify(otherLeader1).grantLeadershipLease(UUID, LEASE_DURATION_MS);
+        verify(otherLeader2).grantLeadershipLease(UUID, LEASE_DURATION_MS);
+        verify(verifier).isLatestRound(ROUND);
+    }
+
+    @Test
+    public void isNotHeldIfAnyOtherLeaderRefuses() {
+        when(otherLeader2.grantLeadershipLease(anyString(), anyLong())).thenReturn(false);
+
+        lease.renew(ROUND);
+
+        assertThat(lease.isHeldFor(ROUND)).isFalse();
+        verify(verifier, never()).isLatestRound(anyLong());
+    }
+
+    @Test
+    public void isNotHeldIfAnyOtherLeaderFails() {
+        when(otherLeader2.grantLeadershipLease(anyString(), anyLong())).thenThrow(new RuntimeException("down"));
+
+        lease.renew(ROUND);
+
+        assertThat(lease.isHeldFor(ROUND)).isFalse();
+    }
+
+    @Test
+    public void isNotHeldIfRoundIsNotLatest() {
+        when(verifier.isLatestRound(ROUND)).thenReturn(PaxosQuorumStatus.SOME_DISAGREED);
+
+        lease.renew(ROUND);
+
+        assertThat(lease.isHeldFor(ROUND)).isFalse();
+    }
+
+    @Test
+    public void isNotHeldForOtherRounds() {
+        lease.renew(ROUND);
+
+        assertThat(lease.isHeldFor(ROUND + 1)).isFalse();
+    }
+
+    @Test
+    public void expiresBeforeLeaseDurationElapses() {
+        lease.renew(ROUND);
+        when(otherLeader1.grantLeadershipLease(anyString(), anyLong())).thenReturn(false);
+
+        time.addAndGet(VALIDITY_NANOS - 1);
+        assertThat(lease.isHeldFor(ROUND)).isTrue();
+        time.addAndGet(1);
+        assertThat(lease.isHeldFor(ROUND)).isFalse();
+    }
+
+    @Test
+    public void isRenewedOnceHalfExpired() {
+        lease.renew(ROUND);
+
+        time.addAndGet(VALIDITY_NANOS / 2 - 1);
+        assertThat(lease.isHeldFor(ROUND)).isTrue();
+        verify(otherLeader1, times(1)).grantLeadershipLease(anyString(), anyLong());
+
+        time.addAndGet(1);
+        assertThat(lease.isHeldFor(ROUND)).isTrue();
+        verify(otherLeader1, times(2)).grantLeadershipLease(anyString(), anyLong());
+
+        time.addAndGet(VALIDITY_NANOS - 1);
+        assertThat(lease.isHeldFor(ROUND)).isTrue();
+    }
+
+    private PaxosLeadershipLease createLease(long durationMs) {
+        return new PaxosLeadershipLease(
+                UUID,
+                ImmutableSet.of(otherLeader1, otherLeader2),
+                verifier,
+                MoreExecutors.newDirectExecutorService(),
+                ticker,
+                durationMs,
+                1000L);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.lock.client;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Sets;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.v2.TimelockService;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * Unlocks lock tokens in the background, so that callers do not wait for a round trip to TimeLock.
+ * <p>
+ * At most one unlock call is in flight at a time. Tokens enqueued while a call is in flight are coalesced into the
+ * next call, so a client that releases many locks concurrently sends a few large unlock requests rather than one
+ * per transaction. Calls are limited to {@link #MAX_BATCH_SIZE} tokens.
+ * <p>
+ * Unlocking is best effort: tokens in a failed call are not retried, and are instead released by TimeLock when
+ * their leases expire.
+ */
+public class AsyncTimeLockUnlocker implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(AsyncTimeLockUnlocker.class);
+
+    @VisibleForTesting
+    static final int MAX_BATCH_SIZE = 5_000;
+
+    private final TimelockService timelockService;
+    private final ExecutorService executor;
+    private final Queue<LockToken> outstandingTokens = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean unlockScheduled = new AtomicBoolean(false);
+
+    public AsyncTimeLockUnlocker(TimelockService timelockService, ExecutorService executor) {
+        this.timelockService = timelockService;
+        this.executor = executor;
+    }
+
+    public void enqueue(Set<LockToken> tokens) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+        outstandingTokens.addAll(tokens);
+        scheduleIfNotAlreadyScheduled();
+    }
+
+    private void scheduleIfNotAlreadyScheduled() {
+        if (!unlockScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::unlockOutstanding);
+        } catch (RejectedExecutionException e) {
+            unlockScheduled.set(false);
+            log.info("Could not schedule an unlock, as the unlocker has been closed. {} lock tokens will be released"
+                    + " when their leases expire.", SafeArg.of("numTokens", outstandingTokens.size()));
+        }
+    }
+
+    private void unlockOutstanding() {
+        // Reset before draining, so tokens enqueued from now on schedule another run rather than being missed.
+        unlockScheduled.set(false);
+        Set<LockToken> toUnlock = Sets.newHashSet();
+        LockToken token;
+        while (toUnlock.size() < MAX_BATCH_SIZE && (token = outstandingTokens.poll()) != null) {
+            toUnlock.add(token);
+        }
+        if (!outstandingTokens.isEmpty()) {
+            scheduleIfNotAlreadyScheduled();
+        }
+        if (toUnlock.isEmpty()) {
+            return;
+        }
+
+        try {
+            timelockService.unlock(toUnlock);
+        } catch (Throwable t) {
+            log.info("Failed to unlock {} lock tokens. They will be released when their leases expire.",
+                    SafeArg.of("numTokens", toUnlock.size()), t);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -20,6 +20,7 @@ import java.net.ConnectException;
 import java.net.UnknownHostException;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -42,6 +43,7 @@ public class TimeLockClient implements AutoCloseable, TimelockService {
 
     private final TimelockService delegate;
     private final LockRefresher lockRefresher;
+    private final AsyncTimeLockUnlocker unlocker;
 
     public static TimeLockClient createDefault(TimelockService timelockService) {
         ScheduledExecutorService executor = PTExecutors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
@@ -49,12 +51,25 @@ public class TimeLockClient implements AutoCloseable, TimelockService {
                 .setDaemon(true)
                 .build());
         LockRefresher lockRefresher = new LockRefresher(executor, timelockService, REFRESH_INTERVAL_MILLIS);
-        return new TimeLockClient(timelockService, lockRefresher);
+        return new TimeLockClient(timelockService, lockRefresher, createDefaultUnlocker(timelockService));
+    }
+
+    private static AsyncTimeLockUnlocker createDefaultUnlocker(TimelockService timelockService) {
+        ExecutorService executor = PTExecutors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat(TimeLockClient.class.getSimpleName() + "-unlocker-%d")
+                .setDaemon(true)
+                .build());
+        return new AsyncTimeLockUnlocker(timelockService, executor);
     }
 
     public TimeLockClient(TimelockService delegate, LockRefresher lockRefresher) {
+        this(delegate, lockRefresher, createDefaultUnlocker(delegate));
+    }
+
+    public TimeLockClient(TimelockService delegate, LockRefresher lockRefresher, AsyncTimeLockUnlocker unlocker) {
         this.delegate = delegate;
         this.lockRefresher = lockRefresher;
+        this.unlocker = unlocker;
     }
 
     @Override
@@ -109,6 +124,16 @@ public class TimeLockClient implements AutoCloseable, TimelockService {
         return executeOnTimeLock(() -> delegate.unlock(tokens));
     }
 
+    /**
+     * Stops refreshing the given locks immediately, and unlocks them in the background. Unlocks from concurrent
+     * callers are batched together into a single call to TimeLock.
+     */
+    @Override
+    public void tryUnlock(Set<LockToken> tokens) {
+        lockRefresher.unregisterLocks(tokens);
+        unlocker.enqueue(tokens);
+    }
+
     @Override
     public long currentTimeMillis() {
         return executeOnTimeLock(delegate::currentTimeMillis);
@@ -131,5 +156,6 @@ public class TimeLockClient implements AutoCloseable, TimelockService {
     @Override
     public void close() {
         lockRefresher.close();
+        unlocker.close();
     }
 }
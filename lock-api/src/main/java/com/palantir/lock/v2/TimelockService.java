@@ -25,12 +25,13 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 
+import com.palantir.common.remoting.MediaTypes;
 import com.palantir.logsafe.Safe;
 import com.palantir.timestamp.TimestampRange;
 
 @Path("/timelock")
-@Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, MediaTypes.APPLICATION_JACKSON_SMILE})
+@Consumes({MediaType.APPLICATION_JSON, MediaTypes.APPLICATION_JACKSON_SMILE})
 public interface TimelockService {
     /**
      * Used for TimelockServices that can be initialized asynchronously (i.e. those extending
@@ -75,6 +76,15 @@ public interface TimelockService {
     @Path("unlock")
     Set<LockToken> unlock(Set<LockToken> tokens);
 
+    /**
+     * Releases the given locks without reporting which of them were held. Implementations may do this
+     * asynchronously, so callers must not rely on the locks having been released when this method returns; locks
+     * that are not released will be released by TimeLock once their leases expire.
+     */
+    default void tryUnlock(Set<LockToken> tokens) {
+        unlock(tokens);
+    }
+
     @POST
     @Path("current-time-millis")
     long currentTimeMillis();
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.lock.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.jmock.lib.concurrent.DeterministicScheduler;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.google.common.collect.ImmutableSet;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.lock.v2.TimelockService;
+
+public class AsyncTimeLockUnlockerTest {
+    private static final LockToken TOKEN_1 = LockToken.of(UUID.randomUUID());
+    private static final LockToken TOKEN_2 = LockToken.of(UUID.randomUUID());
+    private static final LockToken TOKEN_3 = LockToken.of(UUID.randomUUID());
+
+    private final DeterministicScheduler executor = new DeterministicScheduler();
+    private final TimelockService timelock = mock(TimelockService.class);
+    private final AsyncTimeLockUnlocker unlocker = new AsyncTimeLockUnlocker(timelock, executor);
+
+    @Test
+    public void doesNotUnlockOnCallingThread() {
+        unlocker.enqueue(ImmutableSet.of(TOKEN_1));
+
+        verifyNoMoreInteractions(timelock);
+        executor.runUntilIdle();
+        verify(timelock).unlock(ImmutableSet.of(TOKEN_1));
+    }
+
+    @Test
+    public void coalescesTokensEnqueuedBeforeUnlocking() {
+        unlocker.enqueue(ImmutableSet.of(TOKEN_1));
+        unlocker.enqueue(ImmutableSet.of(TOKEN_2, TOKEN_3));
+
+        executor.runUntilIdle();
+        verify(timelock).unlock(ImmutableSet.of(TOKEN_1, TOKEN_2, TOKEN_3));
+        verifyNoMoreInteractions(timelock);
+    }
+
+    @Test
+    public void unlocksTokensEnqueuedWhileUnlocking() {
+        when(timelock.unlock(ImmutableSet.of(TOKEN_1))).then(invocation -> {
+            unlocker.enqueue(ImmutableSet.of(TOKEN_2));
+            unlocker.enqueue(ImmutableSet.of(TOKEN_3));
+            return invocation.getArguments()[0];
+        });
+
+        unlocker.enqueue(ImmutableSet.of(TOKEN_1));
+        executor.runUntilIdle();
+
+        verify(timelock).unlock(ImmutableSet.of(TOKEN_1));
+        verify(timelock).unlock(ImmutableSet.of(TOKEN_2, TOKEN_3));
+        verifyNoMoreInteractions(timelock);
+    }
+
+    @Test
+    public void splitsLargeBatches() {
+        Set<LockToken> tokens = IntStream.range(0, AsyncTimeLockUnlocker.MAX_BATCH_SIZE + 1)
+                .mapToObj(unused -> LockToken.of(UUID.randomUUID()))
+                .collect(Collectors.toSet());
+
+        unlocker.enqueue(tokens);
+        executor.runUntilIdle();
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ArgumentCaptor<Set<LockToken>> captor = ArgumentCaptor.forClass((Class) Set.class);
+        verify(timelock, times(2)).unlock(captor.capture());
+        List<Set<LockToken>> batches = captor.getAllValues();
+        assertThat(batches.get(0)).hasSize(AsyncTimeLockUnlocker.MAX_BATCH_SIZE);
+        assertThat(batches.get(1)).hasSize(1);
+        assertThat(ImmutableSet.builder().addAll(batches.get(0)).addAll(batches.get(1)).build()).isEqualTo(tokens);
+    }
+
+    @Test
+    public void continuesUnlockingIfDelegateThrows() {
+        when(timelock.unlock(any())).thenThrow(new RuntimeException("test")).thenReturn(ImmutableSet.of(TOKEN_2));
+
+        unlocker.enqueue(ImmutableSet.of(TOKEN_1));
+        executor.runUntilIdle();
+        unlocker.enqueue(ImmutableSet.of(TOKEN_2));
+        executor.runUntilIdle();
+
+        verify(timelock).unlock(ImmutableSet.of(TOKEN_1));
+        verify(timelock).unlock(ImmutableSet.of(TOKEN_2));
+    }
+
+    @Test
+    public void doesNothingIfThereAreNoTokens() {
+        unlocker.enqueue(ImmutableSet.of());
+        executor.runUntilIdle();
+
+        verifyNoMoreInteractions(timelock);
+    }
+}
@@ -57,8 +57,9 @@ public class TimeLockClientTest {
     private static final ImmutableSet<LockDescriptor> LOCKS = ImmutableSet.of(StringLockDescriptor.of("foo"));
 
     private final LockRefresher refresher = mock(LockRefresher.class);
+    private final AsyncTimeLockUnlocker unlocker = mock(AsyncTimeLockUnlocker.class);
     private final TimelockService delegate = mock(TimelockService.class);
-    private final TimelockService timelock = new TimeLockClient(delegate, refresher);
+    private final TimelockService timelock = new TimeLockClient(delegate, refresher, unlocker);
 
     private static final long TIMEOUT = 10_000;
 
@@ -101,6 +102,17 @@ public class TimeLockClientTest {
         inOrder.verify(delegate).unlock(TOKENS);
     }
 
+    @Test
+    public void tryUnlockUnregistersLockAndUnlocksAsynchronously() {
+        InOrder inOrder = Mockito.inOrder(refresher, unlocker);
+
+        timelock.tryUnlock(TOKENS);
+
+        inOrder.verify(refresher).unregisterLocks(TOKENS);
+        inOrder.verify(unlocker).enqueue(TOKENS);
+        verifyNoMoreInteractions(delegate);
+    }
+
     @Test
     public void refreshDelegates() {
         timelock.refreshLockLeases(TOKENS);
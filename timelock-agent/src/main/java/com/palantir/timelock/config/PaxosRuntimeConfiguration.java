@@ -33,6 +33,16 @@ public interface PaxosRuntimeConfiguration {
         return 5000L;
     }
 
+    /**
+     * If positive, the leader may serve requests for this long without checking with a quorum that it is still the
+     * leader, provided that every node has promised not to propose itself as leader for that long.
+     */
+    @JsonProperty("leader-lease-duration-in-ms")
+    @Value.Default
+    default long leaderLeaseDurationMs() {
+        return 0L;
+    }
+
     @JsonProperty("only-log-on-quorum-failure")
     @Value.Default
     default boolean onlyLogOnQuorumFailure() {
@@ -47,5 +57,7 @@ public interface PaxosRuntimeConfiguration {
                 "Maximum wait before proposal must be positive; found '%s'.", maximumWaitBeforeProposalMs());
         Preconditions.checkArgument(leaderPingResponseWaitMs() > 0,
                 "Leader ping response wait interval must be positive; found '%s'.", leaderPingResponseWaitMs());
+        Preconditions.checkArgument(leaderLeaseDurationMs() >= 0,
+                "Leader lease duration must not be negative; found '%s'.", leaderLeaseDurationMs());
     }
 }
@@ -18,6 +18,7 @@ package com.palantir.timelock.config;
 
 import org.immutables.value.Value;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
@@ -25,4 +26,15 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 @JsonSerialize(as = ImmutablePaxosTsBoundPersisterConfiguration.class)
 @Value.Immutable
 public abstract class PaxosTsBoundPersisterConfiguration implements TsBoundPersisterConfiguration {
+    /**
+     * If true, the timestamp bounds of all clients are agreed through a single Paxos log, with concurrent updates
+     * batched into shared rounds, rather than through a separate log and thread pool per client.
+     * Bounds are persisted in a different place in each mode, so this must not be changed on a cluster that has
+     * already handed out timestamps.
+     */
+    @JsonProperty("multiplex-clients")
+    @Value.Default
+    public boolean multiplexClients() {
+        return false;
+    }
 }
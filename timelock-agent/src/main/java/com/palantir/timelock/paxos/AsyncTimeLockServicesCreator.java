@@ -25,6 +25,9 @@ import org.slf4j.LoggerFactory;
 import com.codahale.metrics.InstrumentedScheduledExecutorService;
 import com.codahale.metrics.MetricRegistry;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.palantir.atlasdb.timelock.AsyncRemoteLockResource;
+import com.palantir.atlasdb.timelock.AsyncRemoteLockService;
+import com.palantir.atlasdb.timelock.AsyncRemoteLockServiceImpl;
 import com.palantir.atlasdb.timelock.AsyncTimelockResource;
 import com.palantir.atlasdb.timelock.AsyncTimelockService;
 import com.palantir.atlasdb.timelock.AsyncTimelockServiceImpl;
@@ -73,31 +76,46 @@ public class AsyncTimeLockServicesCreator implements TimeLockServicesCreator {
                         : JavaSuppliers.compose(NonTransactionalLockService::new, rawLockServiceSupplier),
                 client);
 
+        AsyncRemoteLockService asyncRemoteLockService = instrumentInLeadershipProxy(
+                AsyncRemoteLockService.class,
+                () -> AsyncTimeLockServicesCreator.createRawAsyncRemoteLockService(client),
+                client);
+
         return TimeLockServices.create(
                 asyncTimelockService,
                 lockService,
                 asyncOrLegacyTimelockService,
-                asyncTimelockService);
+                asyncTimelockService,
+                new AsyncRemoteLockResource(asyncRemoteLockService));
     }
 
     private static AsyncTimelockService createRawAsyncTimelockService(
             String client,
             Supplier<ManagedTimestampService> timestampServiceSupplier) {
-        ScheduledExecutorService reaperExecutor = new InstrumentedScheduledExecutorService(
-                PTExecutors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
-                        .setNameFormat("async-lock-reaper-" + client + "-%d")
-                        .setDaemon(true)
-                        .build()), AtlasDbMetrics.getMetricRegistry(), "async-lock-reaper");
-        ScheduledExecutorService timeoutExecutor = new InstrumentedScheduledExecutorService(
-                PTExecutors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
-                        .setNameFormat("async-lock-timeouts-" + client + "-%d")
-                        .setDaemon(true)
-                        .build()), AtlasDbMetrics.getMetricRegistry(), "async-lock-timeouts");
+        ScheduledExecutorService reaperExecutor = createScheduledExecutor("async-lock-reaper", client);
+        ScheduledExecutorService timeoutExecutor = createScheduledExecutor("async-lock-timeouts", client);
         return new AsyncTimelockServiceImpl(
                 AsyncLockService.createDefault(reaperExecutor, timeoutExecutor),
                 timestampServiceSupplier.get());
     }
 
+    private static AsyncRemoteLockService createRawAsyncRemoteLockService(String client) {
+        ScheduledExecutorService reaperExecutor = createScheduledExecutor("async-remote-lock-reaper", client);
+        ScheduledExecutorService timeoutExecutor = createScheduledExecutor("async-remote-lock-timeouts", client);
+        return new AsyncRemoteLockServiceImpl(
+                AsyncLockService.createDefault(reaperExecutor, timeoutExecutor),
+                reaperExecutor,
+                AsyncRemoteLockServiceImpl.DEFAULT_BLOCKING_TIME_LIMIT_MILLIS);
+    }
+
+    private static ScheduledExecutorService createScheduledExecutor(String name, String client) {
+        return new InstrumentedScheduledExecutorService(
+                PTExecutors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                        .setNameFormat(name + "-" + client + "-%d")
+                        .setDaemon(true)
+                        .build()), AtlasDbMetrics.getMetricRegistry(), name);
+    }
+
     private <T> T instrumentInLeadershipProxy(Class<T> serviceClass, Supplier<T> serviceSupplier, String client) {
         return instrument(serviceClass, leadershipCreator.wrapInLeadershipProxy(serviceSupplier, serviceClass), client);
     }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.timelock.paxos;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import javax.net.ssl.SSLSocketFactory;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.palantir.atlasdb.config.LeaderConfig;
+import com.palantir.atlasdb.factory.Leaders;
+import com.palantir.atlasdb.timelock.paxos.DelegatingManagedTimestampService;
+import com.palantir.atlasdb.timelock.paxos.ManagedTimestampService;
+import com.palantir.atlasdb.timelock.paxos.MultiplexedPaxosTimestampBoundStore;
+import com.palantir.atlasdb.timelock.paxos.PaxosResource;
+import com.palantir.atlasdb.timelock.paxos.PaxosSynchronizer;
+import com.palantir.atlasdb.timelock.paxos.PaxosTimeLockConstants;
+import com.palantir.atlasdb.timelock.paxos.PaxosTimeLockUriUtils;
+import com.palantir.atlasdb.util.AtlasDbMetrics;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.paxos.PaxosAcceptor;
+import com.palantir.paxos.PaxosLearner;
+import com.palantir.paxos.PaxosProposer;
+import com.palantir.paxos.PaxosProposerImpl;
+import com.palantir.timelock.config.PaxosRuntimeConfiguration;
+import com.palantir.timestamp.PersistentTimestampService;
+import com.palantir.timestamp.PersistentTimestampServiceImpl;
+import com.palantir.timestamp.TimestampBoundStore;
+
+/**
+ * Creates timestamp services whose bounds are all agreed through a single Paxos log, proposer and thread pool, in
+ * contrast to {@link PaxosTimestampCreator}, which sets these up for every client.
+ */
+public class MultiplexedPaxosTimestampCreator implements TimestampCreator {
+    private static final String NAMESPACE = PaxosTimeLockConstants.MULTIPLEXED_TIMESTAMP_NAMESPACE;
+
+    private final PaxosResource paxosResource;
+    private final Set<String> remoteServers;
+    private final Optional<SSLSocketFactory> optionalSecurity;
+    private final Supplier<PaxosRuntimeConfiguration> paxosRuntime;
+    private final Supplier<MultiplexedPaxosTimestampBoundStore> boundStore =
+            Suppliers.memoize(this::createBoundStore);
+
+    public MultiplexedPaxosTimestampCreator(PaxosResource paxosResource,
+            Set<String> remoteServers,
+            Optional<SSLSocketFactory> optionalSecurity,
+            Supplier<PaxosRuntimeConfiguration> paxosRuntime) {
+        this.paxosResource = paxosResource;
+        this.remoteServers = remoteServers;
+        this.optionalSecurity = optionalSecurity;
+        this.paxosRuntime = paxosRuntime;
+    }
+
+    @Override
+    public Supplier<ManagedTimestampService> createTimestampService(String client, LeaderConfig unused) {
+        MultiplexedPaxosTimestampBoundStore store = boundStore.get();
+        return () -> createManagedPaxosTimestampService(store, client);
+    }
+
+    private MultiplexedPaxosTimestampBoundStore createBoundStore() {
+        ExecutorService executor = PTExecutors.newCachedThreadPool(new ThreadFactoryBuilder()
+                .setNameFormat("atlas-consensus-" + NAMESPACE + "-%d")
+                .setDaemon(true)
+                .build());
+
+        Set<String> namespacedUris = PaxosTimeLockUriUtils.getClientPaxosUris(remoteServers, NAMESPACE);
+        List<PaxosAcceptor> acceptors = Leaders.createProxyAndLocalList(
+                paxosResource.getPaxosAcceptor(NAMESPACE),
+                namespacedUris,
+                optionalSecurity,
+                PaxosAcceptor.class,
+                "timestamp-bound-store." + NAMESPACE);
+
+        PaxosLearner ourLearner = paxosResource.getPaxosLearner(NAMESPACE);
+        List<PaxosLearner> learners = Leaders.createProxyAndLocalList(
+                ourLearner,
+                namespacedUris,
+                optionalSecurity,
+                PaxosLearner.class,
+                "timestamp-bound-store." + NAMESPACE);
+
+        PaxosProposer proposer = AtlasDbMetrics.instrument(PaxosProposer.class,
+                PaxosProposerImpl.newProposer(
+                        ourLearner,
+                        ImmutableList.copyOf(acceptors),
+                        ImmutableList.copyOf(learners),
+                        PaxosRemotingUtils.getQuorumSize(acceptors),
+                        UUID.randomUUID(),
+                        executor),
+                MetricRegistry.name(PaxosProposer.class));
+
+        PaxosSynchronizer.synchronizeLearner(ourLearner, learners);
+
+        return new MultiplexedPaxosTimestampBoundStore(
+                proposer,
+                ourLearner,
+                ImmutableList.copyOf(acceptors),
+                ImmutableList.copyOf(learners),
+                paxosRuntime.get().maximumWaitBeforeProposalMs(),
+                executor);
+    }
+
+    private static ManagedTimestampService createManagedPaxosTimestampService(
+            MultiplexedPaxosTimestampBoundStore store,
+            String client) {
+        TimestampBoundStore boundStore = AtlasDbMetrics.instrument(TimestampBoundStore.class,
+                store.forNamespace(client),
+                MetricRegistry.name(TimestampBoundStore.class));
+        PersistentTimestampService persistentTimestampService = PersistentTimestampServiceImpl.create(boundStore);
+        return new DelegatingManagedTimestampService(persistentTimestampService, persistentTimestampService);
+    }
+}
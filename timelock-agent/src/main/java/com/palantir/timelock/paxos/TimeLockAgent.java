@@ -20,6 +20,10 @@ import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.jaxrs.smile.JacksonSmileProvider;
 import com.palantir.atlasdb.config.ImmutableLeaderConfig;
 import com.palantir.atlasdb.http.BlockingTimeoutExceptionMapper;
 import com.palantir.atlasdb.http.NotCurrentLeaderExceptionMapper;
@@ -87,7 +91,9 @@ public class TimeLockAgent {
     private TimestampCreator getTimestampCreator() {
         TsBoundPersisterConfiguration timestampBoundPersistence = install.timestampBoundPersistence();
         if (PaxosTsBoundPersisterConfiguration.class.isInstance(timestampBoundPersistence)) {
-            return getPaxosTimestampCreator();
+            return ((PaxosTsBoundPersisterConfiguration) timestampBoundPersistence).multiplexClients()
+                    ? getMultiplexedPaxosTimestampCreator()
+                    : getPaxosTimestampCreator();
         } else if (DatabaseTsBoundPersisterConfiguration.class.isInstance(timestampBoundPersistence)) {
             return new DbBoundTimestampCreator(
                     ((DatabaseTsBoundPersisterConfiguration) timestampBoundPersistence)
@@ -104,9 +110,17 @@ public class TimeLockAgent {
                 JavaSuppliers.compose(TimeLockRuntimeConfiguration::paxos, runtime));
     }
 
+    private MultiplexedPaxosTimestampCreator getMultiplexedPaxosTimestampCreator() {
+        return new MultiplexedPaxosTimestampCreator(paxosResource,
+                PaxosRemotingUtils.getRemoteServerPaths(install),
+                PaxosRemotingUtils.getSslConfigurationOptional(install).map(SslSocketFactories::createSslSocketFactory),
+                JavaSuppliers.compose(TimeLockRuntimeConfiguration::paxos, runtime));
+    }
+
     private void createAndRegisterResources() {
         registerPaxosResource();
         registerExceptionMappers();
+        registerSmileProvider();
         leadershipCreator.registerLeaderElectionService();
 
         // Finally, register the health check, and endpoints associated with the clients.
@@ -150,6 +164,12 @@ public class TimeLockAgent {
         registrar.accept(new TooManyRequestsExceptionMapper());
     }
 
+    // Lets clients that opt in talk Smile to resources that accept it, such as /timelock.
+    private void registerSmileProvider() {
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).registerModule(new Jdk8Module());
+        registrar.accept(new JacksonSmileProvider(smileMapper));
+    }
+
     /**
      * Creates timestamp and lock services for the given client. It is expected that for each client there should
      * only be (up to) one active timestamp service, and one active lock service at any time.
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock;
+
+import java.util.Set;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.MediaType;
+
+import com.palantir.atlasdb.timelock.lock.AsyncResult;
+import com.palantir.lock.LockRefreshToken;
+import com.palantir.lock.LockRequest;
+import com.palantir.logsafe.Safe;
+
+/**
+ * Serves the endpoints of {@link com.palantir.lock.RemoteLockService}, suspending lock requests until they complete
+ * instead of blocking a server thread.
+ */
+@Path("/remote-lock")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class AsyncRemoteLockResource {
+
+    private final AsyncRemoteLockService lockService;
+
+    public AsyncRemoteLockResource(AsyncRemoteLockService lockService) {
+        this.lockService = lockService;
+    }
+
+    @POST
+    @Path("lock/{client: .*}")
+    public void lock(@Suspended final AsyncResponse response,
+            @Safe @PathParam("client") String client,
+            LockRequest request) {
+        resumeWhenComplete(response, lockService.lock(client, request));
+    }
+
+    @POST
+    @Path("try-lock/{client: .*}")
+    public void lockAndGetHeldLocks(@Suspended final AsyncResponse response,
+            @Safe @PathParam("client") String client,
+            LockRequest request) {
+        resumeWhenComplete(response, lockService.lockAndGetHeldLocks(client, request));
+    }
+
+    @POST
+    @Path("unlock")
+    public boolean unlock(LockRefreshToken token) {
+        return lockService.unlock(token);
+    }
+
+    @POST
+    @Path("refresh-lock-tokens")
+    public Set<LockRefreshToken> refreshLockRefreshTokens(Set<LockRefreshToken> tokens) {
+        return lockService.refreshLockRefreshTokens(tokens);
+    }
+
+    @Nullable
+    @POST
+    @Path("min-locked-in-version/{client: .*}")
+    public Long getMinLockedInVersionId(@Safe @PathParam("client") String client) {
+        return lockService.getMinLockedInVersionId(client);
+    }
+
+    @POST
+    @Path("current-time-millis")
+    public long currentTimeMillis() {
+        return lockService.currentTimeMillis();
+    }
+
+    @POST
+    @Path("log-current-state")
+    public void logCurrentState() {
+        lockService.logCurrentState();
+    }
+
+    private static void resumeWhenComplete(AsyncResponse response, AsyncResult<?> result) {
+        result.onComplete(() -> {
+            if (result.isFailed()) {
+                response.resume(result.getError());
+            } else {
+                response.resume(result.get());
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock;
+
+import java.io.Closeable;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import com.palantir.atlasdb.timelock.lock.AsyncResult;
+import com.palantir.lock.HeldLocksToken;
+import com.palantir.lock.LockRefreshToken;
+import com.palantir.lock.LockRequest;
+
+/**
+ * An asynchronous version of {@link com.palantir.lock.RemoteLockService}. Lock requests that have to wait return an
+ * incomplete {@link AsyncResult} rather than blocking the calling thread.
+ */
+public interface AsyncRemoteLockService extends Closeable {
+
+    /**
+     * Returns a result holding the refresh token for the acquired locks, or {@code null} if they could not be
+     * acquired within the request's blocking duration.
+     */
+    AsyncResult<LockRefreshToken> lock(String client, LockRequest request);
+
+    /**
+     * Returns a result holding the token for the acquired locks, or {@code null} if they could not be acquired within
+     * the request's blocking duration.
+     */
+    AsyncResult<HeldLocksToken> lockAndGetHeldLocks(String client, LockRequest request);
+
+    boolean unlock(LockRefreshToken token);
+
+    Set<LockRefreshToken> refreshLockRefreshTokens(Iterable<LockRefreshToken> tokens);
+
+    @Nullable
+    Long getMinLockedInVersionId(String client);
+
+    long currentTimeMillis();
+
+    void logCurrentState();
+
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.palantir.atlasdb.timelock.lock.AsyncLockService;
+import com.palantir.atlasdb.timelock.lock.AsyncResult;
+import com.palantir.atlasdb.timelock.lock.LockLog;
+import com.palantir.atlasdb.timelock.lock.TimeLimit;
+import com.palantir.common.time.Clock;
+import com.palantir.lock.BlockingMode;
+import com.palantir.lock.HeldLocksToken;
+import com.palantir.lock.LockClient;
+import com.palantir.lock.LockGroupBehavior;
+import com.palantir.lock.LockRefreshToken;
+import com.palantir.lock.LockRequest;
+import com.palantir.lock.LockServerOptions;
+import com.palantir.lock.remoting.BlockingTimeoutException;
+import com.palantir.lock.v2.LockToken;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * Serves the legacy lock API from an {@link AsyncLockService}, so that requests waiting for locks do not hold a
+ * thread, and client bookkeeping is kept in concurrent maps rather than behind global locks.
+ * <p>
+ * Only requests that the async lock service can express are supported: all locks must be write locks, acquired all
+ * or none. Locks are not reentrant, so a client requesting a lock that it already holds waits for itself. Requests
+ * that would block for longer than the blocking time limit, including those that block indefinitely, fail with a
+ * {@link BlockingTimeoutException} once the limit has passed, so that clients retry them.
+ */
+public class AsyncRemoteLockServiceImpl implements AsyncRemoteLockService {
+    private static final Logger log = LoggerFactory.getLogger(AsyncRemoteLockServiceImpl.class);
+
+    /**
+     * Below Jetty's default idle timeout of 30 seconds, so that clients are told to retry a blocking request before
+     * its connection is closed.
+     */
+    public static final long DEFAULT_BLOCKING_TIME_LIMIT_MILLIS = 25_000;
+
+    private static final long EXPIRED_TOKEN_REAPING_PERIOD_MILLIS = 1_000;
+
+    private final AsyncLockService lockService;
+    private final long blockingTimeLimitMillis;
+    private final Clock clock;
+
+    private final ConcurrentMap<UUID, HeldLocksToken> heldTokens = Maps.newConcurrentMap();
+    private final ConcurrentMap<LockClient, ConcurrentMap<UUID, Long>> lockedInVersionIdsByClient =
+            Maps.newConcurrentMap();
+
+    public AsyncRemoteLockServiceImpl(
+            AsyncLockService lockService,
+            ScheduledExecutorService reaperExecutor,
+            long blockingTimeLimitMillis) {
+        this(lockService, reaperExecutor, blockingTimeLimitMillis, System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    AsyncRemoteLockServiceImpl(
+            AsyncLockService lockService,
+            ScheduledExecutorService reaperExecutor,
+            long blockingTimeLimitMillis,
+            Clock clock) {
+        this.lockService = lockService;
+        this.blockingTimeLimitMillis = blockingTimeLimitMillis;
+        this.clock = clock;
+
+        scheduleExpiredTokenReaper(reaperExecutor);
+    }
+
+    private void scheduleExpiredTokenReaper(ScheduledExecutorService reaperExecutor) {
+        reaperExecutor.scheduleAtFixedRate(() -> {
+            try {
+                unlockExpiredTokens();
+            } catch (Throwable t) {
+                log.warn("Error while unlocking expired lock tokens. Trying again on next iteration.", t);
+            }
+        }, EXPIRED_TOKEN_REAPING_PERIOD_MILLIS, EXPIRED_TOKEN_REAPING_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public AsyncResult<LockRefreshToken> lock(String client, LockRequest request) {
+        return lockAndGetHeldLocks(client, request).map(token -> token == null ? null : token.getLockRefreshToken());
+    }
+
+    @Override
+    public AsyncResult<HeldLocksToken> lockAndGetHeldLocks(String client, LockRequest request) {
+        checkSupported(request);
+
+        UUID requestId = UUID.randomUUID();
+        long blockingMillis = getBlockingMillis(request);
+        boolean isTimeLimited = blockingMillis > blockingTimeLimitMillis;
+        TimeLimit timeLimit = TimeLimit.of(Math.min(blockingMillis, blockingTimeLimitMillis));
+
+        if (request.getBlockingMode() == BlockingMode.BLOCK_INDEFINITELY_THEN_RELEASE) {
+            AsyncResult<Void> waitResult = lockService.waitForLocks(
+                    requestId, request.getLockDescriptors(), timeLimit);
+            return whenAcquired(waitResult, isTimeLimited, ignored -> null);
+        }
+
+        AsyncResult<LockToken> lockResult = lockService.lock(
+                requestId, request.getLockDescriptors(), timeLimit, request.getLockTimeout().toMillis());
+        return whenAcquired(lockResult, isTimeLimited, ignored -> registerHeldLocks(client, request, requestId));
+    }
+
+    private static void checkSupported(LockRequest request) {
+        Preconditions.checkArgument(request.getLockGroupBehavior() == LockGroupBehavior.LOCK_ALL_OR_NONE,
+                "The async lock service only supports LockGroupBehavior.LOCK_ALL_OR_NONE.");
+        Preconditions.checkArgument(!request.getLockDescriptors().hasReadLock(),
+                "The async lock service only supports write locks.");
+        Preconditions.checkArgument(
+                request.getLockTimeout().compareTo(LockServerOptions.DEFAULT.getMaxAllowedLockTimeout()) <= 0,
+                "Requested lock timeout (%s) is greater than maximum allowed lock timeout (%s)",
+                request.getLockTimeout(), LockServerOptions.DEFAULT.getMaxAllowedLockTimeout());
+    }
+
+    private static long getBlockingMillis(LockRequest request) {
+        switch (request.getBlockingMode()) {
+            case DO_NOT_BLOCK:
+                return 0;
+            case BLOCK_UNTIL_TIMEOUT:
+                return request.getBlockingDuration().toMillis();
+            case BLOCK_INDEFINITELY:
+            case BLOCK_INDEFINITELY_THEN_RELEASE:
+                return Long.MAX_VALUE;
+            default:
+                throw new IllegalArgumentException("blockingMode = " + request.getBlockingMode());
+        }
+    }
+
+    private <T> AsyncResult<HeldLocksToken> whenAcquired(
+            AsyncResult<T> acquisition,
+            boolean isTimeLimited,
+            Function<T, HeldLocksToken> tokenForAcquiredLocks) {
+        AsyncResult<HeldLocksToken> result = new AsyncResult<>();
+        acquisition.onComplete(() -> {
+            if (acquisition.isFailed()) {
+                result.fail(acquisition.getError());
+            } else if (acquisition.isTimedOut()) {
+                if (isTimeLimited) {
+                    result.fail(new BlockingTimeoutException("Lock request blocked for longer than the time limit of "
+                            + blockingTimeLimitMillis + " ms"));
+                } else {
+                    result.complete(null);
+                }
+            } else {
+                HeldLocksToken token;
+                try {
+                    token = tokenForAcquiredLocks.apply(acquisition.get());
+                } catch (Throwable t) {
+                    result.fail(t);
+                    return;
+                }
+                result.complete(token);
+            }
+        });
+        return result;
+    }
+
+    private HeldLocksToken registerHeldLocks(String client, LockRequest request, UUID requestId) {
+        long now = clock.getTimeMillis();
+        HeldLocksToken token = new HeldLocksToken(
+                toTokenId(requestId),
+                LockClient.of(client),
+                now,
+                now + request.getLockTimeout().toMillis(),
+                request.getLockDescriptors(),
+                request.getLockTimeout(),
+                request.getVersionId(),
+                request.getCreatingThreadName());
+        if (token.getVersionId() != null) {
+            lockedInVersionIdsByClient.compute(token.getClient(), (ignored, versionIds) -> {
+                ConcurrentMap<UUID, Long> newVersionIds = versionIds == null ? Maps.newConcurrentMap() : versionIds;
+                newVersionIds.put(requestId, token.getVersionId());
+                return newVersionIds;
+            });
+        }
+        heldTokens.put(requestId, token);
+        return token;
+    }
+
+    @Override
+    public boolean unlock(LockRefreshToken token) {
+        Optional<UUID> requestId = toRequestId(token.getTokenId());
+        if (!requestId.isPresent()) {
+            return false;
+        }
+
+        HeldLocksToken heldToken = heldTokens.remove(requestId.get());
+        if (heldToken == null) {
+            return false;
+        }
+        boolean unlocked = lockService.unlock(LockToken.of(requestId.get()));
+        removeLockedInVersionId(requestId.get(), heldToken);
+        return unlocked;
+    }
+
+    @Override
+    public Set<LockRefreshToken> refreshLockRefreshTokens(Iterable<LockRefreshToken> tokens) {
+        Set<LockToken> lockTokens = StreamSupport.stream(tokens.spliterator(), false)
+                .map(token -> toRequestId(token.getTokenId()))
+                .filter(Optional::isPresent)
+                .map(requestId -> LockToken.of(requestId.get()))
+                .collect(Collectors.toSet());
+        Set<LockToken> refreshed = lockService.refresh(lockTokens);
+
+        long now = clock.getTimeMillis();
+        Set<LockRefreshToken> refreshedTokens = Sets.newHashSetWithExpectedSize(refreshed.size());
+        for (LockToken token : refreshed) {
+            HeldLocksToken heldToken = heldTokens.computeIfPresent(token.getRequestId(),
+                    (ignored, oldToken) -> oldToken.refresh(now + oldToken.getLockTimeout().toMillis()));
+            if (heldToken != null) {
+                refreshedTokens.add(heldToken.getLockRefreshToken());
+            }
+        }
+        return refreshedTokens;
+    }
+
+    @VisibleForTesting
+    void unlockExpiredTokens() {
+        long now = clock.getTimeMillis();
+        for (Map.Entry<UUID, HeldLocksToken> entry : heldTokens.entrySet()) {
+            UUID requestId = entry.getKey();
+            HeldLocksToken token = entry.getValue();
+            // A concurrent refresh replaces the token, in which case it is not removed here.
+            if (token.getExpirationDateMs() <= now && heldTokens.remove(requestId, token)) {
+                if (lockService.unlock(LockToken.of(requestId))) {
+                    LockLog.lockExpired(requestId, token.getLockDescriptors());
+                }
+                removeLockedInVersionId(requestId, token);
+            }
+        }
+    }
+
+    private void removeLockedInVersionId(UUID requestId, HeldLocksToken token) {
+        if (token.getVersionId() == null) {
+            return;
+        }
+        lockedInVersionIdsByClient.computeIfPresent(token.getClient(), (ignored, versionIds) -> {
+            versionIds.remove(requestId);
+            return versionIds.isEmpty() ? null : versionIds;
+        });
+    }
+
+    @Nullable
+    @Override
+    public Long getMinLockedInVersionId(String client) {
+        Map<UUID, Long> versionIds = lockedInVersionIdsByClient.get(LockClient.of(client));
+        if (versionIds == null) {
+            return null;
+        }
+        return versionIds.values().stream().min(Long::compare).orElse(null);
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return clock.getTimeMillis();
+    }
+
+    @Override
+    public void logCurrentState() {
+        log.info("Holding {} lock tokens, with locked in versions for {} clients",
+                SafeArg.of("heldTokenCount", heldTokens.size()),
+                SafeArg.of("clientCount", lockedInVersionIdsByClient.size()));
+    }
+
+    @Override
+    public void close() {
+        lockService.close();
+    }
+
+    @VisibleForTesting
+    static BigInteger toTokenId(UUID requestId) {
+        return new BigInteger(1, ByteBuffer.allocate(2 * Long.BYTES)
+                .putLong(requestId.getMostSignificantBits())
+                .putLong(requestId.getLeastSignificantBits())
+                .array());
+    }
+
+    @VisibleForTesting
+    static Optional<UUID> toRequestId(BigInteger tokenId) {
+        if (tokenId.signum() < 0 || tokenId.bitLength() > 2 * Long.SIZE) {
+            return Optional.empty();
+        }
+        return Optional.of(new UUID(tokenId.shiftRight(Long.SIZE).longValue(), tokenId.longValue()));
+    }
+}
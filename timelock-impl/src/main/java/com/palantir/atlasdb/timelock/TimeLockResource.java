@@ -19,6 +19,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import javax.ws.rs.NotFoundException;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 
@@ -55,6 +56,12 @@ public class TimeLockResource {
         return getOrCreateServices(namespace).getLockService();
     }
 
+    @Path("/remote-lock")
+    public AsyncRemoteLockResource getAsyncRemoteLockResource(@Safe @PathParam("namespace") String namespace) {
+        return getOrCreateServices(namespace).getAsyncRemoteLockResource()
+                .orElseThrow(() -> new NotFoundException("The async remote lock service is not enabled"));
+    }
+
     @Path("/timestamp")
     public TimestampService getTimeService(@Safe @PathParam("namespace") String namespace) {
         return getOrCreateServices(namespace).getTimestampService();
@@ -84,6 +91,9 @@ public class TimeLockResource {
                 "The client name '%s' is reserved for the leader election service, and may not be "
                         + "used.",
                 PaxosTimeLockConstants.LEADER_ELECTION_NAMESPACE);
+        Preconditions.checkArgument(!namespace.equals(PaxosTimeLockConstants.MULTIPLEXED_TIMESTAMP_NAMESPACE),
+                "The client name '%s' is reserved for multiplexed timestamp bounds, and may not be used.",
+                PaxosTimeLockConstants.MULTIPLEXED_TIMESTAMP_NAMESPACE);
 
         if (numberOfClients() >= maxNumberOfClients.get()) {
             log.error(
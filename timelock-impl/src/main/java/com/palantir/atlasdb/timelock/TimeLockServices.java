@@ -15,6 +15,8 @@
  */
 package com.palantir.atlasdb.timelock;
 
+import java.util.Optional;
+
 import org.immutables.value.Value;
 
 import com.palantir.atlasdb.timelock.util.AsyncOrLegacyTimelockService;
@@ -37,8 +39,29 @@ public interface TimeLockServices {
                 .build();
     }
 
+    static TimeLockServices create(
+            TimestampService timestampService,
+            LockService lockService,
+            AsyncOrLegacyTimelockService timelockService,
+            TimestampManagementService timestampManagementService,
+            AsyncRemoteLockResource asyncRemoteLockResource) {
+        return ImmutableTimeLockServices.builder()
+                .timestampService(timestampService)
+                .lockService(lockService)
+                .timestampManagementService(timestampManagementService)
+                .timelockService(timelockService)
+                .asyncRemoteLockResource(asyncRemoteLockResource)
+                .build();
+    }
+
     TimestampManagementService getTimestampManagementService();
     TimestampService getTimestampService();
     AsyncOrLegacyTimelockService getTimelockService();
     LockService getLockService();
+
+    /**
+     * Serves the legacy remote lock API without blocking threads, with locks that are separate from those of
+     * {@link #getLockService()}. Only present if the async lock service is in use.
+     */
+    Optional<AsyncRemoteLockResource> getAsyncRemoteLockResource();
 }
@@ -86,6 +86,17 @@ public class AsyncLockService implements Closeable {
                 () -> acquireLocks(requestId, lockDescriptors, timeout));
     }
 
+    /**
+     * Like {@link #lock(UUID, Set, TimeLimit)}, but the locks are released if they are not refreshed within
+     * {@code leaseMillis}, rather than the default lease.
+     */
+    public AsyncResult<LockToken> lock(UUID requestId, Set<LockDescriptor> lockDescriptors, TimeLimit timeout,
+            long leaseMillis) {
+        return heldLocks.getExistingOrAcquire(
+                requestId,
+                () -> lockAcquirer.acquireLocks(requestId, locks.getAll(lockDescriptors), timeout, leaseMillis));
+    }
+
     public AsyncResult<LockToken> lockImmutableTimestamp(UUID requestId, long timestamp) {
         return heldLocks.getExistingOrAcquire(
                 requestId,
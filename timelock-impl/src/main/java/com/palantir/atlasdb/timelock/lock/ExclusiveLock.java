@@ -19,6 +19,7 @@ package com.palantir.atlasdb.timelock.lock;
 import java.util.LinkedHashMap;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
@@ -29,35 +30,59 @@ import com.palantir.atlasdb.timelock.util.LoggableIllegalStateException;
 import com.palantir.lock.LockDescriptor;
 import com.palantir.logsafe.SafeArg;
 
+/**
+ * An exclusive, fair lock.
+ * <p>
+ * If the lock is free, it is acquired with a single compare-and-set on the current holder, without taking this
+ * lock's monitor or queueing the request. Otherwise requests are queued, and the lock is handed directly from each
+ * holder to the next queued request when it is unlocked. The holder is only ever cleared when no requests are
+ * queued, so the fast path cannot jump the queue.
+ */
 public class ExclusiveLock implements AsyncLock {
 
     private final LockDescriptor descriptor;
 
     @GuardedBy("this")
     private final LockRequestQueue queue = new LockRequestQueue();
-    @GuardedBy("this")
-    private UUID currentHolder = null;
+    // May be set from null without holding the monitor; all other changes hold it.
+    private final AtomicReference<UUID> currentHolder = new AtomicReference<>();
 
     public ExclusiveLock(LockDescriptor descriptor) {
         this.descriptor = descriptor;
     }
 
     @Override
-    public synchronized AsyncResult<Void> lock(UUID requestId) {
+    public AsyncResult<Void> lock(UUID requestId) {
+        if (currentHolder.compareAndSet(null, requestId)) {
+            return AsyncResult.completedResult();
+        }
         return submit(new LockRequest(requestId, false));
     }
 
     @Override
-    public synchronized AsyncResult<Void> waitUntilAvailable(UUID requestId) {
+    public AsyncResult<Void> waitUntilAvailable(UUID requestId) {
+        if (currentHolder.get() == null) {
+            return AsyncResult.completedResult();
+        }
         return submit(new LockRequest(requestId, true));
     }
 
     @Override
     public synchronized void unlock(UUID requestId) {
-        if (Objects.equals(requestId, currentHolder)) {
-            currentHolder = null;
-            processQueue();
+        if (!Objects.equals(requestId, currentHolder.get())) {
+            return;
+        }
+
+        while (!queue.isEmpty()) {
+            LockRequest head = queue.dequeue();
+            if (!head.releaseImmediately) {
+                currentHolder.set(head.requestId);
+                head.result.complete(null);
+                return;
+            }
+            head.result.complete(null);
         }
+        currentHolder.set(null);
     }
 
     @Override
@@ -71,27 +96,33 @@ public class ExclusiveLock implements AsyncLock {
     }
 
     @VisibleForTesting
-    synchronized UUID getCurrentHolder() {
-        return currentHolder;
+    UUID getCurrentHolder() {
+        return currentHolder.get();
     }
 
-    @GuardedBy("this")
-    private AsyncResult<Void> submit(LockRequest request) {
+    private synchronized AsyncResult<Void> submit(LockRequest request) {
         queue.enqueue(request);
         processQueue();
 
         return request.result;
     }
 
+    /**
+     * Completes queued requests for as long as the lock is free. The lock may be taken by the fast path at any time,
+     * in which case the remaining requests stay queued until it is unlocked.
+     */
     @GuardedBy("this")
     private void processQueue() {
-        while (!queue.isEmpty() && currentHolder == null) {
-            LockRequest head = queue.dequeue();
-
-            if (!head.releaseImmediately) {
-                currentHolder = head.requestId;
+        while (!queue.isEmpty()) {
+            LockRequest head = queue.peek();
+            boolean available = head.releaseImmediately
+                    ? currentHolder.get() == null
+                    : currentHolder.compareAndSet(null, head.requestId);
+            if (!available) {
+                return;
             }
 
+            queue.dequeue();
             head.result.complete(null);
         }
     }
@@ -127,6 +158,10 @@ public class ExclusiveLock implements AsyncLock {
             return queue.isEmpty();
         }
 
+        public LockRequest peek() {
+            return queue.values().iterator().next();
+        }
+
         public LockRequest dequeue() {
             return queue.remove(queue.keySet().iterator().next());
         }
@@ -36,7 +36,11 @@ public class HeldLocks {
     private boolean isUnlocked = false;
 
     public HeldLocks(Collection<AsyncLock> acquiredLocks, UUID requestId) {
-        this(acquiredLocks, requestId, new LeaseExpirationTimer(System::currentTimeMillis));
+        this(acquiredLocks, requestId, LeaseExpirationTimer.LEASE_TIMEOUT_MILLIS);
+    }
+
+    public HeldLocks(Collection<AsyncLock> acquiredLocks, UUID requestId, long leaseMillis) {
+        this(acquiredLocks, requestId, new LeaseExpirationTimer(System::currentTimeMillis, leaseMillis));
     }
 
     @VisibleForTesting
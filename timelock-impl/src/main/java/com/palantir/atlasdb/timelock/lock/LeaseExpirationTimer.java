@@ -24,9 +24,15 @@ public class LeaseExpirationTimer {
 
     private volatile long lastRefreshTimeMillis;
     private final Clock clock;
+    private final long leaseMillis;
 
     public LeaseExpirationTimer(Clock clock) {
+        this(clock, LEASE_TIMEOUT_MILLIS);
+    }
+
+    public LeaseExpirationTimer(Clock clock, long leaseMillis) {
         this.clock = clock;
+        this.leaseMillis = leaseMillis;
         this.lastRefreshTimeMillis = clock.getTimeMillis();
     }
 
@@ -35,7 +41,7 @@ public class LeaseExpirationTimer {
     }
 
     public boolean isExpired() {
-        return clock.getTimeMillis() > lastRefreshTimeMillis + LEASE_TIMEOUT_MILLIS;
+        return clock.getTimeMillis() > lastRefreshTimeMillis + leaseMillis;
     }
 
 }
@@ -16,6 +16,7 @@
 
 package com.palantir.atlasdb.timelock.lock;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -38,9 +39,13 @@ public class LockAcquirer {
     }
 
     public AsyncResult<HeldLocks> acquireLocks(UUID requestId, OrderedLocks locks, TimeLimit timeout) {
-        return new Acquisition(requestId, locks, timeout, lock -> lock.lock(requestId)).execute()
-                .map(ignored -> new HeldLocks(locks.get(), requestId));
+        return acquireLocks(requestId, locks, timeout, LeaseExpirationTimer.LEASE_TIMEOUT_MILLIS);
+    }
 
+    public AsyncResult<HeldLocks> acquireLocks(UUID requestId, OrderedLocks locks, TimeLimit timeout,
+            long leaseMillis) {
+        return new Acquisition(requestId, locks, timeout, lock -> lock.lock(requestId)).execute()
+                .map(ignored -> new HeldLocks(locks.get(), requestId, leaseMillis));
     }
 
     public AsyncResult<Void> waitForLocks(UUID requestId, OrderedLocks locks, TimeLimit timeout) {
@@ -69,16 +74,30 @@ public class LockAcquirer {
 
         public AsyncResult<Void> execute() {
             acquireLocks();
+            if (result.isCompletedSuccessfully()) {
+                // Every lock was free, so there is nothing to clean up or time out.
+                return result;
+            }
+
             registerCompletionHandlers();
             scheduleTimeout();
 
             return result;
         }
 
+        /**
+         * Acquires locks directly for as long as they are immediately available, and only chains the remaining
+         * acquisitions on the first lock that is not.
+         */
         private void acquireLocks() {
             try {
+                List<AsyncLock> orderedLocks = locks.get();
                 AsyncResult<Void> lockResult = AsyncResult.completedResult();
-                for (AsyncLock lock : locks.get()) {
+                int index = 0;
+                while (index < orderedLocks.size() && lockResult.isCompletedSuccessfully()) {
+                    lockResult = applyLockFunction(orderedLocks.get(index++));
+                }
+                for (AsyncLock lock : orderedLocks.subList(index, orderedLocks.size())) {
                     lockResult = lockResult.concatWith(() -> lockFunction.apply(lock));
                 }
                 this.result = lockResult;
@@ -89,6 +108,16 @@ public class LockAcquirer {
             }
         }
 
+        private AsyncResult<Void> applyLockFunction(AsyncLock lock) {
+            try {
+                return lockFunction.apply(lock);
+            } catch (Throwable t) {
+                AsyncResult<Void> failed = new AsyncResult<>();
+                failed.fail(t);
+                return failed;
+            }
+        }
+
         private void registerCompletionHandlers() {
             result.onError(error -> {
                 log.warn("Error while acquiring locks", SafeArg.of("requestId", requestId), error);
@@ -24,6 +24,7 @@ import java.util.Set;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.palantir.lock.LockDescriptor;
 
@@ -43,6 +44,10 @@ public class LockCollection {
     }
 
     public OrderedLocks getAll(Set<LockDescriptor> descriptors) {
+        if (descriptors.size() == 1) {
+            return OrderedLocks.fromSingleLock(getLock(Iterables.getOnlyElement(descriptors)));
+        }
+
         List<LockDescriptor> orderedDescriptors = sort(descriptors);
 
         List<AsyncLock> locks = Lists.newArrayListWithExpectedSize(descriptors.size());
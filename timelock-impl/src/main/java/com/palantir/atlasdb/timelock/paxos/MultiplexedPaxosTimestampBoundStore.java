@@ -0,0 +1,404 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+import org.immutables.value.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Ordering;
+import com.palantir.common.remoting.ServiceNotAvailableException;
+import com.palantir.leader.NotCurrentLeaderException;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.paxos.PaxosAcceptor;
+import com.palantir.paxos.PaxosLearner;
+import com.palantir.paxos.PaxosProposer;
+import com.palantir.paxos.PaxosQuorumChecker;
+import com.palantir.paxos.PaxosResponse;
+import com.palantir.paxos.PaxosRoundFailureException;
+import com.palantir.paxos.PaxosValue;
+import com.palantir.timestamp.DebugLogger;
+import com.palantir.timestamp.MultipleRunningTimestampServiceError;
+import com.palantir.timestamp.TimestampBoundStore;
+
+/**
+ * Stores the timestamp bounds of many namespaces in a single Paxos log, instead of one log per namespace as
+ * {@link PaxosTimestampBoundStore} does.
+ *
+ * Every value in the log is a snapshot of the bounds of all namespaces. Concurrent requests to store bounds are
+ * coalesced, such that a single Paxos round (and so a single prepare and accept call per acceptor, and a single
+ * write to each acceptor's and learner's log) persists the new bounds of every namespace that asked for one while
+ * the previous round was running. Namespaces which have never stored a bound have an upper limit of zero.
+ */
+public class MultiplexedPaxosTimestampBoundStore {
+    private static final Logger log = LoggerFactory.getLogger(MultiplexedPaxosTimestampBoundStore.class);
+
+    private static final int QUORUM_OF_ONE = 1;
+    private static final boolean ONLY_LOG_ON_QUORUM_FAILURE = true;
+    private static final SequenceAndBounds NO_LOG_ENTRY_STATE =
+            ImmutableSequenceAndBounds.of(PaxosAcceptor.NO_LOG_ENTRY, ImmutableSortedMap.of());
+
+    private final PaxosProposer proposer;
+    private final PaxosLearner knowledge;
+
+    private final List<PaxosAcceptor> acceptors;
+    private final List<PaxosLearner> learners;
+    private final long maximumWaitBeforeProposalMs;
+    private final ExecutorService executor;
+
+    // Written only while holding the monitor of this store, but read without it when validating new limits.
+    private volatile SequenceAndBounds agreedState;
+
+    private final Object pendingLock = new Object();
+    @GuardedBy("pendingLock")
+    private Map<String, Long> pendingLimits = Maps.newHashMap();
+    @GuardedBy("pendingLock")
+    private CompletableFuture<SequenceAndBounds> nextRound = new CompletableFuture<>();
+
+    public MultiplexedPaxosTimestampBoundStore(PaxosProposer proposer,
+            PaxosLearner knowledge,
+            List<PaxosAcceptor> acceptors,
+            List<PaxosLearner> learners,
+            long maximumWaitBeforeProposalMs,
+            ExecutorService executor) {
+        DebugLogger.logger.info("Creating MultiplexedPaxosTimestampBoundStore. The UUID of my proposer is {}.",
+                SafeArg.of("proposerUuid", proposer.getUuid()));
+        this.proposer = proposer;
+        this.knowledge = knowledge;
+        this.acceptors = acceptors;
+        this.learners = learners;
+        this.maximumWaitBeforeProposalMs = maximumWaitBeforeProposalMs;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns a view of this store which reads and writes the timestamp bound of a single namespace.
+     */
+    public TimestampBoundStore forNamespace(String namespace) {
+        return new TimestampBoundStore() {
+            @Override
+            public long getUpperLimit() {
+                return MultiplexedPaxosTimestampBoundStore.this.getUpperLimit(namespace);
+            }
+
+            @Override
+            public void storeUpperLimit(long limit) throws MultipleRunningTimestampServiceError {
+                MultiplexedPaxosTimestampBoundStore.this.storeUpperLimit(namespace, limit);
+            }
+        };
+    }
+
+    /**
+     * Contacts a quorum of nodes to find the latest sequence number prepared or accepted from acceptors, and the
+     * bounds associated with this sequence number.
+     *
+     * @return the upper limit the cluster has agreed on for the given namespace
+     * @throws ServiceNotAvailableException if we couldn't contact a quorum
+     */
+    @VisibleForTesting
+    synchronized long getUpperLimit(String namespace) {
+        List<PaxosTimestampBoundStore.PaxosLong> responses = PaxosQuorumChecker.collectQuorumResponses(
+                ImmutableList.copyOf(acceptors),
+                acceptor -> ImmutablePaxosLong.of(acceptor.getLatestSequencePreparedOrAccepted()),
+                proposer.getQuorumSize(),
+                executor,
+                PaxosQuorumChecker.DEFAULT_REMOTE_REQUESTS_TIMEOUT_IN_SECONDS,
+                ONLY_LOG_ON_QUORUM_FAILURE);
+        if (!PaxosQuorumChecker.hasQuorum(responses, proposer.getQuorumSize())) {
+            throw new ServiceNotAvailableException("could not get a quorum");
+        }
+        PaxosTimestampBoundStore.PaxosLong max =
+                Ordering.natural().onResultOf(PaxosTimestampBoundStore.PaxosLong::getValue).max(responses);
+        agreedState = getAgreedState(max.getValue());
+        return agreedState.boundFor(namespace);
+    }
+
+    /**
+     * Persists a new upper limit for the given namespace, together with those of any other namespaces that want to
+     * store a limit at the same time.
+     *
+     * @throws IllegalArgumentException if trying to persist a limit smaller than the agreed limit
+     * @throws NotCurrentLeaderException if the timestamp limits have changed out from under us
+     */
+    @VisibleForTesting
+    void storeUpperLimit(String namespace, long limit) {
+        SequenceAndBounds knownState = agreedState;
+        if (knownState != null) {
+            long currentLimit = knownState.boundFor(namespace);
+            Preconditions.checkArgument(limit >= currentLimit,
+                    "Tried to store an upper limit %s less than the current limit %s", limit, currentLimit);
+        }
+
+        CompletableFuture<SequenceAndBounds> round;
+        synchronized (pendingLock) {
+            pendingLimits.merge(namespace, limit, Math::max);
+            round = nextRound;
+        }
+        runRoundIfNotCompleted(round);
+
+        long newLimit = getResult(round).boundFor(namespace);
+        if (newLimit < limit) {
+            // The bounds are ours, but were proposed in an earlier round that did not know of this limit.
+            log.warn("It appears we updated the timestamp limit for a namespace to {}, which was less than our"
+                    + " target {}. This suggests we have another timestamp service running; possibly because we"
+                    + " lost and regained leadership. For safety, we are now stopping this service.",
+                    SafeArg.of("newLimit", newLimit),
+                    SafeArg.of("target", limit));
+            throw new NotCurrentLeaderException(String.format(
+                    "We updated the timestamp limit to %s, which was less than our target %s.",
+                    newLimit,
+                    limit));
+        }
+    }
+
+    private synchronized void runRoundIfNotCompleted(CompletableFuture<SequenceAndBounds> round) {
+        if (round.isDone()) {
+            return;
+        }
+
+        Map<String, Long> limits;
+        synchronized (pendingLock) {
+            limits = pendingLimits;
+            pendingLimits = Maps.newHashMap();
+            nextRound = new CompletableFuture<>();
+        }
+        try {
+            round.complete(proposeLimits(limits));
+        } catch (Throwable t) {
+            round.completeExceptionally(t);
+        }
+    }
+
+    @GuardedBy("this")
+    private SequenceAndBounds proposeLimits(Map<String, Long> limits) {
+        SequenceAndBounds knownState = agreedState == null ? NO_LOG_ENTRY_STATE : agreedState;
+        long newSeq = knownState.getSeqId() + 1;
+        SortedMap<String, Long> newBounds = Maps.newTreeMap(knownState.getBounds());
+        limits.forEach((namespace, limit) -> newBounds.merge(namespace, limit, Math::max));
+        byte[] proposal = toBytes(newBounds);
+
+        while (true) {
+            try {
+                proposer.propose(newSeq, proposal);
+                PaxosValue value = knowledge.getLearnedValue(newSeq);
+                checkAgreedBoundsAreOurs(newSeq, value);
+                agreedState = ImmutableSequenceAndBounds.of(newSeq, fromBytes(value.getData()));
+                DebugLogger.logger.info("Stored timestamp limits for {} namespaces at sequence '{}'.",
+                        SafeArg.of("numNamespaces", limits.size()),
+                        SafeArg.of("paxosSequenceNumber", newSeq));
+                return agreedState;
+            } catch (PaxosRoundFailureException e) {
+                // Sleep rather than wait, so that no other round can start at the same sequence number meanwhile.
+                waitForRandomBackoff(e);
+            }
+        }
+    }
+
+    /**
+     * Obtains agreement for a given sequence number, pulling in values from previous sequence numbers if needed.
+     * This follows {@link PaxosTimestampBoundStore#getAgreedState(long)}, and has the same precondition that
+     * (seq - 2) must be agreed upon.
+     *
+     * @param seq Sequence number to obtain agreement on
+     * @return Sequence and bounds for the given sequence number; guaranteed nonnull
+     */
+    @VisibleForTesting
+    SequenceAndBounds getAgreedState(long seq) {
+        Optional<SequenceAndBounds> state = getLearnedState(seq);
+        if (state.isPresent()) {
+            return state.get();
+        }
+
+        // In the common case seq - 1 will be agreed upon before seq is prepared.
+        Optional<SequenceAndBounds> lastState = getLearnedState(seq - 1);
+        if (!lastState.isPresent()) {
+            // We know that even in the case of a truncate, seq - 2 will always be agreed upon.
+            SequenceAndBounds forced = forceAgreedState(seq - 2, null);
+            lastState = Optional.of(forceAgreedState(seq - 1, forced.getBounds()));
+        }
+
+        return forceAgreedState(seq, lastState.get().getBounds());
+    }
+
+    /**
+     * Forces agreement to be reached for a given sequence number, proposing the given bounds if the cluster hasn't
+     * reached agreement yet. Callers that supply null bounds are responsible for ensuring that the cluster has
+     * already agreed on a value with the provided sequence number.
+     */
+    private SequenceAndBounds forceAgreedState(long seq, @Nullable SortedMap<String, Long> oldBounds) {
+        if (seq <= PaxosAcceptor.NO_LOG_ENTRY) {
+            return NO_LOG_ENTRY_STATE;
+        }
+
+        Optional<SequenceAndBounds> state = getLearnedState(seq);
+        if (state.isPresent()) {
+            return state.get();
+        }
+
+        while (true) {
+            try {
+                byte[] acceptedValue = proposer.propose(seq, oldBounds == null ? null : toBytes(oldBounds));
+                // propose must never return null.  We only pass in null for things we know are agreed upon already.
+                Preconditions.checkNotNull(acceptedValue, "Proposed value can't be null, but was in sequence %s", seq);
+                return ImmutableSequenceAndBounds.of(seq, fromBytes(acceptedValue));
+            } catch (PaxosRoundFailureException e) {
+                waitForRandomBackoff(e);
+            }
+        }
+    }
+
+    /**
+     * Gets the bounds learned for a given sequence number by polling all learners; a single response suffices.
+     */
+    private Optional<SequenceAndBounds> getLearnedState(long seq) {
+        if (seq <= PaxosAcceptor.NO_LOG_ENTRY) {
+            return Optional.of(NO_LOG_ENTRY_STATE);
+        }
+        List<PaxosBounds> responses = PaxosQuorumChecker.collectQuorumResponses(
+                ImmutableList.copyOf(learners),
+                learner -> getLearnedBounds(seq, learner),
+                QUORUM_OF_ONE,
+                executor,
+                PaxosQuorumChecker.DEFAULT_REMOTE_REQUESTS_TIMEOUT_IN_SECONDS,
+                ONLY_LOG_ON_QUORUM_FAILURE);
+        if (responses.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(ImmutableSequenceAndBounds.of(seq, responses.iterator().next().getBounds()));
+    }
+
+    private static PaxosBounds getLearnedBounds(long seq, PaxosLearner learner) {
+        PaxosValue value = learner.getLearnedValue(seq);
+        if (value == null) {
+            throw new NoSuchElementException(
+                    String.format("Tried to get a learned value for sequence number '%d' which didn't exist", seq));
+        }
+        return ImmutablePaxosBounds.of(fromBytes(value.getData()));
+    }
+
+    private void checkAgreedBoundsAreOurs(long newSeq, PaxosValue value) throws NotCurrentLeaderException {
+        if (!value.getLeaderUUID().equals(proposer.getUuid())) {
+            String errorMsg = String.format(
+                    "Timestamp limits changed from under us for sequence '%s' (proposer with UUID '%s' changed"
+                            + " them, our UUID is '%s'). This suggests that we have lost leadership, and another"
+                            + " timelock server has gained leadership and updated the timestamp bounds.",
+                    newSeq,
+                    value.getLeaderUUID(),
+                    proposer.getUuid());
+            throw new NotCurrentLeaderException(errorMsg);
+        }
+    }
+
+    private void waitForRandomBackoff(PaxosRoundFailureException paxosException) {
+        long backoffTime = (long) (maximumWaitBeforeProposalMs * Math.random() + 1);
+        log.info("Paxos proposal couldn't complete, because we could not connect to a quorum of nodes. We"
+                + " will retry in {} ms.",
+                SafeArg.of("backoffTime", backoffTime),
+                paxosException);
+        try {
+            Thread.sleep(backoffTime);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static SequenceAndBounds getResult(CompletableFuture<SequenceAndBounds> round) {
+        try {
+            return round.join();
+        } catch (CompletionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @VisibleForTesting
+    static byte[] toBytes(SortedMap<String, Long> bounds) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(bounds.size());
+            for (Map.Entry<String, Long> entry : bounds.entrySet()) {
+                output.writeUTF(entry.getKey());
+                output.writeLong(entry.getValue());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Writing to a byte array should never fail", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @VisibleForTesting
+    static SortedMap<String, Long> fromBytes(byte[] data) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(data))) {
+            int size = input.readInt();
+            ImmutableSortedMap.Builder<String, Long> bounds = ImmutableSortedMap.naturalOrder();
+            for (int i = 0; i < size; i++) {
+                bounds.put(input.readUTF(), input.readLong());
+            }
+            return bounds.build();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read multiplexed timestamp bounds", e);
+        }
+    }
+
+    @Value.Immutable
+    interface PaxosBounds extends PaxosResponse {
+        @Override
+        default boolean isSuccessful() {
+            return true;
+        }
+
+        @Value.Parameter
+        @Value.NaturalOrder
+        SortedMap<String, Long> getBounds();
+    }
+
+    @Value.Immutable
+    interface SequenceAndBounds {
+        @Value.Parameter
+        long getSeqId();
+
+        @Value.Parameter
+        @Value.NaturalOrder
+        SortedMap<String, Long> getBounds();
+
+        default long boundFor(String namespace) {
+            return getBounds().getOrDefault(namespace, 0L);
+        }
+    }
+}
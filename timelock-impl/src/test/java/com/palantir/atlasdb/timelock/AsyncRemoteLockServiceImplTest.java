@@ -0,0 +1,199 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
+import com.palantir.atlasdb.timelock.lock.AsyncLockService;
+import com.palantir.atlasdb.timelock.lock.AsyncResult;
+import com.palantir.lock.LockDescriptor;
+import com.palantir.lock.LockMode;
+import com.palantir.lock.LockRefreshToken;
+import com.palantir.lock.LockRequest;
+import com.palantir.lock.SimpleTimeDuration;
+import com.palantir.lock.StringLockDescriptor;
+import com.palantir.lock.remoting.BlockingTimeoutException;
+
+public class AsyncRemoteLockServiceImplTest {
+    private static final String CLIENT = "client";
+    private static final String OTHER_CLIENT = "other-client";
+    private static final LockDescriptor LOCK_A = StringLockDescriptor.of("a");
+    private static final LockDescriptor LOCK_B = StringLockDescriptor.of("b");
+    private static final long LOCK_TIMEOUT_MILLIS = 10_000;
+    private static final long BLOCKING_TIME_LIMIT_MILLIS = 60_000;
+
+    private final ScheduledExecutorService reaperExecutor = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicLong time = new AtomicLong();
+    private final AsyncRemoteLockServiceImpl service = new AsyncRemoteLockServiceImpl(
+            AsyncLockService.createDefault(reaperExecutor, Executors.newSingleThreadScheduledExecutor()),
+            reaperExecutor,
+            BLOCKING_TIME_LIMIT_MILLIS,
+            time::get);
+
+    @After
+    public void after() {
+        service.close();
+    }
+
+    @Test
+    public void canLockAndUnlock() {
+        LockRefreshToken token = lockSynchronously(requestBuilder(LOCK_A, LOCK_B).build());
+
+        assertThat(lockSynchronously(requestBuilder(LOCK_B).doNotBlock().build())).isNull();
+        assertThat(service.unlock(token)).isTrue();
+        assertThat(service.unlock(token)).isFalse();
+        assertThat(lockSynchronously(requestBuilder(LOCK_B).doNotBlock().build())).isNotNull();
+    }
+
+    @Test
+    public void waitingRequestIsGrantedWhenLocksAreUnlocked() {
+        LockRefreshToken token = lockSynchronously(requestBuilder(LOCK_A).build());
+        AsyncResult<LockRefreshToken> waitingRequest = service.lock(CLIENT,
+                requestBuilder(LOCK_A).blockForAtMost(SimpleTimeDuration.of(30, TimeUnit.SECONDS)).build());
+        assertThat(waitingRequest.isComplete()).isFalse();
+
+        service.unlock(token);
+
+        await().until(waitingRequest::isComplete);
+        assertThat(waitingRequest.get()).isNotNull();
+    }
+
+    @Test
+    public void requestReturnsNullIfLocksAreNotAcquiredWithinBlockingDuration() {
+        lockSynchronously(requestBuilder(LOCK_A).build());
+
+        assertThat(lockSynchronously(requestBuilder(LOCK_A)
+                .blockForAtMost(SimpleTimeDuration.of(10, TimeUnit.MILLISECONDS))
+                .build()))
+                .isNull();
+    }
+
+    @Test
+    public void indefinitelyBlockingRequestFailsAfterBlockingTimeLimit() {
+        AsyncRemoteLockServiceImpl limitedService = new AsyncRemoteLockServiceImpl(
+                AsyncLockService.createDefault(reaperExecutor, Executors.newSingleThreadScheduledExecutor()),
+                reaperExecutor,
+                10,
+                time::get);
+        limitedService.lock(CLIENT, requestBuilder(LOCK_A).build());
+
+        AsyncResult<LockRefreshToken> waitingRequest = limitedService.lock(CLIENT, requestBuilder(LOCK_A).build());
+
+        await().until(waitingRequest::isComplete);
+        assertThat(waitingRequest.getError()).isInstanceOf(BlockingTimeoutException.class);
+    }
+
+    @Test
+    public void lockAndReleaseReturnsNullOnceLocksAreAvailable() {
+        LockRefreshToken token = lockSynchronously(requestBuilder(LOCK_A).build());
+        AsyncResult<LockRefreshToken> waitingRequest = service.lock(CLIENT,
+                requestBuilder(LOCK_A).lockAndRelease().build());
+        assertThat(waitingRequest.isComplete()).isFalse();
+
+        service.unlock(token);
+
+        await().until(waitingRequest::isComplete);
+        assertThat(waitingRequest.get()).isNull();
+    }
+
+    @Test
+    public void rejectsReadLocks() {
+        LockRequest request = LockRequest.builder(ImmutableSortedMap.of(LOCK_A, LockMode.READ)).build();
+
+        assertThatThrownBy(() -> service.lock(CLIENT, request)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void rejectsLockingAsManyAsPossible() {
+        LockRequest request = requestBuilder(LOCK_A).lockAsManyAsPossible().build();
+
+        assertThatThrownBy(() -> service.lockAndGetHeldLocks(CLIENT, request))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void tracksMinLockedInVersionIdPerClient() {
+        LockRefreshToken token = lockSynchronously(requestBuilder(LOCK_A).withLockedInVersionId(5).build());
+        lockSynchronously(requestBuilder(LOCK_B).withLockedInVersionId(7).build());
+
+        assertThat(service.getMinLockedInVersionId(CLIENT)).isEqualTo(5L);
+        assertThat(service.getMinLockedInVersionId(OTHER_CLIENT)).isNull();
+
+        service.unlock(token);
+        assertThat(service.getMinLockedInVersionId(CLIENT)).isEqualTo(7L);
+    }
+
+    @Test
+    public void refreshExtendsExpirationDate() {
+        LockRefreshToken token = lockSynchronously(requestBuilder(LOCK_A).build());
+        time.addAndGet(LOCK_TIMEOUT_MILLIS / 2);
+
+        LockRefreshToken refreshed = service.refreshLockRefreshTokens(ImmutableSet.of(token)).iterator().next();
+
+        assertThat(refreshed).isEqualTo(token);
+        assertThat(refreshed.getExpirationDateMs())
+                .isEqualTo(token.getExpirationDateMs() + LOCK_TIMEOUT_MILLIS / 2);
+    }
+
+    @Test
+    public void expiredTokensAreUnlocked() {
+        LockRefreshToken token = lockSynchronously(requestBuilder(LOCK_A).withLockedInVersionId(5).build());
+        time.addAndGet(LOCK_TIMEOUT_MILLIS);
+
+        service.unlockExpiredTokens();
+
+        assertThat(service.refreshLockRefreshTokens(ImmutableSet.of(token))).isEmpty();
+        assertThat(service.getMinLockedInVersionId(CLIENT)).isNull();
+        assertThat(lockSynchronously(requestBuilder(LOCK_A).doNotBlock().build())).isNotNull();
+    }
+
+    @Test
+    public void tokenIdsRoundTripToRequestIds() {
+        UUID requestId = UUID.randomUUID();
+
+        assertThat(AsyncRemoteLockServiceImpl.toTokenId(requestId).signum()).isNotNegative();
+        assertThat(AsyncRemoteLockServiceImpl.toRequestId(AsyncRemoteLockServiceImpl.toTokenId(requestId)))
+                .contains(requestId);
+    }
+
+    private LockRefreshToken lockSynchronously(LockRequest request) {
+        AsyncResult<LockRefreshToken> result = service.lock(CLIENT, request);
+        await().until(result::isComplete);
+        return result.get();
+    }
+
+    private static LockRequest.Builder requestBuilder(LockDescriptor... descriptors) {
+        ImmutableSortedMap.Builder<LockDescriptor, LockMode> locks = ImmutableSortedMap.naturalOrder();
+        for (LockDescriptor descriptor : descriptors) {
+            locks.put(descriptor, LockMode.WRITE);
+        }
+        return LockRequest.builder(locks.build()).timeoutAfter(
+                SimpleTimeDuration.of(LOCK_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+    }
+}
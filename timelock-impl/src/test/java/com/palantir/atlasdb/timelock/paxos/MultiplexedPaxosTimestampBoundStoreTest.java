@@ -0,0 +1,225 @@
+/*
+ * Copyright 2018 Palantir Technologies, Inc. All rights reserved.
+ *
+ * Licensed under the BSD-3 License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+import org.apache.commons.io.FileUtils;
+import org.awaitility.Awaitility;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Lists;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.leader.NotCurrentLeaderException;
+import com.palantir.paxos.PaxosAcceptor;
+import com.palantir.paxos.PaxosAcceptorImpl;
+import com.palantir.paxos.PaxosLearner;
+import com.palantir.paxos.PaxosLearnerImpl;
+import com.palantir.paxos.PaxosProposer;
+import com.palantir.paxos.PaxosProposerImpl;
+import com.palantir.paxos.PaxosRoundFailureException;
+import com.palantir.timestamp.TimestampBoundStore;
+
+public class MultiplexedPaxosTimestampBoundStoreTest {
+    private static final int NUM_NODES = 3;
+    private static final int NUM_CONCURRENT_NAMESPACES = 10;
+
+    private static final String LOG_DIR = "testlogs-multiplexed/";
+    private static final String LEARNER_DIR_PREFIX = LOG_DIR + "learner/";
+    private static final String ACCEPTOR_DIR_PREFIX = LOG_DIR + "acceptor/";
+    private static final String NAMESPACE_1 = "tom";
+    private static final String NAMESPACE_2 = "jerry";
+    private static final long TIMESTAMP_1 = 100000;
+    private static final long TIMESTAMP_2 = 200000;
+
+    private final ExecutorService executor = PTExecutors.newCachedThreadPool();
+    private final List<PaxosAcceptor> acceptors = Lists.newArrayList();
+    private final List<PaxosLearner> learners = Lists.newArrayList();
+
+    private MultiplexedPaxosTimestampBoundStore store;
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < NUM_NODES; i++) {
+            acceptors.add(PaxosAcceptorImpl.newAcceptor(ACCEPTOR_DIR_PREFIX + i));
+            learners.add(PaxosLearnerImpl.newLearner(LEARNER_DIR_PREFIX + i));
+        }
+        store = createStore(0, createPaxosProposer(0));
+    }
+
+    @After
+    public void tearDown() throws InterruptedException, IOException {
+        try {
+            executor.shutdownNow();
+            boolean terminated = executor.awaitTermination(10, TimeUnit.SECONDS);
+            if (!terminated) {
+                throw new IllegalStateException(
+                        "Some threads are still hanging around! Can't proceed or they might corrupt future tests.");
+            }
+        } finally {
+            FileUtils.deleteDirectory(new File(LOG_DIR));
+        }
+    }
+
+    @Test
+    public void timestampsBeginFromZero() {
+        assertThat(store.getUpperLimit(NAMESPACE_1)).isEqualTo(0L);
+    }
+
+    @Test
+    public void storesUpperLimitsOfNamespacesIndependently() {
+        TimestampBoundStore store1 = store.forNamespace(NAMESPACE_1);
+        TimestampBoundStore store2 = store.forNamespace(NAMESPACE_2);
+        store1.storeUpperLimit(TIMESTAMP_2);
+        store2.storeUpperLimit(TIMESTAMP_1);
+
+        assertThat(store1.getUpperLimit()).isEqualTo(TIMESTAMP_2);
+        assertThat(store2.getUpperLimit()).isEqualTo(TIMESTAMP_1);
+    }
+
+    @Test
+    public void throwsIfStoringLimitLessThanUpperLimit() {
+        store.storeUpperLimit(NAMESPACE_1, TIMESTAMP_2);
+        assertThatThrownBy(() -> store.storeUpperLimit(NAMESPACE_1, TIMESTAMP_1))
+                .isInstanceOf(IllegalArgumentException.class);
+        store.storeUpperLimit(NAMESPACE_2, TIMESTAMP_1);
+    }
+
+    @Test
+    public void canReadStateFromDistributedLogs() {
+        store.storeUpperLimit(NAMESPACE_1, TIMESTAMP_1);
+        store.storeUpperLimit(NAMESPACE_2, TIMESTAMP_2);
+
+        MultiplexedPaxosTimestampBoundStore additionalStore = createStore(1, createPaxosProposer(1));
+        assertThat(additionalStore.getUpperLimit(NAMESPACE_1)).isEqualTo(TIMESTAMP_1);
+        assertThat(additionalStore.getUpperLimit(NAMESPACE_2)).isEqualTo(TIMESTAMP_2);
+    }
+
+    @Test
+    public void throwsIfBoundsUnexpectedlyChangedUnderUs() {
+        MultiplexedPaxosTimestampBoundStore additionalStore = createStore(1, createPaxosProposer(1));
+        additionalStore.storeUpperLimit(NAMESPACE_1, TIMESTAMP_1);
+        assertThatThrownBy(() -> store.storeUpperLimit(NAMESPACE_2, TIMESTAMP_2))
+                .isInstanceOf(NotCurrentLeaderException.class);
+    }
+
+    @Test
+    public void batchesConcurrentlyStoredLimitsIntoOneRound() throws InterruptedException {
+        BlockingPaxosProposer proposer = new BlockingPaxosProposer(createPaxosProposer(0));
+        store = createStore(0, proposer);
+
+        Thread firstWriter = new Thread(() -> store.storeUpperLimit(NAMESPACE_1, TIMESTAMP_1));
+        firstWriter.start();
+        Awaitility.await().atMost(10, TimeUnit.SECONDS).until(() -> proposer.proposals.get() == 1);
+
+        List<Thread> writers = Lists.newArrayList();
+        for (int i = 0; i < NUM_CONCURRENT_NAMESPACES; i++) {
+            String namespace = "namespace" + i;
+            writers.add(new Thread(() -> store.storeUpperLimit(namespace, TIMESTAMP_2)));
+        }
+        writers.forEach(Thread::start);
+        Awaitility.await().atMost(10, TimeUnit.SECONDS).until(() -> writers.stream()
+                .allMatch(writer -> writer.getState() == Thread.State.BLOCKED));
+
+        proposer.unblock.countDown();
+        firstWriter.join();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertThat(proposer.proposals.get()).isEqualTo(2);
+        for (int i = 0; i < NUM_CONCURRENT_NAMESPACES; i++) {
+            assertThat(store.getUpperLimit("namespace" + i)).isEqualTo(TIMESTAMP_2);
+        }
+        assertThat(store.getUpperLimit(NAMESPACE_1)).isEqualTo(TIMESTAMP_1);
+    }
+
+    @Test
+    public void boundsRoundTripThroughBytes() {
+        SortedMap<String, Long> bounds = ImmutableSortedMap.of(NAMESPACE_1, TIMESTAMP_1, NAMESPACE_2, TIMESTAMP_2);
+        assertThat(MultiplexedPaxosTimestampBoundStore.fromBytes(MultiplexedPaxosTimestampBoundStore.toBytes(bounds)))
+                .isEqualTo(bounds);
+    }
+
+    private MultiplexedPaxosTimestampBoundStore createStore(int nodeIndex, PaxosProposer proposer) {
+        return new MultiplexedPaxosTimestampBoundStore(
+                proposer,
+                learners.get(nodeIndex),
+                ImmutableList.copyOf(acceptors),
+                ImmutableList.copyOf(learners),
+                1000L,
+                executor);
+    }
+
+    private PaxosProposer createPaxosProposer(int nodeIndex) {
+        return PaxosProposerImpl.newProposer(
+                learners.get(nodeIndex),
+                ImmutableList.copyOf(acceptors),
+                ImmutableList.copyOf(learners),
+                NUM_NODES / 2 + 1,
+                UUID.randomUUID(),
+                executor);
+    }
+
+    private static class BlockingPaxosProposer implements PaxosProposer {
+        private final PaxosProposer delegate;
+        private final AtomicInteger proposals = new AtomicInteger();
+        private final CountDownLatch unblock = new CountDownLatch(1);
+
+        BlockingPaxosProposer(PaxosProposer delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public byte[] propose(long seq, @Nullable byte[] proposalValue) throws PaxosRoundFailureException {
+            proposals.incrementAndGet();
+            try {
+                unblock.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            return delegate.propose(seq, proposalValue);
+        }
+
+        @Override
+        public int getQuorumSize() {
+            return delegate.getQuorumSize();
+        }
+
+        @Override
+        public String getUuid() {
+            return delegate.getUuid();
+        }
+    }
+}
@@ -18,8 +18,16 @@ package com.palantir.atlasdb.timelock.benchmarks;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
 
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
 import com.palantir.atlasdb.config.AtlasDbConfig;
+import com.palantir.atlasdb.config.ImmutableServerListConfig;
+import com.palantir.atlasdb.config.ServerListConfig;
+import com.palantir.atlasdb.config.ServerListConfigs;
+import com.palantir.atlasdb.config.TimeLockClientConfig;
+import com.palantir.atlasdb.factory.ServiceCreator;
 import com.palantir.atlasdb.factory.TransactionManagers;
 import com.palantir.atlasdb.http.UserAgents;
 import com.palantir.atlasdb.timelock.benchmarks.benchmarks.KvsPutUnlessExistsBenchmark;
@@ -37,12 +45,17 @@ import com.palantir.atlasdb.timelock.benchmarks.benchmarks.TransactionWriteRowsB
 import com.palantir.atlasdb.timelock.benchmarks.schema.BenchmarksSchema;
 import com.palantir.atlasdb.transaction.impl.SerializableTransactionManager;
 import com.palantir.atlasdb.util.AtlasDbMetrics;
+import com.palantir.lock.v2.TimelockService;
+import com.palantir.util.OptionalResolver;
 
 public class BenchmarksResource implements BenchmarksService {
 
+    private final AtlasDbConfig config;
     private final SerializableTransactionManager txnManager;
+    private final ConcurrentMap<ServerListConfig, TimelockService> timelockServices = Maps.newConcurrentMap();
 
     public BenchmarksResource(AtlasDbConfig config) {
+        this.config = config;
         this.txnManager = TransactionManagers.builder()
                 .config(config)
                 .userAgent(UserAgents.DEFAULT_USER_AGENT)
@@ -77,6 +90,13 @@ public class BenchmarksResource implements BenchmarksService {
         return LockAndUnlockUncontendedBenchmark.execute(txnManager, numClients, numRequestsPerClient);
     }
 
+    @Override
+    public Map<String, Object> lockAndUnlockUncontendedWithWireFormat(int numClients, int numRequestsPerClient,
+            boolean useSmileEncoding, boolean enableHttp2) {
+        TimelockService timelock = getTimelockService(useSmileEncoding, enableHttp2);
+        return LockAndUnlockUncontendedBenchmark.execute(timelock, numClients, numRequestsPerClient);
+    }
+
     @Override
     public Map<String, Object> lockAndUnlockContended(int numClients, int numRequestsPerClient, int numDistinctLocks) {
         return LockAndUnlockContendedBenchmark.execute(txnManager, numClients, numRequestsPerClient, numDistinctLocks);
@@ -119,4 +139,17 @@ public class BenchmarksResource implements BenchmarksService {
         return RangeScanDynamicColumnsBenchmark.execute(txnManager, numClients, numRequestsPerClient, dataSize,
                 numRows);
     }
+
+    private TimelockService getTimelockService(boolean useSmileEncoding, boolean enableHttp2) {
+        Preconditions.checkState(config.timelock().isPresent(),
+                "Wire format benchmarks require TimeLock to be configured");
+        TimeLockClientConfig timelockConfig = config.timelock().get();
+        String client = OptionalResolver.resolve(timelockConfig.client(), config.namespace());
+        ServerListConfig serverListConfig = ImmutableServerListConfig.copyOf(
+                ServerListConfigs.namespaceUris(timelockConfig.serversList(), client))
+                .withUseSmileEncoding(useSmileEncoding)
+                .withEnableHttp2(enableHttp2);
+        return timelockServices.computeIfAbsent(serverListConfig,
+                new ServiceCreator<>(TimelockService.class, UserAgents.DEFAULT_USER_AGENT)::apply);
+    }
 }
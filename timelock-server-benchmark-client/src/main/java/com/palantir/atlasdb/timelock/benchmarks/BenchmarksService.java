@@ -59,6 +59,18 @@ public interface BenchmarksService {
             @QueryParam("numClients") int numClients,
             @QueryParam("numRequestsPerClient") int numRequestsPerClient);
 
+    /**
+     * As {@link #lockAndUnlockUncontended}, but talks to TimeLock directly with the given wire format and HTTP
+     * version, so that they can be compared.
+     */
+    @GET
+    @Path("/lock-unlock-uncontended-wire-format")
+    Map<String, Object> lockAndUnlockUncontendedWithWireFormat(
+            @QueryParam("numClients") int numClients,
+            @QueryParam("numRequestsPerClient") int numRequestsPerClient,
+            @QueryParam("useSmileEncoding") boolean useSmileEncoding,
+            @QueryParam("enableHttp2") boolean enableHttp2);
+
     @GET
     @Path("/lock-unlock-contended")
     Map<String, Object> lockAndUnlockContended(
@@ -29,6 +29,10 @@ public final class LockAndUnlockUncontendedBenchmark extends LockAndUnlockConten
                 requestsPerClient).execute();
     }
 
+    public static Map<String, Object> execute(TimelockService timelock, int numClients, int requestsPerClient) {
+        return new LockAndUnlockUncontendedBenchmark(timelock, numClients, requestsPerClient).execute();
+    }
+
     private LockAndUnlockUncontendedBenchmark(TimelockService timelock, int numClients, int numRequestsPerClient) {
         super(timelock, numClients, numRequestsPerClient, numClients * numRequestsPerClient);
     }
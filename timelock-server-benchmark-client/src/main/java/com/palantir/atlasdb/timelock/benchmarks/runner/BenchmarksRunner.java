@@ -34,6 +34,26 @@ public class BenchmarksRunner extends BenchmarkRunnerBase {
         runAndPrintResults(client::lockAndUnlockUncontended, 4, 500);
     }
 
+    @Test
+    public void lockAndUnlockUncontendedJsonOverHttp11() {
+        runAndPrintResults(() -> client.lockAndUnlockUncontendedWithWireFormat(4, 500, false, false));
+    }
+
+    @Test
+    public void lockAndUnlockUncontendedJsonOverHttp2() {
+        runAndPrintResults(() -> client.lockAndUnlockUncontendedWithWireFormat(4, 500, false, true));
+    }
+
+    @Test
+    public void lockAndUnlockUncontendedSmileOverHttp11() {
+        runAndPrintResults(() -> client.lockAndUnlockUncontendedWithWireFormat(4, 500, true, false));
+    }
+
+    @Test
+    public void lockAndUnlockUncontendedSmileOverHttp2() {
+        runAndPrintResults(() -> client.lockAndUnlockUncontendedWithWireFormat(4, 500, true, true));
+    }
+
     @Test
     public void lockAndUnlockContended() {
         runAndPrintResults(() -> client.lockAndUnlockContended(8, 1000, 2));
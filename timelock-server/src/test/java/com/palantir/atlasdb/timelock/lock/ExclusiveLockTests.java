@@ -21,9 +21,16 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.assertTrue;
 
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.palantir.lock.LockDescriptor;
 import com.palantir.lock.StringLockDescriptor;
 
@@ -223,6 +230,63 @@ public class ExclusiveLockTests {
         assertThat(request2.isCompletedSuccessfully()).isTrue();
     }
 
+    @Test
+    public void newRequestsDoNotJumpTheQueueWhenLockIsReleased() {
+        lockSynchronously(REQUEST_1);
+        AsyncResult<Void> request2 = lockAsync(REQUEST_2);
+
+        unlock(REQUEST_1);
+        AsyncResult<Void> request3 = lockAsync(REQUEST_3);
+
+        assertThat(request2.isCompletedSuccessfully()).isTrue();
+        assertThat(request3.isComplete()).isFalse();
+        assertThat(lock.getCurrentHolder()).isEqualTo(REQUEST_2);
+    }
+
+    @Test
+    public void lockIsFreeAfterLastQueuedRequestUnlocks() {
+        lockSynchronously(REQUEST_1);
+        AsyncResult<Void> request2 = lockAsync(REQUEST_2);
+
+        unlock(REQUEST_1);
+        unlock(REQUEST_2);
+
+        assertThat(request2.isCompletedSuccessfully()).isTrue();
+        assertThat(lock.getCurrentHolder()).isNull();
+        lockSynchronously(REQUEST_3);
+    }
+
+    @Test(timeout = 10_000)
+    public void isMutuallyExclusiveUnderConcurrentRequests() throws InterruptedException {
+        int numThreads = 8;
+        int requestsPerThread = 1_000;
+        AtomicInteger numHolders = new AtomicInteger();
+        AtomicBoolean exclusionViolated = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+
+        for (int i = 0; i < numThreads; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < requestsPerThread; j++) {
+                    UUID requestId = UUID.randomUUID();
+                    CountDownLatch acquired = new CountDownLatch(1);
+                    lock.lock(requestId).onComplete(acquired::countDown);
+                    Uninterruptibles.awaitUninterruptibly(acquired);
+
+                    if (numHolders.incrementAndGet() != 1) {
+                        exclusionViolated.set(true);
+                    }
+                    numHolders.decrementAndGet();
+                    lock.unlock(requestId);
+                }
+            });
+        }
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertThat(exclusionViolated.get()).isFalse();
+        assertThat(lock.getCurrentHolder()).isNull();
+    }
+
     private AsyncResult<Void> waitUntilAvailableAsync(UUID request) {
         return lock.waitUntilAvailable(request);
     }
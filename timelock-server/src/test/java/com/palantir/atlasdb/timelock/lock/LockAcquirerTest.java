@@ -213,6 +213,26 @@ public class LockAcquirerTest {
         assertThat(result.isTimedOut()).isFalse();
     }
 
+    @Test
+    public void doesNotScheduleTimeoutIfLocksAreAvailable() {
+        AsyncResult<HeldLocks> result = acquire(lockA, lockB, lockC);
+
+        assertThat(result.isCompletedSuccessfully()).isTrue();
+        assertThat(executor.isIdle()).isTrue();
+    }
+
+    @Test
+    public void doesNotAttemptLaterLocksUntilEarlierLocksAreAcquired() {
+        lockB.lock(OTHER_REQUEST_ID);
+
+        AsyncResult<HeldLocks> result = acquire(lockA, lockB, lockC);
+        verify(lockC, never()).lock(any());
+
+        lockB.unlock(OTHER_REQUEST_ID);
+        verify(lockC).lock(REQUEST_ID);
+        assertThat(result.isCompletedSuccessfully()).isTrue();
+    }
+
     private AsyncResult<Void> waitFor(AsyncLock... locks) {
         return lockAcquirer.waitForLocks(REQUEST_ID, OrderedLocks.fromOrderedList(ImmutableList.copyOf(locks)),
                 TIMEOUT);